@@ -27,10 +27,13 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.InputMap;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -56,7 +59,9 @@ import net.nikr.eve.jeveasset.data.api.my.MyTransaction;
 import net.nikr.eve.jeveasset.data.profile.ProfileData;
 import net.nikr.eve.jeveasset.data.profile.ProfileManager;
 import net.nikr.eve.jeveasset.data.sde.MyLocation;
+import net.nikr.eve.jeveasset.data.sde.RouteFinder;
 import net.nikr.eve.jeveasset.data.sde.StaticData;
+import net.nikr.eve.jeveasset.UpdateCoalescer.Update;
 import net.nikr.eve.jeveasset.data.settings.AssetAddedData;
 import net.nikr.eve.jeveasset.data.settings.Settings;
 import net.nikr.eve.jeveasset.data.settings.TrackerData;
@@ -98,6 +103,22 @@ import net.nikr.eve.jeveasset.gui.tabs.values.ValueRetroTab;
 import net.nikr.eve.jeveasset.gui.tabs.values.ValueTableTab;
 import net.nikr.eve.jeveasset.i18n.GuiFrame;
 import net.nikr.eve.jeveasset.i18n.GuiShared;
+import net.nikr.eve.jeveasset.i18n.TabsContracts;
+import net.nikr.eve.jeveasset.i18n.TabsIndustrySlots;
+import net.nikr.eve.jeveasset.i18n.TabsItems;
+import net.nikr.eve.jeveasset.i18n.TabsJobs;
+import net.nikr.eve.jeveasset.i18n.TabsJournal;
+import net.nikr.eve.jeveasset.i18n.TabsLoadout;
+import net.nikr.eve.jeveasset.i18n.TabsMaterials;
+import net.nikr.eve.jeveasset.i18n.TabsOrders;
+import net.nikr.eve.jeveasset.i18n.TabsOverview;
+import net.nikr.eve.jeveasset.i18n.TabsReprocessed;
+import net.nikr.eve.jeveasset.i18n.TabsRouting;
+import net.nikr.eve.jeveasset.i18n.TabsStockpile;
+import net.nikr.eve.jeveasset.i18n.TabsTracker;
+import net.nikr.eve.jeveasset.i18n.TabsTransaction;
+import net.nikr.eve.jeveasset.i18n.TabsTree;
+import net.nikr.eve.jeveasset.i18n.TabsValues;
 import net.nikr.eve.jeveasset.data.settings.ContractPriceManager;
 import net.nikr.eve.jeveasset.gui.tabs.jobs.IndustrySlotsTab;
 import net.nikr.eve.jeveasset.gui.tabs.orders.OutbidProcesser.OutbidProcesserOutput;
@@ -141,24 +162,24 @@ public class Program implements ActionListener {
 	private UpdateDialog updateDialog;
 
 	//Tabs
-	private ValueRetroTab valueRetroTab;
-	private ValueTableTab valueTableTab;
-	private MaterialsTab materialsTab;
-	private LoadoutsTab loadoutsTab;
-	private RoutingTab routingTab;
-	private MarketOrdersTab marketOrdersTab;
-	private JournalTab journalTab;
-	private TransactionTab transactionsTab;
-	private IndustryJobsTab industryJobsTab;
-	private IndustrySlotsTab industrySlotsTab;
+	private LazyTab<ValueRetroTab> valueRetroTab;
+	private LazyTab<ValueTableTab> valueTableTab;
+	private LazyTab<MaterialsTab> materialsTab;
+	private LazyTab<LoadoutsTab> loadoutsTab;
+	private LazyTab<RoutingTab> routingTab;
+	private LazyTab<MarketOrdersTab> marketOrdersTab;
+	private LazyTab<JournalTab> journalTab;
+	private LazyTab<TransactionTab> transactionsTab;
+	private LazyTab<IndustryJobsTab> industryJobsTab;
+	private LazyTab<IndustrySlotsTab> industrySlotsTab;
 	private AssetsTab assetsTab;
-	private OverviewTab overviewTab;
-	private StockpileTab stockpileTab;
-	private ItemsTab itemsTab;
-	private TrackerTab trackerTab;
-	private ReprocessedTab reprocessedTab;
-	private ContractsTab contractsTab;
-	private TreeTab treeTab;
+	private LazyTab<OverviewTab> overviewTab;
+	private LazyTab<StockpileTab> stockpileTab;
+	private LazyTab<ItemsTab> itemsTab;
+	private LazyTab<TrackerTab> trackerTab;
+	private LazyTab<ReprocessedTab> reprocessedTab;
+	private LazyTab<ContractsTab> contractsTab;
+	private LazyTab<TreeTab> treeTab;
 	private StructureUpdateDialog structureUpdateDialog;
 
 	//Misc
@@ -167,6 +188,13 @@ public class Program implements ActionListener {
 	private Updatable updatable;
 
 	private final Map<String, JMainTab> jMainTabs = new HashMap<>();
+	private final Map<String, LazyTab<?>> lazyTabs = new LinkedHashMap<>(); //ToolName : LazyTab
+	private final UpdateCoalescer updateCoalescer = new UpdateCoalescer(new UpdateCoalescer.UpdateProcessor() {
+		@Override
+		public void process(Update update) {
+			updateEventLists(update);
+		}
+	});
 
 	//Data
 	private final ProfileData profileData;
@@ -186,30 +214,80 @@ public class Program implements ActionListener {
 	//Data
 		SplashUpdater.setText("Loading DATA");
 		LOG.info("DATA Loading...");
+		final StartupTasks startup = new StartupTasks();
+		startup.phase("Auto Import");
 		FileUtil.autoImportFileUtil();
-		StaticData.load();
-		Settings.load();
-		TrackerData.load();
-		AssetAddedData.load();
-		ContractPriceManager.load();
+		startup.phase("Waiting for Settings");
+		profileManager = new ProfileManager();
+		priceDataGetter = new PriceDataGetter();
+		CompletableFuture<Void> staticDataTask = startup.submit("Static Data", new Runnable() {
+			@Override
+			public void run() {
+				StaticData.load();
+			}
+		});
+		CompletableFuture<Void> assetAddedTask = startup.submit("Asset Added Data", new Runnable() {
+			@Override
+			public void run() {
+				AssetAddedData.load();
+			}
+		});
+		CompletableFuture<Void> contractPriceTask = startup.submit("Contract Prices", new Runnable() {
+			@Override
+			public void run() {
+				ContractPriceManager.load();
+			}
+		});
+		CompletableFuture<Void> routeFinderTask = startup.submit("Routing Graph", new Runnable() {
+			@Override
+			public void run() {
+				RouteFinder.load();
+			}
+		}, staticDataTask);
+		CompletableFuture<Void> settingsTask = startup.submit("Settings", new Runnable() {
+			@Override
+			public void run() {
+				Settings.load();
+			}
+		}, staticDataTask);
+		CompletableFuture<Void> trackerTask = startup.submit("Tracker Data", new Runnable() {
+			@Override
+			public void run() {
+				TrackerData.load();
+			}
+		}, settingsTask);
+		CompletableFuture<Void> profileTask = startup.submit("Profiles", new Runnable() {
+			@Override
+			public void run() {
+				profileManager.searchProfile();
+				profileManager.loadActiveProfile();
+			}
+		}, settingsTask);
+		CompletableFuture<Void> priceDataTask = startup.submit("Price Data", new Runnable() {
+			@Override
+			public void run() {
+				priceDataGetter.load();
+			}
+		}, settingsTask);
+		startup.await(settingsTask);
 
+		startup.phase("Look and Feel");
 		initLookAndFeel(Settings.get().getColorSettings().getLookAndFeelClass());
 
 		calcButtonsHeight(); //Must be done after setting the LAF
 
+		startup.phase("Update Check");
 		updater = new Updater();
 		localData = updater.getLocalData();
 		if (!PROGRAM_DEV_BUILD) {
 			update();
 		}
 
-		profileManager = new ProfileManager();
-		profileManager.searchProfile();
-		profileManager.loadActiveProfile();
+		startup.phase("Waiting for DATA");
+		startup.await(assetAddedTask, contractPriceTask, routeFinderTask, trackerTask, profileTask, priceDataTask);
+		startup.phase("Profile Data");
 		profileData = new ProfileData(profileManager);
 		//Can not update profile data now - list needs to be empty doing creation...
-		priceDataGetter = new PriceDataGetter();
-		priceDataGetter.load();
 	//Timer
 		timer = new Timer(15000, this); //Once a minute
 		timer.setActionCommand(ProgramAction.TIMER.name());
@@ -218,105 +296,166 @@ public class Program implements ActionListener {
 	//GUI
 		SplashUpdater.setText("Loading GUI");
 		LOG.info("GUI Loading:");
-		LOG.info("Loading: Images");
+		startup.phase("Images");
 		Images.preload();
-		LOG.info("Loading: Main Window");
+		startup.phase("Main Window");
 		mainWindow = new MainWindow(this);
 		SplashUpdater.setProgress(50);
 	//Tools
-		LOG.info("Loading: Assets Tab");
+		startup.phase("Assets Tab");
 		assetsTab = new AssetsTab(this);
 		mainWindow.addTab(assetsTab);
 		SplashUpdater.setProgress(52);
-		LOG.info("Loading: Tree Tab");
-		treeTab = new TreeTab(this);
-		SplashUpdater.setProgress(54);
-		LOG.info("Loading: Industry Jobs Tab");
-		industryJobsTab = new IndustryJobsTab(this);
-		LOG.info("Loading: Industry Slot Tab");
-		industrySlotsTab = new IndustrySlotsTab(this);
-		LOG.info("Loading: Industry Plot Tab");
+		startup.phase("Lazy Tabs");
+		treeTab = addLazyTab(new LazyTab<TreeTab>(TreeTab.NAME, TabsTree.get().title()) {
+			@Override
+			protected TreeTab create() {
+				return new TreeTab(Program.this);
+			}
+		});
+		industryJobsTab = addLazyTab(new LazyTab<IndustryJobsTab>(IndustryJobsTab.NAME, TabsJobs.get().industry()) {
+			@Override
+			protected IndustryJobsTab create() {
+				return new IndustryJobsTab(Program.this);
+			}
+		});
+		industrySlotsTab = addLazyTab(new LazyTab<IndustrySlotsTab>(IndustrySlotsTab.NAME, TabsIndustrySlots.get().title()) {
+			@Override
+			protected IndustrySlotsTab create() {
+				return new IndustrySlotsTab(Program.this);
+			}
+		});
 		//FIXME - - > IndustryPlotTab - remove or ?
 		//industryPlotTab = new IndustryPlotTab(this);
-		SplashUpdater.setProgress(56);
-		LOG.info("Loading: Market Orders Tab");
-		marketOrdersTab = new MarketOrdersTab(this);
-		SplashUpdater.setProgress(58);
-		LOG.info("Loading: Journal Tab");
-		journalTab = new JournalTab(this);
-		SplashUpdater.setProgress(60);
-		LOG.info("Loading: Transactions Tab");
-		transactionsTab = new TransactionTab(this);
-		SplashUpdater.setProgress(62);
-		LOG.info("Loading: Materials Tab");
-		materialsTab = new MaterialsTab(this);
-		SplashUpdater.setProgress(64);
-		LOG.info("Loading: Ship Loadouts Tab");
-		loadoutsTab = new LoadoutsTab(this);
-		SplashUpdater.setProgress(66);
-		LOG.info("Loading: Values Tab");
-		valueRetroTab = new ValueRetroTab(this);
-		valueTableTab = new ValueTableTab(this);
-		SplashUpdater.setProgress(68);
-		LOG.info("Loading: Routing Tab");
-		routingTab = new RoutingTab(this);
-		SplashUpdater.setProgress(70);
-		LOG.info("Loading: Overview Tab");
-		overviewTab = new OverviewTab(this);
-		SplashUpdater.setProgress(72);
-		LOG.info("Loading: Stockpile Tab");
-		stockpileTab = new StockpileTab(this);
-		SplashUpdater.setProgress(74);
-		LOG.info("Loading: Items Tab");
-		itemsTab = new ItemsTab(this);
-		SplashUpdater.setProgress(76);
-		LOG.info("Loading: Tracker Tab");
-		trackerTab = new TrackerTab(this);
-		SplashUpdater.setProgress(78);
-		LOG.info("Loading: Reprocessed Tab");
-		reprocessedTab = new ReprocessedTab(this);
-		SplashUpdater.setProgress(80);
-		LOG.info("Loading: Contracts Tab");
-		contractsTab = new ContractsTab(this);
+		marketOrdersTab = addLazyTab(new LazyTab<MarketOrdersTab>(MarketOrdersTab.NAME, TabsOrders.get().market()) {
+			@Override
+			protected MarketOrdersTab create() {
+				return new MarketOrdersTab(Program.this);
+			}
+		});
+		journalTab = addLazyTab(new LazyTab<JournalTab>(JournalTab.NAME, TabsJournal.get().title()) {
+			@Override
+			protected JournalTab create() {
+				return new JournalTab(Program.this);
+			}
+		});
+		transactionsTab = addLazyTab(new LazyTab<TransactionTab>(TransactionTab.NAME, TabsTransaction.get().title()) {
+			@Override
+			protected TransactionTab create() {
+				return new TransactionTab(Program.this);
+			}
+		});
+		materialsTab = addLazyTab(new LazyTab<MaterialsTab>(MaterialsTab.NAME, TabsMaterials.get().materials()) {
+			@Override
+			protected MaterialsTab create() {
+				return new MaterialsTab(Program.this);
+			}
+		});
+		loadoutsTab = addLazyTab(new LazyTab<LoadoutsTab>(LoadoutsTab.NAME, TabsLoadout.get().ship()) {
+			@Override
+			protected LoadoutsTab create() {
+				return new LoadoutsTab(Program.this);
+			}
+		});
+		valueRetroTab = addLazyTab(new LazyTab<ValueRetroTab>(ValueRetroTab.NAME, TabsValues.get().oldTitle()) {
+			@Override
+			protected ValueRetroTab create() {
+				return new ValueRetroTab(Program.this);
+			}
+		});
+		valueTableTab = addLazyTab(new LazyTab<ValueTableTab>(ValueTableTab.NAME, TabsValues.get().title()) {
+			@Override
+			protected ValueTableTab create() {
+				return new ValueTableTab(Program.this);
+			}
+		});
+		routingTab = addLazyTab(new LazyTab<RoutingTab>(RoutingTab.NAME, TabsRouting.get().routingTitle()) {
+			@Override
+			protected RoutingTab create() {
+				return new RoutingTab(Program.this);
+			}
+		});
+		overviewTab = addLazyTab(new LazyTab<OverviewTab>(OverviewTab.NAME, TabsOverview.get().overview()) {
+			@Override
+			protected OverviewTab create() {
+				return new OverviewTab(Program.this);
+			}
+		});
+		stockpileTab = addLazyTab(new LazyTab<StockpileTab>(StockpileTab.NAME, TabsStockpile.get().stockpile()) {
+			@Override
+			protected StockpileTab create() {
+				return new StockpileTab(Program.this);
+			}
+		});
+		itemsTab = addLazyTab(new LazyTab<ItemsTab>(ItemsTab.NAME, TabsItems.get().items()) {
+			@Override
+			protected ItemsTab create() {
+				return new ItemsTab(Program.this);
+			}
+		});
+		trackerTab = addLazyTab(new LazyTab<TrackerTab>(TrackerTab.NAME, TabsTracker.get().title()) {
+			@Override
+			protected TrackerTab create() {
+				return new TrackerTab(Program.this);
+			}
+		});
+		reprocessedTab = addLazyTab(new LazyTab<ReprocessedTab>(ReprocessedTab.NAME, TabsReprocessed.get().title()) {
+			@Override
+			protected ReprocessedTab create() {
+				return new ReprocessedTab(Program.this);
+			}
+		});
+		contractsTab = addLazyTab(new LazyTab<ContractsTab>(ContractsTab.NAME, TabsContracts.get().title()) {
+			@Override
+			protected ContractsTab create() {
+				return new ContractsTab(Program.this);
+			}
+		});
+		startup.phase("Market Orders Tab");
+		marketOrdersTab.get(); //Not lazy: runs the market log file listener (outbid and market log updates)
 		SplashUpdater.setProgress(82);
 	//Dialogs
-		LOG.info("Loading: Account Manager Dialog");
+		startup.phase("Account Manager Dialog");
 		accountManagerDialog = new AccountManagerDialog(this);
 		SplashUpdater.setProgress(84);
-		LOG.info("Loading: About Dialog");
+		startup.phase("About Dialog");
 		aboutDialog = new AboutDialog(this);
 		SplashUpdater.setProgress(86);
-		LOG.info("Loading: Profiles Dialog");
+		startup.phase("Profiles Dialog");
 		profileDialog = new ProfileDialog(this);
 		SplashUpdater.setProgress(88);
-		LOG.info("Loading: Update Dialog");
+		startup.phase("Update Dialog");
 		updateDialog = new UpdateDialog(this);
 		SplashUpdater.setProgress(90);
-		LOG.info("Loading: Options Dialog");
+		startup.phase("Options Dialog");
 		settingsDialog = new SettingsDialog(this);
 		SplashUpdater.setProgress(96);
-		LOG.info("Loading: Structure UpdateDialog");
+		startup.phase("Structure UpdateDialog");
 		structureUpdateDialog = new StructureUpdateDialog(this);
 	//GUI Done
 		LOG.info("GUI loaded");
 	//Updating data...
 		LOG.info("Updating data...");
+		startup.phase("Updating Data");
 		updateEventLists(); //Update price
 		macOsxCode();
 	//Open Tools
+		startup.phase("Open Tools");
 		for (String title : Settings.get().getShowTools()) {
-			for (JMainTab jMainTab : jMainTabs.values()) {
-				if (title.equals(jMainTab.getTitle())) {
-					mainWindow.addTab(jMainTab, false);
+			for (LazyTab<?> lazyTab : lazyTabs.values()) {
+				if (title.equals(lazyTab.getTitle())) {
+					mainWindow.addTab(lazyTab.get(), false);
 				}
 			}
 		}
 		SplashUpdater.setProgress(100);
 		LOG.info("Showing GUI");
+		startup.phase("Showing GUI");
 		mainWindow.show();
 		SplashUpdater.hide();
 		//Start timer
 		timerTicked();
+		startup.done();
 		LOG.info("Startup Done");
 		if (debug) {
 			LOG.info("Show Debug Warning");
@@ -440,10 +579,47 @@ public class Program implements ActionListener {
 		}
 	}
 
+	/**
+	 * Get the tabs that have been created.
+	 * Tabs are created when first opened or used.
+	 * @return created tabs
+	 */
 	public Map<String, JMainTab> getMainTabs() {
 		return jMainTabs;
 	}
 
+	/**
+	 * Get the titles of all tools that can be opened (created or not).
+	 * @return titles of the closeable tools
+	 */
+	public List<String> getToolTitles() {
+		List<String> titles = new ArrayList<>();
+		for (LazyTab<?> lazyTab : lazyTabs.values()) {
+			titles.add(lazyTab.getTitle());
+		}
+		return titles;
+	}
+
+	/**
+	 * Check if a tab has been created, without creating it.
+	 * Used to skip notifying tabs that has not been created yet (they will load fresh data when created).
+	 * @param toolName Tab tool name
+	 * @return true if created
+	 */
+	public boolean isTabCreated(final String toolName) {
+		LazyTab<?> lazyTab = lazyTabs.get(toolName);
+		if (lazyTab != null) {
+			return lazyTab.isCreated();
+		} else {
+			return jMainTabs.containsKey(toolName);
+		}
+	}
+
+	private <T extends JMainTab> LazyTab<T> addLazyTab(final LazyTab<T> lazyTab) {
+		lazyTabs.put(lazyTab.getToolName(), lazyTab);
+		return lazyTab;
+	}
+
 	private void timerTicked() {
 		if (!timer.isRunning()) {
 			timer.start();
@@ -465,19 +641,6 @@ public class Program implements ActionListener {
 		return updater.checkDataUpdate(localData);
 	}
 
-	public final void updateMarketOrdersWithProgress(OutbidProcesserOutput output) {
-		JLockWindow jLockWindow = new JLockWindow(getMainWindow().getFrame());
-		jLockWindow.show(GuiShared.get().updating(), new JLockWindow.LockWorker() {
-			@Override
-			public void task() {
-				updateEventLists(null, null, null, output);
-			}
-
-			@Override
-			public void gui() { }
-		});
-	}
-
 	public final void updateMarketOrders(OutbidProcesserOutput output) {
 		updateEventLists(null, null, null, output);
 	}
@@ -542,91 +705,70 @@ public class Program implements ActionListener {
 		updateEventLists(null, null, null, null);
 	}
 
-	private synchronized void updateEventLists(Set<Long> itemIDs, Set<Long> locationIDs, Set<Integer> typeIDs, OutbidProcesserOutput output) {
+	private void updateEventLists(Set<Long> itemIDs, Set<Long> locationIDs, Set<Integer> typeIDs, OutbidProcesserOutput output) {
+		updateCoalescer.update(itemIDs, locationIDs, typeIDs, output);
+	}
+
+	/**
+	 * Update the profile data and the tabs.
+	 * The data is updated on the calling thread, each tab is updated with one EDT call.
+	 * @param update Merged update requests
+	 */
+	private synchronized void updateEventLists(final Update update) {
 		LOG.info("Updating EventList");
-		for (JMainTab jMainTab : mainWindow.getTabs()) {
-			ensureEDT(new Runnable() {
-				@Override
-				public void run() {
+		final List<JMainTab> updateTabs = new ArrayList<>();
+		ensureEDT(new Runnable() {
+			@Override
+			public void run() {
+				//Only update the selected tab, the other tabs are updated when selected
+				updateTabs.addAll(mainWindow.getUpdateTabs());
+				for (JMainTab jMainTab : updateTabs) {
 					jMainTab.beforeUpdateData();
 				}
-			});
-		}
-		if (output != null) {
+			}
+		});
+		for (OutbidProcesserOutput output : update.getOutputs()) {
 			profileData.updateMarketOrders(output);
-		} else if (itemIDs != null) {
-			profileData.updateNames(itemIDs);
-		} else if (locationIDs != null) {
-			profileData.updateLocations(locationIDs);
-		} else if (typeIDs != null) {
-			profileData.updatePrice(typeIDs);
-		} else {
-			profileData.updateEventLists();
 		}
-		if (locationIDs != null) { //Update locations
-			for (JMainTab jMainTab : mainWindow.getTabs()) {
-				ensureEDT(new Runnable() {
-					@Override
-					public void run() {
-						jMainTab.updateLocations(locationIDs);
-					}
-				});
-			}
-		} else if (typeIDs != null) { //Update prices
-			for (JMainTab jMainTab : mainWindow.getTabs()) {
-				ensureEDT(new Runnable() {
-					@Override
-					public void run() {
-						jMainTab.updatePrices(typeIDs);
-					}
-				});
-			}
-		} else if (itemIDs != null) { //Update names
-			for (JMainTab jMainTab : mainWindow.getTabs()) {
-				ensureEDT(new Runnable() {
-					@Override
-					public void run() {
-						jMainTab.updateNames(itemIDs);
-					}
-				});
-			}
-		} else { //Full update
-			for (JMainTab jMainTab : mainWindow.getTabs()) {
-				ensureEDT(new Runnable() {
-					@Override
-					public void run() {
-						jMainTab.updateData();
-					}
-				});
-			}
+		if (update.isFull()) {
+			profileData.updateEventLists();
+		} else {
+			profileData.updateNames(update.getItemIDs());
+			profileData.updateLocations(update.getLocationIDs());
+			profileData.updatePrice(update.getTypeIDs());
 		}
-		for (JMainTab jMainTab : mainWindow.getTabs()) {
+		for (JMainTab jMainTab : updateTabs) {
 			ensureEDT(new Runnable() {
 				@Override
 				public void run() {
+					if (update.isFull() || !update.getOutputs().isEmpty()) { //Full update
+						jMainTab.updateData();
+					} else {
+						if (!update.getLocationIDs().isEmpty()) { //Update locations
+							jMainTab.updateLocations(update.getLocationIDs());
+						}
+						if (!update.getTypeIDs().isEmpty()) { //Update prices
+							jMainTab.updatePrices(update.getTypeIDs());
+						}
+						if (!update.getItemIDs().isEmpty()) { //Update names
+							jMainTab.updateNames(update.getItemIDs());
+						}
+					}
 					jMainTab.afterUpdateData();
-					jMainTab.updateCache();
 				}
 			});
 		}
+		//Same as when opening a tab: the cache is updated on the calling thread (off the EDT, when possible)
+		for (JMainTab jMainTab : updateTabs) {
+			jMainTab.updateCache();
+		}
 		ensureEDT(new Runnable() {
 			@Override
 			public void run() {
-				if (stockpileTab != null) {
-					stockpileTab.updateStockpileDialog();
+				if (stockpileTab != null && stockpileTab.isCreated()) {
+					stockpileTab.get().updateStockpileDialog();
 				}
-			}
-		});
-		
-		ensureEDT(new Runnable() {
-			@Override
-			public void run() {
 				timerTicked();
-			}
-		});
-		ensureEDT(new Runnable() {
-			@Override
-			public void run() {
 				updateTableMenu();
 			}
 		});
@@ -752,19 +894,19 @@ public class Program implements ActionListener {
 	}
 
 	public IndustrySlotsTab getIndustrySlotsTab() {
-		return industrySlotsTab;
+		return industrySlotsTab.get();
 	}
 
 	public OverviewTab getOverviewTab() {
-		return overviewTab;
+		return overviewTab.get();
 	}
 
 	public TreeTab getTreeTab() {
-		return treeTab;
+		return treeTab.get();
 	}
 
 	public TransactionTab getTransactionsTab() {
-		return transactionsTab;
+		return transactionsTab.get();
 	}
 
 	public StatusPanel getStatusPanel() {
@@ -796,21 +938,21 @@ public class Program implements ActionListener {
 	}
 
 	public StockpileTab getStockpileTool() {
-		return stockpileTab;
+		return stockpileTab.get();
 	}
 	public ReprocessedTab getReprocessedTab() {
-		return reprocessedTab;
+		return reprocessedTab.get();
 	}
 	public RoutingTab getRoutingTab() {
-		return routingTab;
+		return routingTab.get();
 	}
 
 	public TrackerTab getTrackerTab() {
-		return trackerTab;
+		return trackerTab.get();
 	}
 
 	public ValueTableTab getValueTableTab() {
-		return valueTableTab;
+		return valueTableTab.get();
 	}
 
 	public ProfileData getProfileData() {
@@ -859,12 +1001,14 @@ public class Program implements ActionListener {
 	public void createTrackerDataPoint() {
 		DataSetCreator.createTrackerDataPoint(profileData, Settings.getNow());
 		TrackerData.save("Added", true);
-		ensureEDT(new Runnable() {
-			@Override
-			public void run() {
-				trackerTab.updateData();
-			}
-		});
+		if (trackerTab.isCreated()) { //Not created: Will load the new data when created
+			ensureEDT(new Runnable() {
+				@Override
+				public void run() {
+					trackerTab.get().updateData();
+				}
+			});
+		}
 	}
 
 	public static boolean isDebug() {
@@ -936,7 +1080,9 @@ public class Program implements ActionListener {
 	 * Called when Overview Groups are changed.
 	 */
 	public void overviewGroupsChanged() {
-		routingTab.overviewGroupsChanged();
+		if (routingTab.isCreated()) {
+			routingTab.get().overviewGroupsChanged();
+		}
 	}
 
 	/**
@@ -958,40 +1104,40 @@ public class Program implements ActionListener {
 	public void actionPerformed(final ActionEvent e) {
 	//Tools
 		if (MainMenuAction.VALUES.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(valueRetroTab);
+			mainWindow.addTab(valueRetroTab.get());
 		} else if (MainMenuAction.VALUE_TABLE.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(valueTableTab);
+			mainWindow.addTab(valueTableTab.get());
 		} else if (MainMenuAction.MATERIALS.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(materialsTab);
+			mainWindow.addTab(materialsTab.get());
 		} else if (MainMenuAction.LOADOUTS.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(loadoutsTab);
+			mainWindow.addTab(loadoutsTab.get());
 		} else if (MainMenuAction.MARKET_ORDERS.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(marketOrdersTab);
+			mainWindow.addTab(marketOrdersTab.get());
 		} else if (MainMenuAction.JOURNAL.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(journalTab);
+			mainWindow.addTab(journalTab.get());
 		} else if (MainMenuAction.TRANSACTION.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(transactionsTab);
+			mainWindow.addTab(transactionsTab.get());
 		} else if (MainMenuAction.INDUSTRY_JOBS.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(industryJobsTab);
+			mainWindow.addTab(industryJobsTab.get());
 		} else if (MainMenuAction.INDUSTRY_SLOT.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(industrySlotsTab);
+			mainWindow.addTab(industrySlotsTab.get());
 		} else if (MainMenuAction.OVERVIEW.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(overviewTab);
+			mainWindow.addTab(overviewTab.get());
 		} else if (MainMenuAction.ROUTING.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(routingTab);
+			mainWindow.addTab(routingTab.get());
 		} else if (MainMenuAction.STOCKPILE.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(stockpileTab);
+			mainWindow.addTab(stockpileTab.get());
 		} else if (MainMenuAction.ITEMS.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(itemsTab);
+			mainWindow.addTab(itemsTab.get());
 		} else if (MainMenuAction.TRACKER.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(trackerTab);
-			trackerTab.checkAll();
+			mainWindow.addTab(trackerTab.get());
+			trackerTab.get().checkAll();
 		} else if (MainMenuAction.REPROCESSED.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(reprocessedTab);
+			mainWindow.addTab(reprocessedTab.get());
 		} else if (MainMenuAction.CONTRACTS.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(contractsTab);
+			mainWindow.addTab(contractsTab.get());
 		} else if (MainMenuAction.TREE.name().equals(e.getActionCommand())) {
-			mainWindow.addTab(treeTab);
+			mainWindow.addTab(treeTab.get());
 		} else if (MainMenuAction.ACCOUNT_MANAGER.name().equals(e.getActionCommand())) { //Settings
 			accountManagerDialog.setVisible(true);
 		} else if (MainMenuAction.PROFILES.name().equals(e.getActionCommand())) {
@@ -1031,6 +1177,40 @@ public class Program implements ActionListener {
 		}
 	}
 
+	private abstract static class LazyTab<T extends JMainTab> {
+
+		private final String toolName;
+		private final String title;
+		private T tab = null;
+
+		public LazyTab(final String toolName, final String title) {
+			this.toolName = toolName;
+			this.title = title;
+		}
+
+		public T get() {
+			if (tab == null) {
+				LOG.info("Loading: " + title);
+				tab = create();
+			}
+			return tab;
+		}
+
+		public boolean isCreated() {
+			return tab != null;
+		}
+
+		public String getToolName() {
+			return toolName;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		protected abstract T create();
+	}
+
 	private static class SaveSettings extends Thread {
 
 		private static int counter = 0;
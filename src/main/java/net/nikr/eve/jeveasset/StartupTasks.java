@@ -0,0 +1,192 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+package net.nikr.eve.jeveasset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Startup task graph.
+ * Tasks are started as soon as the tasks they depend on are done, independent tasks run in parallel.
+ * Every task (and every phase on the calling thread) is timed for the startup report.
+ */
+public class StartupTasks {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StartupTasks.class);
+
+	private final ExecutorService executor;
+	private final long start = System.currentTimeMillis();
+	private final List<Timing> timings = new ArrayList<>();
+	private String phase = null;
+	private long phaseStart;
+
+	public StartupTasks() {
+		final AtomicInteger count = new AtomicInteger();
+		int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Startup " + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Start a task in the background.
+	 * @param name Task name (used in the startup report)
+	 * @param task Task to run
+	 * @param dependencies Tasks that must be done before this task is started
+	 * @return The task (can be used as a dependency or waited for)
+	 */
+	public CompletableFuture<Void> submit(final String name, final Runnable task, final CompletableFuture<?>... dependencies) {
+		return CompletableFuture.allOf(dependencies).thenRunAsync(new Runnable() {
+			@Override
+			public void run() {
+				time(name, task);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Start a phase on the calling thread.
+	 * The previous phase (if any) ends when the next phase starts or when done() is called.
+	 * @param name Phase name (used in the startup report)
+	 */
+	public void phase(final String name) {
+		endPhase();
+		LOG.info("Loading: " + name);
+		phase = name;
+		phaseStart = System.currentTimeMillis();
+	}
+
+	/**
+	 * Wait for tasks to finish.
+	 * Exceptions thrown by the tasks are re-thrown on the calling thread.
+	 * @param tasks Tasks to wait for
+	 */
+	public void await(final CompletableFuture<?>... tasks) {
+		try {
+			CompletableFuture.allOf(tasks).join();
+		} catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Stop the worker threads and log the startup timing report.
+	 */
+	public void done() {
+		endPhase();
+		executor.shutdown();
+		List<Timing> report;
+		synchronized (timings) {
+			report = new ArrayList<>(timings);
+		}
+		long total = System.currentTimeMillis() - start;
+		StringBuilder builder = new StringBuilder();
+		builder.append("Startup report (");
+		builder.append(total);
+		builder.append("ms to usable window):");
+		for (Timing timing : report) {
+			builder.append("\r\n	");
+			builder.append(timing.getName());
+			builder.append(": ");
+			builder.append(timing.getDuration());
+			builder.append("ms (started at ");
+			builder.append(timing.getStart() - start);
+			builder.append("ms on ");
+			builder.append(timing.getThread());
+			builder.append(")");
+		}
+		LOG.info(builder.toString());
+	}
+
+	private void endPhase() {
+		if (phase != null) {
+			add(phase, phaseStart, System.currentTimeMillis());
+			phase = null;
+		}
+	}
+
+	private void add(String name, long before, long after) {
+		synchronized (timings) {
+			timings.add(new Timing(name, Thread.currentThread().getName(), before, after - before));
+		}
+	}
+
+	private void time(final String name, final Runnable task) {
+		long before = System.currentTimeMillis();
+		LOG.info("Loading: " + name);
+		try {
+			task.run();
+		} finally {
+			add(name, before, System.currentTimeMillis());
+		}
+	}
+
+	private static class Timing {
+		private final String name;
+		private final String thread;
+		private final long start;
+		private final long duration;
+
+		public Timing(String name, String thread, long start, long duration) {
+			this.name = name;
+			this.thread = thread;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getThread() {
+			return thread;
+		}
+
+		public long getStart() {
+			return start;
+		}
+
+		public long getDuration() {
+			return duration;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+package net.nikr.eve.jeveasset;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.swing.SwingUtilities;
+import net.nikr.eve.jeveasset.gui.tabs.orders.OutbidProcesser.OutbidProcesserOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges event list update requests made within a short window into one update.
+ * <p>
+ * The calling thread waits until the update containing its request is done.
+ * The first waiting thread processes the merged update, the other threads return when it is done.
+ * Requests from the EDT are processed right away (the EDT can not wait for the update, as the update needs the EDT).
+ */
+public class UpdateCoalescer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(UpdateCoalescer.class);
+
+	private static final long WINDOW = 50; //ms
+
+	public interface UpdateProcessor {
+		public void process(Update update);
+	}
+
+	private final UpdateProcessor processor;
+	private final Object pendingLock = new Object();
+	private final Object processLock = new Object();
+	private Update pending = new Update();
+
+	public UpdateCoalescer(UpdateProcessor processor) {
+		this.processor = processor;
+	}
+
+	public void update(Set<Long> itemIDs, Set<Long> locationIDs, Set<Integer> typeIDs, OutbidProcesserOutput output) {
+		Update update;
+		synchronized (pendingLock) {
+			update = pending;
+			update.merge(itemIDs, locationIDs, typeIDs, output);
+		}
+		if (!SwingUtilities.isEventDispatchThread()) {
+			try {
+				Thread.sleep(WINDOW); //Wait for more requests
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		synchronized (processLock) {
+			synchronized (pendingLock) {
+				if (update.isDone()) {
+					return; //Processed by another thread
+				}
+				if (pending == update) {
+					pending = new Update(); //New requests goes into the next update
+				}
+			}
+			if (update.getRequests() > 1) {
+				LOG.info("Merged " + update.getRequests() + " event list updates");
+			}
+			try {
+				processor.process(update);
+			} finally {
+				update.setDone();
+			}
+		}
+	}
+
+	public static class Update {
+		private final Set<Long> itemIDs = new HashSet<>();
+		private final Set<Long> locationIDs = new HashSet<>();
+		private final Set<Integer> typeIDs = new HashSet<>();
+		private final List<OutbidProcesserOutput> outputs = new ArrayList<>();
+		private boolean full = false;
+		private int requests = 0;
+		private volatile boolean done = false;
+
+		private void merge(Set<Long> itemIDs, Set<Long> locationIDs, Set<Integer> typeIDs, OutbidProcesserOutput output) {
+			requests++;
+			if (output != null) {
+				outputs.add(output);
+			} else if (itemIDs != null) {
+				this.itemIDs.addAll(itemIDs);
+			} else if (locationIDs != null) {
+				this.locationIDs.addAll(locationIDs);
+			} else if (typeIDs != null) {
+				this.typeIDs.addAll(typeIDs);
+			} else {
+				full = true;
+			}
+		}
+
+		/**
+		 * Full update: updates everything (names, locations and prices included).
+		 * @return true if any of the requests was a full update
+		 */
+		public boolean isFull() {
+			return full;
+		}
+
+		public Set<Long> getItemIDs() {
+			return itemIDs;
+		}
+
+		public Set<Long> getLocationIDs() {
+			return locationIDs;
+		}
+
+		public Set<Integer> getTypeIDs() {
+			return typeIDs;
+		}
+
+		public List<OutbidProcesserOutput> getOutputs() {
+			return outputs;
+		}
+
+		private int getRequests() {
+			return requests;
+		}
+
+		private boolean isDone() {
+			return done;
+		}
+
+		private void setDone() {
+			done = true;
+		}
+	}
+}
@@ -85,11 +85,11 @@ public class ProfileData {
 	private final EventList<MyAccountBalance> accountBalanceEventList = EventListManager.create();
 	private final EventList<MyContract> contractEventList = EventListManager.create();
 	private final List<MyContractItem> contractItemList = new ArrayList<>();
-	private final List<MyIndustryJob> industryJobsList = new ArrayList<>();
+	private volatile List<MyIndustryJob> industryJobsList = Collections.emptyList(); //Immutable snapshot: replaced on update, safe to read from any thread
 	private final List<MyMarketOrder> marketOrdersList = new ArrayList<>();
 	private final List<MyJournal> journalList = new ArrayList<>();
 	private final List<MyTransaction> transactionsList = new ArrayList<>();
-	private final List<MyAsset> assetsList = new ArrayList<>();
+	private volatile List<MyAsset> assetsList = Collections.emptyList(); //Immutable snapshot: replaced on update, safe to read from any thread
 	private final List<MyAccountBalance> accountBalanceList = new ArrayList<>();
 	private final List<MyContract> contractList = new ArrayList<>();
 	private final Map<String, Long> skillPointsTotal = new HashMap<>();
@@ -319,6 +319,10 @@ public class ProfileData {
 	}
 
 	public synchronized void updateMarketOrders(OutbidProcesserOutput output) { //synchronized as owners are modified by updateEventLists
+		if (output.isMerge()) {
+			updateMarketOrdersMerge(output);
+			return;
+		}
 		for (OwnerType ownerType : owners.values()) {
 			for (MyMarketOrder order : ownerType.getMarketOrders()) { // getMarketOrders() is thread safe
 				order.setOutbid(output.getOutbids().get(order.getOrderID()));
@@ -340,6 +344,42 @@ public class ProfileData {
 		});
 	}
 
+	/**
+	 * Only update the orders with data and only update their rows.
+	 * @param output merged output
+	 */
+	private void updateMarketOrdersMerge(OutbidProcesserOutput output) {
+		final Set<Long> orderIDs = new HashSet<>(output.getOrderIDs());
+		orderIDs.addAll(output.getUpdates().keySet());
+		if (orderIDs.isEmpty()) {
+			return;
+		}
+		for (OwnerType ownerType : owners.values()) {
+			for (MyMarketOrder order : ownerType.getMarketOrders()) { // getMarketOrders() is thread safe
+				if (output.getOrderIDs().contains(order.getOrderID())) {
+					order.setOutbid(output.getOutbids().get(order.getOrderID()));
+				}
+				order.addChanges(output.getUpdates().get(order.getOrderID()));
+			}
+		}
+		Program.ensureEDT(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					marketOrdersEventList.getReadWriteLock().writeLock().lock();
+					for (int i = 0; i < marketOrdersEventList.size(); i++) {
+						MyMarketOrder order = marketOrdersEventList.get(i);
+						if (orderIDs.contains(order.getOrderID())) {
+							marketOrdersEventList.set(i, order); //Update row
+						}
+					}
+				} finally {
+					marketOrdersEventList.getReadWriteLock().writeLock().unlock();
+				}
+			}
+		});
+	}
+
 	public void updateLocations(Set<Long> locationIDs) {
 		if (locationIDs == null || locationIDs.isEmpty()) {
 			return;
@@ -621,16 +661,14 @@ public class ProfileData {
 			updatePrice(editablePriceType);
 		}
 
-		assetsList.clear();
-		assetsList.addAll(assets);
+		assetsList = Collections.unmodifiableList(new ArrayList<>(assets));
 		marketOrdersList.clear();
 		marketOrdersList.addAll(marketOrders);
 		journalList.clear();
 		journalList.addAll(journals);
 		transactionsList.clear();
 		transactionsList.addAll(transactions);
-		industryJobsList.clear();
-		industryJobsList.addAll(industryJobs);
+		industryJobsList = Collections.unmodifiableList(new ArrayList<>(industryJobs));
 		contractItemList.clear();
 		contractItemList.addAll(contractItems);
 		contractList.clear();
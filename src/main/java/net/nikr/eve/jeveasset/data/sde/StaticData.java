@@ -31,6 +31,8 @@ import net.nikr.eve.jeveasset.io.local.FlagsReader;
 import net.nikr.eve.jeveasset.io.local.ItemsReader;
 import net.nikr.eve.jeveasset.io.local.JumpsReader;
 import net.nikr.eve.jeveasset.io.local.LocationsReader;
+import net.nikr.eve.jeveasset.io.local.StaticDataReader;
+import net.nikr.eve.jeveasset.io.local.StaticDataWriter;
 
 
 public class StaticData {
@@ -42,35 +44,61 @@ public class StaticData {
 	private final List<Jump> jumps = new ArrayList<>(); //LocationID : long
 
 	private static StaticData staticData = null;
+	private static volatile boolean loaded = false;
 
 	private StaticData() {}
 
 	public static StaticData get() {
-		load();
+		if (!loaded) {
+			load();
+		}
 		return staticData;
 	}
 
-	public static void load() {
+	/**
+	 * Load static data.
+	 * Thread safe: other threads will wait until the data is loaded.
+	 * The loading thread may call get() while loading (returns the partially loaded data).
+	 */
+	public static synchronized void load() {
 		if (staticData == null) {
 			staticData = new StaticData();
 			staticData.loadData();
+			loaded = true;
 		}
 	}
 
 	private void loadData() {
 		SplashUpdater.setProgress(5);
-		ItemsReader.load(items); //Items
+		ItemsReader.loadUpdates(items); //Items Updates
 		SplashUpdater.setProgress(10);
+		boolean loaded;
+		try {
+			LOCATIONS_LOCK.writeLock().lock();
+			loaded = StaticDataReader.load(items, locations, jumps, flags); //Binary (Items, Locations, Jumps, Item Flags)
+		} finally {
+			LOCATIONS_LOCK.writeLock().unlock();
+		}
+		if (loaded) {
+			SplashUpdater.setProgress(25);
+			return;
+		}
+		//XML is the source of truth, if the binary file is missing or outdated, load the XML and rebuild it
+		boolean ok = ItemsReader.loadStatic(items); //Items
+		SplashUpdater.setProgress(12);
 		try {
 			LOCATIONS_LOCK.writeLock().lock();
-			LocationsReader.load(locations); //Locations
+			ok = LocationsReader.load(locations) && ok; //Locations
 		} finally {
 			LOCATIONS_LOCK.writeLock().unlock();
 		}
 		SplashUpdater.setProgress(15);
-		JumpsReader.load(jumps); //Jumps
+		ok = JumpsReader.load(jumps) && ok; //Jumps
 		SplashUpdater.setProgress(20);
-		FlagsReader.load(flags); //Item Flags
+		ok = FlagsReader.load(flags) && ok; //Item Flags
+		if (ok) {
+			StaticDataWriter.save(items, getLocations(), jumps, flags);
+		}
 		SplashUpdater.setProgress(25);
 	}
 
@@ -113,7 +113,8 @@ public class ExportSettings {
 	public enum ExportFormat {
 		CSV("csv"),
 		SQL("sql"),
-		HTML("html");
+		HTML("html"),
+		SQLITE("db");
 		
 		private final String extension;
 
@@ -187,6 +188,11 @@ public class ExportSettings {
 	private boolean extendedInserts;
 	private String tableName;
 
+	//SQLite
+	private String sqliteTableName;
+	private boolean sqliteAppend;
+	private boolean sqliteIndexes;
+
 	//HTML
 	private boolean htmlStyled;
 	private int htmlRepeatHeader;
@@ -210,6 +216,10 @@ public class ExportSettings {
 		extendedInserts = true;
 		tableName = "";
 
+		sqliteTableName = "";
+		sqliteAppend = false;
+		sqliteIndexes = true;
+
 		htmlStyled = true;
 		htmlRepeatHeader = 0;
 		htmlIGB = false;
@@ -263,6 +273,30 @@ public class ExportSettings {
 		this.extendedInserts = extendedInserts;
 	}
 
+	public String getSqliteTableName() {
+		return sqliteTableName;
+	}
+
+	public void setSqliteTableName(String sqliteTableName) {
+		this.sqliteTableName = sqliteTableName;
+	}
+
+	public boolean isSqliteAppend() {
+		return sqliteAppend;
+	}
+
+	public void setSqliteAppend(boolean sqliteAppend) {
+		this.sqliteAppend = sqliteAppend;
+	}
+
+	public boolean isSqliteIndexes() {
+		return sqliteIndexes;
+	}
+
+	public void setSqliteIndexes(boolean sqliteIndexes) {
+		this.sqliteIndexes = sqliteIndexes;
+	}
+
 	public boolean isHtmlStyled() {
 		return htmlStyled;
 	}
@@ -22,14 +22,18 @@ package net.nikr.eve.jeveasset.data.settings;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import net.nikr.eve.jeveasset.Program;
+import net.nikr.eve.jeveasset.gui.tabs.tracker.TrackerRollups;
+import net.nikr.eve.jeveasset.gui.tabs.tracker.TrackerRollups.Resolution;
 import net.nikr.eve.jeveasset.gui.tabs.values.Value;
 import net.nikr.eve.jeveasset.io.local.TrackerDataReader;
-import net.nikr.eve.jeveasset.io.local.TrackerDataWriter;
+import net.nikr.eve.jeveasset.io.local.TrackerStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,8 +43,12 @@ public class TrackerData {
 	private static final Logger LOG = LoggerFactory.getLogger(TrackerData.class);
 	private static final Map<String, List<Value>> TRACKER_DATA = new HashMap<String, List<Value>>(); //ownerID :: long
 	private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+	private static final TrackerRollups ROLLUPS = new TrackerRollups();
 	private static final Object SAVE_QUEUE_SYNC = new Object();
 	private static Integer SAVE_QUEUE = 0;
+	//Changes not saved yet
+	private static final Map<String, List<Value>> PENDING = new HashMap<>(); //New values: appended on save
+	private static boolean REWRITE = false; //Values edited/removed: everything is rewritten on save
 	
 
 	public static void readLock() {
@@ -72,8 +80,28 @@ public class TrackerData {
 	}
 
 	public static void load() {
-		Map<String, List<Value>> trackerData = TrackerDataReader.load();
-		TrackerData.set(trackerData);
+		TrackerStore store = TrackerStore.get();
+		Map<String, List<Value>> trackerData = store.load();
+		if (trackerData == null) { //No store: import from tracker.json
+			trackerData = TrackerDataReader.load();
+			if (trackerData != null) {
+				edited();
+			}
+		} else if (store.isDamaged()) { //Save the readable data (the damaged segments are moved aside, not deleted)
+			edited();
+		}
+		setData(trackerData);
+	}
+
+	/**
+	 * Call when values has been edited in place.
+	 * All tracker data will be rewritten on the next save.
+	 */
+	public static void edited() {
+		synchronized (PENDING) {
+			REWRITE = true;
+			PENDING.clear();
+		}
 	}
 
 	public static void save(String msg) {
@@ -103,6 +131,16 @@ public class TrackerData {
 		return TRACKER_DATA;
 	}
 
+	/**
+	 * Get the last value of each period.
+	 * @param owner owner
+	 * @param resolution period length
+	 * @return period start :: last value in the period
+	 */
+	public static NavigableMap<Date, Value> getRollup(String owner, Resolution resolution) {
+		return ROLLUPS.get(get(), owner, resolution);
+	}
+
 	public static void add(String owner, Value add) {
 		try {
 			LOCK.writeLock().lock();
@@ -112,6 +150,17 @@ public class TrackerData {
 				TRACKER_DATA.put(owner, list);
 			}
 			list.add(add);
+			ROLLUPS.add(owner, add);
+			synchronized (PENDING) {
+				if (!REWRITE) {
+					List<Value> pending = PENDING.get(owner);
+					if (pending == null) {
+						pending = new ArrayList<>();
+						PENDING.put(owner, pending);
+					}
+					pending.add(add);
+				}
+			}
 		} finally {
 			LOCK.writeLock().unlock();
 		}
@@ -121,12 +170,22 @@ public class TrackerData {
 		try {
 			LOCK.writeLock().lock();
 			TRACKER_DATA.putAll(trackerData);
+			ROLLUPS.clear();
 		} finally {
 			LOCK.writeLock().unlock();
 		}
+		edited();
 	}
 
 	public static void set(Map<String, List<Value>> trackerData) {
+		if (trackerData == null) {
+			return;
+		}
+		setData(trackerData);
+		edited();
+	}
+
+	private static void setData(Map<String, List<Value>> trackerData) {
 		if (trackerData == null) {
 			return;
 		}
@@ -134,6 +193,7 @@ public class TrackerData {
 			LOCK.writeLock().lock();
 			TRACKER_DATA.clear();
 			TRACKER_DATA.putAll(trackerData);
+			ROLLUPS.clear();
 		} finally {
 			LOCK.writeLock().unlock();
 		}
@@ -149,9 +209,11 @@ public class TrackerData {
 					TRACKER_DATA.remove(owner);
 				}
 			}
+			ROLLUPS.clear();
 		} finally {
 			LOCK.writeLock().unlock();
 		}
+		edited();
 	}
 
 	public static void removeAll(String owner, Collection<Value> remove) {
@@ -164,9 +226,11 @@ public class TrackerData {
 					TRACKER_DATA.remove(owner);
 				}
 			}
+			ROLLUPS.clear();
 		} finally {
 			LOCK.writeLock().unlock();
 		}
+		edited();
 	}
 
 	private synchronized static boolean saveQueueIgnore() {
@@ -204,8 +268,39 @@ public class TrackerData {
 
 			LOG.info("Saving tracker data: " + msg);
 			TrackerData.readLock();
-			TrackerDataWriter.save();
-			TrackerData.readUnlock();
+			try {
+				Map<String, List<Value>> append = new HashMap<>();
+				boolean rewrite;
+				synchronized (PENDING) {
+					rewrite = REWRITE;
+					for (Map.Entry<String, List<Value>> entry : PENDING.entrySet()) {
+						append.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+					}
+					PENDING.clear();
+					REWRITE = false;
+				}
+				TrackerStore store = TrackerStore.get();
+				boolean saved;
+				if (rewrite || !store.exists()) {
+					saved = store.rewrite(TrackerData.get());
+				} else if (append.isEmpty()) {
+					saved = true; //Nothing to save
+				} else if (store.append(append)) { //Append new values
+					if (store.isCompactionNeeded()) { //Compact in the background (this thread)
+						LOG.info("Compacting tracker data");
+						saved = store.rewrite(TrackerData.get());
+					} else {
+						saved = true;
+					}
+				} else { //Append failed: rewrite everything (damaged segments are moved aside, not deleted)
+					saved = store.rewrite(TrackerData.get());
+				}
+				if (!saved) {
+					edited(); //Try again on next save
+				}
+			} finally {
+				TrackerData.readUnlock();
+			}
 			saveQueueRemove();
 			LOG.debug("Tracker data saved in: " + (System.currentTimeMillis() - before) + "ms");
 		}
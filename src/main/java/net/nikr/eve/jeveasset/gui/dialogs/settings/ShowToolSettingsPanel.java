@@ -73,10 +73,8 @@ public class ShowToolSettingsPanel extends JSettingsPanel {
 	public ShowToolSettingsPanel(final Program program, final SettingsDialog settingsDialog) {
 		super(program, settingsDialog, DialoguesSettings.get().show(), Images.EDIT_SHOW.getIcon());
 
-		for (JMainTab jMainTab : program.getMainTabs().values()) {
-			if (jMainTab.isCloseable()) {
-				tools.add(new Tool(jMainTab.getTitle()));
-			}
+		for (String title : program.getToolTitles()) {
+			tools.add(new Tool(title));
 		}
 
 		ButtonGroup buttonGroup = new ButtonGroup();
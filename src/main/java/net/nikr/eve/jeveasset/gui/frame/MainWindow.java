@@ -24,7 +24,9 @@ package net.nikr.eve.jeveasset.gui.frame;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -57,6 +59,7 @@ public class MainWindow {
 	//Data
 	private final Program program;
 	private final List<JMainTab> tabs = new ArrayList<>();
+	private final Set<JMainTab> staleTabs = new HashSet<>();
 
 	public MainWindow(final Program program) {
 		this.program = program;
@@ -125,20 +128,10 @@ public class MainWindow {
 		if (!tabs.contains(jMainTab)) {
 			LOG.info("Opening tab: " + jMainTab.getTitle());
 			TextManager.installAll(jMainTab.getPanel());
-			jMainTab.beforeUpdateData();
-			jMainTab.updateData();
-			jMainTab.afterUpdateData();
-			if (jFrame.isVisible()) {
-				jLockWindow.show(GuiShared.get().updating(), new JLockWindow.LockWorker() {
-					@Override
-					public void task() {
-						jMainTab.updateCache();
-					}
-					@Override
-					public void gui() { }
-				});
-			} else {
-				jMainTab.updateCache();
+			if (focus) {
+				updateTab(jMainTab);
+			} else { //Updated when selected
+				staleTabs.add(jMainTab);
 			}
 			tabs.add(jMainTab);
 			jTabbedPane.addTab(jMainTab.getTitle(), jMainTab.getIcon(), jMainTab.getPanel());
@@ -154,6 +147,59 @@ public class MainWindow {
 		}
 	}
 
+	private void updateTab(final JMainTab jMainTab) {
+		jMainTab.beforeUpdateData();
+		jMainTab.updateData();
+		jMainTab.afterUpdateData();
+		if (jFrame.isVisible()) {
+			jLockWindow.show(GuiShared.get().updating(), new JLockWindow.LockWorker() {
+				@Override
+				public void task() {
+					jMainTab.updateCache();
+				}
+				@Override
+				public void gui() { }
+			});
+		} else {
+			jMainTab.updateCache();
+		}
+	}
+
+	/**
+	 * Update the selected tab, if it was marked as stale while hidden.
+	 */
+	private void updateStaleTab() {
+		int index = jTabbedPane.getSelectedIndex();
+		if (index < 0 || index >= tabs.size()) {
+			return;
+		}
+		JMainTab jMainTab = tabs.get(index);
+		if (staleTabs.remove(jMainTab)) {
+			LOG.info("Updating stale tab: " + jMainTab.getTitle());
+			updateTab(jMainTab);
+		}
+	}
+
+	/**
+	 * Get the open tabs that should be updated now.
+	 * Only the selected tab is returned. The other open tabs are marked as stale and updated when selected.
+	 * Must be called on the EDT.
+	 * @return the tabs to update
+	 */
+	public List<JMainTab> getUpdateTabs() {
+		List<JMainTab> updateTabs = new ArrayList<>();
+		int index = jTabbedPane.getSelectedIndex();
+		for (int i = 0; i < tabs.size(); i++) {
+			JMainTab jMainTab = tabs.get(i);
+			if (i == index && !staleTabs.contains(jMainTab)) {
+				updateTabs.add(jMainTab);
+			} else {
+				staleTabs.add(jMainTab);
+			}
+		}
+		return updateTabs;
+	}
+
 	public boolean isOpen(final JMainTab jMainTab){
 		return tabs.contains(jMainTab);
 	}
@@ -165,8 +211,9 @@ public class MainWindow {
 	private void removeTab(final JMainTab jMainTab) {
 		LOG.info("Closing tab: " + jMainTab.getTitle());
 		int index = tabs.indexOf(jMainTab);
+		tabs.remove(index); //Remove before the tabbed pane fires the selection change
+		staleTabs.remove(jMainTab);
 		jTabbedPane.removeTabAt(index);
-		tabs.remove(index);
 		jMainTab.clearData();
 		if (Settings.get().isSaveToolsOnExit()) {
 			boolean removed = Settings.get().getShowTools().remove(jMainTab.getTitle());
@@ -280,6 +327,7 @@ public class MainWindow {
 
 		@Override
 		public void stateChanged(final ChangeEvent e) {
+			updateStaleTab();
 			program.tabChanged();
 		}
 
@@ -23,6 +23,7 @@ package net.nikr.eve.jeveasset.gui.shared;
 
 import ca.odell.glazedlists.SeparatorList;
 import java.awt.Toolkit;
+import java.awt.Window;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.StringSelection;
@@ -30,13 +31,25 @@ import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.AbstractAction;
 import javax.swing.AbstractButton;
 import javax.swing.JTable;
+import javax.swing.SwingUtilities;
 import javax.swing.text.JTextComponent;
+import net.nikr.eve.jeveasset.gui.shared.components.JLockWindow;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.HierarchyColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.NumberValue;
+import net.nikr.eve.jeveasset.i18n.GuiShared;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +58,9 @@ public class CopyHandler {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CopyHandler.class);
 
+	private static final int BACKGROUND_CELLS = 100000; //Cells: format larger selections in the background
+	private static final int CHUNK_ROWS = 5000; //Rows: formatted by each task
+
 	public static void installCopyAction(AbstractButton abstractButton, JTable jTable) {
 		abstractButton.addActionListener(new ListenerClass(jTable));
 	}
@@ -71,8 +87,11 @@ public class CopyHandler {
 		if (text.length() == 0) {
 			return;
 		}
+		toClipboard(new StringSelection(text), retries);
+	}
+
+	private static void toClipboard(final Transferable selection, int retries) {
 		Toolkit toolkit = Toolkit.getDefaultToolkit();
-		StringSelection selection = new StringSelection(text);
 		Clipboard clipboard = toolkit.getSystemClipboard();
 		try {
 			clipboard.setContents(selection, null);
@@ -85,7 +104,7 @@ public class CopyHandler {
 				} catch (InterruptedException ex1) {
 					//No problem
 				}
-				toClipboard(text, retries);
+				toClipboard(selection, retries);
 			} else {
 				LOG.error(ex.getMessage(), ex);
 			}
@@ -135,7 +154,7 @@ public class CopyHandler {
 		CopyHandler.toClipboard(s);
 	}
 
-	private static void copy(JTable jTable) {
+	private static void copy(final JTable jTable) {
 		//Rows
 		int[] rows;
 		if (jTable.getRowSelectionAllowed()) { //Selected rows
@@ -157,74 +176,231 @@ public class CopyHandler {
 				columns[i] = i;
 			}
 		}
-		StringBuilder tableText = new StringBuilder(); //Table text buffer
-		String separatorText = ""; //Separator text buffer (is never added to, only set for each separator)
-		int rowCount = 0; //used to find last row
-
-		for (int row : rows) {
-			rowCount++; //count rows
-			StringBuilder rowText = new StringBuilder(); //Row text buffer
-			boolean firstColumn = true; //used to find first column
-			for (int column : columns) {
-				//Get value
-				Object value = jTable.getValueAt(row, column);
-
-				//Handle Separator
-				if (value instanceof SeparatorList.Separator) {
-					SeparatorList.Separator<?> separator = (SeparatorList.Separator) value;
-					Object object = separator.first();
-					if (object instanceof CopySeparator) {
-						CopySeparator copySeparator = (CopySeparator) object;
-						separatorText = copySeparator.getCopyString();
-					}
-					break;
+		//Table values must be read on the EDT
+		final CopyData data = new CopyData(jTable, rows, columns);
+		Window window = SwingUtilities.getWindowAncestor(jTable);
+		if ((long) rows.length * columns.length <= BACKGROUND_CELLS || window == null) {
+			toClipboard(data.format(0, rows.length, Formater.createCopyFormat())); //Send it all to the clipboard
+			return;
+		}
+		//Large selection: format in the background
+		final JLockWindow jLockWindow = new JLockWindow(window);
+		jLockWindow.show(GuiShared.get().copying(), new JLockWindow.LockWorker() {
+			private CopySelection selection;
+
+			@Override
+			public void task() {
+				selection = data.format(jLockWindow);
+			}
+
+			@Override
+			public void gui() {
+				if (selection != null) {
+					toClipboard(selection, 0);
 				}
+			}
+		});
+	}
 
-				//Add tab separator (except for first column)
-				if (firstColumn) {
-					firstColumn = false;
-				} else {
-					rowText.append("\t");
+	/**
+	 * SeparatorList.Separator string value implementation
+	 */
+	public interface CopySeparator {
+		public String getCopyString();
+	}
+
+	/**
+	 * Snapshot of the copied table cells.
+	 * Only numbers are left to be formatted (with a format per thread), everything else is converted to text on the EDT:
+	 * toString() of the column values and the date format are not thread safe.
+	 * Formatting is thread safe and can be done in chunks.
+	 */
+	private static class CopyData {
+
+		private final Object[][] cells; //Row :: Column :: Number or String (null for separator rows)
+		private final String[] separatorTexts; //Row :: Separator text (will be empty for normal tables)
+		private final int columnCount;
+
+		public CopyData(final JTable jTable, final int[] rows, final int[] columns) {
+			cells = new Object[rows.length][];
+			separatorTexts = new String[rows.length];
+			columnCount = columns.length;
+			String separatorText = ""; //Separator text buffer (is never added to, only set for each separator)
+			for (int i = 0; i < rows.length; i++) {
+				Object[] values = new Object[columns.length];
+				for (int j = 0; j < columns.length; j++) {
+					//Get value
+					Object value = jTable.getValueAt(rows[i], columns[j]);
+					//Handle Separator
+					if (value instanceof SeparatorList.Separator) {
+						SeparatorList.Separator<?> separator = (SeparatorList.Separator) value;
+						Object object = separator.first();
+						if (object instanceof CopySeparator) {
+							CopySeparator copySeparator = (CopySeparator) object;
+							separatorText = copySeparator.getCopyString();
+						}
+						values = null;
+						break;
+					}
+					values[j] = toCell(value);
 				}
+				cells[i] = values;
+				separatorTexts[i] = separatorText;
+			}
+		}
+
+		private static Object toCell(Object value) {
+			if (value instanceof NumberValue) {
+				value = ((NumberValue)value).getNumber();
+			}
+			if (value == null) { //Ignore null
+				return null;
+			} else if (value instanceof Number) {
+				return value;
+			} else if (value instanceof Date) {
+				return Formater.columnDate(value);
+			} else if (value instanceof HierarchyColumn) {
+				HierarchyColumn hierarchyColumn = (HierarchyColumn) value;
+				return hierarchyColumn.getExport();
+			} else {
+				return value.toString(); //Default
+			}
+		}
 
-				//Add value
-				if (value instanceof NumberValue) {
-					value = ((NumberValue)value).getNumber();
+		/**
+		 * Format all rows in parallel chunks.
+		 * @param jLockWindow progress
+		 * @return the formatted chunks or null if interrupted
+		 */
+		public CopySelection format(final JLockWindow jLockWindow) {
+			final int rowCount = cells.length;
+			final int chunks = (rowCount + CHUNK_ROWS - 1) / CHUNK_ROWS;
+			final String[] texts = new String[chunks];
+			final AtomicInteger done = new AtomicInteger();
+			int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), chunks));
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				List<Callable<Void>> tasks = new ArrayList<>();
+				for (int chunk = 0; chunk < chunks; chunk++) {
+					final int index = chunk;
+					tasks.add(new Callable<Void>() {
+						@Override
+						public Void call() {
+							int from = index * CHUNK_ROWS;
+							texts[index] = format(from, Math.min(rowCount, from + CHUNK_ROWS), Formater.createCopyFormat());
+							jLockWindow.setProgress(done.incrementAndGet() * 100 / chunks);
+							return null;
+						}
+					});
 				}
-				if (value != null) { //Ignore null
-					if (value instanceof Number) {
-						rowText.append(Formater.copyFormat((Number)value));
-					} else if (value instanceof Date) {
-						rowText.append(Formater.columnDate(value));
-					} else if (value instanceof HierarchyColumn) {
-						HierarchyColumn hierarchyColumn = (HierarchyColumn) value;
-						rowText.append(hierarchyColumn.getExport());
-					} else {
-						rowText.append(value.toString()); //Default
-					}
+				for (Future<Void> future : executor.invokeAll(tasks)) {
+					future.get();
 				}
+			} catch (InterruptedException ex) {
+				return null;
+			} catch (ExecutionException ex) {
+				LOG.error(ex.getMessage(), ex);
+				return null;
+			} finally {
+				executor.shutdownNow();
 			}
+			return new CopySelection(texts);
+		}
 
-			//Add
-			if (rowText.length() > 0 || (!separatorText.isEmpty() && rowCount == rows.length)) {
-				tableText.append(separatorText); //Add separator text (will be empty for normal tables)
-				if (rowText.length() > 0 && !separatorText.isEmpty()) { //Add tab separator (if needed)
-					tableText.append("\t");
+		/**
+		 * Format rows.
+		 * @param from first row (inclusive)
+		 * @param to last row (exclusive)
+		 * @param copyFormat number format (not shared between threads)
+		 * @return the formatted rows
+		 */
+		public String format(final int from, final int to, final DecimalFormat copyFormat) {
+			StringBuilder tableText = new StringBuilder((to - from) * (columnCount * 12 + 2)); //Table text buffer
+			for (int row = from; row < to; row++) {
+				StringBuilder rowText = new StringBuilder(); //Row text buffer
+				Object[] values = cells[row];
+				if (values != null) { //Separator: empty row text
+					boolean firstColumn = true; //used to find first column
+					for (Object value : values) {
+						//Add tab separator (except for first column)
+						if (firstColumn) {
+							firstColumn = false;
+						} else {
+							rowText.append("\t");
+						}
+
+						//Add value
+						if (value instanceof Number) {
+							rowText.append(copyFormat.format(value));
+						} else if (value != null) { //Ignore null
+							rowText.append((String) value);
+						}
+					}
+				}
+				boolean lastRow = row == cells.length - 1;
+				String separatorText = separatorTexts[row];
+				//Add
+				if (rowText.length() > 0 || (!separatorText.isEmpty() && lastRow)) {
+					tableText.append(separatorText); //Add separator text (will be empty for normal tables)
+					if (rowText.length() > 0 && !separatorText.isEmpty()) { //Add tab separator (if needed)
+						tableText.append("\t");
+					}
+					tableText.append(rowText); //Add row text (will be empty if only copying sinlge separator)
+					if (!lastRow) {
+						tableText.append("\r\n");
+					} //Add end line
 				}
-				tableText.append(rowText.toString()); //Add row text (will be empty if only copying sinlge separator)
-				if (rowCount != rows.length) {
-					tableText.append("\r\n");
-				} //Add end line
 			}
+			return tableText.toString();
 		}
-		toClipboard(tableText.toString()); //Send it all to the clipboard
 	}
 
 	/**
-	 * SeparatorList.Separator string value implementation
+	 * Clipboard content of formatted chunks.
+	 * The text is only joined when it's requested by the target application.
 	 */
-	public interface CopySeparator {
-		public String getCopyString();
+	private static class CopySelection implements Transferable {
+
+		private String[] texts; //Released when joined
+		private String text = null;
+
+		public CopySelection(String[] texts) {
+			this.texts = texts;
+		}
+
+		private synchronized String getText() {
+			if (text == null) {
+				int length = 0;
+				for (String s : texts) {
+					length = length + s.length();
+				}
+				StringBuilder builder = new StringBuilder(length);
+				for (String s : texts) {
+					builder.append(s);
+				}
+				text = builder.toString();
+				texts = null;
+			}
+			return text;
+		}
+
+		@Override
+		public DataFlavor[] getTransferDataFlavors() {
+			return new DataFlavor[] {DataFlavor.stringFlavor};
+		}
+
+		@Override
+		public boolean isDataFlavorSupported(DataFlavor flavor) {
+			return DataFlavor.stringFlavor.equals(flavor);
+		}
+
+		@Override
+		public Object getTransferData(DataFlavor flavor) throws UnsupportedFlavorException, IOException {
+			if (DataFlavor.stringFlavor.equals(flavor)) {
+				return getText();
+			}
+			throw new UnsupportedFlavorException(flavor);
+		}
 	}
 
 	private static class ListenerClass extends AbstractAction {
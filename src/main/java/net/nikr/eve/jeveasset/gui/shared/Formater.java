@@ -87,13 +87,25 @@ public final class Formater {
 	}
 
 	public static String copyFormat(final Number number) {
+		COPY_FORMAT.setDecimalFormatSymbols(getCopySymbols());
+		return COPY_FORMAT.format(number);
+	}
+
+	/**
+	 * DecimalFormat is not thread safe: use a new copy format for each thread.
+	 * @return new copy format (with the current copy settings)
+	 */
+	public static DecimalFormat createCopyFormat() {
+		return new DecimalFormat("0.##", getCopySymbols());
+	}
+
+	private static DecimalFormatSymbols getCopySymbols() {
 		DecimalFormatSymbols otherSymbols = new DecimalFormatSymbols(Locale.ENGLISH);
 		switch (Settings.get().getCopySettings().getCopyDecimalSeparator()) {
 			case COMMA: otherSymbols.setDecimalSeparator(','); break;
 			case DOT: otherSymbols.setDecimalSeparator('.'); break;
 		}
-		COPY_FORMAT.setDecimalFormatSymbols(otherSymbols);
-		return COPY_FORMAT.format(number);
+		return otherSymbols;
 	}
 	public static String iskFormat(final Number number) {
 		return ISK_FORMAT.format(number);
@@ -40,6 +40,7 @@ public final class JCustomFileChooser extends JFileChooser {
 
 	private final Window window;
 	private List<String> extensions;
+	private boolean confirmOverwrite = true;
 
 	public static JCustomFileChooser createFileChooser(final Window window, final String extension) {
 		return createFileChooser(window, Collections.singletonList(extension));
@@ -74,6 +75,13 @@ public final class JCustomFileChooser extends JFileChooser {
 		
 	}
 
+	/**
+	 * @param confirmOverwrite false if existing files are updated, not overwritten
+	 */
+	public void setConfirmOverwrite(final boolean confirmOverwrite) {
+		this.confirmOverwrite = confirmOverwrite;
+	}
+
 	public final void setExtension(final String extension) {
 		setExtensions(Collections.singletonList(extension));
 	}
@@ -88,7 +96,7 @@ public final class JCustomFileChooser extends JFileChooser {
 	public void approveSelection() {
 		File selectedFile = this.getSelectedFile();
 		//Confirm Overwrite file
-		if (getDialogType() != OPEN_DIALOG && selectedFile != null && selectedFile.exists()) {
+		if (getDialogType() != OPEN_DIALOG && confirmOverwrite && selectedFile != null && selectedFile.exists()) {
 			int nReturn = JOptionPane.showConfirmDialog(
 					window,
 					GuiShared.get().overwrite(),
@@ -30,6 +30,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.JWindow;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 
 
@@ -90,6 +91,21 @@ public class JLockWindow {
 		wait.execute();
 	}
 
+	/**
+	 * Show progress instead of the indeterminate progress bar.
+	 * Can be called from any thread.
+	 * @param progress 0-100
+	 */
+	public void setProgress(final int progress) {
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				jProgress.setIndeterminate(false);
+				jProgress.setValue(progress);
+			}
+		});
+	}
+
 	private void hide() {
 		parent.setEnabled(true);
 		jWindow.setVisible(false);
@@ -32,6 +32,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -40,6 +41,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 import javax.swing.AbstractListModel;
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
@@ -53,11 +55,14 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JRadioButton;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JSlider;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.settings.ExportSettings.ColumnSelection;
 import net.nikr.eve.jeveasset.data.settings.ExportSettings.DecimalSeparator;
@@ -85,13 +90,18 @@ import net.nikr.eve.jeveasset.gui.tabs.tree.TreeTab;
 import net.nikr.eve.jeveasset.gui.tabs.tree.TreeTab.AssetTreeComparator;
 import net.nikr.eve.jeveasset.i18n.DialoguesExport;
 import net.nikr.eve.jeveasset.io.local.CsvWriter;
+import net.nikr.eve.jeveasset.io.local.ExportRows;
 import net.nikr.eve.jeveasset.io.local.HtmlWriter;
 import net.nikr.eve.jeveasset.io.local.SqlWriter;
-import org.supercsv.prefs.CsvPreference;
+import net.nikr.eve.jeveasset.io.local.SqliteWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 public class ExportDialog<E> extends JDialogCentered {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ExportDialog.class);
+
 	private enum ExportAction {
 		OK,
 		CANCEL,
@@ -117,6 +127,7 @@ public class ExportDialog<E> extends JDialogCentered {
 	private final JRadioButton jCsv;
 	private final JRadioButton jHtml;
 	private final JRadioButton jSql;
+	private final JRadioButton jSqlite;
 	//Options
 	private final CardLayout cardLayout;
 	private final JPanel jOptionPanel;
@@ -133,11 +144,13 @@ public class ExportDialog<E> extends JDialogCentered {
 	private final JCheckBox jDropTable;
 	private final JCheckBox jCreateTable;
 	private final JCheckBox jExtendedInserts;
+	//SQLite
+	private final JTextField jSqliteTableName;
+	private final JCheckBox jSqliteAppend;
+	private final JCheckBox jSqliteIndexes;
 
 	private final JButton jOK;
-
-	private static final DecimalFormat HTML_EN_NUMBER_FORMAT  = new DecimalFormat("#,##0.####", new DecimalFormatSymbols(new Locale("en")));
-	private static final DecimalFormat HTML_EU_NUMBER_FORMAT  = new DecimalFormat("#,##0.####", new DecimalFormatSymbols(new Locale("da")));
+	private final JProgressBar jProgress;
 
 	private final JCustomFileChooser jFileChooser;
 
@@ -147,6 +160,7 @@ public class ExportDialog<E> extends JDialogCentered {
 	private final FilterControl<E> filterControl;
 	private final ExportFilterControl<E> exportFilterControl;
 	private final String toolName;
+	private DialogExportRows exportRows = null;
 
 	public ExportDialog(final JFrame jFrame, final String toolName, final FilterControl<E> filterControl, ExportFilterControl<E> exportFilterControl, final List<EventList<E>> eventLists, final List<EnumTableColumn<E>> enumColumns) {
 		super(null, DialoguesExport.get().export(), jFrame, Images.DIALOG_CSV_EXPORT.getImage());
@@ -179,22 +193,29 @@ public class ExportDialog<E> extends JDialogCentered {
 		jSql.setActionCommand(ExportAction.FORMAT_CHANGED.name());
 		jSql.addActionListener(listener);
 
+		jSqlite = new JRadioButton(DialoguesExport.get().sqlite());
+		jSqlite.setActionCommand(ExportAction.FORMAT_CHANGED.name());
+		jSqlite.addActionListener(listener);
+
 		ButtonGroup jFormatButtonGroup = new ButtonGroup();
 		jFormatButtonGroup.add(jCsv);
 		jFormatButtonGroup.add(jHtml);
 		jFormatButtonGroup.add(jSql);
+		jFormatButtonGroup.add(jSqlite);
 
 		formatLayout.setHorizontalGroup(
 			formatLayout.createSequentialGroup()
 					.addComponent(jCsv)
 					.addComponent(jHtml)
 					.addComponent(jSql)
+					.addComponent(jSqlite)
 		);
 		formatLayout.setVerticalGroup(
 			formatLayout.createParallelGroup()
 					.addComponent(jCsv, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 					.addComponent(jHtml, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 					.addComponent(jSql, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
+					.addComponent(jSqlite, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 		);
 	//Options
 		cardLayout = new CardLayout();
@@ -236,6 +257,21 @@ public class ExportDialog<E> extends JDialogCentered {
 
 		jExtendedInserts = new JCheckBox(DialoguesExport.get().extendedInserts());
 		jSqlPanel.add(jExtendedInserts);
+	//SQLite
+		JOptionPanel jSqlitePanel = new JOptionPanel();
+		jOptionPanel.add(jSqlitePanel, ExportFormat.SQLITE.name());
+
+		JLabel jSqliteTableNameLabel = new JLabel(DialoguesExport.get().tableName());
+		jSqliteTableName = new JDefaultField(Program.PROGRAM_NAME.toLowerCase() + "_" + toolName.toLowerCase());
+		jSqliteTableName.setDocument(DocumentFactory.getWordPlainDocument());
+		jSqlitePanel.add(jSqliteTableNameLabel);
+		jSqlitePanel.add(jSqliteTableName);
+
+		jSqliteAppend = new JCheckBox(DialoguesExport.get().sqliteAppend());
+		jSqlitePanel.add(jSqliteAppend);
+
+		jSqliteIndexes = new JCheckBox(DialoguesExport.get().sqliteIndexes());
+		jSqlitePanel.add(jSqliteIndexes);
 	//Html
 		JOptionPanel jHtmlPanel = new JOptionPanel();
 		jOptionPanel.add(jHtmlPanel, ExportFormat.HTML.name());
@@ -392,6 +428,9 @@ public class ExportDialog<E> extends JDialogCentered {
 		jCancel.setActionCommand(ExportAction.CANCEL.name());
 		jCancel.addActionListener(listener);
 
+		jProgress = new JProgressBar(0, 100);
+		jProgress.setVisible(false);
+
 		layout.setHorizontalGroup(
 			layout.createParallelGroup(GroupLayout.Alignment.TRAILING)
 				.addGroup(layout.createSequentialGroup()
@@ -409,6 +448,7 @@ public class ExportDialog<E> extends JDialogCentered {
 				.addComponent(jButtonSeparator)
 				.addGroup(layout.createSequentialGroup()
 					.addContainerGap()
+					.addComponent(jProgress, 0, 0, Integer.MAX_VALUE)
 					.addComponent(jOK, Program.getButtonsWidth(), Program.getButtonsWidth(), Program.getButtonsWidth())
 					.addComponent(jDefault, Program.getButtonsWidth(), Program.getButtonsWidth(), Program.getButtonsWidth())
 					.addComponent(jCancel, Program.getButtonsWidth(), Program.getButtonsWidth(), Program.getButtonsWidth())
@@ -428,6 +468,7 @@ public class ExportDialog<E> extends JDialogCentered {
 				)
 				.addComponent(jButtonSeparator, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE, GroupLayout.PREFERRED_SIZE)
 				.addGroup(layout.createParallelGroup()
+					.addComponent(jProgress, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 					.addComponent(jOK, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 					.addComponent(jDefault, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 					.addComponent(jCancel, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
@@ -475,6 +516,8 @@ public class ExportDialog<E> extends JDialogCentered {
 			jFileChooser.setCurrentDirectory(new File(Settings.get().getExportSettings(toolName).getDefaultPath()));
 			jFileChooser.setSelectedFile(new File(Settings.get().getExportSettings(toolName).getDefaultFilename()));
 		}
+		//Appending to SQLite database: existing file is updated
+		jFileChooser.setConfirmOverwrite(!(jSqlite.isSelected() && jSqliteAppend.isSelected()));
 		int bFound = jFileChooser.showDialog(getDialog(), DialoguesExport.get().ok());
 		if (bFound  == JFileChooser.APPROVE_OPTION) {
 			file = jFileChooser.getSelectedFile();
@@ -485,7 +528,7 @@ public class ExportDialog<E> extends JDialogCentered {
 		}
 	}
 
-	private String format(final Object object, final DecimalSeparator decimalSeparator, final boolean html) {
+	private String format(final Object object, final DecimalFormat numberFormat, final boolean html) {
 		if (object == null) {
 			return "";
 		} else if (object instanceof HierarchyColumn) {
@@ -493,11 +536,7 @@ public class ExportDialog<E> extends JDialogCentered {
 			return column.getExport();
 		} else if (object instanceof Number) {
 			Number number = (Number) object;
-			if (decimalSeparator == DecimalSeparator.DOT) {
-				return HTML_EN_NUMBER_FORMAT.format(number);
-			} else {
-				return HTML_EU_NUMBER_FORMAT.format(number);
-			}
+			return numberFormat.format(number);
 		} else if (object instanceof Tags && html) {
 			Tags tags = (Tags) object;
 			return tags.getHtml();
@@ -519,6 +558,10 @@ public class ExportDialog<E> extends JDialogCentered {
 		Settings.get().getExportSettings(toolName).setDropTable(jDropTable.isSelected());
 		Settings.get().getExportSettings(toolName).setCreateTable(jCreateTable.isSelected());
 		Settings.get().getExportSettings(toolName).setExtendedInserts(jExtendedInserts.isSelected());
+		//SQLite
+		Settings.get().getExportSettings(toolName).setSqliteTableName(jSqliteTableName.getText());
+		Settings.get().getExportSettings(toolName).setSqliteAppend(jSqliteAppend.isSelected());
+		Settings.get().getExportSettings(toolName).setSqliteIndexes(jSqliteIndexes.isSelected());
 		//HTML
 		Settings.get().getExportSettings(toolName).setHtmlStyled(jHtmlStyle.isSelected());
 		Settings.get().getExportSettings(toolName).setHtmlIGB(jHtmlIGB.isSelected());
@@ -557,6 +600,10 @@ public class ExportDialog<E> extends JDialogCentered {
 		jDropTable.setSelected(Settings.get().getExportSettings(toolName).isDropTable());
 		jCreateTable.setSelected(Settings.get().getExportSettings(toolName).isCreateTable());
 		jExtendedInserts.setSelected(Settings.get().getExportSettings(toolName).isExtendedInserts());
+		//SQLite
+		jSqliteTableName.setText(Settings.get().getExportSettings(toolName).getSqliteTableName());
+		jSqliteAppend.setSelected(Settings.get().getExportSettings(toolName).isSqliteAppend());
+		jSqliteIndexes.setSelected(Settings.get().getExportSettings(toolName).isSqliteIndexes());
 		//HTML
 		jHtmlStyle.setSelected(Settings.get().getExportSettings(toolName).isHtmlStyled());
 		jHtmlIGB.setSelected(Settings.get().getExportSettings(toolName).isHtmlIGB());
@@ -626,6 +673,10 @@ public class ExportDialog<E> extends JDialogCentered {
 		Settings.get().getExportSettings(toolName).setDropTable(true);
 		Settings.get().getExportSettings(toolName).setCreateTable(true);
 		Settings.get().getExportSettings(toolName).setExtendedInserts(true);
+		//SQLite
+		Settings.get().getExportSettings(toolName).setSqliteTableName("");
+		Settings.get().getExportSettings(toolName).setSqliteAppend(false);
+		Settings.get().getExportSettings(toolName).setSqliteIndexes(true);
 		//HTML
 		Settings.get().getExportSettings(toolName).setHtmlStyled(true);
 		Settings.get().getExportSettings(toolName).setHtmlRepeatHeader(0);
@@ -654,6 +705,9 @@ public class ExportDialog<E> extends JDialogCentered {
 		} else if (exportFormat == ExportFormat.SQL) {
 			jSql.setSelected(true);
 			jOptionPanel.setBorder(BorderFactory.createTitledBorder(DialoguesExport.get().sql()));
+		} else if (exportFormat == ExportFormat.SQLITE) {
+			jSqlite.setSelected(true);
+			jOptionPanel.setBorder(BorderFactory.createTitledBorder(DialoguesExport.get().sqlite()));
 		} else { //CSV and Default
 			jCsv.setSelected(true);
 			jOptionPanel.setBorder(BorderFactory.createTitledBorder(DialoguesExport.get().csv()));
@@ -735,6 +789,8 @@ public class ExportDialog<E> extends JDialogCentered {
 			updateColumns();
 			//Settings
 			loadSettings();
+		} else if (exportRows != null) { //Closed while exporting
+			exportRows.cancel();
 		}
 		super.setVisible(b);
 	}
@@ -840,82 +896,93 @@ public class ExportDialog<E> extends JDialogCentered {
 				}
 			}
 		}
+	//Sort (filter before sort tables)
+		Comparator<? super E> comparator = exportFilterControl.getExportComparator();
+		if (comparator != null) {
+			Collections.sort(items, comparator);
+		}
 	//Save settings
 		saveSettings();
 	//Save file
-		boolean saved;
+		final String filename = Settings.get().getExportSettings(toolName).getFilename();
+		final DecimalSeparator decimalSeparator = Settings.get().getExportSettings(toolName).getCsvDecimalSeparator();
+		final ExportFormat exportFormat;
 		if (jCsv.isSelected()) {
-	//CSV
-			//Create data
-			List<String> headerStrings = new ArrayList<>(header.size());
-			List<String> headerKeys = new ArrayList<>(header.size());
-			for (EnumTableColumn<E> column : header) {
-				headerStrings.add(column.getColumnName());
-				headerKeys.add(column.name());
-			}
-			List<Map<String, String>> rows = new ArrayList<>();
-			for (E e : items) {
-				Map<String, String> row = new HashMap<>();
-				for (EnumTableColumn<E> column : header) {
-					row.put(column.name(), format(exportFilterControl.getColumnValue(e, column.name()), Settings.get().getExportSettings(toolName).getCsvDecimalSeparator(), false));
-				}
-				rows.add(row);
-			}
-			//Save data
-			saved = CsvWriter.save(Settings.get().getExportSettings(toolName).getFilename(),
-					rows,
-					headerStrings.toArray(new String[headerStrings.size()]),
-					headerKeys.toArray(new String[headerKeys.size()]),
-					new CsvPreference.Builder('\"', Settings.get().getExportSettings(toolName).getFieldDelimiter().getValue(), Settings.get().getExportSettings(toolName).getLineDelimiter().getValue()).build());
+			exportFormat = ExportFormat.CSV;
 		} else if (jHtml.isSelected()) {
-	//HTML
-			//Create data
-			List<Map<EnumTableColumn<?>, String>> rows = new ArrayList<>();
-			for (E e : items) {
-				Map<EnumTableColumn<?>, String> row = new HashMap<>();
-				for (EnumTableColumn<E> column : header) {
-					row.put(column, format(exportFilterControl.getColumnValue(e, column.name()), Settings.get().getExportSettings(toolName).getCsvDecimalSeparator(), Settings.get().getExportSettings(toolName).isHtmlStyled()));
-				}
-				rows.add(row);
-			}
-			//Save data
-			saved = HtmlWriter.save(Settings.get().getExportSettings(toolName).getFilename(),
-					rows,
-					new ArrayList<>(header),
-					jHtmlIGB.isSelected() ? new ArrayList<>(items) : null,
-					Settings.get().getExportSettings(toolName).isHtmlStyled(),
-					Settings.get().getExportSettings(toolName).getHtmlRepeatHeader(),
-					toolName.equals(TreeTab.NAME));
+			exportFormat = ExportFormat.HTML;
 		} else if (jSql.isSelected()) {
-	//SQL
-			//Create data
-			List<Map<EnumTableColumn<?>, Object>> rows = new ArrayList<>();
-			for (E e : items) {
-				Map<EnumTableColumn<?>, Object> row = new HashMap<>();
-				for (EnumTableColumn<E> column : header) {
-					row.put(column, exportFilterControl.getColumnValue(e, column.name()));
-				}
-				rows.add(row);
-			}
-			//Save data
-			saved = SqlWriter.save(Settings.get().getExportSettings(toolName).getFilename(),
-					rows,
-					new ArrayList<>(header),
-					Settings.get().getExportSettings(toolName).getTableName(),
-					Settings.get().getExportSettings(toolName).isDropTable(),
-					Settings.get().getExportSettings(toolName).isCreateTable(),
-					Settings.get().getExportSettings(toolName).isExtendedInserts());
+			exportFormat = ExportFormat.SQL;
 		} else {
-			saved = false;
-		}
-		if (!saved) {
-			JOptionPane.showMessageDialog(getDialog(),
-					DialoguesExport.get().failedToSave(),
-					DialoguesExport.get().export(),
-					JOptionPane.PLAIN_MESSAGE);
+			exportFormat = ExportFormat.SQLITE;
 		}
+		final boolean htmlStyled = Settings.get().getExportSettings(toolName).isHtmlStyled();
+		final boolean htmlIGB = jHtmlIGB.isSelected();
+		final int htmlRepeatHeader = Settings.get().getExportSettings(toolName).getHtmlRepeatHeader();
+		final char fieldDelimiter = Settings.get().getExportSettings(toolName).getFieldDelimiter().getValue();
+		final String lineDelimiter = Settings.get().getExportSettings(toolName).getLineDelimiter().getValue();
+		final String tableName = Settings.get().getExportSettings(toolName).getTableName();
+		final boolean dropTable = Settings.get().getExportSettings(toolName).isDropTable();
+		final boolean createTable = Settings.get().getExportSettings(toolName).isCreateTable();
+		final boolean extendedInserts = Settings.get().getExportSettings(toolName).isExtendedInserts();
+		final String sqliteTableName = Settings.get().getExportSettings(toolName).getSqliteTableName();
+		final boolean sqliteAppend = Settings.get().getExportSettings(toolName).isSqliteAppend();
+		final boolean sqliteIndexes = Settings.get().getExportSettings(toolName).isSqliteIndexes();
+		final DialogExportRows rows = new DialogExportRows(items, header, decimalSeparator, exportFormat == ExportFormat.HTML && htmlStyled);
+		exportRows = rows;
+		jOK.setEnabled(false);
+		jProgress.setValue(0);
+		jProgress.setVisible(true);
+		SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
+			@Override
+			protected Boolean doInBackground() throws Exception {
+				long start = System.currentTimeMillis();
+				boolean saved;
+				switch (exportFormat) {
+					case CSV:
+						saved = CsvWriter.save(filename, rows, fieldDelimiter, lineDelimiter);
+						break;
+					case HTML:
+						saved = HtmlWriter.save(filename, rows, htmlIGB, htmlStyled, htmlRepeatHeader, toolName.equals(TreeTab.NAME));
+						break;
+					case SQL:
+						saved = SqlWriter.save(filename, rows, tableName, dropTable, createTable, extendedInserts);
+						break;
+					case SQLITE:
+						saved = SqliteWriter.save(filename, rows, sqliteTableName, sqliteAppend, sqliteIndexes);
+						break;
+					default:
+						saved = false;
+				}
+				LOG.info("Exported " + rows.getItems().size() + " rows in " + Formater.milliseconds(System.currentTimeMillis() - start));
+				return saved;
+			}
 
-		setVisible(false);
+			@Override
+			protected void done() {
+				exportRows = null;
+				jOK.setEnabled(true);
+				jProgress.setVisible(false);
+				boolean saved;
+				try {
+					saved = get();
+				} catch (InterruptedException | ExecutionException ex) {
+					LOG.error(ex.getMessage(), ex);
+					saved = false;
+				}
+				if (rows.isCancelled()) {
+					return; //Keep the dialog open
+				}
+				if (!saved) {
+					JOptionPane.showMessageDialog(getDialog(),
+							DialoguesExport.get().failedToSave(),
+							DialoguesExport.get().export(),
+							JOptionPane.PLAIN_MESSAGE);
+				}
+				setVisible(false);
+			}
+		};
+		worker.execute();
 	}
 
 	/***
@@ -948,6 +1015,10 @@ public class ExportDialog<E> extends JDialogCentered {
 			} else if (ExportAction.DEFAULT.name().equals(e.getActionCommand())) {
 				resetSettings();
 			} else if (ExportAction.CANCEL.name().equals(e.getActionCommand())) {
+				if (exportRows != null) { //Cancel export
+					exportRows.cancel();
+					return;
+				}
 				setVisible(false);
 				saveSettings();
 			} else if (ExportAction.FORMAT_CHANGED.name().equals(e.getActionCommand())) {
@@ -961,6 +1032,9 @@ public class ExportDialog<E> extends JDialogCentered {
 				} else if (jSql.isSelected()) {
 					exportFormat = ExportFormat.SQL;
 					jOptionPanel.setBorder(BorderFactory.createTitledBorder(DialoguesExport.get().sql()));
+				} else if (jSqlite.isSelected()) {
+					exportFormat = ExportFormat.SQLITE;
+					jOptionPanel.setBorder(BorderFactory.createTitledBorder(DialoguesExport.get().sqlite()));
 				}
 				Settings.get().getExportSettings(toolName).setExportFormat(exportFormat);
 				cardLayout.show(jOptionPanel, exportFormat.name());
@@ -1037,6 +1111,75 @@ public class ExportDialog<E> extends JDialogCentered {
 		}
 	}
 
+	/**
+	 * Formats the cells while they are written.
+	 * Progress is shown in the dialog, and the Cancel button stops the export.
+	 */
+	private class DialogExportRows implements ExportRows<E> {
+
+		private final List<E> items;
+		private final List<EnumTableColumn<E>> columns;
+		private final DecimalFormat numberFormat; //Not thread safe: one per export
+		private final boolean html;
+		private volatile boolean cancelled = false;
+		private int percent = 0;
+
+		public DialogExportRows(List<E> items, List<EnumTableColumn<E>> columns, DecimalSeparator decimalSeparator, boolean html) {
+			this.items = items;
+			this.columns = columns;
+			this.html = html;
+			if (decimalSeparator == DecimalSeparator.DOT) {
+				numberFormat = new DecimalFormat("#,##0.####", new DecimalFormatSymbols(new Locale("en")));
+			} else {
+				numberFormat = new DecimalFormat("#,##0.####", new DecimalFormatSymbols(new Locale("da")));
+			}
+		}
+
+		@Override
+		public List<E> getItems() {
+			return items;
+		}
+
+		@Override
+		public List<EnumTableColumn<E>> getColumns() {
+			return columns;
+		}
+
+		@Override
+		public Object getValue(E item, EnumTableColumn<E> column) {
+			return exportFilterControl.getColumnValue(item, column.name());
+		}
+
+		@Override
+		public void appendText(StringBuilder builder, E item, EnumTableColumn<E> column) {
+			builder.append(format(getValue(item, column), numberFormat, html));
+		}
+
+		@Override
+		public void setProgress(int rows) {
+			final int value = (int) (rows * 100L / Math.max(1, items.size()));
+			if (value == percent) {
+				return; //Only update the GUI when the percent changes
+			}
+			percent = value;
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					jProgress.setValue(value);
+				}
+			});
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+
 	private class TreeMatcher<E> implements Matcher<E> {
 
 		private final EventList<E> eventList;
@@ -1058,9 +1201,7 @@ public class ExportDialog<E> extends JDialogCentered {
 					items.add(treeAsset);
 				}
 			}
-			for (TreeAsset treeAsset : items) {
-				treeAsset.updateParents();
-			}
+			TreeAsset.updateParents(items);
 		}
 
 		@Override
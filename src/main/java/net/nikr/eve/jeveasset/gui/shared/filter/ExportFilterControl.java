@@ -22,6 +22,7 @@
 package net.nikr.eve.jeveasset.gui.shared.filter;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,4 +43,11 @@ public abstract class ExportFilterControl<E> {
 	public List<Filter> getCurrentFilters() {
 		return new ArrayList<>();
 	}
+	/**
+	 * Used when the export event list is not sorted (filter before sort).
+	 * @return the table sorting, or null to keep the order of the export event list
+	 */
+	public Comparator<? super E> getExportComparator() {
+		return null;
+	}
 }
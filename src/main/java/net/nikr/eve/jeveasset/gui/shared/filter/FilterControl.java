@@ -40,6 +40,7 @@ import javax.swing.JTable;
 import net.nikr.eve.jeveasset.data.settings.SettingsUpdateListener;
 import net.nikr.eve.jeveasset.gui.shared.filter.Filter.AllColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
+import net.nikr.eve.jeveasset.gui.shared.table.RowCache;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.NumberValue;
 
 
@@ -53,7 +54,7 @@ public abstract class FilterControl<E> extends ExportFilterControl<E> {
 	private final Map<String, List<Filter>> filters;
 	private final Map<String, List<Filter>> defaultFilters;
 	private final FilterGui<E> gui;
-	private final Map<E, String> cache;
+	private final RowCache<E, String> cache;
 
 	/** Do not use this constructor - it's here only for test purposes. */
 	protected FilterControl() {
@@ -65,7 +66,7 @@ public abstract class FilterControl<E> extends ExportFilterControl<E> {
 		filters = null;
 		defaultFilters = null;
 		gui = null;
-		cache = new HashMap<>();
+		cache = new RowCache<>("Filter", RowCache.MAX_ROWS, true);
 	}
 
 	protected FilterControl(final JFrame jFrame, final String name, final EventList<E> eventList, final EventList<E> exportEventList, final FilterList<E> filterList, final Map<String, List<Filter>> filters) {
@@ -110,7 +111,7 @@ public abstract class FilterControl<E> extends ExportFilterControl<E> {
 		ListenerClass listener = new ListenerClass();
 		filterList.addListEventListener(listener);
 		gui = new FilterGui<>(jFrame, this);
-		cache = new HashMap<>();
+		cache = new RowCache<>(name + " filter", RowCache.MAX_ROWS, true);
 	}
 
 	public void clearCache() {
@@ -125,7 +126,7 @@ public abstract class FilterControl<E> extends ExportFilterControl<E> {
 		gui.refilter();
 	}
 
-	Map<E, String> getCache() {
+	RowCache<E, String> getCache() {
 		return cache;
 	}
 
@@ -137,9 +138,7 @@ public abstract class FilterControl<E> extends ExportFilterControl<E> {
 		if (update.isEmpty()) {
 			return;
 		}
-		for (E e : update) {
-			cache.remove(e); //Remove deleted cache
-		}
+		cache.removeAll(update); //Remove deleted cache
 	}
 
 	private void cacheUpdate(List<E> update) {
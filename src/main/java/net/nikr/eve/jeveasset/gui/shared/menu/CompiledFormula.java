@@ -0,0 +1,603 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.menu;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formula parsed once into a double precision expression tree.
+ * <p>
+ * Follows the EvalEx syntax (operator precedence, functions and constants), but only the parts used for table formulas.
+ * Variables are bound by index: getVariables() list the variable names in the order the values must be given to eval().
+ * Immutable and thread safe.
+ */
+public class CompiledFormula {
+
+	private final Node root;
+	private final List<String> variables;
+
+	private CompiledFormula(Node root, List<String> variables) {
+		this.root = root;
+		this.variables = Collections.unmodifiableList(variables);
+	}
+
+	/**
+	 * Parse formula.
+	 * @param expression formula in EvalEx syntax
+	 * @return the compiled formula or null if the formula is invalid or use functions that are not supported
+	 */
+	public static CompiledFormula compile(String expression) {
+		if (expression == null) {
+			return null;
+		}
+		try {
+			Parser parser = new Parser(expression);
+			Node root = parser.parse();
+			return new CompiledFormula(root, parser.variables);
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return variable names, in the order the values must be given to eval()
+	 */
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * @param values variable values, in the order of getVariables()
+	 * @return the result or null if the result is not a number (division by zero, etc.)
+	 */
+	public Double eval(double[] values) {
+		double value = root.eval(values);
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return null;
+		}
+		return value;
+	}
+
+	private static abstract class Node {
+		abstract double eval(double[] values);
+	}
+
+	private static class Constant extends Node {
+		private final double value;
+
+		public Constant(double value) {
+			this.value = value;
+		}
+
+		@Override
+		double eval(double[] values) {
+			return value;
+		}
+	}
+
+	private static class Variable extends Node {
+		private final int index;
+
+		public Variable(int index) {
+			this.index = index;
+		}
+
+		@Override
+		double eval(double[] values) {
+			return values[index];
+		}
+	}
+
+	private static class Parser {
+		private final String expression;
+		private final List<String> variables = new ArrayList<>();
+		private int pos = 0;
+
+		public Parser(String expression) {
+			this.expression = expression;
+		}
+
+		public Node parse() {
+			Node node = parseOperators(0);
+			skipWhitespace();
+			if (pos < expression.length()) {
+				throw new IllegalArgumentException("Unexpected: " + expression.substring(pos));
+			}
+			return node;
+		}
+
+		/**
+		 * Precedence climbing. Precedence as EvalEx: || 2, && 4, equality 7, comparison 10, +- 20, * / % 30, ^ 40 (right associative).
+		 */
+		private Node parseOperators(int minPrecedence) {
+			Node left = parseUnary();
+			while (true) {
+				skipWhitespace();
+				String operator = peekOperator();
+				if (operator == null) {
+					return left;
+				}
+				int precedence = getPrecedence(operator);
+				if (precedence < minPrecedence) {
+					return left;
+				}
+				pos = pos + operator.length();
+				boolean rightAssociative = operator.equals("^");
+				Node right = parseOperators(rightAssociative ? precedence : precedence + 1);
+				left = createOperator(operator, left, right);
+			}
+		}
+
+		/**
+		 * Unary minus/plus bind stronger than ^ (as EvalEx: -2^2 = 4).
+		 */
+		private Node parseUnary() {
+			skipWhitespace();
+			if (peek('-')) {
+				pos++;
+				final Node node = parseUnary();
+				return new Node() {
+					@Override
+					double eval(double[] values) {
+						return -node.eval(values);
+					}
+				};
+			} else if (peek('+')) {
+				pos++;
+				return parseUnary();
+			}
+			return parsePrimary();
+		}
+
+		private Node parsePrimary() {
+			skipWhitespace();
+			if (pos >= expression.length()) {
+				throw new IllegalArgumentException("Unexpected end");
+			}
+			char c = expression.charAt(pos);
+			if (c == '(') {
+				pos++;
+				Node node = parseOperators(0);
+				expect(')');
+				return node;
+			} else if (Character.isDigit(c) || c == '.') {
+				return parseNumber();
+			} else if (Character.isLetter(c) || c == '_') {
+				int start = pos;
+				while (pos < expression.length() && (Character.isLetterOrDigit(expression.charAt(pos)) || expression.charAt(pos) == '_')) {
+					pos++;
+				}
+				String name = expression.substring(start, pos);
+				skipWhitespace();
+				if (peek('(')) {
+					pos++;
+					return createFunction(name.toUpperCase(Locale.ENGLISH), parseArguments());
+				}
+				return createIdentifier(name);
+			}
+			throw new IllegalArgumentException("Unexpected: " + c);
+		}
+
+		private Node parseNumber() {
+			int start = pos;
+			while (pos < expression.length() && (Character.isDigit(expression.charAt(pos)) || expression.charAt(pos) == '.')) {
+				pos++;
+			}
+			if (pos < expression.length() && (expression.charAt(pos) == 'e' || expression.charAt(pos) == 'E')) {
+				int exponent = pos + 1;
+				if (exponent < expression.length() && (expression.charAt(exponent) == '-' || expression.charAt(exponent) == '+')) {
+					exponent++;
+				}
+				if (exponent < expression.length() && Character.isDigit(expression.charAt(exponent))) {
+					pos = exponent;
+					while (pos < expression.length() && Character.isDigit(expression.charAt(pos))) {
+						pos++;
+					}
+				}
+			}
+			if (pos < expression.length() && Character.isLetter(expression.charAt(pos))) {
+				throw new IllegalArgumentException("Unsupported number: " + expression.substring(start)); //Hex, etc.
+			}
+			try {
+				return new Constant(Double.parseDouble(expression.substring(start, pos)));
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException(ex);
+			}
+		}
+
+		private List<Node> parseArguments() {
+			List<Node> arguments = new ArrayList<>();
+			skipWhitespace();
+			if (peek(')')) {
+				pos++;
+				return arguments;
+			}
+			while (true) {
+				arguments.add(parseOperators(0));
+				skipWhitespace();
+				if (peek(',')) {
+					pos++;
+				} else {
+					expect(')');
+					return arguments;
+				}
+			}
+		}
+
+		private Node createIdentifier(String name) {
+			switch (name.toUpperCase(Locale.ENGLISH)) {
+				case "PI":
+					return new Constant(Math.PI);
+				case "E":
+					return new Constant(Math.E);
+				case "TRUE":
+					return new Constant(1);
+				case "FALSE":
+					return new Constant(0);
+				case "NULL":
+					throw new IllegalArgumentException("Unsupported constant: " + name);
+			}
+			for (int i = 0; i < variables.size(); i++) {
+				if (variables.get(i).equalsIgnoreCase(name)) {
+					return new Variable(i);
+				}
+			}
+			variables.add(name);
+			return new Variable(variables.size() - 1);
+		}
+
+		private Node createFunction(String name, final List<Node> arguments) {
+			switch (name) {
+				case "IF": {
+					checkArguments(name, arguments, 3);
+					final Node condition = arguments.get(0);
+					final Node then = arguments.get(1);
+					final Node otherwise = arguments.get(2);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							if (condition.eval(values) != 0) {
+								return then.eval(values);
+							} else {
+								return otherwise.eval(values);
+							}
+						}
+					};
+				}
+				case "NOT": {
+					checkArguments(name, arguments, 1);
+					final Node node = arguments.get(0);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return node.eval(values) == 0 ? 1 : 0;
+						}
+					};
+				}
+				case "MIN": {
+					final Node[] nodes = toArray(name, arguments);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							double min = nodes[0].eval(values);
+							for (int i = 1; i < nodes.length; i++) {
+								min = Math.min(min, nodes[i].eval(values));
+							}
+							return min;
+						}
+					};
+				}
+				case "MAX": {
+					final Node[] nodes = toArray(name, arguments);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							double max = nodes[0].eval(values);
+							for (int i = 1; i < nodes.length; i++) {
+								max = Math.max(max, nodes[i].eval(values));
+							}
+							return max;
+						}
+					};
+				}
+				case "ROUND": {
+					checkArguments(name, arguments, 2);
+					final Node node = arguments.get(0);
+					final Node precision = arguments.get(1);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							double value = node.eval(values);
+							if (Double.isNaN(value) || Double.isInfinite(value)) {
+								return value;
+							}
+							return BigDecimal.valueOf(value).setScale((int) precision.eval(values), RoundingMode.HALF_UP).doubleValue();
+						}
+					};
+				}
+				case "ABS": {
+					checkArguments(name, arguments, 1);
+					final Node node = arguments.get(0);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return Math.abs(node.eval(values));
+						}
+					};
+				}
+				case "FLOOR": {
+					checkArguments(name, arguments, 1);
+					final Node node = arguments.get(0);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return Math.floor(node.eval(values));
+						}
+					};
+				}
+				case "CEILING": {
+					checkArguments(name, arguments, 1);
+					final Node node = arguments.get(0);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return Math.ceil(node.eval(values));
+						}
+					};
+				}
+				case "SQRT": {
+					checkArguments(name, arguments, 1);
+					final Node node = arguments.get(0);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return Math.sqrt(node.eval(values)); //Negative: NaN
+						}
+					};
+				}
+				case "LOG": {
+					checkArguments(name, arguments, 1);
+					final Node node = arguments.get(0);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return Math.log(node.eval(values));
+						}
+					};
+				}
+				case "LOG10": {
+					checkArguments(name, arguments, 1);
+					final Node node = arguments.get(0);
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return Math.log10(node.eval(values));
+						}
+					};
+				}
+				default:
+					throw new IllegalArgumentException("Unsupported function: " + name);
+			}
+		}
+
+		private Node createOperator(String operator, final Node left, final Node right) {
+			switch (operator) {
+				case "||":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) != 0 || right.eval(values) != 0 ? 1 : 0;
+						}
+					};
+				case "&&":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) != 0 && right.eval(values) != 0 ? 1 : 0;
+						}
+					};
+				case "=":
+				case "==":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) == right.eval(values) ? 1 : 0;
+						}
+					};
+				case "!=":
+				case "<>":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) != right.eval(values) ? 1 : 0;
+						}
+					};
+				case "<":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) < right.eval(values) ? 1 : 0;
+						}
+					};
+				case "<=":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) <= right.eval(values) ? 1 : 0;
+						}
+					};
+				case ">":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) > right.eval(values) ? 1 : 0;
+						}
+					};
+				case ">=":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) >= right.eval(values) ? 1 : 0;
+						}
+					};
+				case "+":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) + right.eval(values);
+						}
+					};
+				case "-":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) - right.eval(values);
+						}
+					};
+				case "*":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) * right.eval(values);
+						}
+					};
+				case "/":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) / right.eval(values); //Division by zero: Infinity or NaN
+						}
+					};
+				case "%":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return left.eval(values) % right.eval(values);
+						}
+					};
+				case "^":
+					return new Node() {
+						@Override
+						double eval(double[] values) {
+							return Math.pow(left.eval(values), right.eval(values));
+						}
+					};
+				default:
+					throw new IllegalArgumentException("Unsupported operator: " + operator);
+			}
+		}
+
+		private String peekOperator() {
+			if (pos >= expression.length()) {
+				return null;
+			}
+			String two = pos + 1 < expression.length() ? expression.substring(pos, pos + 2) : "";
+			switch (two) {
+				case "||":
+				case "&&":
+				case "==":
+				case "!=":
+				case "<>":
+				case "<=":
+				case ">=":
+					return two;
+			}
+			char c = expression.charAt(pos);
+			switch (c) {
+				case '=':
+				case '<':
+				case '>':
+				case '+':
+				case '-':
+				case '*':
+				case '/':
+				case '%':
+				case '^':
+					return String.valueOf(c);
+			}
+			return null;
+		}
+
+		private int getPrecedence(String operator) {
+			switch (operator) {
+				case "||":
+					return 2;
+				case "&&":
+					return 4;
+				case "=":
+				case "==":
+				case "!=":
+				case "<>":
+					return 7;
+				case "<":
+				case "<=":
+				case ">":
+				case ">=":
+					return 10;
+				case "+":
+				case "-":
+					return 20;
+				case "*":
+				case "/":
+				case "%":
+					return 30;
+				default: //^
+					return 40;
+			}
+		}
+
+		private Node[] toArray(String name, List<Node> arguments) {
+			if (arguments.isEmpty()) {
+				throw new IllegalArgumentException(name + " requires at least one argument");
+			}
+			return arguments.toArray(new Node[arguments.size()]);
+		}
+
+		private void checkArguments(String name, List<Node> arguments, int count) {
+			if (arguments.size() != count) {
+				throw new IllegalArgumentException(name + " requires " + count + " arguments");
+			}
+		}
+
+		private boolean peek(char c) {
+			return pos < expression.length() && expression.charAt(pos) == c;
+		}
+
+		private void expect(char c) {
+			skipWhitespace();
+			if (!peek(c)) {
+				throw new IllegalArgumentException("Expected: " + c);
+			}
+			pos++;
+		}
+
+		private void skipWhitespace() {
+			while (pos < expression.length() && Character.isWhitespace(expression.charAt(pos))) {
+				pos++;
+			}
+		}
+	}
+}
@@ -29,14 +29,13 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import javax.swing.GroupLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JMenuItem;
@@ -54,6 +53,7 @@ import net.nikr.eve.jeveasset.gui.shared.components.JDialogCentered;
 import net.nikr.eve.jeveasset.gui.shared.components.JDropDownButton;
 import net.nikr.eve.jeveasset.gui.shared.table.ColumnManager;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
+import net.nikr.eve.jeveasset.gui.shared.table.RowCache;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.NumberValue;
 import net.nikr.eve.jeveasset.i18n.GuiShared;
 
@@ -66,6 +66,7 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 
 	private final JTextField jName;
 	private final JTextField jFormula;
+	private final JCheckBox jExact;
 	private final JButton jOK;
 
 	private final List<String> columnNames = new ArrayList<>();
@@ -91,6 +92,9 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 		jFormula = new JTextField();
 		jFormula.addCaretListener(listener);
 
+		jExact = new JCheckBox(GuiShared.get().formulaExact());
+		jExact.setToolTipText(GuiShared.get().formulaExactToolTip());
+
 		JDropDownButton jColumns = new JDropDownButton(GuiShared.get().formulaColumns());
 
 		for (T t : columnManager.getEnumConstants()) {
@@ -192,6 +196,7 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 							.addComponent(jOperators, Program.getButtonsWidth(), Program.getButtonsWidth(), Program.getButtonsWidth())
 						)
 						.addComponent(jFormula)
+						.addComponent(jExact)
 						.addGroup(layout.createSequentialGroup()
 							.addComponent(jOK, Program.getButtonsWidth(), Program.getButtonsWidth(), Program.getButtonsWidth())
 							.addComponent(jCancel, Program.getButtonsWidth(), Program.getButtonsWidth(), Program.getButtonsWidth())
@@ -215,6 +220,7 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 					.addComponent(jFormulaLabel, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 					.addComponent(jFormula, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 				)
+				.addComponent(jExact, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 				.addGroup(layout.createParallelGroup()
 					.addComponent(jOK, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
 					.addComponent(jCancel, Program.getButtonsHeight(), Program.getButtonsHeight(), Program.getButtonsHeight())
@@ -239,22 +245,22 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 
 	@Override
 	protected void save() {
-		returnValue = new Formula(jName.getText(), getExpressionString(), null);
+		returnValue = new Formula(jName.getText(), getExpressionString(), null, jExact.isSelected());
 		setVisible(false);
 	}
 
 	public Formula edit(Formula formula) {
-		reset(formula.getColumnName(), formula.getOriginalExpression());
+		reset(formula.getColumnName(), formula.getOriginalExpression(), formula.isExact());
 		setVisible(true);
 		return returnValue;
 	}
 	public Formula add() {
-		reset("", "");
+		reset("", "", false);
 		setVisible(true);
 		return returnValue;
 	}
 
-	private void reset(String name, String expression) {
+	private void reset(String name, String expression, boolean exact) {
 		returnValue = null;
 		columnNames.clear();
 		for (Formula f : columnManager.getFormulas()) {
@@ -264,6 +270,7 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 		columnNames.remove(toColumnName(name)); //Remove current name (that is still vaild)
 		jName.setText(name);
 		jFormula.setText(fromExpressionString(expression));
+		jExact.setSelected(exact);
 		validate();
 	}
 
@@ -389,18 +396,38 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 	public static class Formula {
 		private final String columnName;
 		private final Expression expression;
-		private final Map<Object, Object> values = new HashMap<>();
+		private final RowCache<Object, Object> values;
 		private final Collection<String> usedVariables;
 		private final Collection<String> variableColumns = new ArrayList<>();
 		private final boolean isBoolean;
+		private final boolean exact;
+		private final CompiledFormula compiled;
+		private volatile EnumTableColumn<?>[] compiledColumns;
 		private Integer index;
 
 		public Formula(String columnName, String expressionString, Integer index) {
+			this(columnName, expressionString, index, false);
+		}
+
+		/**
+		 * @param columnName column name
+		 * @param expressionString formula
+		 * @param index column index or null
+		 * @param exact true to evaluate with BigDecimal (EvalEx), false to evaluate with double precision (when supported)
+		 */
+		public Formula(String columnName, String expressionString, Integer index, boolean exact) {
 			this.expression = new Expression(expressionString, MathContext.UNLIMITED);
 			this.columnName = columnName;
 			this.index = index;
+			this.exact = exact;
+			this.values = new RowCache<>(columnName + " formula", RowCache.MAX_ROWS, true);
 			this.usedVariables = expression.getUsedVariables();
 			this.isBoolean = expression.isBoolean();
+			if (exact) {
+				this.compiled = null;
+			} else {
+				this.compiled = CompiledFormula.compile(expressionString);
+			}
 		}
 
 		public String getColumnName() {
@@ -419,11 +446,33 @@ public class JFormulaDialog<T extends Enum<T> & EnumTableColumn<Q>, Q> extends J
 			return isBoolean;
 		}
 
+		public boolean isExact() {
+			return exact;
+		}
+
+		/**
+		 * @return double precision formula or null (exact mode or not supported)
+		 */
+		public CompiledFormula getCompiled() {
+			return compiled;
+		}
+
+		/**
+		 * @return columns bound to the compiled formula variables (by index) or null if not bound yet
+		 */
+		public EnumTableColumn<?>[] getCompiledColumns() {
+			return compiledColumns;
+		}
+
+		public void setCompiledColumns(EnumTableColumn<?>[] compiledColumns) {
+			this.compiledColumns = compiledColumns;
+		}
+
 		public Integer getIndex() {
 			return index;
 		}
 
-		public Map<Object, Object> getValues() {
+		public RowCache<Object, Object> getValues() {
 			return values;
 		}
 
@@ -20,7 +20,6 @@
  */
 package net.nikr.eve.jeveasset.gui.shared.menu;
 
-import ca.odell.glazedlists.SeparatorList;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
@@ -48,6 +47,7 @@ import net.nikr.eve.jeveasset.gui.images.Images;
 import net.nikr.eve.jeveasset.gui.shared.CopyHandler;
 import net.nikr.eve.jeveasset.gui.shared.Formater;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo.InfoItem;
+import net.nikr.eve.jeveasset.gui.shared.menu.SelectionTotals.RowValues;
 import net.nikr.eve.jeveasset.gui.tabs.loadout.Loadout;
 import net.nikr.eve.jeveasset.gui.tabs.materials.Material;
 import net.nikr.eve.jeveasset.gui.tabs.materials.Material.MaterialType;
@@ -64,22 +64,168 @@ public class JMenuInfo {
 	private static Border border = null;
 	private static final int COPY_DELAY = 500;
 
+	private static final int INFO_VALUE = 0;
+	private static final int INFO_COUNT = 1;
+	private static final int INFO_VOLUME = 2;
+	private static final int INFO_REPROCESSED = 3;
+
+	public static final RowValues<InfoItem> INFO_ITEM_VALUES = new RowValues<InfoItem>() {
+		@Override
+		public int getSize() {
+			return 4;
+		}
+
+		@Override
+		public void setValues(InfoItem infoItem, double[] values) {
+			values[INFO_VALUE] = infoItem.getValue();
+			values[INFO_COUNT] = infoItem.getCount();
+			values[INFO_VOLUME] = infoItem.getVolumeTotal();
+			values[INFO_REPROCESSED] = infoItem.getValueReprocessed();
+		}
+	};
+
+	private static final int ORDERS_SELL = 0;
+	private static final int ORDERS_SELL_BROKERS_FEE = 1;
+	private static final int ORDERS_BUY = 2;
+	private static final int ORDERS_BUY_BROKERS_FEE = 3;
+	private static final int ORDERS_TO_COVER = 4;
+	private static final int ORDERS_ESCROW = 5;
+	private static final int ORDERS_VOLUME_REMAIN = 6;
+	private static final int ORDERS_VOLUME_TOTAL = 7;
+
+	public static final RowValues<MyMarketOrder> MARKET_ORDER_VALUES = new RowValues<MyMarketOrder>() {
+		@Override
+		public int getSize() {
+			return 8;
+		}
+
+		@Override
+		public void setValues(MyMarketOrder marketOrder, double[] values) {
+			if (marketOrder.isBuyOrder()) { //Buy
+				values[ORDERS_BUY] = marketOrder.getPrice() * marketOrder.getVolumeTotal();
+				values[ORDERS_ESCROW] = marketOrder.getEscrow();
+				values[ORDERS_TO_COVER] = (marketOrder.getPrice() * marketOrder.getVolumeTotal()) - marketOrder.getEscrow();
+				values[ORDERS_BUY_BROKERS_FEE] = marketOrder.getBrokersFeeNotNull();
+			} else { //Sell
+				values[ORDERS_SELL] = marketOrder.getPrice() * marketOrder.getVolumeTotal();
+				values[ORDERS_SELL_BROKERS_FEE] = marketOrder.getBrokersFeeNotNull();
+			}
+			values[ORDERS_VOLUME_REMAIN] = marketOrder.getVolumeRemain();
+			values[ORDERS_VOLUME_TOTAL] = marketOrder.getVolumeTotal();
+		}
+	};
+
+	private static final int TRANSACTIONS_SELL = 0;
+	private static final int TRANSACTIONS_SELL_COUNT = 1;
+	private static final int TRANSACTIONS_SELL_TAX = 2;
+	private static final int TRANSACTIONS_BUY = 3;
+	private static final int TRANSACTIONS_BUY_COUNT = 4;
+
+	public static final RowValues<MyTransaction> TRANSACTION_VALUES = new RowValues<MyTransaction>() {
+		@Override
+		public int getSize() {
+			return 5;
+		}
+
+		@Override
+		public void setValues(MyTransaction transaction, double[] values) {
+			if (transaction.isSell()) { //Sell
+				values[TRANSACTIONS_SELL] = transaction.getPrice() * transaction.getQuantity();
+				values[TRANSACTIONS_SELL_COUNT] = transaction.getQuantity();
+				values[TRANSACTIONS_SELL_TAX] = transaction.getTaxNotNull();
+			} else { //Buy
+				values[TRANSACTIONS_BUY] = transaction.getPrice() * transaction.getQuantity();
+				values[TRANSACTIONS_BUY_COUNT] = transaction.getQuantity();
+			}
+		}
+	};
+
+	private static final int JOBS_COUNT = 0;
+	private static final int JOBS_INVENTION_COUNT = 1;
+	private static final int JOBS_INVENTION_SUCCESS = 2;
+	private static final int JOBS_OUTPUT_VALUE = 3;
+
+	public static final RowValues<MyIndustryJob> INDUSTRY_JOB_VALUES = new RowValues<MyIndustryJob>() {
+		@Override
+		public int getSize() {
+			return 4;
+		}
+
+		@Override
+		public void setValues(MyIndustryJob industryJob, double[] values) {
+			values[JOBS_COUNT] = 1;
+			if (industryJob.isInvention() && industryJob.isCompleted()) {
+				values[JOBS_INVENTION_COUNT] = 1;
+				if (industryJob.isDelivered()) {
+					values[JOBS_INVENTION_SUCCESS] = 1;
+				}
+			}
+			if (!industryJob.isDelivered()) { //Only include active jobs
+				values[JOBS_OUTPUT_VALUE] = industryJob.getOutputValue();
+			}
+		}
+	};
+
+	private static final int STOCKPILE_VOLUME_NOW = 0;
+	private static final int STOCKPILE_VOLUME_NEEDED = 1;
+	private static final int STOCKPILE_VALUE_NOW = 2;
+	private static final int STOCKPILE_VALUE_NEEDED = 3;
+
+	public static final RowValues<StockpileItem> STOCKPILE_ITEM_VALUES = new RowValues<StockpileItem>() {
+		@Override
+		public int getSize() {
+			return 4;
+		}
+
+		@Override
+		public void setValues(StockpileItem item, double[] values) {
+			if (item instanceof StockpileTotal) {
+				return;
+			}
+			values[STOCKPILE_VOLUME_NOW] = item.getVolumeNow();
+			if (item.getVolumeNeeded() < 0) { //Only add if negative
+				values[STOCKPILE_VOLUME_NEEDED] = item.getVolumeNeeded();
+			}
+			values[STOCKPILE_VALUE_NOW] = item.getValueNow();
+			if (item.getValueNeeded() < 0) { //Only add if negative
+				values[STOCKPILE_VALUE_NEEDED] = item.getValueNeeded();
+			}
+		}
+	};
+
 	private JMenuInfo() {
 	}
 
-	public static void treeAsset(final JComponent jComponent, final List<TreeAsset> list) {
+	/**
+	 * @param jComponent menu
+	 * @param list selected tree assets
+	 * @param treeAssets all (shown) tree assets - used to find the items of the selected parents
+	 */
+	public static void treeAsset(final JComponent jComponent, final List<TreeAsset> list, final List<TreeAsset> treeAssets) {
 		Set<TreeAsset> items = new HashSet<>();
+		Set<TreeAsset> parents = new HashSet<>();
 		for (TreeAsset asset : list) {
-			items.addAll(asset.getItems());
 			if (asset.isItem()) {
 				items.add(asset);
 			}
+			if (asset.isParent()) {
+				parents.add(asset);
+			}
+		}
+		if (!parents.isEmpty()) {
+			for (TreeAsset asset : treeAssets) {
+				if (asset.isItem() && asset.isChildOf(parents)) {
+					items.add(asset);
+				}
+			}
 		}
 		infoItem(jComponent, new ArrayList<>(items));
 	}
 
-	public static void asset(final JComponent jComponent, final List<MyAsset> list) {
-		infoItem(jComponent, new ArrayList<>(list));
+	public static void asset(final JComponent jComponent, final SelectionTotals<MyAsset> selectionTotals) {
+		if (jComponent instanceof JPopupMenu) {
+			infoItem((JPopupMenu) jComponent, selectionTotals.getTotals());
+		}
 	}
 
 	public static void overview(final JComponent jComponent, final List<Overview> list) {
@@ -88,59 +234,51 @@ public class JMenuInfo {
 
 	private static void infoItem(final JComponent jComponent, final List<InfoItem> list) {
 		if (jComponent instanceof JPopupMenu) {
-			JPopupMenu jPopupMenu = (JPopupMenu) jComponent;
-
-			List<MenuItemValue> values = createDefault(jPopupMenu);
-
-			double averageValue = 0;
-			double totalValue = 0;
-			long totalCount = 0;
-			double totalVolume = 0;
-			double totalReprocessed = 0;
+			double[] totals = new double[INFO_ITEM_VALUES.getSize()];
+			double[] values = new double[INFO_ITEM_VALUES.getSize()];
 			for (InfoItem infoItem : list) {
-				totalValue = totalValue + infoItem.getValue();
-				totalCount = totalCount + infoItem.getCount();
-				totalVolume = totalVolume + infoItem.getVolumeTotal();
-				totalReprocessed = totalReprocessed + infoItem.getValueReprocessed();
-			}
-			if (totalCount > 0 && totalValue > 0) {
-				averageValue = totalValue / totalCount;
+				INFO_ITEM_VALUES.setValues(infoItem, values);
+				for (int i = 0; i < values.length; i++) {
+					totals[i] = totals[i] + values[i];
+				}
 			}
-			createMenuItem(values, jPopupMenu, totalValue, NumberFormat.ISK, GuiShared.get().selectionValue(), GuiShared.get().selectionShortValue(), Images.TOOL_VALUES.getIcon());
-			createMenuItem(values, jPopupMenu, totalReprocessed, NumberFormat.ISK, GuiShared.get().selectionValueReprocessed(), GuiShared.get().selectionShortReprocessedValue(), Images.SETTINGS_REPROCESSING.getIcon());
-			createMenuItem(values, jPopupMenu, averageValue, NumberFormat.ISK, GuiShared.get().selectionAverage(), GuiShared.get().selectionShortAverage(), Images.ASSETS_AVERAGE.getIcon());
-			createMenuItem(values, jPopupMenu, totalVolume, NumberFormat.DOUBLE, GuiShared.get().selectionVolume(), GuiShared.get().selectionShortVolume(), Images.ASSETS_VOLUME.getIcon());
-			createMenuItem(values, jPopupMenu, totalCount, NumberFormat.ITEMS, GuiShared.get().selectionCount(), GuiShared.get().selectionShortCount(), Images.EDIT_ADD.getIcon());
+			infoItem((JPopupMenu) jComponent, totals);
 		}
 	}
 
-	public static void marketOrder(final JComponent jComponent, final List<MyMarketOrder> list) {
+	private static void infoItem(final JPopupMenu jPopupMenu, final double[] totals) {
+		List<MenuItemValue> values = createDefault(jPopupMenu);
+
+		double averageValue = 0;
+		double totalValue = totals[INFO_VALUE];
+		long totalCount = Math.round(totals[INFO_COUNT]);
+		double totalVolume = totals[INFO_VOLUME];
+		double totalReprocessed = totals[INFO_REPROCESSED];
+		if (totalCount > 0 && totalValue > 0) {
+			averageValue = totalValue / totalCount;
+		}
+		createMenuItem(values, jPopupMenu, totalValue, NumberFormat.ISK, GuiShared.get().selectionValue(), GuiShared.get().selectionShortValue(), Images.TOOL_VALUES.getIcon());
+		createMenuItem(values, jPopupMenu, totalReprocessed, NumberFormat.ISK, GuiShared.get().selectionValueReprocessed(), GuiShared.get().selectionShortReprocessedValue(), Images.SETTINGS_REPROCESSING.getIcon());
+		createMenuItem(values, jPopupMenu, averageValue, NumberFormat.ISK, GuiShared.get().selectionAverage(), GuiShared.get().selectionShortAverage(), Images.ASSETS_AVERAGE.getIcon());
+		createMenuItem(values, jPopupMenu, totalVolume, NumberFormat.DOUBLE, GuiShared.get().selectionVolume(), GuiShared.get().selectionShortVolume(), Images.ASSETS_VOLUME.getIcon());
+		createMenuItem(values, jPopupMenu, totalCount, NumberFormat.ITEMS, GuiShared.get().selectionCount(), GuiShared.get().selectionShortCount(), Images.EDIT_ADD.getIcon());
+	}
+
+	public static void marketOrder(final JComponent jComponent, final SelectionTotals<MyMarketOrder> selectionTotals) {
 		if (jComponent instanceof JPopupMenu) {
 			JPopupMenu jPopupMenu = (JPopupMenu) jComponent;
 
 			List<MenuItemValue> values = createDefault(jPopupMenu);
 
-			double sellOrdersTotal = 0;
-			double sellBrokersFeeTotal = 0;
-			double buyOrdersTotal = 0;
-			double buyBrokersFeeTotal = 0;
-			double toCoverTotal = 0;
-			double escrowTotal = 0;
-			long volumeRemain = 0;
-			long volumeTotal = 0;
-			for (MyMarketOrder marketOrder : list) {
-				if (marketOrder.isBuyOrder()) { //Buy
-					buyOrdersTotal += marketOrder.getPrice() * marketOrder.getVolumeTotal();
-					escrowTotal += marketOrder.getEscrow();
-					toCoverTotal += (marketOrder.getPrice() * marketOrder.getVolumeTotal()) - marketOrder.getEscrow();
-					buyBrokersFeeTotal += marketOrder.getBrokersFeeNotNull();
-				} else { //Sell
-					sellOrdersTotal += marketOrder.getPrice() * marketOrder.getVolumeTotal();
-					sellBrokersFeeTotal += marketOrder.getBrokersFeeNotNull();
-				}
-				volumeRemain += marketOrder.getVolumeRemain();
-				volumeTotal += marketOrder.getVolumeTotal();
-			}
+			double[] totals = selectionTotals.getTotals();
+			double sellOrdersTotal = totals[ORDERS_SELL];
+			double sellBrokersFeeTotal = totals[ORDERS_SELL_BROKERS_FEE];
+			double buyOrdersTotal = totals[ORDERS_BUY];
+			double buyBrokersFeeTotal = totals[ORDERS_BUY_BROKERS_FEE];
+			double toCoverTotal = totals[ORDERS_TO_COVER];
+			double escrowTotal = totals[ORDERS_ESCROW];
+			long volumeRemain = Math.round(totals[ORDERS_VOLUME_REMAIN]);
+			long volumeTotal = Math.round(totals[ORDERS_VOLUME_TOTAL]);
 			createMenuItem(values, jPopupMenu, GuiShared.get().selectionOrdersCountValue(Formater.longFormat(volumeRemain), Formater.itemsFormat(volumeTotal)), GuiShared.get().selectionOrdersCount(), GuiShared.get().selectionShortCount(), Images.EDIT_ADD.getIcon());
 			createMenuItem(values, jPopupMenu, sellOrdersTotal + sellBrokersFeeTotal, NumberFormat.ISK, GuiShared.get().selectionOrdersSellTotal(), GuiShared.get().selectionShortSell(), Images.ORDERS_SELL.getIcon());
 			createMenuItem(values, jPopupMenu, buyOrdersTotal + buyBrokersFeeTotal, NumberFormat.ISK, GuiShared.get().selectionOrdersBuyTotal(), GuiShared.get().selectionShortBuy(), Images.ORDERS_BUY.getIcon());
@@ -150,27 +288,18 @@ public class JMenuInfo {
 		}
 	}
 
-	public static void transctions(final JComponent jComponent, final List<MyTransaction> transactions) {
+	public static void transctions(final JComponent jComponent, final SelectionTotals<MyTransaction> selectionTotals) {
 		if (jComponent instanceof JPopupMenu) {
 			JPopupMenu jPopupMenu = (JPopupMenu) jComponent;
 
 			List<MenuItemValue> values = createDefault(jPopupMenu);
 
-			double sellTotal = 0;
-			double sellTaxTotal = 0;
-			double buyTotal = 0;
-			long sellCount = 0;
-			long buyCount = 0;
-			for (MyTransaction transaction : transactions) {
-				if (transaction.isSell()) { //Sell
-					sellTotal += transaction.getPrice() * transaction.getQuantity();
-					sellCount += transaction.getQuantity();
-					sellTaxTotal += transaction.getTaxNotNull();
-				} else { //Buy
-					buyTotal += transaction.getPrice() * transaction.getQuantity();
-					buyCount += transaction.getQuantity();
-				}
-			}
+			double[] totals = selectionTotals.getTotals();
+			double sellTotal = totals[TRANSACTIONS_SELL];
+			double sellTaxTotal = totals[TRANSACTIONS_SELL_TAX];
+			double buyTotal = totals[TRANSACTIONS_BUY];
+			long sellCount = Math.round(totals[TRANSACTIONS_SELL_COUNT]);
+			long buyCount = Math.round(totals[TRANSACTIONS_BUY_COUNT]);
 			double sellAvg = 0;
 			if (sellTotal > 0 && sellCount > 0) {
 				sellAvg = (sellTotal + sellTaxTotal) / sellCount;
@@ -207,28 +336,17 @@ public class JMenuInfo {
 		}
 	}
 
-	public static void industryJob(final JComponent jComponent, final List<MyIndustryJob> list) {
+	public static void industryJob(final JComponent jComponent, final SelectionTotals<MyIndustryJob> selectionTotals) {
 		if (jComponent instanceof JPopupMenu) {
 			JPopupMenu jPopupMenu = (JPopupMenu) jComponent;
 
 			List<MenuItemValue> values = createDefault(jPopupMenu);
 
-			int inventionCount = 0;
-			long count = 0;
-			double success = 0;
-			double outputValue = 0;
-			for (MyIndustryJob industryJob : list) {
-				count++;
-				if (industryJob.isInvention() && industryJob.isCompleted()) {
-					inventionCount++;
-					if (industryJob.isDelivered()) {
-						success++;
-					}
-				}
-				if (!industryJob.isDelivered()) { //Only include active jobs
-					outputValue += industryJob.getOutputValue();
-				}
-			}
+			double[] totals = selectionTotals.getTotals();
+			int inventionCount = (int) Math.round(totals[JOBS_INVENTION_COUNT]);
+			long count = Math.round(totals[JOBS_COUNT]);
+			double success = totals[JOBS_INVENTION_SUCCESS];
+			double outputValue = totals[JOBS_OUTPUT_VALUE];
 			if (inventionCount <= 0) {
 				createMenuItem(values, jPopupMenu, 0.0, NumberFormat.PERCENT, GuiShared.get().selectionInventionSuccess(), GuiShared.get().selectionShortInventionSuccess(), Images.JOBS_INVENTION_SUCCESS.getIcon());
 			} else {
@@ -239,38 +357,17 @@ public class JMenuInfo {
 		}
 	}
 
-	public static void stockpileItem(final JComponent jComponent, final List<StockpileItem> list) {
+	public static void stockpileItem(final JComponent jComponent, final SelectionTotals<StockpileItem> selectionTotals) {
 		if (jComponent instanceof JPopupMenu) {
 			JPopupMenu jPopupMenu = (JPopupMenu) jComponent;
 
 			List<MenuItemValue> values = createDefault(jPopupMenu);
 
-			double volumnNow = 0;
-			double volumnNeeded = 0;
-			double valueNow = 0;
-			double valueNeeded = 0;
-
-			for (int i = 0; i < list.size(); i++) {
-				Object object = list.get(i);
-				if (object instanceof SeparatorList.Separator) {
-					continue;
-				}
-				if (object instanceof StockpileTotal) {
-					continue;
-				}
-				if (object == null) {
-					continue;
-				}
-				StockpileItem item = (StockpileItem) object;
-				volumnNow = volumnNow + item.getVolumeNow();
-				if (item.getVolumeNeeded() < 0) { //Only add if negative
-					volumnNeeded = volumnNeeded + item.getVolumeNeeded();
-				}
-				valueNow = valueNow + item.getValueNow();
-				if (item.getValueNeeded() < 0) { //Only add if negative
-					valueNeeded = valueNeeded + item.getValueNeeded();
-				}
-			}
+			double[] totals = selectionTotals.getTotals();
+			double volumnNow = totals[STOCKPILE_VOLUME_NOW];
+			double volumnNeeded = totals[STOCKPILE_VOLUME_NEEDED];
+			double valueNow = totals[STOCKPILE_VALUE_NOW];
+			double valueNeeded = totals[STOCKPILE_VALUE_NEEDED];
 			List<MenuItemValue> now = createMenuItemGroup(jPopupMenu, GuiShared.get().selectionTitleNow());
 			createMenuItem(now, jPopupMenu, valueNow, NumberFormat.ISK, GuiShared.get().selectionValueNow(), GuiShared.get().selectionShortValue(), Images.TOOL_VALUES.getIcon());
 			createMenuItem(now, jPopupMenu, volumnNow, NumberFormat.DOUBLE, GuiShared.get().selectionVolumeNow(), GuiShared.get().selectionShortVolume(), Images.ASSETS_VOLUME.getIcon());
@@ -23,7 +23,9 @@ package net.nikr.eve.jeveasset.gui.shared.menu;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.swing.JMenuItem;
@@ -35,6 +37,7 @@ import net.nikr.eve.jeveasset.gui.shared.menu.JMenuJumps.Jump;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.JAutoMenu;
 import net.nikr.eve.jeveasset.gui.shared.table.ColumnManager;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
+import net.nikr.eve.jeveasset.gui.tabs.routing.JSystemDialog;
 import net.nikr.eve.jeveasset.gui.tabs.routing.SolarSystem;
 import net.nikr.eve.jeveasset.i18n.GuiShared;
 
@@ -49,6 +52,7 @@ public class JMenuJumps<T extends Enum<T> & EnumTableColumn<Q>, Q> extends JAuto
 	private final JMenuItem jAddSelected;
 	private final JMenuItem jClear;
 	private final ColumnManager<T, Q> columnManager;
+	private JSystemDialog jSystemDialog;
 
 	public JMenuJumps(Program program, ColumnManager<T, Q> columnManager) {
 		super(GuiShared.get().jumps(), program);
@@ -107,6 +111,25 @@ public class JMenuJumps<T extends Enum<T> & EnumTableColumn<Q>, Q> extends JAuto
 		}
 	}
 
+	/**
+	 * The system dialog is created on first use from the static data.
+	 * Borrowing the routing tab's dialog would create the routing tab.
+	 * @return dialog with all solar systems
+	 */
+	private JSystemDialog getSystemDialog() {
+		if (jSystemDialog == null) {
+			jSystemDialog = new JSystemDialog(program);
+			List<SolarSystem> systems = new ArrayList<>();
+			for (MyLocation location : StaticData.get().getLocations()) {
+				if (location.isSystem()) {
+					systems.add(new SolarSystem(location));
+				}
+			}
+			jSystemDialog.updateData(systems);
+		}
+		return jSystemDialog;
+	}
+
 	private class ListenerClass implements ActionListener {
 		@Override
 		public void actionPerformed(final ActionEvent e) {
@@ -117,8 +140,7 @@ public class JMenuJumps<T extends Enum<T> & EnumTableColumn<Q>, Q> extends JAuto
 				columnManager.clearJumpColumns();
 			}
 			if (MenuJumpsAction.ADD_OTHER.name().equals(e.getActionCommand())) {
-				//Clear tab
-				SolarSystem solarSystem = program.getRoutingTab().getSolarSystem();
+				SolarSystem solarSystem = getSystemDialog().show();
 				if (solarSystem != null) {
 					MyLocation location = StaticData.get().getLocation(solarSystem.getSystemID());
 					if (location != null) {
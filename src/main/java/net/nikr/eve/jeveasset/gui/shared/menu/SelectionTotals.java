@@ -0,0 +1,165 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.menu;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+
+/**
+ * Totals of the selected rows, updated by the selection changes.
+ * <p>
+ * The values of each row are calculated once into a primitive array. When the selection changes, only the rows in the
+ * changed range are added to or subtracted from the totals. When the list changes, everything is recalculated the next
+ * time the totals are used.
+ * @param <E> row type
+ */
+public class SelectionTotals<E> implements ListSelectionListener, ListEventListener<Object> {
+
+	/**
+	 * Values of a row.
+	 * @param <E> row type
+	 */
+	public static interface RowValues<E> {
+		/**
+		 * @return number of values
+		 */
+		public int getSize();
+
+		/**
+		 * @param row row
+		 * @param values array to set the values in (all zero)
+		 */
+		public void setValues(E row, double[] values);
+	}
+
+	private final EventList<?> eventList;
+	private final ListSelectionModel selectionModel;
+	private final Class<E> clazz;
+	private final RowValues<? super E> rowValues;
+	private final int size;
+	private final double[] totals;
+	private double[] values = new double[0]; //row * size + value index
+	private boolean[] selected = new boolean[0];
+	private int selectedCount = 0;
+	private boolean valid = false;
+
+	/**
+	 * @param eventList the list the selection model is using
+	 * @param selectionModel selection model
+	 * @param clazz row type (other rows, like separators, are ignored)
+	 * @param rowValues values of a row
+	 */
+	public SelectionTotals(final EventList<?> eventList, final ListSelectionModel selectionModel, final Class<E> clazz, final RowValues<? super E> rowValues) {
+		this.eventList = eventList;
+		this.selectionModel = selectionModel;
+		this.clazz = clazz;
+		this.rowValues = rowValues;
+		this.size = rowValues.getSize();
+		this.totals = new double[size];
+		eventList.addListEventListener(this);
+		selectionModel.addListSelectionListener(this);
+	}
+
+	/**
+	 * @return totals of the selected rows (by value index)
+	 */
+	public double[] getTotals() {
+		if (!valid) {
+			update();
+		}
+		return totals.clone();
+	}
+
+	@Override
+	public void listChanged(final ListEvent<Object> listChanges) {
+		valid = false;
+	}
+
+	@Override
+	public void valueChanged(final ListSelectionEvent e) {
+		if (!valid) {
+			return; //Recalculated when used
+		}
+		int last = Math.min(e.getLastIndex(), selected.length - 1);
+		for (int row = Math.max(0, e.getFirstIndex()); row <= last; row++) {
+			boolean rowSelected = selectionModel.isSelectedIndex(row);
+			if (rowSelected == selected[row]) {
+				continue; //Not changed
+			}
+			selected[row] = rowSelected;
+			if (rowSelected) {
+				selectedCount++;
+				add(row, 1);
+			} else {
+				selectedCount--;
+				add(row, -1);
+			}
+		}
+		if (selectedCount == 0) { //Remove rounding errors
+			for (int i = 0; i < size; i++) {
+				totals[i] = 0;
+			}
+		}
+	}
+
+	private void add(final int row, final int sign) {
+		int offset = row * size;
+		for (int i = 0; i < size; i++) {
+			totals[i] += sign * values[offset + i];
+		}
+	}
+
+	private void update() {
+		eventList.getReadWriteLock().readLock().lock();
+		try {
+			int rows = eventList.size();
+			values = new double[rows * size];
+			selected = new boolean[rows];
+			selectedCount = 0;
+			for (int i = 0; i < size; i++) {
+				totals[i] = 0;
+			}
+			double[] rowArray = new double[size];
+			for (int row = 0; row < rows; row++) {
+				Object object = eventList.get(row);
+				if (clazz.isInstance(object)) {
+					for (int i = 0; i < size; i++) {
+						rowArray[i] = 0;
+					}
+					rowValues.setValues(clazz.cast(object), rowArray);
+					System.arraycopy(rowArray, 0, values, row * size, size);
+				}
+				if (selectionModel.isSelectedIndex(row)) {
+					selected[row] = true;
+					selectedCount++;
+					add(row, 1);
+				}
+			}
+		} finally {
+			eventList.getReadWriteLock().readLock().unlock();
+		}
+		valid = true;
+	}
+}
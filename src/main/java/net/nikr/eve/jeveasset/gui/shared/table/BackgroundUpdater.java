@@ -0,0 +1,123 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.table;
+
+import java.util.concurrent.ExecutionException;
+import javax.swing.SwingWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Calculate table rows on a background thread and update the table on the EDT.
+ * <p>
+ * Starting a new update cancels (interrupts) the running update: only the result of the newest update is used.
+ * Must be used from the EDT.
+ * @param <R> result (the rows and any other data calculated on the background thread)
+ */
+public class BackgroundUpdater<R> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BackgroundUpdater.class);
+
+	private Worker worker = null;
+
+	/**
+	 * Cancel the running update (if any) and start a new update.
+	 * @param task the update
+	 */
+	public void update(final UpdateTask<R> task) {
+		cancel();
+		worker = new Worker(task);
+		worker.execute();
+	}
+
+	/**
+	 * Cancel the running update (if any).
+	 */
+	public void cancel() {
+		if (worker != null) {
+			worker.cancel(true);
+			worker = null;
+		}
+	}
+
+	/**
+	 * @return true if an update is running
+	 */
+	public boolean isUpdating() {
+		return worker != null;
+	}
+
+	/**
+	 * Check if the update has been cancelled by a newer update.
+	 * Call from long loops in UpdateTask.task().
+	 * @return true if the current update has been cancelled
+	 */
+	public static boolean isCancelled() {
+		return Thread.currentThread().isInterrupted();
+	}
+
+	private class Worker extends SwingWorker<R, Void> {
+
+		private final UpdateTask<R> task;
+
+		public Worker(UpdateTask<R> task) {
+			this.task = task;
+		}
+
+		@Override
+		protected R doInBackground() throws Exception {
+			return task.task();
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled() || worker != this) {
+				return; //Replaced by a newer update
+			}
+			worker = null;
+			R result;
+			try {
+				result = get();
+			} catch (InterruptedException ex) {
+				return;
+			} catch (ExecutionException ex) {
+				LOG.error(ex.getMessage(), ex);
+				return;
+			}
+			if (result != null) {
+				task.gui(result);
+			}
+		}
+	}
+
+	public static interface UpdateTask<R> {
+		/**
+		 * Calculate the result. Called on a background thread: must only read thread safe data (like the immutable asset list).
+		 * @return the result or null if cancelled
+		 */
+		public R task();
+		/**
+		 * Update the table. Called on the EDT, only for the newest update.
+		 * @param result the result of task()
+		 */
+		public void gui(R result);
+	}
+}
@@ -108,7 +108,7 @@ public class ColumnManager<T extends Enum<T> & EnumTableColumn<Q>, Q> {
 					//Remove changed values
 					if (!reset.isEmpty()) {
 						for (Formula formula : formulaColumns.keySet()) {
-							formula.getValues().keySet().removeAll(reset);
+							formula.getValues().removeAll(reset);
 						}
 					}
 				} finally {
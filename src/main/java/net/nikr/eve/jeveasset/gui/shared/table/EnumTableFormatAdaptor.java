@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import javax.swing.ButtonGroup;
 import javax.swing.JMenu;
@@ -43,6 +44,7 @@ import javax.swing.table.AbstractTableModel;
 import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.settings.Settings;
 import net.nikr.eve.jeveasset.gui.images.Images;
+import net.nikr.eve.jeveasset.gui.shared.menu.CompiledFormula;
 import net.nikr.eve.jeveasset.gui.shared.menu.JFormulaDialog;
 import net.nikr.eve.jeveasset.gui.shared.menu.JFormulaDialog.Formula;
 import net.nikr.eve.jeveasset.gui.shared.table.ColumnManager.IndexColumn;
@@ -96,6 +98,7 @@ public class EnumTableFormatAdaptor<T extends Enum<T> & EnumTableColumn<Q>, Q> i
 	private final List<ColumnValueChangeListener> listeners = new ArrayList<>();
 
 	private final Class<T> enumClass;
+	private final Map<String, T> hardNames = new HashMap<>(); //Formula variable name (upper case) :: column
 	private List<EnumTableColumn<Q>> shownColumns;
 	private Map<String, EnumTableColumn<Q>> orderColumnsName;
 	private List<EnumTableColumn<Q>> orderColumns;
@@ -109,6 +112,9 @@ public class EnumTableFormatAdaptor<T extends Enum<T> & EnumTableColumn<Q>, Q> i
 
 	public EnumTableFormatAdaptor(final Class<T> enumClass) {
 		this.enumClass = enumClass;
+		for (T t : enumClass.getEnumConstants()) {
+			hardNames.put(JFormulaDialog.getHardName(t).toUpperCase(Locale.ENGLISH), t);
+		}
 		columnComparator = new ColumnComparator();
 		resizeMode = ResizeMode.TEXT;
 		reset();
@@ -494,9 +500,16 @@ public class EnumTableFormatAdaptor<T extends Enum<T> & EnumTableColumn<Q>, Q> i
 		Object object = column.getColumnValue(e);
 		if (object instanceof Formula) {
 			Formula formula = (Formula) object;
+			if (formula.getCompiled() != null && !(e instanceof StockpileTotal)) { //Stateless (one row): no need to cache
+				return evalCompiled(formula, e);
+			}
 			Object value = formula.getValues().get(e);
 			if (value == null) {
-				value = eval(formula, e);
+				if (formula.getCompiled() != null) { //Stockpile total: sum of all items
+					value = evalCompiled(formula, e);
+				} else {
+					value = eval(formula, e);
+				}
 				if (value == null) {
 					value = NULL_PLACEHOLDER;
 				}
@@ -567,6 +580,75 @@ public class EnumTableFormatAdaptor<T extends Enum<T> & EnumTableColumn<Q>, Q> i
 		}
 	}
 
+	private Object evalCompiled(Formula formula, Q e) {
+		final CompiledFormula compiled = formula.getCompiled();
+		EnumTableColumn<?>[] columns = formula.getCompiledColumns();
+		if (columns == null) { //Bind variables to columns
+			columns = new EnumTableColumn<?>[compiled.getVariables().size()];
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = hardNames.get(compiled.getVariables().get(i).toUpperCase(Locale.ENGLISH));
+			}
+			formula.setCompiledColumns(columns);
+		}
+		if (e instanceof StockpileTotal) {
+			if (formula.isBoolean()) {
+				return null;
+			}
+			StockpileTotal totalItem = (StockpileTotal) e;
+			Map<Integer, StockpileItem> map = new HashMap<>();
+			//Items
+			for (StockpileItem item : totalItem.getStockpile().getItems()) {
+				if (item.getTypeID() == 0) {
+					continue;
+				}
+				map.put(item.getItemTypeID(), item);
+			}
+			//SubpileItem (Overwrites StockpileItem items)
+			for (SubpileItem item : totalItem.getStockpile().getSubpileItems()) {
+				if (item instanceof SubpileStock) {
+					continue;
+				}
+				map.put(item.getItemTypeID(), item);
+			}
+			double total = 0.0;
+			double[] values = new double[columns.length];
+			for (StockpileItem item : map.values()) {
+				if (item.getItemTypeID() == 0) {
+					continue;
+				}
+				Double value = evalCompiled(compiled, columns, item, values);
+				if (value != null) {
+					total = total + value;
+				}
+			}
+			return total;
+		} else { //Default
+			Double value = evalCompiled(compiled, columns, e, new double[columns.length]);
+			if (value == null) {
+				return null;
+			} else if (formula.isBoolean()) {
+				return value > 0 ? "True" : "False";
+			} else {
+				return value;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Double evalCompiled(CompiledFormula compiled, EnumTableColumn<?>[] columns, Object e, double[] values) {
+		for (int i = 0; i < columns.length; i++) {
+			if (columns[i] == null) {
+				return null; //Unknown variable
+			}
+			Number number = getValue((EnumTableColumn<Object>) columns[i], e);
+			if (number == null) {
+				return null; //Not a valid numeric column
+			}
+			values[i] = number.doubleValue();
+		}
+		return compiled.eval(values);
+	}
+
 	public static BigDecimal safeEval(Expression expression) {
 		try {
 			return expression.eval();
@@ -588,7 +670,7 @@ public class EnumTableFormatAdaptor<T extends Enum<T> & EnumTableColumn<Q>, Q> i
 		}
 	}
 
-	private static <T extends Enum<T> & EnumTableColumn<Q>, Q> Number getValue(T t, Q e) {
+	private static <Q> Number getValue(EnumTableColumn<Q> t, Q e) {
 		if (Number.class.isAssignableFrom(t.getType())) {
 			Number number = (Number) t.getColumnValue(e);
 			if (number == null) { //Handle null
@@ -21,24 +21,34 @@
 
 package net.nikr.eve.jeveasset.gui.shared.table;
 
+import ca.odell.glazedlists.SeparatorList;
 import ca.odell.glazedlists.gui.TableFormat;
 import ca.odell.glazedlists.swing.DefaultEventTableModel;
 import java.awt.Component;
 import java.awt.Container;
+import java.awt.FontMetrics;
+import java.awt.Insets;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JComponent;
+import javax.swing.JLabel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JViewport;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.event.AncestorEvent;
 import javax.swing.event.AncestorListener;
 import javax.swing.event.ChangeEvent;
@@ -47,6 +57,7 @@ import javax.swing.event.TableColumnModelEvent;
 import javax.swing.event.TableColumnModelListener;
 import javax.swing.event.TableModelEvent;
 import javax.swing.event.TableModelListener;
+import javax.swing.plaf.basic.BasicHTML;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellEditor;
 import javax.swing.table.TableCellRenderer;
@@ -62,6 +73,7 @@ import net.nikr.eve.jeveasset.data.settings.tag.Tags;
 import net.nikr.eve.jeveasset.gui.shared.CopyHandler;
 import net.nikr.eve.jeveasset.gui.shared.InstantToolTip;
 import net.nikr.eve.jeveasset.gui.shared.TextManager;
+import net.nikr.eve.jeveasset.gui.shared.menu.JFormulaDialog.Formula;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor.ResizeMode;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor.SimpleColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EventModels.FixedEventTableModel;
@@ -76,21 +88,36 @@ import net.nikr.eve.jeveasset.gui.shared.table.TableCellRenderers.LongCellRender
 import net.nikr.eve.jeveasset.gui.shared.table.TableCellRenderers.TagsCellRenderer;
 import net.nikr.eve.jeveasset.gui.shared.table.TableCellRenderers.ToStringCellRenderer;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.ExpirerDate;
+import net.nikr.eve.jeveasset.gui.shared.table.containers.ModulePriceValue;
+import net.nikr.eve.jeveasset.gui.shared.table.containers.NumberValue;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.YesNo;
+import net.nikr.eve.jeveasset.gui.tabs.stockpile.Stockpile.StockpileTotal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 public class JAutoColumnTable extends JTable {
 
+	private static final Logger LOG = LoggerFactory.getLogger(JAutoColumnTable.class);
+
+	private static final int SAMPLE_THRESHOLD = 1000; //Rows: sample larger tables
+	private static final int SAMPLE_SIZE = 500; //Rows: one random row from each stratum
+	private static final int SAMPLE_LONGEST = 10; //Rows: longest values of each column
+
 	private JViewport jViewport = null;
 	private int size = 0;
 	private ResizeMode resizeMode = null;
 	private boolean loadingWidth = false;
 	private final Map<String, Integer> columnsWidth = new HashMap<>();
-	private final Map<Object, Integer> rowsWidth = new HashMap<>();
+	private final RowCache<Object, Integer> rowsWidth = new RowCache<>("Column width", 10000, false); //Cell value :: width
 	protected Program program;
 	private boolean autoResizeLock = false;
 	private final Set<Class<?>> disableColumnResizeCache = new HashSet<>();
 	private boolean overwrite;
+	private EnumTableColumn<?>[] viewColumns = null;
+	private final Map<Object, Integer> rowStyles = new IdentityHashMap<>();
+	private final Random random = new Random();
+	private int resizeGeneration = 0;
 
 	public JAutoColumnTable(final Program program, final TableModel tableModel) {
 		super(tableModel);
@@ -197,6 +224,48 @@ public class JAutoColumnTable extends JTable {
 		return component;
 	}
 
+	/**
+	 * Get the column shown at a view index.
+	 * Cached until the columns are changed, safe to use for every painted cell.
+	 * @param column view column index
+	 * @return the column or null (not a EnumTableFormatAdaptor table)
+	 */
+	protected EnumTableColumn<?> getColumnType(final int column) {
+		if (viewColumns == null || viewColumns.length != getColumnCount()) {
+			viewColumns = createViewColumns();
+		}
+		if (column < 0 || column >= viewColumns.length) {
+			return null;
+		}
+		return viewColumns[column];
+	}
+
+	/**
+	 * Get the style flags of a row.
+	 * Cached until the row is updated, safe to use for every painted cell.
+	 * @param row row object
+	 * @return style flags (bitmask)
+	 * @see #createRowStyle(java.lang.Object)
+	 */
+	protected int getRowStyle(final Object row) {
+		Integer style = rowStyles.get(row);
+		if (style == null) {
+			style = createRowStyle(row);
+			rowStyles.put(row, style);
+		}
+		return style;
+	}
+
+	/**
+	 * Calculate the style flags of a row.
+	 * Override to cache the row state used by prepareRenderer.
+	 * @param row row object
+	 * @return style flags (bitmask)
+	 */
+	protected int createRowStyle(final Object row) {
+		return 0;
+	}
+
 	public void lock() {
 		autoResizeLock = true;
 	}
@@ -269,6 +338,37 @@ public class JAutoColumnTable extends JTable {
 		return null;
 	}
 
+	private EnumTableColumn<?>[] createViewColumns() {
+		EnumTableColumn<?>[] columns = new EnumTableColumn<?>[getColumnCount()];
+		EnumTableFormatAdaptor<?, ?> tableFormat = getEnumTableFormatAdaptor();
+		if (tableFormat == null) {
+			return columns;
+		}
+		List<? extends EnumTableColumn<?>> shownColumns = tableFormat.getShownColumns();
+		for (int i = 0; i < columns.length; i++) {
+			int index = convertColumnIndexToModel(i);
+			if (index >= 0 && index < shownColumns.size()) {
+				columns[i] = shownColumns.get(index);
+			}
+		}
+		return columns;
+	}
+
+	private void updateRowStyles(final TableModelEvent e) {
+		DefaultEventTableModel<?> model = getEventTableModel();
+		if (e.getType() == TableModelEvent.UPDATE
+				&& model != null
+				&& e.getFirstRow() >= 0
+				&& e.getLastRow() < model.getRowCount()
+				&& e.getLastRow() - e.getFirstRow() < rowStyles.size()) {
+			for (int i = e.getFirstRow(); i <= e.getLastRow(); i++) {
+				rowStyles.remove(model.getElementAt(i));
+			}
+		} else { //Rows added/removed (may be re-added after an update) or everything changed
+			rowStyles.clear();
+		}
+	}
+
 	private JScrollPane getParentScrollPane() {
 		Container container = this.getParent();
 		if (container != null) {
@@ -338,6 +438,11 @@ public class JAutoColumnTable extends JTable {
 			resizeMode = ResizeMode.TEXT;
 			this.getTableHeader().setResizingAllowed(false);
 		}
+		if (getRowCount() > SAMPLE_THRESHOLD) {
+			resizeColumnsSampled();
+			return;
+		}
+		resizeGeneration++; //Ignore running sampled resize
 		for (int i = 0; i < getColumnCount(); i++) {
 			size = size + resizeColumn(this, getColumnModel().getColumn(i), i);
 		}
@@ -389,15 +494,156 @@ public class JAutoColumnTable extends JTable {
 		}
 	}
 
-	private int resizeColumn(final JTable jTable, final TableColumn column, final int columnIndex) {
-		//Header width
+	/**
+	 * Resize columns of large tables.
+	 * Only the values of a stratified sample of the rows and the longest values of each column are rendered.
+	 * The longest values are found and the text widths are measured on a background thread,
+	 * then the longest values are rendered and all widths are applied at once.
+	 */
+	private void resizeColumnsSampled() {
+		final int generation = ++resizeGeneration;
+		final int columnCount = getColumnCount();
+		final int rowCount = getRowCount();
+		final int[] sample = new int[SAMPLE_SIZE];
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			int from = (int) ((long) rowCount * i / SAMPLE_SIZE);
+			int to = (int) ((long) rowCount * (i + 1) / SAMPLE_SIZE);
+			sample[i] = from + random.nextInt(to - from);
+		}
+		final ColumnSample[] columnSamples = new ColumnSample[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			columnSamples[i] = sampleColumn(getColumnModel().getColumn(i), i, sample);
+		}
+		final LongestValues longestValues = createLongestValues(rowCount);
+		SwingWorker<int[], Void> worker = new SwingWorker<int[], Void>() {
+			private int[][] longest = null; //Column :: Rows
+
+			@Override
+			protected int[] doInBackground() throws Exception {
+				int[] widths = new int[columnCount];
+				for (int i = 0; i < columnCount; i++) {
+					widths[i] = columnSamples[i].measure();
+				}
+				if (longestValues != null) {
+					longest = longestValues.find();
+				}
+				return widths;
+			}
+
+			@Override
+			protected void done() {
+				if (generation != resizeGeneration || resizeMode != ResizeMode.TEXT || getColumnCount() != columnCount) {
+					return; //Outdated
+				}
+				try {
+					int[] widths = get();
+					size = 0;
+					for (int i = 0; i < columnCount; i++) {
+						TableColumn column = getColumnModel().getColumn(i);
+						int width = widths[i];
+						if (longest != null && longest[i] != null) {
+							width = Math.max(width, measureLongest(column, i, longest[i], longestValues));
+						}
+						column.setPreferredWidth(width);
+						size = size + width;
+					}
+					updateScroll();
+				} catch (InterruptedException ex) {
+					LOG.error(ex.getMessage(), ex);
+				} catch (ExecutionException ex) {
+					LOG.error(ex.getMessage(), ex);
+				}
+			}
+		};
+		worker.execute();
+	}
+
+	private ColumnSample sampleColumn(final TableColumn column, final int columnIndex, final int[] sample) {
+		ColumnSample columnSample = new ColumnSample(headerWidth(column, columnIndex));
+		//Stratified sample
+		for (int rowIndex : sample) {
+			sampleCell(columnSample, column, rowIndex, columnIndex);
+		}
+		return columnSample;
+	}
+
+	private int measureLongest(final TableColumn column, final int columnIndex, final int[] rows, final LongestValues longestValues) {
+		ColumnSample columnSample = new ColumnSample(0);
+		DefaultEventTableModel<?> model = getEventTableModel();
+		for (int rowIndex : rows) {
+			if (longestValues.isCurrent(model, rowIndex)) { //Ignore changed rows
+				sampleCell(columnSample, column, rowIndex, columnIndex);
+			}
+		}
+		return columnSample.measure();
+	}
+
+	/**
+	 * Snapshot the rows (not the cell values) for the background search of the longest values.
+	 * @param rowCount number of rows
+	 * @return the snapshot or null, if the table does not use a EnumTableFormatAdaptor
+	 */
+	private LongestValues createLongestValues(final int rowCount) {
+		DefaultEventTableModel<?> model = getEventTableModel();
+		EnumTableFormatAdaptor<?, ?> tableFormat = getEnumTableFormatAdaptor();
+		if (model == null || tableFormat == null || model.getRowCount() != rowCount) {
+			return null;
+		}
+		Object[] rows = new Object[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			rows[i] = model.getElementAt(i);
+		}
+		return new LongestValues(tableFormat, createViewColumns(), rows);
+	}
+
+	private void sampleCell(final ColumnSample columnSample, final TableColumn column, final int rowIndex, final int columnIndex) {
+		final Object cellValue = getValueAt(rowIndex, columnIndex);
+		if (cellValue == null) { //Ignore null
+			return;
+		}
+		TableCellRenderer renderer = getCellRenderer(column, rowIndex, columnIndex);
+		//Ignore SeparatorTableCell
+		if (renderer instanceof SeparatorTableCell) {
+			return;
+		}
+		Component component = renderer.getTableCellRendererComponent(this, cellValue, false, false, rowIndex, columnIndex);
+		if (component instanceof JLabel) {
+			JLabel jLabel = (JLabel) component;
+			String text = jLabel.getText();
+			if (jLabel.getIcon() == null && text != null && !BasicHTML.isHTMLString(text)) { //Plain text: measured later
+				Insets insets = jLabel.getInsets();
+				columnSample.add(text, jLabel.getFontMetrics(jLabel.getFont()), insets.left + insets.right);
+				return;
+			}
+		}
+		columnSample.add(component.getPreferredSize().width);
+	}
+
+	private int headerWidth(final TableColumn column, final int columnIndex) {
 		TableCellRenderer renderer = column.getHeaderRenderer();
 		if (renderer == null) {
-			renderer = jTable.getTableHeader().getDefaultRenderer();
+			renderer = getTableHeader().getDefaultRenderer();
 		}
-		Component component = renderer.getTableCellRendererComponent(jTable, column.getHeaderValue(), false, false, 0, columnIndex);
-		int maxWidth = component.getPreferredSize().width;
+		Component component = renderer.getTableCellRendererComponent(this, column.getHeaderValue(), false, false, 0, columnIndex);
+		return component.getPreferredSize().width;
+	}
+
+	private TableCellRenderer getCellRenderer(final TableColumn column, final int rowIndex, final int columnIndex) {
+		if (overwrite) {
+			return getCellRenderer(rowIndex, columnIndex);
+		}
+		TableCellRenderer renderer = column.getCellRenderer();
+		if (renderer == null) {
+			renderer = getDefaultRenderer(getColumnClass(columnIndex));
+		}
+		return renderer;
+	}
 
+	private int resizeColumn(final JTable jTable, final TableColumn column, final int columnIndex) {
+		//Header width
+		int maxWidth = headerWidth(column, columnIndex);
+
+		TableCellRenderer renderer = null;
 		if (!overwrite) {
 			renderer = column.getCellRenderer();
 			if (renderer == null) {
@@ -428,7 +674,7 @@ public class JAutoColumnTable extends JTable {
 				if (renderer instanceof SeparatorTableCell) {
 					continue;
 				}
-				component = renderer.getTableCellRendererComponent(jTable, jTable.getValueAt(rowIndex, columnIndex), false, false, rowIndex, columnIndex);
+				Component component = renderer.getTableCellRendererComponent(jTable, jTable.getValueAt(rowIndex, columnIndex), false, false, rowIndex, columnIndex);
 				int width = component.getPreferredSize().width;
 				if (useCache) {
 					rowsWidth.put(cellValue, width);
@@ -459,6 +705,151 @@ public class JAutoColumnTable extends JTable {
 		}
 	}
 
+	private static class ColumnSample {
+
+		private final List<String> texts = new ArrayList<>();
+		private final List<FontMetrics> fontMetrics = new ArrayList<>();
+		private final List<Integer> margins = new ArrayList<>();
+		private int maxWidth;
+
+		public ColumnSample(final int headerWidth) {
+			this.maxWidth = headerWidth;
+		}
+
+		public void add(final String text, final FontMetrics metrics, final int margin) {
+			texts.add(text);
+			fontMetrics.add(metrics);
+			margins.add(margin);
+		}
+
+		public void add(final int width) {
+			maxWidth = Math.max(maxWidth, width);
+		}
+
+		public int measure() {
+			int width = maxWidth;
+			for (int i = 0; i < texts.size(); i++) {
+				width = Math.max(width, fontMetrics.get(i).stringWidth(texts.get(i)) + margins.get(i));
+			}
+			return width + 4; //Add margin
+		}
+	}
+
+	/**
+	 * Finds the longest values of each column, off the EDT.
+	 * Columns of uncompiled formulas (and stockpile totals of compiled formulas) are left to the sample: they share the expression and the values cache.
+	 */
+	private static class LongestValues {
+
+		private final EnumTableFormatAdaptor<?, ?> tableFormat;
+		private final EnumTableColumn<?>[] columns; //View columns
+		private final Object[] rows;
+
+		public LongestValues(final EnumTableFormatAdaptor<?, ?> tableFormat, final EnumTableColumn<?>[] columns, final Object[] rows) {
+			this.tableFormat = tableFormat;
+			this.columns = columns;
+			this.rows = rows;
+		}
+
+		/**
+		 * Find the longest values.
+		 * @return Column :: Rows (null for columns that could not be searched)
+		 */
+		public int[][] find() {
+			int[][] longest = new int[columns.length][];
+			for (int i = 0; i < columns.length; i++) {
+				if (columns[i] != null) {
+					longest[i] = find(columns[i]);
+				}
+			}
+			return longest;
+		}
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private int[] find(final EnumTableColumn column) {
+			PriorityQueue<RowLength> longest = new PriorityQueue<>();
+			for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
+				Object row = rows[rowIndex];
+				if (row instanceof SeparatorList.Separator) {
+					continue;
+				}
+				Object value = column.getColumnValue(row);
+				if (value instanceof Formula) {
+					if (((Formula) value).getCompiled() == null) {
+						return null; //Not thread safe
+					}
+					if (row instanceof StockpileTotal) {
+						continue; //Cached: not thread safe
+					}
+					value = ((EnumTableFormatAdaptor) tableFormat).getColumnValue(row, column);
+				}
+				double length = RowLength.length(value);
+				if (longest.size() < SAMPLE_LONGEST) {
+					longest.add(new RowLength(rowIndex, length));
+				} else if (length > longest.peek().length) {
+					longest.poll();
+					longest.add(new RowLength(rowIndex, length));
+				}
+			}
+			int[] longestRows = new int[longest.size()];
+			int i = 0;
+			for (RowLength rowLength : longest) {
+				longestRows[i] = rowLength.row;
+				i++;
+			}
+			return longestRows;
+		}
+
+		public boolean isCurrent(final DefaultEventTableModel<?> model, final int rowIndex) {
+			return model != null && rowIndex < model.getRowCount() && model.getElementAt(rowIndex) == rows[rowIndex];
+		}
+	}
+
+	private static class RowLength implements Comparable<RowLength> {
+
+		private final int row;
+		private final double length;
+
+		public RowLength(final int row, final double length) {
+			this.row = row;
+			this.length = length;
+		}
+
+		/**
+		 * Estimate the formatted length of a value without formatting it.
+		 * Thread safe: values formatted by the shared formats are not estimated (left to the sample).
+		 * @param value cell value
+		 * @return larger for longer values
+		 */
+		public static double length(final Object value) {
+			if (value == null) {
+				return 0;
+			} else if (value instanceof NumberValue) {
+				return length(((NumberValue) value).getNumber());
+			} else if (value instanceof Date || value instanceof ExpirerDate || value instanceof ModulePriceValue) {
+				return 0;
+			} else if (value instanceof Number) {
+				double number = ((Number) value).doubleValue();
+				if (Double.isNaN(number)) {
+					return 0;
+				} else if (number < 0) {
+					return -number * 10; //Minus sign: same as one more digit
+				} else {
+					return number;
+				}
+			} else if (value instanceof String) {
+				return ((String) value).length();
+			} else {
+				return value.toString().length();
+			}
+		}
+
+		@Override
+		public int compareTo(final RowLength o) {
+			return Double.compare(length, o.length);
+		}
+	}
+
 	private class ListenerClass implements TableModelListener, ComponentListener,
 			PropertyChangeListener, HierarchyListener, TableColumnModelListener, MouseListener {
 
@@ -475,6 +866,10 @@ public class JAutoColumnTable extends JTable {
 			if (getTable().isEditing()) {
 				getTable().getCellEditor().cancelCellEditing();
 			}
+			if (e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+				viewColumns = null;
+			}
+			updateRowStyles(e);
 			if (e.getType() == TableModelEvent.DELETE) {
 				rowsCount = rowsCount - (Math.abs(e.getFirstRow() - e.getLastRow()) + 1);
 			}
@@ -520,6 +915,7 @@ public class JAutoColumnTable extends JTable {
 				TableColumnModel oldModel = (TableColumnModel) oldValue;
 				oldModel.removeColumnModelListener(this);
 				newModel.addColumnModelListener(this);
+				viewColumns = null;
 
 			}
 			if (newValue instanceof TableModel && oldValue instanceof TableModel) {
@@ -527,6 +923,8 @@ public class JAutoColumnTable extends JTable {
 				TableModel oldModel = (TableModel) oldValue;
 				oldModel.removeTableModelListener(this);
 				newModel.addTableModelListener(this);
+				viewColumns = null;
+				rowStyles.clear();
 			}
 		}
 
@@ -544,13 +942,18 @@ public class JAutoColumnTable extends JTable {
 		}
 
 		@Override
-		public void columnAdded(final TableColumnModelEvent e) { }
+		public void columnAdded(final TableColumnModelEvent e) {
+			viewColumns = null;
+		}
 
 		@Override
-		public void columnRemoved(final TableColumnModelEvent e) { }
+		public void columnRemoved(final TableColumnModelEvent e) {
+			viewColumns = null;
+		}
 
 		@Override
 		public void columnMoved(final TableColumnModelEvent e) {
+			viewColumns = null;
 			if (e.getFromIndex() != e.getToIndex()) {
 				if (!columnMoved) {
 					from = e.getFromIndex();
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.table;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.gui.AdvancedTableFormat;
+import ca.odell.glazedlists.swing.TableComparatorChooser;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JTable;
+
+/**
+ * SortedList that precomputes the sort keys of the sorted columns.
+ * <p>
+ * Meant to be used after the FilterList (filter first, then sort only the shown rows).
+ * When the sorting changes, the column values are read once per row into primitive (numbers) or object arrays,
+ * and the rows are ordered by Arrays.parallelSort on those keys. The resulting rank of each row is then used by
+ * the SortedList tree, instead of calling the column getters for every compare.
+ * Rows inserted or updated later are compared with the column comparators, like a normal SortedList.
+ * <p>
+ * Column values are read on the calling thread: formula columns are not thread safe.
+ * @param <E> row type
+ */
+public class KeySortedList<E> extends SortedList<E> {
+
+	private static final int PRECOMPUTE_THRESHOLD = 1000;
+
+	private final AdvancedTableFormat<? super E> tableFormat;
+	private TableComparatorChooser<E> tableComparatorChooser;
+	private Comparator<? super E> comparator; //No initializer: set by the SortedList constructor
+	private Map<E, Integer> ranks;
+
+	public KeySortedList(final EventList<E> source, final AdvancedTableFormat<? super E> tableFormat) {
+		super(source);
+		this.tableFormat = tableFormat;
+	}
+
+	/**
+	 * Install the TableComparatorChooser. The sorted columns are read from it when the sorting changes.
+	 * @param jTable table
+	 * @return the installed TableComparatorChooser
+	 */
+	public TableComparatorChooser<E> install(final JTable jTable) {
+		tableComparatorChooser = TableComparatorChooser.install(jTable, this, TableComparatorChooser.MULTIPLE_COLUMN_MOUSE, tableFormat);
+		return tableComparatorChooser;
+	}
+
+	@Override
+	public Comparator<? super E> getComparator() {
+		return comparator;
+	}
+
+	@Override
+	public void setComparator(final Comparator<? super E> comparator) {
+		this.comparator = comparator;
+		ranks = null;
+		if (comparator != null && tableComparatorChooser != null && source.size() >= PRECOMPUTE_THRESHOLD) {
+			Map<E, Integer> newRanks = createRanks();
+			if (newRanks != null) {
+				ranks = newRanks;
+				super.setComparator(new RankComparator(comparator));
+				return;
+			}
+		}
+		super.setComparator(comparator);
+	}
+
+	@Override
+	public void listChanged(final ListEvent<E> listChanges) {
+		if (ranks != null) {
+			//Inserted and updated rows may not match their rank: compare them by value
+			//Deleted and replaced rows are released (the map must not keep them alive)
+			while (listChanges.next()) {
+				switch (listChanges.getType()) {
+					case ListEvent.DELETE:
+						ranks.remove(listChanges.getOldValue());
+						break;
+					case ListEvent.UPDATE:
+						ranks.remove(listChanges.getOldValue());
+						ranks.remove(source.get(listChanges.getIndex()));
+						break;
+					default:
+						ranks.remove(source.get(listChanges.getIndex()));
+						break;
+				}
+			}
+			listChanges.reset();
+			if (ranks.size() > source.size() * 2) { //Old values not reported by the source
+				ranks.clear();
+			}
+		}
+		super.listChanged(listChanges);
+	}
+
+	private Map<E, Integer> createRanks() {
+		final List<Integer> columns = tableComparatorChooser.getSortingColumns();
+		if (columns.isEmpty()) {
+			return null;
+		}
+		final int size = source.size();
+		final SortKey[] keys = new SortKey[columns.size()];
+		for (int i = 0; i < keys.length; i++) {
+			int column = columns.get(i);
+			Comparator<?> columnComparator = tableFormat.getColumnComparator(column);
+			if (columnComparator == null) {
+				return null;
+			}
+			Object[] values = new Object[size];
+			for (int row = 0; row < size; row++) {
+				values[row] = tableFormat.getColumnValue(source.get(row), column);
+			}
+			keys[i] = createKey(values, columnComparator, tableComparatorChooser.isColumnReverse(column));
+		}
+		Integer[] order = new Integer[size];
+		for (int row = 0; row < size; row++) {
+			order[row] = row;
+		}
+		Comparator<Integer> keyComparator = new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				for (SortKey key : keys) {
+					int value = key.compare(o1, o2);
+					if (value != 0) {
+						return value;
+					}
+				}
+				return 0;
+			}
+		};
+		Arrays.parallelSort(order, keyComparator);
+		Map<E, Integer> newRanks = new IdentityHashMap<>(size);
+		int rank = 0;
+		for (int i = 0; i < size; i++) {
+			if (i > 0 && keyComparator.compare(order[i - 1], order[i]) != 0) {
+				rank = i; //Equal rows share the rank
+			}
+			newRanks.put(source.get(order[i]), rank);
+		}
+		return newRanks;
+	}
+
+	private static SortKey createKey(final Object[] values, final Comparator<?> comparator, final boolean reverse) {
+		if (comparator == GlazedLists.comparableComparator()) { //Natural order: numbers can be compared as primitives
+			boolean doubles = true;
+			boolean longs = true;
+			for (Object value : values) {
+				doubles = doubles && (value instanceof Double || value instanceof Float);
+				longs = longs && (value instanceof Long || value instanceof Integer || value instanceof Short);
+				if (!doubles && !longs) {
+					break;
+				}
+			}
+			if (doubles) {
+				double[] array = new double[values.length];
+				for (int i = 0; i < values.length; i++) {
+					array[i] = ((Number) values[i]).doubleValue();
+				}
+				return new DoubleKey(array, reverse);
+			} else if (longs) {
+				long[] array = new long[values.length];
+				for (int i = 0; i < values.length; i++) {
+					array[i] = ((Number) values[i]).longValue();
+				}
+				return new LongKey(array, reverse);
+			}
+		}
+		return new ObjectKey(values, comparator, reverse);
+	}
+
+	private class RankComparator implements Comparator<E> {
+
+		private final Comparator<? super E> comparator;
+
+		public RankComparator(Comparator<? super E> comparator) {
+			this.comparator = comparator;
+		}
+
+		@Override
+		public int compare(E o1, E o2) {
+			Map<E, Integer> current = ranks;
+			if (current != null) {
+				Integer rank1 = current.get(o1);
+				if (rank1 != null) {
+					Integer rank2 = current.get(o2);
+					if (rank2 != null) {
+						return Integer.compare(rank1, rank2);
+					}
+				}
+			}
+			return comparator.compare(o1, o2);
+		}
+	}
+
+	private abstract static class SortKey {
+
+		private final boolean reverse;
+
+		public SortKey(boolean reverse) {
+			this.reverse = reverse;
+		}
+
+		public int compare(int row1, int row2) {
+			if (reverse) {
+				return compareRows(row2, row1);
+			} else {
+				return compareRows(row1, row2);
+			}
+		}
+
+		protected abstract int compareRows(int row1, int row2);
+	}
+
+	private static class DoubleKey extends SortKey {
+
+		private final double[] values;
+
+		public DoubleKey(double[] values, boolean reverse) {
+			super(reverse);
+			this.values = values;
+		}
+
+		@Override
+		protected int compareRows(int row1, int row2) {
+			return Double.compare(values[row1], values[row2]);
+		}
+	}
+
+	private static class LongKey extends SortKey {
+
+		private final long[] values;
+
+		public LongKey(long[] values, boolean reverse) {
+			super(reverse);
+			this.values = values;
+		}
+
+		@Override
+		protected int compareRows(int row1, int row2) {
+			return Long.compare(values[row1], values[row2]);
+		}
+	}
+
+	private static class ObjectKey extends SortKey {
+
+		private final Object[] values;
+		private final Comparator<Object> comparator;
+
+		@SuppressWarnings("unchecked")
+		public ObjectKey(Object[] values, Comparator<?> comparator, boolean reverse) {
+			super(reverse);
+			this.values = values;
+			this.comparator = (Comparator<Object>) comparator;
+		}
+
+		@Override
+		protected int compareRows(int row1, int row2) {
+			return comparator.compare(values[row1], values[row2]);
+		}
+	}
+}
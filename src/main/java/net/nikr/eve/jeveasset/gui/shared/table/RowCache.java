@@ -0,0 +1,239 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.table;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Size bounded cache of values calculated from table rows (or cell values).
+ * <p>
+ * Row keys are compared by identity and only weakly referenced: replaced rows (after an update) are removed
+ * automatically when garbage collected, even if the cache is never cleared. Value keys (cell values) are compared
+ * by equals and strongly referenced. In both cases, the least recently used entries are evicted when the cache is full.
+ * <p>
+ * Values must not reference the key, or the key will never be garbage collected.
+ * Thread safe.
+ * @param <K> key
+ * @param <V> value
+ */
+public class RowCache<K, V> {
+
+	/**
+	 * Default max size for row caches. Large enough to hold all rows of the largest tables.
+	 */
+	public static final int MAX_ROWS = 1000000;
+
+	private static final Logger LOG = LoggerFactory.getLogger(RowCache.class);
+
+	private final String name;
+	private final int maxSize;
+	private final boolean rows;
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+	private final Map<Object, V> cache;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+	private long collected = 0;
+
+	/**
+	 * @param name name used in statistics
+	 * @param maxSize max number of entries
+	 * @param rows true: weak identity keys (table rows). false: strong equals keys (cell values)
+	 */
+	public RowCache(final String name, final int maxSize, final boolean rows) {
+		this.name = name;
+		this.maxSize = maxSize;
+		this.rows = rows;
+		this.cache = new LinkedHashMap<Object, V>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, V> eldest) {
+				if (size() > RowCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * @param key key
+	 * @return the cached value or null if not cached
+	 */
+	public synchronized V get(final K key) {
+		expunge();
+		V value = cache.get(lookup(key));
+		if (value == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return value;
+	}
+
+	public synchronized void put(final K key, final V value) {
+		expunge();
+		if (rows) {
+			cache.put(new RowKey(key, queue), value);
+		} else {
+			cache.put(key, value);
+		}
+	}
+
+	public synchronized void remove(final K key) {
+		cache.remove(lookup(key));
+	}
+
+	public synchronized void removeAll(final Collection<? extends K> keys) {
+		for (K key : keys) {
+			cache.remove(lookup(key));
+		}
+	}
+
+	public synchronized void clear() {
+		LOG.debug("Clear " + toString());
+		cache.clear();
+		while (queue.poll() != null) {
+			//Already removed
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return number of retained entries
+	 */
+	public synchronized int getSize() {
+		expunge();
+		return cache.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of entries removed because the cache was full
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return number of entries removed because the row was garbage collected
+	 */
+	public synchronized long getCollected() {
+		return collected;
+	}
+
+	@Override
+	public synchronized String toString() {
+		long total = hits + misses;
+		return name + ": " + cache.size() + "/" + maxSize + " entries"
+				+ ", hits: " + hits + " (" + (total > 0 ? hits * 100 / total : 0) + "%)"
+				+ ", misses: " + misses
+				+ ", evictions: " + evictions
+				+ ", collected: " + collected;
+	}
+
+	private Object lookup(final K key) {
+		if (rows) {
+			return new LookupKey(key);
+		} else {
+			return key;
+		}
+	}
+
+	private void expunge() {
+		Reference<?> reference;
+		while ((reference = queue.poll()) != null) {
+			if (cache.remove(reference) != null) {
+				collected++;
+			}
+		}
+	}
+
+	private static class RowKey extends WeakReference<Object> {
+
+		private final int hash;
+
+		public RowKey(Object referent, ReferenceQueue<Object> queue) {
+			super(referent, queue);
+			this.hash = System.identityHashCode(referent);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof RowKey) {
+				Object referent = get();
+				return referent != null && referent == ((RowKey) obj).get();
+			}
+			return false;
+		}
+	}
+
+	private static class LookupKey {
+
+		private final Object referent;
+
+		public LookupKey(Object referent) {
+			this.referent = referent;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(referent);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof RowKey) {
+				return referent == ((RowKey) obj).get();
+			}
+			return false;
+		}
+	}
+}
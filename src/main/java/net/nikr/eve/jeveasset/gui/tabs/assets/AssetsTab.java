@@ -24,16 +24,15 @@ package net.nikr.eve.jeveasset.gui.tabs.assets;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.FilterList;
 import ca.odell.glazedlists.ListSelection;
-import ca.odell.glazedlists.SortedList;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.swing.DefaultEventSelectionModel;
 import ca.odell.glazedlists.swing.DefaultEventTableModel;
-import ca.odell.glazedlists.swing.TableComparatorChooser;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import javax.swing.GroupLayout;
 import javax.swing.JComponent;
@@ -55,6 +54,7 @@ import net.nikr.eve.jeveasset.gui.shared.filter.Filter;
 import net.nikr.eve.jeveasset.gui.shared.filter.FilterControl;
 import net.nikr.eve.jeveasset.gui.shared.filter.FilterLogicalMatcher;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
+import net.nikr.eve.jeveasset.gui.shared.menu.SelectionTotals;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuName.AssetMenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
@@ -62,6 +62,9 @@ import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor;
 import net.nikr.eve.jeveasset.gui.shared.table.EventListManager;
 import net.nikr.eve.jeveasset.gui.shared.table.EventModels;
+import net.nikr.eve.jeveasset.gui.shared.table.KeySortedList;
+import net.nikr.eve.jeveasset.gui.tabs.overview.OverviewTab;
+import net.nikr.eve.jeveasset.gui.tabs.tree.TreeTab;
 import net.nikr.eve.jeveasset.i18n.TabsAssets;
 
 
@@ -86,7 +89,9 @@ public class AssetsTab extends JMainTabPrimary implements TagUpdate {
 	private final DefaultEventTableModel<MyAsset> tableModel;
 	private final EventList<MyAsset> eventList;
 	private final FilterList<MyAsset> filterList;
+	private final KeySortedList<MyAsset> sortedList;
 	private final DefaultEventSelectionModel<MyAsset> selectionModel;
+	private final SelectionTotals<MyAsset> selectionTotals;
 
 	public static final String NAME = "assets"; //Not to be changed!
 
@@ -109,37 +114,37 @@ public class AssetsTab extends JMainTabPrimary implements TagUpdate {
 		tableFormat = new EnumTableFormatAdaptor<>(AssetTableFormat.class);
 		//Backend
 		eventList = program.getProfileData().getAssetsEventList();
-		//Sorting (per column)
-		eventList.getReadWriteLock().readLock().lock();
-		SortedList<MyAsset> sortedList = new SortedList<>(eventList);
-		eventList.getReadWriteLock().readLock().unlock();
-		
-		//Filter
+		//Filter (before sorting: only the shown rows are sorted)
 		eventList.getReadWriteLock().readLock().lock();
-		filterList = new FilterList<>(sortedList);
+		filterList = new FilterList<>(eventList);
 		eventList.getReadWriteLock().readLock().unlock();
 
 		filterList.addListEventListener(listener);
+		//Sorting (per column)
+		eventList.getReadWriteLock().readLock().lock();
+		sortedList = new KeySortedList<>(filterList, tableFormat);
+		eventList.getReadWriteLock().readLock().unlock();
 		//Table Model
-		tableModel = EventModels.createTableModel(filterList, tableFormat);
+		tableModel = EventModels.createTableModel(sortedList, tableFormat);
 		//Table
 		jTable = new JAssetTable(program, tableModel);
 		jTable.setCellSelectionEnabled(true);
 		jTable.setRowSelectionAllowed(true);
 		jTable.setColumnSelectionAllowed(true);
 		//Sorting
-		TableComparatorChooser.install(jTable, sortedList, TableComparatorChooser.MULTIPLE_COLUMN_MOUSE, tableFormat);
+		sortedList.install(jTable);
 		//Selection Model
-		selectionModel = EventModels.createSelectionModel(filterList);
+		selectionModel = EventModels.createSelectionModel(sortedList);
 		selectionModel.setSelectionMode(ListSelection.MULTIPLE_INTERVAL_SELECTION_DEFENSIVE);
 		jTable.setSelectionModel(selectionModel);
+		selectionTotals = new SelectionTotals<>(sortedList, selectionModel, MyAsset.class, JMenuInfo.INFO_ITEM_VALUES);
 
 		//Listeners
 		installTable(jTable);
 		//Scroll
 		JScrollPane jTableScroll = new JScrollPane(jTable);
 		//Table Filter
-		filterControl = new AssetFilterControl(sortedList);
+		filterControl = new AssetFilterControl();
 		//Menu
 		installTableTool(new AssetTableMenu(), tableFormat, tableModel, jTable, filterControl, MyAsset.class);
 
@@ -279,7 +284,7 @@ public class AssetsTab extends JMainTabPrimary implements TagUpdate {
 
 		@Override
 		public void addInfoMenu(JComponent jComponent) {
-			JMenuInfo.asset(jComponent, selectionModel.getSelected());
+			JMenuInfo.asset(jComponent, selectionTotals);
 		}
 
 		@Override
@@ -291,7 +296,9 @@ public class AssetsTab extends JMainTabPrimary implements TagUpdate {
 		@Override
 		public void listChanged(final ListEvent<MyAsset> listChanges) {
 			updateStatusbar();
-			program.getOverviewTab().updateTable();
+			if (program.isTabCreated(OverviewTab.NAME)) {
+				program.getOverviewTab().updateTable();
+			}
 		}
 
 		@Override
@@ -305,7 +312,9 @@ public class AssetsTab extends JMainTabPrimary implements TagUpdate {
 					Settings.unlock("Reprocess Colors");
 					program.saveSettings("Reprocess Colors");
 					jTable.repaint();
-					program.getTreeTab().updateReprocessColors();
+					if (program.isTabCreated(TreeTab.NAME)) {
+						program.getTreeTab().updateReprocessColors();
+					}
 				}
 			}
 		}
@@ -313,16 +322,21 @@ public class AssetsTab extends JMainTabPrimary implements TagUpdate {
 
 	private class AssetFilterControl extends FilterControl<MyAsset> {
 
-		public AssetFilterControl(EventList<MyAsset> exportEventList) {
+		public AssetFilterControl() {
 			super(program.getMainWindow().getFrame(), 
 					NAME,
 					eventList,
-					exportEventList,
+					eventList,
 					filterList,
 					Settings.get().getTableFilters(NAME)
 					);
 		}
 
+		@Override
+		public Comparator<? super MyAsset> getExportComparator() {
+			return sortedList.getComparator();
+		}
+
 		@Override
 		protected Object getColumnValue(final MyAsset item, final String column) {
 			return tableFormat.getColumnValue(item, column);
@@ -345,7 +359,7 @@ public class AssetsTab extends JMainTabPrimary implements TagUpdate {
 
 		@Override
 		protected void updateFilters() {
-			if (program != null && program.getOverviewTab() != null) {
+			if (program != null && program.isTabCreated(OverviewTab.NAME)) {
 				program.getOverviewTab().updateFilters();
 			}
 		}
@@ -29,11 +29,23 @@ import net.nikr.eve.jeveasset.data.api.my.MyAsset;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
 import net.nikr.eve.jeveasset.data.settings.Settings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
 
 
 public class JAssetTable extends JAutoColumnTable {
 
+	//Row style flags
+	public static final int USER_PRICE = 1;
+	public static final int USER_NAME = 1 << 1;
+	public static final int USER_LOCATION = 1 << 2;
+	public static final int BPO = 1 << 3;
+	public static final int BPC = 1 << 4;
+	public static final int REPROCESSED_ZERO = 1 << 5;
+	public static final int REPROCESSED_EQUAL = 1 << 6;
+	public static final int REPROCESSED_HIGHER = 1 << 7;
+	public static final int REPROCESSED_LOWER = 1 << 8;
+
 	private final DefaultEventTableModel<MyAsset> tableModel;
 
 	public JAssetTable(final Program program, final DefaultEventTableModel<MyAsset> tableModel) {
@@ -41,45 +53,80 @@ public class JAssetTable extends JAutoColumnTable {
 		this.tableModel = tableModel;
 	}
 
+	@Override
+	protected int createRowStyle(final Object row) {
+		return createAssetStyle((MyAsset) row);
+	}
+
+	public static int createAssetStyle(final MyAsset asset) {
+		int style = 0;
+		if (asset.isUserPrice()) {
+			style |= USER_PRICE;
+		}
+		if (asset.isUserName()) {
+			style |= USER_NAME;
+		}
+		if (asset.getLocation().isUserLocation()) {
+			style |= USER_LOCATION;
+		}
+		if (asset.isBPO() && asset.getItem().isBlueprint()) {
+			style |= BPO;
+		}
+		if (asset.isBPC() && asset.getItem().isBlueprint()) {
+			style |= BPC;
+		}
+		double priceReprocessed = asset.getPriceReprocessed();
+		double price = asset.getDynamicPrice();
+		if (priceReprocessed == 0 || price == 0) {
+			style |= REPROCESSED_ZERO;
+		}
+		if (priceReprocessed == price) {
+			style |= REPROCESSED_EQUAL;
+		} else if (priceReprocessed > price) {
+			style |= REPROCESSED_HIGHER;
+		} else if (priceReprocessed < price) {
+			style |= REPROCESSED_LOWER;
+		}
+		return style;
+	}
+
 	@Override
 	public Component prepareRenderer(final TableCellRenderer renderer, final int row, final int column) {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
-		MyAsset asset = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		int style = getRowStyle(tableModel.getElementAt(row));
+		EnumTableColumn<?> columnType = getColumnType(column);
 
 		//User set price
-		if (asset.isUserPrice() && columnName.equals(AssetTableFormat.PRICE.getColumnName())) {
+		if ((style & USER_PRICE) != 0 && columnType == AssetTableFormat.PRICE) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_PRICE, isSelected);
 			return component;
 		}
 		//User set name
-		if (asset.isUserName() && columnName.equals(AssetTableFormat.NAME.getColumnName())) {
+		if ((style & USER_NAME) != 0 && columnType == AssetTableFormat.NAME) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_ASSET_NAME, isSelected);
 			return component;
 		}
 		//User set location
-		if (asset.getLocation().isUserLocation() && columnName.equals(AssetTableFormat.LOCATION.getColumnName())) {
+		if ((style & USER_LOCATION) != 0 && columnType == AssetTableFormat.LOCATION) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_USER_LOCATION, isSelected);
 			return component;
 		}
 		//Blueprint Original
-		if (asset.isBPO()
-				&& asset.getItem().isBlueprint()
-				&& (columnName.equals(AssetTableFormat.PRICE.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_SELL_MIN.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_BUY_MAX.getColumnName())
-				|| columnName.equals(AssetTableFormat.NAME.getColumnName()))) {
+		if ((style & BPO) != 0
+				&& (columnType == AssetTableFormat.PRICE
+				|| columnType == AssetTableFormat.PRICE_SELL_MIN
+				|| columnType == AssetTableFormat.PRICE_BUY_MAX
+				|| columnType == AssetTableFormat.NAME)) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_BPO, isSelected);
 			return component;
 		}
 		//Blueprint Copy
-		if (asset.isBPC()
-				&& asset.getItem().isBlueprint()
-				&& (columnName.equals(AssetTableFormat.PRICE.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_SELL_MIN.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_BUY_MAX.getColumnName())
-				|| columnName.equals(AssetTableFormat.NAME.getColumnName()))) {
+		if ((style & BPC) != 0
+				&& (columnType == AssetTableFormat.PRICE
+				|| columnType == AssetTableFormat.PRICE_SELL_MIN
+				|| columnType == AssetTableFormat.PRICE_BUY_MAX
+				|| columnType == AssetTableFormat.NAME)) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_BPC, isSelected);
 			return component;
 		}
@@ -87,28 +134,28 @@ public class JAssetTable extends JAutoColumnTable {
 		//Reprocessing Colors
 		if (Settings.get().isReprocessColors() && !isSelected) {
 			//Zero price (White)
-			if (asset.getPriceReprocessed() == 0 || asset.getDynamicPrice() == 0) {
+			if ((style & REPROCESSED_ZERO) != 0) {
 				return component;
 			}
 			//Equal price (Yellow)
 			boolean rowSelection = (this.isRowSelected(row) && Settings.get().isHighlightSelectedRows());
-			if (asset.getPriceReprocessed() == asset.getDynamicPrice()) {
+			if ((style & REPROCESSED_EQUAL) != 0) {
 				ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESSING_EQUAL, rowSelection, true);
 				return component;
 			}
 			//Reprocessed highest (Red)
-			if (asset.getPriceReprocessed() > asset.getDynamicPrice()) {
+			if ((style & REPROCESSED_HIGHER) != 0) {
 				ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESSING_REPROCES, rowSelection, true);
 				return component;
 			}
 			//Price highest (Green)
-			if (asset.getPriceReprocessed() < asset.getDynamicPrice()) {
+			if ((style & REPROCESSED_LOWER) != 0) {
 				ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESSING_SELL, rowSelection, true);
 				return component;
 			}
 		}
 		//Reproccessed is greater then price
-		if (asset.getPriceReprocessed() > asset.getDynamicPrice() && columnName.equals(AssetTableFormat.PRICE_REPROCESSED.getColumnName())) {
+		if ((style & REPROCESSED_HIGHER) != 0 && columnType == AssetTableFormat.PRICE_REPROCESSED) {
 			ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESS, isSelected);
 			return component;
 		}
@@ -28,6 +28,7 @@ import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.api.my.MyContractItem;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JSeparatorTable;
 
 
@@ -45,11 +46,11 @@ public class JContractsTable extends JSeparatorTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		Object object = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 
 		if (object instanceof MyContractItem) {
 			MyContractItem item = (MyContractItem) object;
-			if (columnName.equals(ContractsTableFormat.NAME.getColumnName())) {
+			if (columnType == ContractsTableFormat.NAME) {
 				if (item.getContract().isCourierContract()) {
 					ColorSettings.configCell(component, ColorEntry.CONTRACTS_COURIER, isSelected);
 				} else if (item.isIncluded()) {
@@ -59,8 +60,8 @@ public class JContractsTable extends JSeparatorTable {
 				}
 			}
 			//User set location
-			if ((item.getContract().getStartLocation() != null && item.getContract().getStartLocation().isUserLocation() && columnName.equals(ContractsTableFormat.START_STATION.getColumnName()))
-					|| (item.getContract().getEndLocation() != null && item.getContract().getEndLocation().isUserLocation() && columnName.equals(ContractsTableFormat.END_STATION.getColumnName()))) {
+			if ((item.getContract().getStartLocation() != null && item.getContract().getStartLocation().isUserLocation() && columnType == ContractsTableFormat.START_STATION)
+					|| (item.getContract().getEndLocation() != null && item.getContract().getEndLocation().isUserLocation() && columnType == ContractsTableFormat.END_STATION)) {
 				ColorSettings.configCell(component, ColorEntry.CUSTOM_USER_LOCATION, isSelected);
 				return component;
 			}
@@ -53,6 +53,7 @@ import net.nikr.eve.jeveasset.gui.shared.filter.Filter.CompareType;
 import net.nikr.eve.jeveasset.gui.shared.filter.Filter.LogicType;
 import net.nikr.eve.jeveasset.gui.shared.filter.FilterControl;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
+import net.nikr.eve.jeveasset.gui.shared.menu.SelectionTotals;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
@@ -75,6 +76,7 @@ public class IndustryJobsTab extends JMainTabPrimary {
 	private final FilterList<MyIndustryJob> filterList;
 	private final DefaultEventTableModel<MyIndustryJob> tableModel;
 	private final DefaultEventSelectionModel<MyIndustryJob> selectionModel;
+	private final SelectionTotals<MyIndustryJob> selectionTotals;
 	private final IndustryJobsFilterControl filterControl;
 	private final EnumTableFormatAdaptor<IndustryJobTableFormat, MyIndustryJob> tableFormat;
 
@@ -110,6 +112,7 @@ public class IndustryJobsTab extends JMainTabPrimary {
 		selectionModel = EventModels.createSelectionModel(filterList);
 		selectionModel.setSelectionMode(ListSelection.MULTIPLE_INTERVAL_SELECTION_DEFENSIVE);
 		jTable.setSelectionModel(selectionModel);
+		selectionTotals = new SelectionTotals<>(filterList, selectionModel, MyIndustryJob.class, JMenuInfo.INDUSTRY_JOB_VALUES);
 		//Listeners
 		installTable(jTable);
 		//Scroll
@@ -186,7 +189,7 @@ public class IndustryJobsTab extends JMainTabPrimary {
 
 		@Override
 		public void addInfoMenu(JComponent jComponent) {
-			JMenuInfo.industryJob(jComponent, selectionModel.getSelected());
+			JMenuInfo.industryJob(jComponent, selectionTotals);
 		}
 
 		@Override
@@ -27,6 +27,7 @@ import javax.swing.table.TableCellRenderer;
 import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
 
 
@@ -44,49 +45,49 @@ public class IndustrySlotTable  extends JAutoColumnTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		IndustrySlot industrySlot = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 		//Grand Total
 		if (industrySlot.isGrandTotal()) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_GRAND_TOTAL, isSelected);
 			return component;
 		}
-		if (industrySlot.isEmpty() && columnName.equals(IndustrySlotTableFormat.NAME.getColumnName())) {
+		if (industrySlot.isEmpty() && columnType == IndustrySlotTableFormat.NAME) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_ENTRY_INVALID, isSelected);
 			return component;
 		}
-		if (industrySlot.isManufacturingFree() && columnName.equals(IndustrySlotTableFormat.MANUFACTURING_FREE.getColumnName())) {
+		if (industrySlot.isManufacturingFree() && columnType == IndustrySlotTableFormat.MANUFACTURING_FREE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_FREE, isSelected);
 			return component;
 		}
-		if (industrySlot.isManufacturingDone() && columnName.equals(IndustrySlotTableFormat.MANUFACTURING_DONE.getColumnName())) {
+		if (industrySlot.isManufacturingDone() && columnType == IndustrySlotTableFormat.MANUFACTURING_DONE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_DONE, isSelected);
 			return component;
 		}
-		if (industrySlot.isManufacturingFull() && columnName.equals(IndustrySlotTableFormat.MANUFACTURING_FREE.getColumnName())) {
+		if (industrySlot.isManufacturingFull() && columnType == IndustrySlotTableFormat.MANUFACTURING_FREE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_FULL, isSelected);
 			return component;
 		}
-		if (industrySlot.isReactionsFree() && columnName.equals(IndustrySlotTableFormat.REACTIONS_FREE.getColumnName())) {
+		if (industrySlot.isReactionsFree() && columnType == IndustrySlotTableFormat.REACTIONS_FREE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_FREE, isSelected);
 			return component;
 		}
-		if (industrySlot.isReactionsDone() && columnName.equals(IndustrySlotTableFormat.REACTIONS_DONE.getColumnName())) {
+		if (industrySlot.isReactionsDone() && columnType == IndustrySlotTableFormat.REACTIONS_DONE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_DONE, isSelected);
 			return component;
 		}
-		if (industrySlot.isReactionsFull() && columnName.equals(IndustrySlotTableFormat.REACTIONS_FREE.getColumnName())) {
+		if (industrySlot.isReactionsFull() && columnType == IndustrySlotTableFormat.REACTIONS_FREE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_FULL, isSelected);
 			return component;
 		}
-		if (industrySlot.isResearchFree() && columnName.equals(IndustrySlotTableFormat.RESEARCH_FREE.getColumnName())) {
+		if (industrySlot.isResearchFree() && columnType == IndustrySlotTableFormat.RESEARCH_FREE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_FREE, isSelected);
 			return component;
 		}
-		if (industrySlot.isResearchDone() && columnName.equals(IndustrySlotTableFormat.RESEARCH_DONE.getColumnName())) {
+		if (industrySlot.isResearchDone() && columnType == IndustrySlotTableFormat.RESEARCH_DONE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_DONE, isSelected);
 			return component;
 		}
-		if (industrySlot.isResearchFull() && columnName.equals(IndustrySlotTableFormat.RESEARCH_FREE.getColumnName())) {
+		if (industrySlot.isResearchFull() && columnType == IndustrySlotTableFormat.RESEARCH_FREE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_SLOTS_FULL, isSelected);
 			return component;
 		}
@@ -47,6 +47,7 @@ import net.nikr.eve.jeveasset.gui.shared.components.JMainTabSecondary;
 import net.nikr.eve.jeveasset.gui.shared.filter.FilterControl;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
+import net.nikr.eve.jeveasset.gui.shared.table.BackgroundUpdater;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor;
 import net.nikr.eve.jeveasset.gui.shared.table.EventListManager;
@@ -68,6 +69,7 @@ public class IndustrySlotsTab extends JMainTabSecondary {
 	private final FilterList<IndustrySlot> filterList;
 	private final EnumTableFormatAdaptor<IndustrySlotTableFormat, IndustrySlot> tableFormat;
 	private final DefaultEventSelectionModel<IndustrySlot> selectionModel;
+	private final BackgroundUpdater<Collection<IndustrySlot>> backgroundUpdater = new BackgroundUpdater<>();
 
 	public static final String NAME = "industryslots"; //Not to be changed!
 
@@ -126,40 +128,58 @@ public class IndustrySlotsTab extends JMainTabSecondary {
 
 	@Override
 	public void updateData() {
-		Map<Long, IndustrySlot> industrySlots = new HashMap<>();
-		IndustrySlot total = new IndustrySlot(TabsIndustrySlots.get().grandTotal());
-		for (OwnerType ownerType : program.getOwnerTypes()) {
-			if (ownerType.isCorporation()) {
-				continue;
+		final List<OwnerType> ownerTypes = program.getOwnerTypes();
+		final List<MyIndustryJob> industryJobs = program.getIndustryJobsList(); //Immutable snapshot
+		backgroundUpdater.update(new BackgroundUpdater.UpdateTask<Collection<IndustrySlot>>() {
+			@Override
+			public Collection<IndustrySlot> task() {
+				Map<Long, IndustrySlot> industrySlots = new HashMap<>();
+				IndustrySlot total = new IndustrySlot(TabsIndustrySlots.get().grandTotal());
+				for (OwnerType ownerType : ownerTypes) {
+					if (ownerType.isCorporation()) {
+						continue;
+					}
+					IndustrySlot old = industrySlots.put(ownerType.getOwnerID(), new IndustrySlot(ownerType));
+					if (old == null) {
+						total.count(ownerType);
+					}
+				}
+				for (MyIndustryJob industryJob : industryJobs) {
+					if (BackgroundUpdater.isCancelled()) {
+						return null;
+					}
+					IndustrySlot industrySlot = industrySlots.get(industryJob.getInstallerID());
+					if (industrySlot == null) {
+						industrySlot = industrySlots.get(industryJob.getOwnerID());
+					}
+					if (industrySlot == null) {
+						continue;
+					}
+					industrySlot.count(industryJob);
+					total.count(industryJob);
+				}
+				industrySlots.put(0L, total);
+				return industrySlots.values();
 			}
-			IndustrySlot old = industrySlots.put(ownerType.getOwnerID(), new IndustrySlot(ownerType));
-			if (old == null) {
-				total.count(ownerType);
-			}
-		}
-		for (MyIndustryJob industryJob : program.getIndustryJobsList()) {
-			IndustrySlot industrySlot = industrySlots.get(industryJob.getInstallerID());
-			if (industrySlot == null) {
-				industrySlot = industrySlots.get(industryJob.getOwnerID());
-			}
-			if (industrySlot == null) {
-				continue;
+
+			@Override
+			public void gui(Collection<IndustrySlot> industrySlots) {
+				beforeUpdateData();
+				try {
+					eventList.getReadWriteLock().writeLock().lock();
+					eventList.clear();
+					eventList.addAll(industrySlots);
+				} finally {
+					eventList.getReadWriteLock().writeLock().unlock();
+				}
+				afterUpdateData();
 			}
-			industrySlot.count(industryJob);
-			total.count(industryJob);
-		}
-		industrySlots.put(0L, total);
-		try {
-			eventList.getReadWriteLock().writeLock().lock();
-			eventList.clear();
-			eventList.addAll(industrySlots.values());
-		} finally {
-			eventList.getReadWriteLock().writeLock().unlock();
-		}
+		});
 	}
 
 	@Override
 	public void clearData() {
+		backgroundUpdater.cancel();
 		try {
 			eventList.getReadWriteLock().writeLock().lock();
 			eventList.clear();
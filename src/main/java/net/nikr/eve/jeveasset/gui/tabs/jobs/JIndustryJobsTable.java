@@ -28,6 +28,7 @@ import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.api.my.MyIndustryJob;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
 
 
@@ -45,30 +46,30 @@ public class JIndustryJobsTable extends JAutoColumnTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		MyIndustryJob industryJob = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 
 		//BPO
-		if (industryJob.isBPO() && columnName.equals(IndustryJobTableFormat.NAME.getColumnName())) {
+		if (industryJob.isBPO() && columnType == IndustryJobTableFormat.NAME) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_BPO, isSelected);
 			return component;
 		}
 		//BPC
-		if (industryJob.isBPC() && columnName.equals(IndustryJobTableFormat.NAME.getColumnName())) {
+		if (industryJob.isBPC() && columnType == IndustryJobTableFormat.NAME) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_BPC, isSelected);
 			return component;
 		}
 		//Completed
-		if (industryJob.getState() == MyIndustryJob.IndustryJobState.STATE_DONE && columnName.equals(IndustryJobTableFormat.END_DATE.getColumnName())) {
+		if (industryJob.getState() == MyIndustryJob.IndustryJobState.STATE_DONE && columnType == IndustryJobTableFormat.END_DATE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_JOBS_DONE, isSelected);
 			return component;
 		}
 		//Delivered
-		if (industryJob.getState() == MyIndustryJob.IndustryJobState.STATE_DELIVERED && columnName.equals(IndustryJobTableFormat.END_DATE.getColumnName())) {
+		if (industryJob.getState() == MyIndustryJob.IndustryJobState.STATE_DELIVERED && columnType == IndustryJobTableFormat.END_DATE) {
 			ColorSettings.configCell(component, ColorEntry.INDUSTRY_JOBS_DELIVERED, isSelected);
 			return component;
 		}
 		//User set location
-		if (industryJob.getLocation().isUserLocation() && columnName.equals(IndustryJobTableFormat.LOCATION.getColumnName())) {
+		if (industryJob.getLocation().isUserLocation() && columnType == IndustryJobTableFormat.LOCATION) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_USER_LOCATION, isSelected);
 			return component;
 		}
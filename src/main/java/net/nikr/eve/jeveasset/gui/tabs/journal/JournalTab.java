@@ -24,9 +24,9 @@ package net.nikr.eve.jeveasset.gui.tabs.journal;
 import ca.odell.glazedlists.*;
 import ca.odell.glazedlists.swing.DefaultEventSelectionModel;
 import ca.odell.glazedlists.swing.DefaultEventTableModel;
-import ca.odell.glazedlists.swing.TableComparatorChooser;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import javax.swing.JComponent;
 import javax.swing.JMenu;
@@ -44,6 +44,7 @@ import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor;
 import net.nikr.eve.jeveasset.gui.shared.table.EventModels;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
+import net.nikr.eve.jeveasset.gui.shared.table.KeySortedList;
 import net.nikr.eve.jeveasset.gui.shared.table.PaddingTableCellRenderer;
 import net.nikr.eve.jeveasset.i18n.TabsJournal;
 
@@ -58,6 +59,7 @@ public class JournalTab extends JMainTabPrimary {
 	private final DefaultEventTableModel<MyJournal> tableModel;
 	private final EventList<MyJournal> eventList;
 	private final FilterList<MyJournal> filterList;
+	private final KeySortedList<MyJournal> sortedList;
 	private final DefaultEventSelectionModel<MyJournal> selectionModel;
 
 	public static final String NAME = "journal"; //Not to be changed!
@@ -69,25 +71,24 @@ public class JournalTab extends JMainTabPrimary {
 		tableFormat = new EnumTableFormatAdaptor<>(JournalTableFormat.class);
 		//Backend
 		eventList = program.getProfileData().getJournalEventList();
-		//Sorting (per column)
+		//Filter (before sorting: only the shown rows are sorted)
 		eventList.getReadWriteLock().readLock().lock();
-		SortedList<MyJournal> sortedList = new SortedList<>(eventList);
+		filterList = new FilterList<>(eventList);
 		eventList.getReadWriteLock().readLock().unlock();
-
-		//Filter
+		//Sorting (per column)
 		eventList.getReadWriteLock().readLock().lock();
-		filterList = new FilterList<>(sortedList);
+		sortedList = new KeySortedList<>(filterList, tableFormat);
 		eventList.getReadWriteLock().readLock().unlock();
 		//Table Model
-		tableModel = EventModels.createTableModel(filterList, tableFormat);
+		tableModel = EventModels.createTableModel(sortedList, tableFormat);
 		//Table
 		jTable = new JJournalTable(program, tableModel);
 		jTable.setCellSelectionEnabled(true);
 		PaddingTableCellRenderer.install(jTable, 1);
 		//Sorting
-		TableComparatorChooser.install(jTable, sortedList, TableComparatorChooser.MULTIPLE_COLUMN_MOUSE, tableFormat);
+		sortedList.install(jTable);
 		//Selection Model
-		selectionModel = EventModels.createSelectionModel(filterList);
+		selectionModel = EventModels.createSelectionModel(sortedList);
 		selectionModel.setSelectionMode(ListSelection.MULTIPLE_INTERVAL_SELECTION_DEFENSIVE);
 		jTable.setSelectionModel(selectionModel);
 		//Listeners
@@ -95,7 +96,7 @@ public class JournalTab extends JMainTabPrimary {
 		//Scroll Panels
 		JScrollPane jTableScroll = new JScrollPane(jTable);
 		//Table Filter
-		filterControl = new JournalFilterControl(sortedList);
+		filterControl = new JournalFilterControl();
 		//Menu
 		installTableTool(new JournalTableMenu(), tableFormat, tableModel, jTable, filterControl, MyJournal.class);
 
@@ -154,16 +155,21 @@ public class JournalTab extends JMainTabPrimary {
 
 	private class JournalFilterControl extends FilterControl<MyJournal> {
 
-		public JournalFilterControl(SortedList<MyJournal> exportEventList) {
+		public JournalFilterControl() {
 			super(program.getMainWindow().getFrame(),
 					NAME,
 					eventList,
-					exportEventList,
+					eventList,
 					filterList,
 					Settings.get().getTableFilters(NAME)
 					);
 		}
 
+		@Override
+		public Comparator<? super MyJournal> getExportComparator() {
+			return sortedList.getComparator();
+		}
+
 		@Override
 		protected Object getColumnValue(final MyJournal journal, final String column) {
 			return tableFormat.getColumnValue(journal, column);
@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.swing.GroupLayout;
@@ -65,6 +66,7 @@ import net.nikr.eve.jeveasset.gui.shared.filter.ExportFilterControl;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
+import net.nikr.eve.jeveasset.gui.shared.table.BackgroundUpdater;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor;
 import net.nikr.eve.jeveasset.gui.shared.table.EventListManager;
@@ -116,6 +118,8 @@ public class LoadoutsTab extends JMainTabSecondary {
 	private final DefaultEventSelectionModel<Loadout> selectionModel;
 	private final DefaultEventTableModel<Loadout> tableModel;
 	private final EnumTableFormatAdaptor<LoadoutTableFormat, Loadout> tableFormat;
+	private final BackgroundUpdater<LoadoutData> backgroundUpdater = new BackgroundUpdater<>();
+	private Map<String, MyAsset> ships = new LinkedHashMap<>(); //Ship key :: ship (updated with the table)
 
 	//Dialog
 	ExportDialog<Loadout> exportDialog;
@@ -251,6 +255,23 @@ public class LoadoutsTab extends JMainTabSecondary {
 
 	@Override
 	public void updateData() {
+		final List<MyAsset> assets = program.getAssetList(); //Immutable snapshot
+		backgroundUpdater.update(new BackgroundUpdater.UpdateTask<LoadoutData>() {
+			@Override
+			public LoadoutData task() {
+				return createLoadouts(assets);
+			}
+
+			@Override
+			public void gui(LoadoutData data) {
+				ships = data.getShips();
+				updateOwners();
+				updateTable(data.getLoadouts());
+			}
+		});
+	}
+
+	private void updateOwners() {
 		if (!program.getOwnerNames(false).isEmpty()) {
 			jOwners.setEnabled(true);
 			String selectedItem = (String) jOwners.getSelectedItem();
@@ -267,11 +288,12 @@ public class LoadoutsTab extends JMainTabSecondary {
 			jShips.setModel(new ListComboBoxModel<>());
 			jShips.getModel().setSelectedItem(TabsLoadout.get().no());
 		}
-		updateTable();
 	}
 
 	@Override
 	public void clearData() {
+		backgroundUpdater.cancel();
+		ships = new LinkedHashMap<>();
 		try {
 			eventList.getReadWriteLock().writeLock().lock();
 			eventList.clear();
@@ -331,14 +353,7 @@ public class LoadoutsTab extends JMainTabSecondary {
 		String fitDescription = loadoutsExportDialog.getFittingDescription();
 		if (!fitName.isEmpty()) {
 			String selectedShip = (String) jShips.getSelectedItem();
-			MyAsset exportAsset = null;
-			for (MyAsset asset : program.getAssetList()) {
-					String key = asset.getName() + " #" + asset.getItemID();
-					if (selectedShip.equals(key)) {
-						exportAsset = asset;
-						break;
-					}
-				}
+			MyAsset exportAsset = ships.get(selectedShip);
 			loadoutsExportDialog.setVisible(false);
 			if (exportAsset == null) {
 				return;
@@ -357,14 +372,7 @@ public class LoadoutsTab extends JMainTabSecondary {
 
 	private void exportEFT() {
 		String selectedShip = (String) jShips.getSelectedItem();
-		MyAsset exportAsset = null;
-		for (MyAsset asset : program.getAssetList()) {
-				String key = asset.getName() + " #" + asset.getItemID();
-				if (selectedShip.equals(key)) {
-					exportAsset = asset;
-					break;
-				}
-			}
+		MyAsset exportAsset = ships.get(selectedShip);
 		if (exportAsset == null) {
 			return;
 		}
@@ -468,13 +476,18 @@ public class LoadoutsTab extends JMainTabSecondary {
 		}
 	}
 
-	private void updateTable() {
+	private LoadoutData createLoadouts(List<MyAsset> assets) {
 		List<Loadout> ship = new ArrayList<>();
-		for (MyAsset asset : program.getAssetList()) {
-			String key = asset.getName() + " #" + asset.getItemID();
+		Map<String, MyAsset> shipAssets = new LinkedHashMap<>();
+		for (MyAsset asset : assets) {
+			if (BackgroundUpdater.isCancelled()) {
+				return null;
+			}
 			if (!asset.getItem().getCategory().equals(SHIP_CATEGORY) || !asset.isSingleton()) {
 				continue;
 			}
+			String key = asset.getName() + " #" + asset.getItemID();
+			shipAssets.put(key, asset);
 			Loadout moduleShip = new Loadout(asset.getItem(), asset.getLocation(), asset.getOwner(), TabsLoadout.get().totalShip(), key, TabsLoadout.get().flagTotalValue(), null, asset.getDynamicPrice(), 1, true);
 			Loadout moduleModules = new Loadout(new Item(0), asset.getLocation(), asset.getOwner(), TabsLoadout.get().totalModules(), key, TabsLoadout.get().flagTotalValue(), null, 0, 0, false);
 			Loadout moduleTotal = new Loadout(new Item(0), asset.getLocation(), asset.getOwner(), TabsLoadout.get().totalAll(), key, TabsLoadout.get().flagTotalValue(), null, asset.getDynamicPrice(), 1, false);
@@ -504,6 +517,11 @@ public class LoadoutsTab extends JMainTabSecondary {
 				moduleTotal.addCount(assetModule.getCount());
 			}
 		}
+		return new LoadoutData(ship, shipAssets);
+	}
+
+	private void updateTable(List<Loadout> ship) {
+		beforeUpdateData();
 		//Save separator expanded/collapsed state
 		jTable.saveExpandedState();
 		//Update list
@@ -516,6 +534,7 @@ public class LoadoutsTab extends JMainTabSecondary {
 		}
 		//Restore separator expanded/collapsed state
 		jTable.loadExpandedState();
+		afterUpdateData();
 	}
 
 	private class LoadoutTableMenu implements TableMenu<Loadout> {
@@ -549,15 +568,11 @@ public class LoadoutsTab extends JMainTabSecondary {
 			if (LoadoutsAction.OWNERS.name().equals(e.getActionCommand())) {
 				String owner = (String) jOwners.getSelectedItem();
 				List<String> charShips = new ArrayList<>();
-				for (MyAsset asset : program.getAssetList()) {
-					String key = asset.getName() + " #" + asset.getItemID();
-					if (!asset.getItem().getCategory().equals(SHIP_CATEGORY) || !asset.isSingleton()) {
-						continue;
-					}
-					if (!owner.equals(asset.getOwnerName()) && !owner.equals(General.get().all())) {
+				for (Map.Entry<String, MyAsset> entry : ships.entrySet()) {
+					if (!owner.equals(entry.getValue().getOwnerName()) && !owner.equals(General.get().all())) {
 						continue;
 					}
-					charShips.add(key);
+					charShips.add(entry.getKey());
 				}
 				if (!charShips.isEmpty()) {
 					Collections.sort(charShips, new CaseInsensitiveComparator());
@@ -592,15 +607,15 @@ public class LoadoutsTab extends JMainTabSecondary {
 				loadoutsExportDialog.setVisible(true);
 			} else if (LoadoutsAction.EXPORT_EVE_ALL.name().equals(e.getActionCommand())) {
 				String filename = browse();
-				List<MyAsset> ships = new ArrayList<>();
-				for (MyAsset asset : program.getAssetList()) {
-					if (!asset.getItem().getCategory().equals(SHIP_CATEGORY) || !asset.isSingleton() || asset.getAssets().isEmpty()) {
+				List<MyAsset> fittedShips = new ArrayList<>();
+				for (MyAsset asset : ships.values()) {
+					if (asset.getAssets().isEmpty()) {
 						continue;
 					}
-					ships.add(asset);
+					fittedShips.add(asset);
 				}
 				if (filename != null) {
-					EveFittingWriter.save(new ArrayList<>(ships), filename);
+					EveFittingWriter.save(fittedShips, filename);
 				}
 			} else if (LoadoutsAction.EXPORT_EFT.name().equals(e.getActionCommand())) {
 				exportEFT();
@@ -646,4 +661,22 @@ public class LoadoutsTab extends JMainTabSecondary {
 			program.saveSettings("Ship Loudouts Table: " + msg); //Save Ship Loudout Export Setttings (Filters not used)
 		}
 	}
+
+	private static class LoadoutData {
+		private final List<Loadout> loadouts;
+		private final Map<String, MyAsset> ships;
+
+		public LoadoutData(List<Loadout> loadouts, Map<String, MyAsset> ships) {
+			this.loadouts = loadouts;
+			this.ships = ships;
+		}
+
+		public List<Loadout> getLoadouts() {
+			return loadouts;
+		}
+
+		public Map<String, MyAsset> getShips() {
+			return ships;
+		}
+	}
 }
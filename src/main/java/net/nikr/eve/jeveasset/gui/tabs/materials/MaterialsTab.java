@@ -55,6 +55,7 @@ import net.nikr.eve.jeveasset.gui.shared.filter.ExportFilterControl;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
+import net.nikr.eve.jeveasset.gui.shared.table.BackgroundUpdater;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor;
 import net.nikr.eve.jeveasset.gui.shared.table.EventListManager;
@@ -91,6 +92,7 @@ public class MaterialsTab extends JMainTabSecondary {
 	private final DefaultEventSelectionModel<Material> selectionModel;
 	private final DefaultEventTableModel<Material> tableModel;
 	private final EnumTableFormatAdaptor<MaterialTableFormat, Material> tableFormat;
+	private final BackgroundUpdater<List<Material>> backgroundUpdater = new BackgroundUpdater<>();
 
 	//Dialog
 	ExportDialog<Material> exportDialog;
@@ -213,6 +215,7 @@ public class MaterialsTab extends JMainTabSecondary {
 
 	@Override
 	public void clearData() {
+		backgroundUpdater.cancel();
 		try {
 			eventList.getReadWriteLock().writeLock().lock();
 			eventList.clear();
@@ -235,8 +238,23 @@ public class MaterialsTab extends JMainTabSecondary {
 	}
 
 	private void updateTable() {
-		beforeUpdateData();
-		String owner = (String) jOwners.getSelectedItem();
+		final String owner = (String) jOwners.getSelectedItem();
+		final boolean piMaterial = jPiMaterial.isSelected();
+		final List<MyAsset> assets = program.getAssetList(); //Immutable snapshot
+		backgroundUpdater.update(new BackgroundUpdater.UpdateTask<List<Material>>() {
+			@Override
+			public List<Material> task() {
+				return createMaterials(assets, owner, piMaterial);
+			}
+
+			@Override
+			public void gui(List<Material> materials) {
+				updateTable(materials);
+			}
+		});
+	}
+
+	private List<Material> createMaterials(List<MyAsset> assets, String owner, boolean piMaterial) {
 		List<Material> materials = new ArrayList<>();
 		Map<String, Material> uniqueMaterials = new HashMap<>();
 		Map<String, Material> totalMaterials = new HashMap<>();
@@ -245,9 +263,12 @@ public class MaterialsTab extends JMainTabSecondary {
 		Map<String, Material> total = new HashMap<>();
 		//Summary Total All
 		Material summaryTotalAllMaterial = new Material(MaterialType.SUMMARY_ALL, null, TabsMaterials.get().summary(), TabsMaterials.get().grandTotal(), General.get().all());
-		for (MyAsset asset : program.getAssetList()) {
+		for (MyAsset asset : assets) {
+			if (BackgroundUpdater.isCancelled()) {
+				return null;
+			}
 			//Skip none-material + none Pi Material (if not enabled)
-			if (!asset.getItem().getCategory().equals("Material") && (!asset.getItem().isPiMaterial() || !jPiMaterial.isSelected())) {
+			if (!asset.getItem().getCategory().equals("Material") && (!asset.getItem().isPiMaterial() || !piMaterial)) {
 				continue;
 			}
 			//Skip not selected owners
@@ -314,6 +335,11 @@ public class MaterialsTab extends JMainTabSecondary {
 				location = material.getHeader();
 			}
 		}
+		return materials;
+	}
+
+	private void updateTable(List<Material> materials) {
+		beforeUpdateData();
 		//Save separator expanded/collapsed state
 		jTable.saveExpandedState();
 		//Update list
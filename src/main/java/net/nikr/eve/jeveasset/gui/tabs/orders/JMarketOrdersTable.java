@@ -28,6 +28,7 @@ import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.api.my.MyMarketOrder;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
 
 
@@ -45,16 +46,16 @@ public class JMarketOrdersTable extends JAutoColumnTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		MyMarketOrder marketOrder = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 
-		if (columnName.equals(MarketTableFormat.EXPIRES.getColumnName())) {
+		if (columnType == MarketTableFormat.EXPIRES) {
 			if (marketOrder.isExpired()) {
 				ColorSettings.configCell(component, ColorEntry.MARKET_ORDERS_EXPIRED, isSelected);
 			} else if (marketOrder.isNearExpired()) {
 				ColorSettings.configCell(component, ColorEntry.MARKET_ORDERS_NEAR_EXPIRED, isSelected);
 			}
 		}
-		if (columnName.equals(MarketTableFormat.OUTBID_PRICE.getColumnName())) {
+		if (columnType == MarketTableFormat.OUTBID_PRICE) {
 			if (marketOrder.haveOutbid()) {
 				if (marketOrder.isOutbid()) {
 					ColorSettings.configCell(component, ColorEntry.MARKET_ORDERS_OUTBID_NOT_BEST, isSelected);
@@ -66,13 +67,13 @@ public class JMarketOrdersTable extends JAutoColumnTable {
 			}
 		}
 		//Order filled warning
-		if (columnName.equals(MarketTableFormat.QUANTITY.getColumnName())) {
+		if (columnType == MarketTableFormat.QUANTITY) {
 			if (marketOrder.isNearFilled()) {
 				ColorSettings.configCell(component, ColorEntry.MARKET_ORDERS_NEAR_FILLED, isSelected);
 			}
 		}
 		//User set location
-		if (marketOrder.getLocation().isUserLocation() && columnName.equals(MarketTableFormat.LOCATION.getColumnName())) {
+		if (marketOrder.getLocation().isUserLocation() && columnType == MarketTableFormat.LOCATION) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_USER_LOCATION, isSelected);
 			return component;
 		}
@@ -96,6 +96,7 @@ import net.nikr.eve.jeveasset.gui.shared.filter.Filter.CompareType;
 import net.nikr.eve.jeveasset.gui.shared.filter.Filter.LogicType;
 import net.nikr.eve.jeveasset.gui.shared.filter.FilterControl;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
+import net.nikr.eve.jeveasset.gui.shared.menu.SelectionTotals;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuUI;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
@@ -156,6 +157,7 @@ public class MarketOrdersTab extends JMainTabPrimary {
 	private final EventList<MyMarketOrder> eventList;
 	private final FilterList<MyMarketOrder> filterList;
 	private final DefaultEventSelectionModel<MyMarketOrder> selectionModel;
+	private final SelectionTotals<MyMarketOrder> selectionTotals;
 
 	public static final String NAME = "marketorders"; //Not to be changed!
 
@@ -241,6 +243,7 @@ public class MarketOrdersTab extends JMainTabPrimary {
 		selectionModel = EventModels.createSelectionModel(filterList);
 		selectionModel.setSelectionMode(ListSelection.MULTIPLE_INTERVAL_SELECTION_DEFENSIVE);
 		jTable.setSelectionModel(selectionModel);
+		selectionTotals = new SelectionTotals<>(filterList, selectionModel, MyMarketOrder.class, JMenuInfo.MARKET_ORDER_VALUES);
 		jTable.addMouseListener(new MouseAdapter() {
 			@Override
 			public void mousePressed(MouseEvent e) {
@@ -652,7 +655,7 @@ public class MarketOrdersTab extends JMainTabPrimary {
 
 		@Override
 		public void addInfoMenu(JComponent jComponent) {
-			JMenuInfo.marketOrder(jComponent, selectionModel.getSelected());
+			JMenuInfo.marketOrder(jComponent, selectionTotals);
 		}
 
 		@Override
@@ -799,15 +802,134 @@ public class MarketOrdersTab extends JMainTabPrimary {
 		}
 	}
 
+	/**
+	 * Applies the market log outputs in batches.
+	 * <p>
+	 * Outputs added within COALESCE_DELAY of the first one are merged into one update.
+	 * Settings and profile are saved when no updates have been done for SAVE_DELAY.
+	 */
+	private static class MarketLogUpdater extends Thread {
+
+		private static final long COALESCE_DELAY = 1000; //ms
+		private static final long SAVE_DELAY = 5000; //ms
+
+		private final Program program;
+		private OutbidProcesserOutput pending = null;
+		private boolean saveSettings = false;
+		private boolean saveProfile = false;
+		private long saveTime = 0;
+
+		public MarketLogUpdater(Program program) {
+			super("MarketLogUpdater");
+			this.program = program;
+			setDaemon(true);
+		}
+
+		public synchronized void add(OutbidProcesserOutput output) {
+			if (pending == null) {
+				pending = new OutbidProcesserOutput(true);
+			}
+			pending.add(output);
+			notifyAll();
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				try {
+					OutbidProcesserOutput output = take();
+					if (output != null) {
+						update(output);
+					} else {
+						save();
+					}
+				} catch (InterruptedException ex) {
+					LOG.info("MarketLogUpdater Interrupted");
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Wait for outputs or for the save delay to pass.
+		 * @return merged outputs or null, if it's time to save
+		 * @throws InterruptedException
+		 */
+		private synchronized OutbidProcesserOutput take() throws InterruptedException {
+			while (pending == null) {
+				if (!saveSettings && !saveProfile) {
+					wait();
+				} else {
+					long delay = saveTime - System.currentTimeMillis();
+					if (delay <= 0) {
+						return null;
+					}
+					wait(delay);
+				}
+			}
+			//Wait for more outputs
+			long end = System.currentTimeMillis() + COALESCE_DELAY;
+			long delay;
+			while ((delay = end - System.currentTimeMillis()) > 0) {
+				wait(delay);
+			}
+			OutbidProcesserOutput output = pending;
+			pending = null;
+			return output;
+		}
+
+		private void update(OutbidProcesserOutput output) {
+			LOG.info("Starting marketlog update");
+			long start = System.currentTimeMillis();
+			Settings.lock("Outbids (files)");
+			Settings.get().setMarketOrdersOutbid(output.getOutbids(Settings.get().getMarketOrdersOutbid()));
+			Settings.unlock("Outbids (files)");
+			//Update eventlists
+			if (!output.getOrderIDs().isEmpty() || !output.getUpdates().isEmpty()) {
+				LOG.info("Updating Orders EventList");
+				program.updateMarketOrders(output);
+			}
+			synchronized (this) {
+				saveSettings = saveSettings || !output.getOrderIDs().isEmpty() || !output.getOutbids().isEmpty();
+				saveProfile = saveProfile || !output.getUpdates().isEmpty();
+				saveTime = System.currentTimeMillis() + SAVE_DELAY;
+			}
+			LOG.info("Marketlog update done in "  + Formater.milliseconds(System.currentTimeMillis() - start));
+		}
+
+		private void save() {
+			boolean settings;
+			boolean profile;
+			synchronized (this) {
+				settings = saveSettings;
+				profile = saveProfile;
+				saveSettings = false;
+				saveProfile = false;
+			}
+			//Save Settings
+			if (settings) {
+				LOG.info("Saving Settings");
+				program.saveSettings("Marketlog");
+			}
+			//Save Profile
+			if (profile) {
+				LOG.info("Saving Profile");
+				program.saveProfile();
+			}
+		}
+	}
+
 	private static class FileListener extends Thread {
 
 		private final Program program;
+		private final MarketLogUpdater marketLogUpdater;
 		private boolean buy;
 		private MarketOrderRange range;
 
 		public FileListener(Program program, MarketOrderRange range) {
 			super("FileListener");
 			this.program = program;
+			this.marketLogUpdater = new MarketLogUpdater(program);
 			this.buy = true;
 			this.range = range;
 		}
@@ -830,6 +952,7 @@ public class MarketOrdersTab extends JMainTabPrimary {
 
 		@Override
 		public void run() {
+			marketLogUpdater.start();
 			Path dir = MarketLogReader.getMarketlogsDirectory().toPath();
 			WatchService watcher;
 			while (true) {
@@ -887,40 +1010,12 @@ public class MarketOrdersTab extends JMainTabPrimary {
 		}
 
 		private void update(final File file) {
-			OutbidProcesserOutput output = new OutbidProcesserOutput();
-			boolean updated = update(file, output);
-			if (!updated) {
-				return;
+			OutbidProcesserOutput output = new OutbidProcesserOutput(true);
+			update(file, output); //Copy to clipboard right away
+			if (output.getOrderIDs().isEmpty() && output.getOutbids().isEmpty() && output.getUpdates().isEmpty()) {
+				return; //Nothing to update
 			}
-
-			Thread thread = new Thread(new Runnable() {
-				@Override
-				public void run() {
-					LOG.info("Starting marketlog update thread for " + file.getName());
-					long start = System.currentTimeMillis();
-					LOG.info("Setting setting");
-					Settings.lock("Outbids (files)");
-					Settings.get().setMarketOrdersOutbid(output.getOutbids());
-					Settings.unlock("Outbids (files)");
-					//Update eventlists
-					if (!output.getOutbids().isEmpty() || !output.getUpdates().isEmpty()) {
-						LOG.info("Updating Orders EventList");
-						program.updateMarketOrdersWithProgress(output);
-					}
-					//Save Settings
-					if (!output.getOutbids().isEmpty()) {
-						LOG.info("Saving Settings");
-						program.saveSettings("Marketlog");
-					}
-					//Save Profile
-					if (!output.getUpdates().isEmpty()) {
-						LOG.info("Saving Profile");
-						program.saveProfile();
-					}
-					LOG.info("Marketlog update thread done in "  + Formater.milliseconds(System.currentTimeMillis() - start) + " for " + file.getName());
-				}
-			}, file.getName());
-			thread.start();
+			marketLogUpdater.add(output);
 		}
 
 		private boolean update(final File file, final OutbidProcesserOutput output) {
@@ -65,8 +65,14 @@ public class OutbidProcesser {
 	}
 	
 	private void process() {
+		final List<RawPublicMarketOrder> marketOrders;
+		if (output.isMerge()) { //Only the types added to this input
+			marketOrders = input.getMarketOrders(input.getAddedTypeIDs());
+		} else {
+			marketOrders = input.getMarketOrders();
+		}
 		//Process order updates
-		for (RawPublicMarketOrder ordersResponse : input.getMarketOrders()) {
+		for (RawPublicMarketOrder ordersResponse : marketOrders) {
 			Set<MyMarketOrder> orders = input.getTypeIDs().get(ordersResponse.getTypeId());
 			if (orders != null) {
 				for (MyMarketOrder marketOrder : orders) {
@@ -77,12 +83,14 @@ public class OutbidProcesser {
 			}
 		}
 		//Process outbid
-		for (RawPublicMarketOrder ordersResponse : input.getMarketOrders()) {
+		Set<Integer> typeIDs = new HashSet<>();
+		for (RawPublicMarketOrder ordersResponse : marketOrders) {
 			//Regions with data
 			MyLocation orderLocation = ApiIdConverter.getLocation(ordersResponse.getSystemID());
 			if (!orderLocation.isEmpty()) {
 				output.getRegionIDs().add(orderLocation.getRegionID());
 			}
+			typeIDs.add(ordersResponse.getTypeId());
 			Set<MyMarketOrder> orders = input.getTypeIDs().get(ordersResponse.getTypeId());
 			if (orders != null) {
 				//Orders to match
@@ -128,6 +136,19 @@ public class OutbidProcesser {
 				}
 			}
 		}
+		//Orders with data (type and region)
+		for (Integer typeID : typeIDs) {
+			Set<MyMarketOrder> orders = input.getTypeIDs().get(typeID);
+			if (orders == null) {
+				continue;
+			}
+			for (MyMarketOrder marketOrder : orders) {
+				MyLocation location = marketOrder.getLocation();
+				if (location != null && output.getRegionIDs().contains(location.getRegionID())) {
+					output.getOrderIDs().add(marketOrder.getOrderID());
+				}
+			}
+		}
 		CitadelGetter.set(input.getCitadels().values());
 	}
 
@@ -221,6 +242,7 @@ public class OutbidProcesser {
 		private final Map<Integer, Set<MyMarketOrder>> typeIDs = new HashMap<>();
 		private final Set<Long> structureIDs = new HashSet<>();
 		private final Set<Integer> regionIDs = new HashSet<>();
+		private final Set<Integer> addedTypeIDs = new HashSet<>();
 		private final MarketOrderRange sellOrderRange;
 		private UniverseApi structuresApi = null;
 		private MarketApi marketApi = null;
@@ -272,6 +294,7 @@ public class OutbidProcesser {
 			if (date == null) {
 				return;
 			}
+			addedTypeIDs.addAll(orders.keySet());
 			synchronized (MARKET_ORDERS) {
 				for (Map.Entry<Integer, Set<RawPublicMarketOrder>> entry : orders.entrySet()) {
 					DatedMarketOrders datedMarketOrders = MARKET_ORDERS.get(entry.getKey());
@@ -294,6 +317,26 @@ public class OutbidProcesser {
 			return marketOrders;
 		}
 
+		public List<RawPublicMarketOrder> getMarketOrders(Set<Integer> typeIDs) {
+			List<RawPublicMarketOrder> marketOrders = new ArrayList<>();
+			synchronized (MARKET_ORDERS) {
+				for (Integer typeID : typeIDs) {
+					DatedMarketOrders datedMarketOrders = MARKET_ORDERS.get(typeID);
+					if (datedMarketOrders != null) {
+						marketOrders.addAll(datedMarketOrders.getMarketOrders());
+					}
+				}
+			}
+			return marketOrders;
+		}
+
+		/**
+		 * @return TypeIDs added to this input (may be older than the cached orders)
+		 */
+		public Set<Integer> getAddedTypeIDs() {
+			return addedTypeIDs;
+		}
+
 		public Map<Long, Long> getLocationToSystem() {
 			return locationToSystem;
 		}
@@ -331,6 +374,62 @@ public class OutbidProcesser {
 		private final Map<Long, Outbid> outbids = new HashMap<>();
 		private final Map<Long, RawPublicMarketOrder> updates = new HashMap<>();
 		private final Set<Long> regionIDs = new HashSet<>();
+		private final Set<Long> orderIDs = new HashSet<>();
+		private final boolean merge;
+
+		/**
+		 * Replace: all outbids are replaced by the processed outbids.
+		 */
+		public OutbidProcesserOutput() {
+			this(false);
+		}
+
+		/**
+		 * @param merge true to only process the types added to the input,
+		 * and only replace the outbids of the orders with data (see getOrderIDs()).
+		 * false to process all cached types and replace all outbids
+		 */
+		public OutbidProcesserOutput(boolean merge) {
+			this.merge = merge;
+		}
+
+		/**
+		 * Add a newer output (merge).
+		 * @param output newer output
+		 */
+		public void add(OutbidProcesserOutput output) {
+			outbids.keySet().removeAll(output.getOrderIDs());
+			outbids.putAll(output.getOutbids());
+			updates.putAll(output.getUpdates());
+			regionIDs.addAll(output.getRegionIDs());
+			orderIDs.addAll(output.getOrderIDs());
+		}
+
+		/**
+		 * Get the outbids to save.
+		 * @param current current outbids (not modified)
+		 * @return merged outbids, or the processed outbids when replacing
+		 */
+		public Map<Long, Outbid> getOutbids(Map<Long, Outbid> current) {
+			if (!merge) {
+				return outbids;
+			}
+			Map<Long, Outbid> merged = new HashMap<>(current);
+			merged.keySet().removeAll(orderIDs);
+			merged.putAll(outbids);
+			return merged;
+		}
+
+		public boolean isMerge() {
+			return merge;
+		}
+
+		/**
+		 * @return OrderIDs of the orders with data (same type and region as the processed market orders)
+		 */
+		public Set<Long> getOrderIDs() {
+			return orderIDs;
+		}
 
 		public Map<Long, Outbid> getOutbids() {
 			return outbids;
@@ -29,6 +29,7 @@ import javax.swing.table.TableCellRenderer;
 import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
 
 
@@ -51,10 +52,10 @@ class JOverviewTable extends JAutoColumnTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		Overview overview = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 
 		//User set location
-		if (columnName.equals(OverviewTableFormat.NAME.getColumnName())) {
+		if (columnType == OverviewTableFormat.NAME) {
 			if (groupedLocations.contains(overview.getName())) { //In group
 				ColorSettings.configCell(component, ColorEntry.OVERVIEW_GROUPED_LOCATIONS, isSelected);
 				return component;
@@ -63,11 +64,11 @@ class JOverviewTable extends JAutoColumnTable {
 				return component;
 			}
 		}
-		if (groupedLocations.contains(overview.getLocation().getSystem()) && columnName.equals(OverviewTableFormat.SYSTEM.getColumnName())) { //In group
+		if (groupedLocations.contains(overview.getLocation().getSystem()) && columnType == OverviewTableFormat.SYSTEM) { //In group
 			ColorSettings.configCell(component, ColorEntry.OVERVIEW_GROUPED_LOCATIONS, isSelected);
 			return component;
 		}
-		if (groupedLocations.contains(overview.getLocation().getRegion()) && columnName.equals(OverviewTableFormat.REGION.getColumnName())) { //In group
+		if (groupedLocations.contains(overview.getLocation().getRegion()) && columnType == OverviewTableFormat.REGION) { //In group
 			ColorSettings.configCell(component, ColorEntry.OVERVIEW_GROUPED_LOCATIONS, isSelected);
 			return component;
 		}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import net.nikr.eve.jeveasset.i18n.TabsRouting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.me.candle.eve.routing.Progress;
+
+/**
+ * Exact route (shortest round trip) by Held-Karp dynamic programming.
+ * <p>
+ * The first waypoint is the start. For every subset of the other waypoints and every end waypoint in the subset,
+ * the shortest path from the start through the subset is stored. Subsets with the same number of waypoints only
+ * depend on the subsets one smaller, so each subset size (layer) is calculated in parallel.
+ * <p>
+ * Memory: 2^(n-1) * (n-1) * 5 bytes (~50MB for 20 waypoints).
+ */
+public class HeldKarp extends MatrixRoutingAlgorithm {
+
+	public static final int WAYPOINT_LIMIT = 20;
+
+	private static final Logger LOG = LoggerFactory.getLogger(HeldKarp.class);
+
+	@Override
+	public String getName() {
+		return TabsRouting.get().heldKarpName();
+	}
+
+	@Override
+	public String getBasicDescription() {
+		return TabsRouting.get().heldKarpBasic();
+	}
+
+	@Override
+	public String getTechnicalDescription() {
+		return TabsRouting.get().heldKarpTechnical();
+	}
+
+	@Override
+	public int getWaypointLimit() {
+		return WAYPOINT_LIMIT;
+	}
+
+	@Override
+	protected int[] solve(final int[][] distances, final Progress progress) {
+		final int n = distances.length;
+		if (n <= 3) { //Only one possible route
+			return createOrder(n);
+		}
+		progress.setMinimum(0);
+		progress.setMaximum(n - 1);
+		progress.setValue(1);
+		//Waypoint 0 is the start: subsets of waypoint 1..n-1 (bit j = waypoint j+1)
+		final int m = n - 1;
+		final int subsets = 1 << m;
+		final int[] costs = new int[subsets * m]; //subset * m + end :: distance
+		final byte[] parents = new byte[subsets * m]; //subset * m + end :: previous end
+		for (int end = 0; end < m; end++) {
+			costs[(1 << end) * m + end] = distances[0][end + 1];
+			parents[(1 << end) * m + end] = -1;
+		}
+		int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), subsets >> 12));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final int chunk = (subsets + threads - 1) / threads;
+			for (int layer = 2; layer <= m; layer++) {
+				final int bits = layer;
+				List<Callable<Void>> tasks = new ArrayList<>();
+				for (int from = 0; from < subsets; from += chunk) {
+					final int first = from;
+					final int last = Math.min(subsets, from + chunk);
+					tasks.add(new Callable<Void>() {
+						@Override
+						public Void call() {
+							for (int subset = first; subset < last; subset++) {
+								if (Integer.bitCount(subset) != bits) {
+									continue;
+								}
+								if (isCancelled()) {
+									return null;
+								}
+								calcSubset(distances, costs, parents, m, subset);
+							}
+							return null;
+						}
+					});
+				}
+				for (Future<Void> future : executor.invokeAll(tasks)) {
+					future.get();
+				}
+				if (isCancelled()) {
+					return null;
+				}
+				progress.setValue(layer);
+			}
+		} catch (InterruptedException ex) {
+			return null;
+		} catch (ExecutionException ex) {
+			LOG.error(ex.getMessage(), ex);
+			return null;
+		} finally {
+			executor.shutdownNow();
+		}
+		//Close the round trip
+		int all = subsets - 1;
+		int best = -1;
+		int bestCost = Integer.MAX_VALUE;
+		for (int end = 0; end < m; end++) {
+			int cost = costs[all * m + end] + distances[end + 1][0];
+			if (cost < bestCost) {
+				bestCost = cost;
+				best = end;
+			}
+		}
+		//Walk back
+		int[] order = new int[n];
+		int subset = all;
+		int end = best;
+		for (int i = n - 1; i > 0; i--) {
+			order[i] = end + 1;
+			int previous = parents[subset * m + end];
+			subset = subset & ~(1 << end);
+			end = previous;
+		}
+		order[0] = 0;
+		return order;
+	}
+
+	private static void calcSubset(final int[][] distances, final int[] costs, final byte[] parents, final int m, final int subset) {
+		for (int end = 0; end < m; end++) {
+			if ((subset & (1 << end)) == 0) {
+				continue;
+			}
+			int previousSubset = subset & ~(1 << end);
+			int bestCost = Integer.MAX_VALUE;
+			int bestPrevious = -1;
+			for (int previous = 0; previous < m; previous++) {
+				if ((previousSubset & (1 << previous)) == 0) {
+					continue;
+				}
+				int cost = costs[previousSubset * m + previous] + distances[previous + 1][end + 1];
+				if (cost < bestCost) {
+					bestCost = cost;
+					bestPrevious = previous;
+				}
+			}
+			costs[subset * m + end] = bestCost;
+			parents[subset * m + end] = (byte) bestPrevious;
+		}
+	}
+}
@@ -46,7 +46,6 @@ import net.nikr.eve.jeveasset.gui.dialogs.settings.ShowToolSettingsPanel.ListIte
 import net.nikr.eve.jeveasset.gui.shared.components.JDialogCentered;
 import net.nikr.eve.jeveasset.i18n.TabsRouting;
 import uk.me.candle.eve.graph.DisconnectedGraphException;
-import uk.me.candle.eve.graph.Graph;
 
 
 public class JRouteEditDialog extends JDialogCentered {
@@ -59,7 +58,7 @@ public class JRouteEditDialog extends JDialogCentered {
 	private final JLabel jAvoid;
 	private final JLabel jSecurity;
 	private Map<Long, SolarSystem> systemCache;
-	private Graph<SolarSystem> filteredGraph;
+	private RoutingGraph routingGraph;
 	private RouteResult routeResult;
 	private RouteResult returnResult;
 	private boolean updating = false;
@@ -189,11 +188,11 @@ public class JRouteEditDialog extends JDialogCentered {
 	}
 
 	private List<SolarSystem> routeBetween(Route from, Route to) {
-		return filteredGraph.routeBetween(systemCache.get(from.getSystemID()), systemCache.get(to.getSystemID()));
+		return routingGraph.routeBetween(systemCache.get(from.getSystemID()), systemCache.get(to.getSystemID()));
 	}
 
 	private int distanceBetween(Route from, Route to) {
-		return filteredGraph.distanceBetween(systemCache.get(from.getSystemID()), systemCache.get(to.getSystemID()));
+		return routingGraph.distanceBetween(systemCache.get(from.getSystemID()), systemCache.get(to.getSystemID()));
 	}
 
 	@Override
@@ -206,9 +205,9 @@ public class JRouteEditDialog extends JDialogCentered {
 		return jOK;
 	}
 
-	public RouteResult show(Map<Long, SolarSystem> systemCache, Graph<SolarSystem> filteredGraph, RouteResult routeResult) {
+	public RouteResult show(Map<Long, SolarSystem> systemCache, RoutingGraph routingGraph, RouteResult routeResult) {
 		updating = true;
-		this.filteredGraph = filteredGraph;
+		this.routingGraph = routingGraph;
 		this.systemCache = systemCache;
 		this.routeResult = routeResult;
 		this.returnResult = null;
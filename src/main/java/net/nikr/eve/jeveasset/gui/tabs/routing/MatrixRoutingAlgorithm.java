@@ -0,0 +1,222 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.me.candle.eve.routing.Progress;
+
+/**
+ * In-project routing algorithm working on a jump matrix.
+ * <p>
+ * The jumps between all waypoints are found once, before the route is optimized:
+ * one breadth first search per waypoint (one row of the jump matrix), on all cores.
+ */
+public abstract class MatrixRoutingAlgorithm {
+
+	protected static final int UNREACHABLE = 1000000; //Far enough to be last resort, without overflow
+
+	private static final Logger LOG = LoggerFactory.getLogger(MatrixRoutingAlgorithm.class);
+
+	private volatile boolean cancelled = false;
+	private long lastTimeTaken = 0;
+	private int lastDistance = 0;
+	private long end = Long.MAX_VALUE;
+
+	public abstract String getName();
+	public abstract String getBasicDescription();
+	public abstract String getTechnicalDescription();
+	public abstract int getWaypointLimit();
+
+	/**
+	 * Optimize the round trip.
+	 * @param distances jump matrix (symmetric)
+	 * @param progress progress
+	 * @return waypoint indexes in route order (starting with 0) or null, if cancelled
+	 */
+	protected abstract int[] solve(int[][] distances, Progress progress);
+
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public void resetCancel() {
+		cancelled = false;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public long getLastTimeTaken() {
+		return lastTimeTaken;
+	}
+
+	public int getLastDistance() {
+		return lastDistance;
+	}
+
+	/**
+	 * @return max time in milliseconds, including the jump matrix (0 = no limit)
+	 */
+	public long getTimeBudget() {
+		return 0;
+	}
+
+	/**
+	 * @return end of the time budget of the current execution (Long.MAX_VALUE = no limit)
+	 */
+	protected long getEnd() {
+		return end;
+	}
+
+	/**
+	 * Find the shortest round trip.
+	 * @param progress progress
+	 * @param graph graph used to find the jumps between the waypoints
+	 * @param waypoints waypoints (first waypoint is the start)
+	 * @return route starting at the first waypoint or an empty list, if cancelled or out of time before the jumps were found
+	 */
+	public List<SolarSystem> execute(final Progress progress, final RoutingGraph graph, final List<SolarSystem> waypoints) {
+		long start = System.currentTimeMillis();
+		int n = waypoints.size();
+		if (n > getWaypointLimit()) {
+			throw new IllegalArgumentException("Too many waypoints: " + n + " (max " + getWaypointLimit() + ")");
+		}
+		long timeBudget = getTimeBudget();
+		if (timeBudget > 0) {
+			end = start + timeBudget;
+		} else {
+			end = Long.MAX_VALUE;
+		}
+		int[][] distances = createMatrix(progress, graph, waypoints);
+		if (distances == null) {
+			return Collections.emptyList();
+		}
+		int[] order = solve(distances, progress);
+		if (order == null) {
+			return Collections.emptyList();
+		}
+		List<SolarSystem> route = new ArrayList<>(n);
+		for (int index : order) {
+			route.add(waypoints.get(index));
+		}
+		lastDistance = getDistance(distances, order);
+		lastTimeTaken = System.currentTimeMillis() - start;
+		return route;
+	}
+
+	/**
+	 * Find the jumps between all waypoints.
+	 * @param progress progress (one step per waypoint)
+	 * @param graph graph
+	 * @param waypoints waypoints
+	 * @return jump matrix or null, if cancelled or out of time
+	 */
+	private int[][] createMatrix(final Progress progress, final RoutingGraph graph, final List<SolarSystem> waypoints) {
+		final int n = waypoints.size();
+		final int[][] distances = new int[n][];
+		progress.setMinimum(0);
+		progress.setMaximum(n);
+		progress.setValue(0);
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicInteger done = new AtomicInteger();
+		int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), n));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() {
+						int from = next.getAndIncrement();
+						while (from < n && !isCancelled() && System.currentTimeMillis() < end) {
+							int[] row = graph.distancesBetween(waypoints.get(from), waypoints);
+							for (int to = 0; to < n; to++) {
+								if (row[to] < 0) { //No route
+									row[to] = UNREACHABLE;
+								}
+							}
+							distances[from] = row;
+							synchronized (progress) {
+								progress.setValue(done.incrementAndGet());
+							}
+							from = next.getAndIncrement();
+						}
+						return null;
+					}
+				});
+			}
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException ex) {
+			return null;
+		} catch (ExecutionException ex) {
+			LOG.error(ex.getMessage(), ex);
+			return null;
+		} finally {
+			executor.shutdownNow();
+		}
+		if (isCancelled()) {
+			return null;
+		}
+		if (done.get() < n) {
+			LOG.warn("Time budget used before the jumps between the waypoints were found");
+			return null;
+		}
+		return distances;
+	}
+
+	/**
+	 * @param distances jump matrix
+	 * @param order route
+	 * @return length of the round trip
+	 */
+	protected static int getDistance(final int[][] distances, final int[] order) {
+		int distance = 0;
+		for (int i = 0; i < order.length; i++) {
+			distance += distances[order[i]][order[(i + 1) % order.length]];
+		}
+		return distance;
+	}
+
+	/**
+	 * @param n number of waypoints
+	 * @return waypoint indexes in input order
+	 */
+	protected static int[] createOrder(final int n) {
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		return order;
+	}
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.nikr.eve.jeveasset.i18n.TabsRouting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.me.candle.eve.routing.Progress;
+
+/**
+ * Multi-start local search (2-opt + Or-opt).
+ * <p>
+ * Each start builds a randomized nearest neighbour route and improves it with 2-opt (reverse a part of the route)
+ * and Or-opt (move 1-3 waypoints to another place in the route) until no move improves it.
+ * The starts are independent and run on all cores. The best route of all starts is kept.
+ * <p>
+ * Stops after {@link #getStarts()} starts or when the time budget (including the jump matrix) is used (whatever comes first).
+ * The first start is plain nearest neighbour, the random starts are seeded by their number (repeatable results without time budget).
+ */
+public class MultiStartLocalSearch extends MatrixRoutingAlgorithm {
+
+	public static final int WAYPOINT_LIMIT = 500;
+	private static final int DEFAULT_STARTS = 64;
+	private static final long DEFAULT_TIME_BUDGET = 10000; //10 seconds
+	private static final int CANDIDATES = 3; //Randomized nearest neighbour: pick one of the 3 nearest waypoints
+	private static final int MAX_SEGMENT = 3; //Or-opt segment length
+
+	private static final Logger LOG = LoggerFactory.getLogger(MultiStartLocalSearch.class);
+
+	private final int starts;
+	private long timeBudget;
+
+	public MultiStartLocalSearch() {
+		this(DEFAULT_STARTS, DEFAULT_TIME_BUDGET);
+	}
+
+	/**
+	 * @param starts number of starts (at least one)
+	 * @param timeBudget max time in milliseconds (0 = no limit)
+	 */
+	public MultiStartLocalSearch(final int starts, final long timeBudget) {
+		if (starts < 1) {
+			throw new IllegalArgumentException("Starts must be at least 1: " + starts);
+		}
+		this.starts = starts;
+		this.timeBudget = timeBudget;
+	}
+
+	@Override
+	public String getName() {
+		return TabsRouting.get().localSearchName();
+	}
+
+	@Override
+	public String getBasicDescription() {
+		return TabsRouting.get().localSearchBasic();
+	}
+
+	@Override
+	public String getTechnicalDescription() {
+		return TabsRouting.get().localSearchTechnical();
+	}
+
+	@Override
+	public int getWaypointLimit() {
+		return WAYPOINT_LIMIT;
+	}
+
+	public int getStarts() {
+		return starts;
+	}
+
+	@Override
+	public long getTimeBudget() {
+		return timeBudget;
+	}
+
+	/**
+	 * @param timeBudget max time in milliseconds (0 = no limit)
+	 */
+	public void setTimeBudget(long timeBudget) {
+		this.timeBudget = timeBudget;
+	}
+
+	@Override
+	protected int[] solve(final int[][] distances, final Progress progress) {
+		final int n = distances.length;
+		if (n <= 3) { //Only one possible route
+			return createOrder(n);
+		}
+		final long end = getEnd();
+		progress.setMinimum(0);
+		progress.setMaximum(starts);
+		progress.setValue(0);
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicInteger done = new AtomicInteger();
+		final Best best = new Best();
+		int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), starts));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() {
+						int start = next.getAndIncrement();
+						while (start < starts && !isCancelled() && (start == 0 || System.currentTimeMillis() < end)) { //First start always run
+							int[] route = createRoute(distances, start);
+							optimize(distances, route, end);
+							best.update(route, getDistance(distances, route));
+							synchronized (progress) {
+								progress.setValue(done.incrementAndGet());
+							}
+							start = next.getAndIncrement();
+						}
+						return null;
+					}
+				});
+			}
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException ex) {
+			return null;
+		} catch (ExecutionException ex) {
+			LOG.error(ex.getMessage(), ex);
+			return null;
+		} finally {
+			executor.shutdownNow();
+		}
+		if (isCancelled()) {
+			return null;
+		}
+		int[] route = best.get();
+		if (route == null) { //No start finished: keep the input order
+			return createOrder(n);
+		}
+		return rotate(route);
+	}
+
+	/**
+	 * Randomized nearest neighbour route.
+	 * @param distances jump matrix
+	 * @param start start number (0 = plain nearest neighbour)
+	 * @return route starting at waypoint 0
+	 */
+	protected static int[] createRoute(final int[][] distances, final int start) {
+		int n = distances.length;
+		Random random = new Random(start);
+		int candidates = start == 0 ? 1 : CANDIDATES;
+		boolean[] visited = new boolean[n];
+		int[] route = new int[n];
+		int[] nearest = new int[candidates];
+		route[0] = 0;
+		visited[0] = true;
+		for (int i = 1; i < n; i++) {
+			int from = route[i - 1];
+			int found = 0;
+			for (int to = 0; to < n; to++) {
+				if (visited[to]) {
+					continue;
+				}
+				//Insertion sort into the nearest candidates
+				int index = Math.min(found, candidates - 1);
+				if (found == candidates && distances[from][to] >= distances[from][nearest[index]]) {
+					continue;
+				}
+				while (index > 0 && distances[from][to] < distances[from][nearest[index - 1]]) {
+					nearest[index] = nearest[index - 1];
+					index--;
+				}
+				nearest[index] = to;
+				if (found < candidates) {
+					found++;
+				}
+			}
+			int to = nearest[random.nextInt(found)];
+			route[i] = to;
+			visited[to] = true;
+		}
+		return route;
+	}
+
+	/**
+	 * Improve the route with 2-opt and Or-opt moves, until no move improves it.
+	 * @param distances jump matrix
+	 * @param route route (changed)
+	 * @param end stop time
+	 */
+	protected void optimize(final int[][] distances, final int[] route, final long end) {
+		boolean improved = true;
+		while (improved && !isCancelled() && System.currentTimeMillis() < end) {
+			improved = twoOpt(distances, route);
+			improved = orOpt(distances, route) || improved;
+		}
+	}
+
+	/**
+	 * 2-opt: replace edges (a, b) and (c, d) with (a, c) and (b, d) by reversing b..c.
+	 * @param distances jump matrix
+	 * @param route route (changed)
+	 * @return true if the route was improved
+	 */
+	private static boolean twoOpt(final int[][] distances, final int[] route) {
+		int n = route.length;
+		boolean improved = false;
+		for (int i = 0; i < n - 2; i++) {
+			int a = route[i];
+			int b = route[i + 1];
+			for (int j = i + 2; j < n; j++) {
+				if (i == 0 && j == n - 1) {
+					continue; //Same edge
+				}
+				int c = route[j];
+				int d = route[(j + 1) % n];
+				int delta = distances[a][c] + distances[b][d] - distances[a][b] - distances[c][d];
+				if (delta < 0) {
+					reverse(route, i + 1, j);
+					b = route[i + 1];
+					improved = true;
+				}
+			}
+		}
+		return improved;
+	}
+
+	/**
+	 * Or-opt: move a segment of 1 to 3 waypoints (maybe reversed) to another place in the route.
+	 * @param distances jump matrix
+	 * @param route route (changed)
+	 * @return true if the route was improved
+	 */
+	private static boolean orOpt(final int[][] distances, final int[] route) {
+		int n = route.length;
+		boolean improved = false;
+		for (int length = 1; length <= MAX_SEGMENT && length < n - 2; length++) {
+			for (int i = 1; i + length <= n; i++) { //Segment: i..i+length-1 (waypoint 0 is never moved)
+				int first = route[i];
+				int last = route[i + length - 1];
+				int previous = route[i - 1];
+				int next = route[(i + length) % n];
+				int removed = distances[previous][first] + distances[last][next] - distances[previous][next];
+				for (int p = 0; p < n; p++) { //Insert between p and p+1
+					int q = (p + 1) % n;
+					if (p >= i - 1 && p < i + length) {
+						continue; //Touching the segment
+					}
+					int a = route[p];
+					int b = route[q];
+					int inserted = distances[a][first] + distances[last][b] - distances[a][b];
+					int reversed = distances[a][last] + distances[first][b] - distances[a][b];
+					if (inserted < removed || reversed < removed) {
+						move(route, i, length, p, reversed < inserted);
+						improved = true;
+						break;
+					}
+				}
+			}
+		}
+		return improved;
+	}
+
+	private static void reverse(final int[] route, int from, int to) {
+		while (from < to) {
+			int temp = route[from];
+			route[from] = route[to];
+			route[to] = temp;
+			from++;
+			to--;
+		}
+	}
+
+	/**
+	 * Move route[i..i+length-1] to after route[p].
+	 */
+	private static void move(final int[] route, final int i, final int length, final int p, final boolean reversed) {
+		int n = route.length;
+		int[] segment = new int[length];
+		System.arraycopy(route, i, segment, 0, length);
+		if (reversed) {
+			reverse(segment, 0, length - 1);
+		}
+		int[] result = new int[n];
+		int index = 0;
+		for (int k = 0; k < n; k++) {
+			if (k >= i && k < i + length) {
+				continue;
+			}
+			result[index++] = route[k];
+			if (k == p) {
+				System.arraycopy(segment, 0, result, index, length);
+				index += length;
+			}
+		}
+		System.arraycopy(result, 0, route, 0, n);
+	}
+
+	/**
+	 * @param route route
+	 * @return route starting at waypoint 0
+	 */
+	private static int[] rotate(final int[] route) {
+		int n = route.length;
+		int offset = 0;
+		while (route[offset] != 0) {
+			offset++;
+		}
+		int[] rotated = new int[n];
+		for (int i = 0; i < n; i++) {
+			rotated[i] = route[(i + offset) % n];
+		}
+		return rotated;
+	}
+
+	private static class Best {
+		private int[] route = null;
+		private int distance = Integer.MAX_VALUE;
+
+		public synchronized void update(int[] route, int distance) {
+			if (distance < this.distance) {
+				this.route = route.clone();
+				this.distance = distance;
+			}
+		}
+
+		public synchronized int[] get() {
+			return route;
+		}
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import uk.me.candle.eve.graph.Graph;
+
+/**
+ * Filtered routing graph with the jumps and routes between the waypoints.
+ * <p>
+ * The graph is not changed after creation. Jumps and routes are found once and then reused by all algorithms,
+ * the route expansion and the route editor (as long as the graph is cached).
+ */
+public class RoutingGraph {
+
+	private final Graph<SolarSystem> graph;
+	private final Map<SolarSystem, Integer> indexes = new HashMap<>(); //System :: Index
+	private final int[][] jumps; //Index :: Neighbour indexes
+	private final Map<Pair, Integer> distances = new HashMap<>();
+	private final Map<Pair, List<SolarSystem>> routes = new HashMap<>();
+
+	/**
+	 * @param graph graph
+	 * @param jumps the jumps (edges) of the graph: System :: Neighbours
+	 */
+	public RoutingGraph(Graph<SolarSystem> graph, Map<SolarSystem, Set<SolarSystem>> jumps) {
+		this.graph = graph;
+		for (SolarSystem system : jumps.keySet()) {
+			indexes.put(system, indexes.size());
+		}
+		this.jumps = new int[indexes.size()][];
+		for (Map.Entry<SolarSystem, Set<SolarSystem>> entry : jumps.entrySet()) {
+			int[] neighbours = new int[entry.getValue().size()];
+			int i = 0;
+			for (SolarSystem neighbour : entry.getValue()) {
+				neighbours[i] = indexes.get(neighbour);
+				i++;
+			}
+			this.jumps[indexes.get(entry.getKey())] = neighbours;
+		}
+	}
+
+	public Graph<SolarSystem> getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @param from from system
+	 * @param to to system
+	 * @return number of jumps
+	 * @throws uk.me.candle.eve.graph.DisconnectedGraphException if there is no route
+	 */
+	public synchronized int distanceBetween(SolarSystem from, SolarSystem to) {
+		Pair pair = new Pair(from, to, true);
+		Integer distance = distances.get(pair);
+		if (distance == null) {
+			distance = graph.distanceBetween(from, to);
+			distances.put(pair, distance);
+		}
+		return distance;
+	}
+
+	/**
+	 * Jumps from one system to all the target systems, found by one breadth first search.
+	 * Thread safe (not cached).
+	 * @param from from system
+	 * @param targets target systems
+	 * @return number of jumps to each target system (-1 if there is no route)
+	 */
+	public int[] distancesBetween(SolarSystem from, List<SolarSystem> targets) {
+		int[] result = new int[targets.size()];
+		Arrays.fill(result, -1);
+		Integer start = indexes.get(from);
+		if (start == null) { //Not in the graph: no jumps
+			for (int i = 0; i < result.length; i++) {
+				if (from.equals(targets.get(i))) {
+					result[i] = 0;
+				}
+			}
+			return result;
+		}
+		int[] found = new int[jumps.length]; //Index :: Jumps
+		Arrays.fill(found, -1);
+		int[] queue = new int[jumps.length];
+		int head = 0;
+		int tail = 0;
+		found[start] = 0;
+		queue[tail++] = start;
+		while (head < tail) {
+			int system = queue[head++];
+			for (int neighbour : jumps[system]) {
+				if (found[neighbour] < 0) {
+					found[neighbour] = found[system] + 1;
+					queue[tail++] = neighbour;
+				}
+			}
+		}
+		for (int i = 0; i < result.length; i++) {
+			Integer index = indexes.get(targets.get(i));
+			if (index != null) {
+				result[i] = found[index];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param from from system
+	 * @param to to system
+	 * @return systems in the route (copy)
+	 * @throws uk.me.candle.eve.graph.DisconnectedGraphException if there is no route
+	 */
+	public synchronized List<SolarSystem> routeBetween(SolarSystem from, SolarSystem to) {
+		Pair pair = new Pair(from, to, false);
+		List<SolarSystem> route = routes.get(pair);
+		if (route == null) {
+			route = new ArrayList<>(graph.routeBetween(from, to));
+			routes.put(pair, route);
+		}
+		return new ArrayList<>(route);
+	}
+
+	/**
+	 * Cache key of the filtered graphs.
+	 */
+	public static class GraphKey {
+
+		private final boolean all;
+		private final double secMin;
+		private final double secMax;
+		private final List<Long> avoid;
+
+		public GraphKey(boolean all, double secMin, double secMax, Collection<Long> avoid) {
+			this.all = all;
+			this.secMin = all ? 0 : secMin;
+			this.secMax = all ? 0 : secMax;
+			this.avoid = new ArrayList<>();
+			if (!all) {
+				this.avoid.addAll(avoid);
+				Collections.sort(this.avoid); //Order does not matter
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = 7;
+			hash = 29 * hash + (this.all ? 1 : 0);
+			hash = 29 * hash + (int) (Double.doubleToLongBits(this.secMin) ^ (Double.doubleToLongBits(this.secMin) >>> 32));
+			hash = 29 * hash + (int) (Double.doubleToLongBits(this.secMax) ^ (Double.doubleToLongBits(this.secMax) >>> 32));
+			hash = 29 * hash + Objects.hashCode(this.avoid);
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			final GraphKey other = (GraphKey) obj;
+			if (this.all != other.all) {
+				return false;
+			}
+			if (Double.doubleToLongBits(this.secMin) != Double.doubleToLongBits(other.secMin)) {
+				return false;
+			}
+			if (Double.doubleToLongBits(this.secMax) != Double.doubleToLongBits(other.secMax)) {
+				return false;
+			}
+			return Objects.equals(this.avoid, other.avoid);
+		}
+	}
+
+	private static class Pair {
+
+		private final long fromSystemID;
+		private final long toSystemID;
+
+		public Pair(SolarSystem from, SolarSystem to, boolean undirected) {
+			if (undirected && from.getSystemID() > to.getSystemID()) {
+				this.fromSystemID = to.getSystemID();
+				this.toSystemID = from.getSystemID();
+			} else {
+				this.fromSystemID = from.getSystemID();
+				this.toSystemID = to.getSystemID();
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = 5;
+			hash = 47 * hash + (int) (this.fromSystemID ^ (this.fromSystemID >>> 32));
+			hash = 47 * hash + (int) (this.toSystemID ^ (this.toSystemID >>> 32));
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			final Pair other = (Pair) obj;
+			if (this.fromSystemID != other.fromSystemID) {
+				return false;
+			}
+			return this.toSystemID == other.toSystemID;
+		}
+	}
+}
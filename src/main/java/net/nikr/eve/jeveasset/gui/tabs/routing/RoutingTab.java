@@ -40,6 +40,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -92,6 +93,7 @@ import net.nikr.eve.jeveasset.gui.shared.table.EventModels;
 import net.nikr.eve.jeveasset.gui.tabs.overview.OverviewGroup;
 import net.nikr.eve.jeveasset.gui.tabs.overview.OverviewLocation;
 import net.nikr.eve.jeveasset.gui.tabs.overview.OverviewLocation.LocationType;
+import net.nikr.eve.jeveasset.gui.tabs.routing.RoutingGraph.GraphKey;
 import net.nikr.eve.jeveasset.i18n.General;
 import net.nikr.eve.jeveasset.i18n.GuiShared;
 import net.nikr.eve.jeveasset.i18n.TabsRouting;
@@ -120,6 +122,7 @@ import uk.me.candle.eve.routing.cancel.CancelService;
 public class RoutingTab extends JMainTabSecondary {
 
 	private static final  Logger LOG = LoggerFactory.getLogger(RoutingTab.class);
+	private static final int GRAPH_CACHE_SIZE = 4; //Filtered graphs kept in memory
 
 	private enum RoutingAction {
 		ADD,
@@ -207,9 +210,13 @@ public class RoutingTab extends JMainTabSecondary {
 	private final Map<Long, SolarSystem> systemCache = new HashMap<>();
 	private final Set<SolarSystem> available = new HashSet<>();
 	protected Graph<SolarSystem> filteredGraph;
-	private double lastSecMin = 0.0;
-	private double lastSecMax = 1.0;
-	private List<Long> lastAvoid = new ArrayList<>();
+	protected RoutingGraph routingGraph;
+	private final Map<GraphKey, RoutingGraph> graphCache = new LinkedHashMap<GraphKey, RoutingGraph>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<GraphKey, RoutingGraph> eldest) {
+			return size() > GRAPH_CACHE_SIZE;
+		}
+	};
 	private boolean uiEnabled = true;
 	private RouteResult routeResult = null;
 
@@ -759,10 +766,6 @@ public class RoutingTab extends JMainTabSecondary {
 		jSaveRouteDialog.updateData(Settings.get().getRoutingSettings().getRoutes().keySet());
 	}
 
-	public SolarSystem getSolarSystem() {
-		return jSystemDialog.show();
-	}
-
 	private void updateRemaining() {
 		updateWaypointsRemaining();
 		updateAvailableRemaining();
@@ -789,12 +792,6 @@ public class RoutingTab extends JMainTabSecondary {
 	}
 
 	protected final void buildGraph(boolean all) {
-		// build the graph.
-		// filter the solarsystems based on the settings.
-		if (filteredGraph != null) {
-			filteredGraph.clear();
-		}
-		filteredGraph = new Graph<>(new Jumps<>());
 		double secMin;
 		double secMax;
 		if (jSecurityMinimum != null) {
@@ -807,6 +804,23 @@ public class RoutingTab extends JMainTabSecondary {
 		} else {
 			secMax = 1.0f;
 		}
+		//Reuse cached graph (if the filters has been used before)
+		Set<Long> avoid = Settings.get().getRoutingSettings().getAvoid().keySet();
+		GraphKey key = new GraphKey(all, secMin, secMax, avoid);
+		RoutingGraph cached = graphCache.get(key);
+		if (cached == null) {
+			cached = createGraph(all, secMin, secMax, avoid);
+			graphCache.put(key, cached);
+		}
+		routingGraph = cached;
+		filteredGraph = cached.getGraph();
+	}
+
+	private RoutingGraph createGraph(boolean all, double secMin, double secMax, Set<Long> avoid) {
+		// build the graph.
+		// filter the solarsystems based on the settings.
+		Graph<SolarSystem> graph = new Graph<>(new Jumps<>());
+		Map<SolarSystem, Set<SolarSystem>> jumps = new HashMap<>();
 		int count = 0;
 		for (Jump jump : StaticData.get().getJumps()) { // this way we exclude the locations that are unreachable.
 			count++;
@@ -824,13 +838,25 @@ public class RoutingTab extends JMainTabSecondary {
 						&& jump.getTo().getSecurityObject().getDouble() >= secMin
 						&& jump.getFrom().getSecurityObject().getDouble() <= secMax
 						&& jump.getTo().getSecurityObject().getDouble() <= secMax
-						&& !Settings.get().getRoutingSettings().getAvoid().keySet().contains(jump.getFrom().getSystemID())
-						&& !Settings.get().getRoutingSettings().getAvoid().keySet().contains(jump.getTo().getSystemID())
+						&& !avoid.contains(jump.getFrom().getSystemID())
+						&& !avoid.contains(jump.getTo().getSystemID())
 					)) {
-				filteredGraph.addEdge(new Edge<>(from, to));
+				graph.addEdge(new Edge<>(from, to));
+				addJump(jumps, from, to);
+				addJump(jumps, to, from);
 			}
 		}
 		SplashUpdater.setSubProgress(100);
+		return new RoutingGraph(graph, jumps);
+	}
+
+	private void addJump(Map<SolarSystem, Set<SolarSystem>> jumps, SolarSystem from, SolarSystem to) {
+		Set<SolarSystem> neighbours = jumps.get(from);
+		if (neighbours == null) {
+			neighbours = new HashSet<>();
+			jumps.put(from, neighbours);
+		}
+		neighbours.add(to);
 	}
 
 	protected void processFilteredAssets() {
@@ -948,15 +974,8 @@ public class RoutingTab extends JMainTabSecondary {
 
 	private void processRouteInner() {
 		try {
-			//Update Graph if needed (AKA filter has changed)
-			if (lastSecMin != (Double) jSecurityMinimum.getSelectedItem()
-					|| lastSecMax != (Double) jSecurityMaximum.getSelectedItem()
-					|| !lastAvoid.equals(new ArrayList<>(Settings.get().getRoutingSettings().getAvoid().keySet()))) {
-				buildGraph(false);
-				lastSecMin = (Double) jSecurityMinimum.getSelectedItem();
-				lastSecMax = (Double) jSecurityMaximum.getSelectedItem();
-				lastAvoid = new ArrayList<>(Settings.get().getRoutingSettings().getAvoid().keySet());
-			}
+			//Update Graph (AKA filter has changed - cached if the filter has been used before)
+			buildGraph(false);
 			//Warning for 2 or less systems
 			if (getWaypointsSize() <= 2) {
 				JOptionPane.showMessageDialog(program.getMainWindow().getFrame(), TabsRouting.get().noSystems(), TabsRouting.get().noSystemsTitle(), JOptionPane.INFORMATION_MESSAGE);
@@ -1025,12 +1044,12 @@ public class RoutingTab extends JMainTabSecondary {
 			List<List<SolarSystem>> route = new ArrayList<>();
 			for (SolarSystem current : nodeRoute) {
 				if (last != null) {
-					route.add(new ArrayList<>(filteredGraph.routeBetween(last, current)));
+					route.add(routingGraph.routeBetween(last, current));
 				}
 				last = current;
 			}
 			if (last != null) {
-				route.add(new ArrayList<>(filteredGraph.routeBetween(last, nodeRoute.get(0))));
+				route.add(routingGraph.routeBetween(last, nodeRoute.get(0)));
 			}
 			setRouteResult(new RouteResult(route, stationsMap, inputWaypoints.size(), algorithm.getName(), algorithm.getLastTimeTaken(), algorithm.getLastDistance(), getAvoidString(), getSecurityString()));
 		} catch (DisconnectedGraphException dce) {
@@ -1128,7 +1147,7 @@ public class RoutingTab extends JMainTabSecondary {
 	}
 
 	private List<SolarSystem> executeRouteFinding(final List<SolarSystem> inputWaypoints, final RoutingAlgorithmContainer algorithm) {
-		return algorithm.execute(routeFind, filteredGraph, inputWaypoints);
+		return algorithm.execute(routeFind, routingGraph, inputWaypoints);
 	}
 
 	private void setUIEnabled(final boolean b) {
@@ -1187,7 +1206,7 @@ public class RoutingTab extends JMainTabSecondary {
 	}
 
 	private void cancelProcessing() {
-		((RoutingAlgorithmContainer) jAlgorithm.getSelectedItem()).getCancelService().cancel();
+		((RoutingAlgorithmContainer) jAlgorithm.getSelectedItem()).cancel();
 	}
 
 	private int getWaypointsSize() {
@@ -1532,7 +1551,7 @@ public class RoutingTab extends JMainTabSecondary {
 				updateRoutes();
 			} else if (RoutingAction.ROUTE_EDIT.name().equals(e.getActionCommand())) {
 				buildGraph(false);
-				RouteResult result = jRouteEditDialog.show(systemCache, filteredGraph, routeResult);
+				RouteResult result = jRouteEditDialog.show(systemCache, routingGraph, routeResult);
 				if (result == null) {
 					return;
 				}
@@ -1819,8 +1838,8 @@ public class RoutingTab extends JMainTabSecondary {
 			return contained.getBasicDescription();
 		}
 
-		public List<SolarSystem> execute(final Progress progress, final Graph<SolarSystem> g, final List<SolarSystem> assetLocations) {
-			return contained.execute(progress, g, assetLocations);
+		public List<SolarSystem> execute(final Progress progress, final RoutingGraph g, final List<SolarSystem> assetLocations) {
+			return contained.execute(progress, g.getGraph(), assetLocations);
 		}
 
 		public long getLastTimeTaken() {
@@ -1831,8 +1850,9 @@ public class RoutingTab extends JMainTabSecondary {
 			return contained.getLastDistance();
 		}
 
-		public CancelService getCancelService() {
-			return contained.getCancelService();
+		public void cancel() {
+			CancelService cancelService = contained.getCancelService();
+			cancelService.cancel();
 		}
 
 		public void resetCancelService() {
@@ -1847,6 +1867,8 @@ public class RoutingTab extends JMainTabSecondary {
 		public static List<RoutingAlgorithmContainer> getRegisteredList() {
 			List<RoutingAlgorithmContainer> list = new ArrayList<>();
 			list.add(new RoutingAlgorithmContainer(new BruteForce<>()));
+			list.add(new MatrixAlgorithmContainer(new HeldKarp()));
+			list.add(new MatrixAlgorithmContainer(new MultiStartLocalSearch()));
 			list.add(new RoutingAlgorithmContainer(new SimpleUnisexMutatorHibrid2Opt<>()));
 			list.add(new RoutingAlgorithmContainer(new Crossover<>()));
 			list.add(new RoutingAlgorithmContainer(new NearestNeighbour<>()));
@@ -1854,6 +1876,64 @@ public class RoutingTab extends JMainTabSecondary {
 		}
 	}
 
+	/**
+	 * A GUI compatible container for the in-project routing algorithms.
+	 */
+	private static class MatrixAlgorithmContainer extends RoutingAlgorithmContainer {
+
+		private final MatrixRoutingAlgorithm algorithm;
+
+		public MatrixAlgorithmContainer(final MatrixRoutingAlgorithm algorithm) {
+			super(null);
+			this.algorithm = algorithm;
+		}
+
+		@Override
+		public int getWaypointLimit() {
+			return algorithm.getWaypointLimit();
+		}
+
+		@Override
+		public String getName() {
+			return algorithm.getName();
+		}
+
+		@Override
+		public String getTechnicalDescription() {
+			return algorithm.getTechnicalDescription();
+		}
+
+		@Override
+		public String getBasicDescription() {
+			return algorithm.getBasicDescription();
+		}
+
+		@Override
+		public List<SolarSystem> execute(final Progress progress, final RoutingGraph g, final List<SolarSystem> assetLocations) {
+			return algorithm.execute(progress, g, assetLocations);
+		}
+
+		@Override
+		public long getLastTimeTaken() {
+			return algorithm.getLastTimeTaken();
+		}
+
+		@Override
+		public int getLastDistance() {
+			return algorithm.getLastDistance();
+		}
+
+		@Override
+		public void cancel() {
+			algorithm.cancel();
+		}
+
+		@Override
+		public void resetCancelService() {
+			algorithm.resetCancel();
+		}
+	}
+
 	private class RouteFind extends SwingWorker<Void, Void> implements Progress {
 
 		private int maximum = 1;
@@ -29,6 +29,7 @@ import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
 import net.nikr.eve.jeveasset.data.settings.Settings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JSeparatorTable;
 import net.nikr.eve.jeveasset.gui.tabs.stockpile.Stockpile.StockpileItem;
 import net.nikr.eve.jeveasset.gui.tabs.stockpile.Stockpile.StockpileTotal;
@@ -50,33 +51,33 @@ public class JStockpileTable extends JSeparatorTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		Object object = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 
 		if (object instanceof StockpileItem) {
 			StockpileItem stockpileItem = (StockpileItem) object;
 			//Background
 			if (object instanceof SubpileStock) { //Subpile
-				if (columnName.equals(StockpileTableFormat.COUNT_MINIMUM.getColumnName())) {
+				if (columnType == StockpileTableFormat.COUNT_MINIMUM) {
 					if (!stockpileItem.isEditable()) {
 						ColorSettings.configCell(component, ColorEntry.GLOBAL_GRAND_TOTAL, isSelected);
 					}
-				} else if (columnName.equals(StockpileTableFormat.NAME.getColumnName())) {
+				} else if (columnType == StockpileTableFormat.NAME) {
 					ColorSettings.configCell(component, ColorEntry.GLOBAL_GRAND_TOTAL, isSelected);
-				} else if (columnName.equals(StockpileTableFormat.TAGS.getColumnName())) {
+				} else if (columnType == StockpileTableFormat.TAGS) {
 					ColorSettings.configCell(component, ColorEntry.GLOBAL_GRAND_TOTAL, isSelected);
 				}
 				return component;
 			} else if (object instanceof SubpileItem) { //Total
-				if (!stockpileItem.isEditable() && columnName.equals(StockpileTableFormat.COUNT_MINIMUM.getColumnName())) {
+				if (!stockpileItem.isEditable() && columnType == StockpileTableFormat.COUNT_MINIMUM) {
 					ColorSettings.configCell(component, ColorEntry.GLOBAL_GRAND_TOTAL, isSelected);
 				}
-				if (columnName.equals(StockpileTableFormat.TAGS.getColumnName())) {
+				if (columnType == StockpileTableFormat.TAGS) {
 					ColorSettings.configCell(component, ColorEntry.GLOBAL_GRAND_TOTAL, isSelected);
 				}
 			} else if (object instanceof StockpileTotal) { //Total
 				ColorSettings.configCell(component, ColorEntry.GLOBAL_GRAND_TOTAL, isSelected);
 			}
-			if (columnName.equals(StockpileTableFormat.NAME.getColumnName())) {
+			if (columnType == StockpileTableFormat.NAME) {
 				if (Settings.get().isStockpileHalfColors()) {
 					if (stockpileItem.getPercentNeeded() >= (Settings.get().getStockpileColorGroup3() / 100.0) ) {
 						//Group 3
@@ -99,43 +100,43 @@ public class JStockpileTable extends JSeparatorTable {
 				}
 			}
 			//Foreground
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_INVENTORY.getColumnName()) && !stockpileItem.getStockpile().isAssets()) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_INVENTORY && !stockpileItem.getStockpile().isAssets()) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_BUY_ORDERS.getColumnName()) && (!stockpileItem.getStockpile().isBuyOrders() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_BUY_ORDERS && (!stockpileItem.getStockpile().isBuyOrders() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_SELL_ORDERS.getColumnName()) && (!stockpileItem.getStockpile().isSellOrders() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_SELL_ORDERS && (!stockpileItem.getStockpile().isSellOrders() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_BUY_TRANSACTIONS.getColumnName()) && (!stockpileItem.getStockpile().isBuyTransactions() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_BUY_TRANSACTIONS && (!stockpileItem.getStockpile().isBuyTransactions() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_SELL_TRANSACTIONS.getColumnName()) && (!stockpileItem.getStockpile().isSellTransactions() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_SELL_TRANSACTIONS && (!stockpileItem.getStockpile().isSellTransactions() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_JOBS.getColumnName()) && !stockpileItem.getStockpile().isJobs()) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_JOBS && !stockpileItem.getStockpile().isJobs()) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_SELLING_CONTRACTS.getColumnName()) && (!stockpileItem.getStockpile().isSellingContracts() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_SELLING_CONTRACTS && (!stockpileItem.getStockpile().isSellingContracts() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_SOLD_CONTRACTS.getColumnName()) && (!stockpileItem.getStockpile().isSoldContracts() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_SOLD_CONTRACTS && (!stockpileItem.getStockpile().isSoldContracts() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_BUYING_CONTRACTS.getColumnName()) && (!stockpileItem.getStockpile().isBuyingContracts() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_BUYING_CONTRACTS && (!stockpileItem.getStockpile().isBuyingContracts() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NOW_BOUGHT_CONTRACTS.getColumnName()) && (!stockpileItem.getStockpile().isBoughtContracts() || stockpileItem.isRuns())) {
+			if (columnType == StockpileTableFormat.COUNT_NOW_BOUGHT_CONTRACTS && (!stockpileItem.getStockpile().isBoughtContracts() || stockpileItem.isRuns())) {
 				component.setForeground(component.getBackground());
 			}
-			if (columnName.equals(StockpileTableFormat.COUNT_NEEDED.getColumnName()) && stockpileItem.getCountNeeded() < 0) {
+			if (columnType == StockpileTableFormat.COUNT_NEEDED && stockpileItem.getCountNeeded() < 0) {
 				ColorSettings.configCell(component, ColorEntry.GLOBAL_VALUE_NEGATIVE, isSelected);
 			}
-			if (columnName.equals(StockpileTableFormat.VALUE_NEEDED.getColumnName()) && stockpileItem.getValueNeeded() < 0) {
+			if (columnType == StockpileTableFormat.VALUE_NEEDED && stockpileItem.getValueNeeded() < 0) {
 				ColorSettings.configCell(component, ColorEntry.GLOBAL_VALUE_NEGATIVE, isSelected);
 			}
-			if (columnName.equals(StockpileTableFormat.VOLUME_NEEDED.getColumnName()) && stockpileItem.getVolumeNeeded() < 0) {
+			if (columnType == StockpileTableFormat.VOLUME_NEEDED && stockpileItem.getVolumeNeeded() < 0) {
 				ColorSettings.configCell(component, ColorEntry.GLOBAL_VALUE_NEGATIVE, isSelected);
 			}
 		}
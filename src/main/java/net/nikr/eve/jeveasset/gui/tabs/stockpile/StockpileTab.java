@@ -82,6 +82,7 @@ import net.nikr.eve.jeveasset.gui.shared.components.JMultiSelectionDialog;
 import net.nikr.eve.jeveasset.gui.shared.components.JTextDialog;
 import net.nikr.eve.jeveasset.gui.shared.filter.FilterControl;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
+import net.nikr.eve.jeveasset.gui.shared.menu.SelectionTotals;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
@@ -145,6 +146,7 @@ public class StockpileTab extends JMainTabSecondary implements TagUpdate {
 	private final FilterList<StockpileItem> filterList;
 	private final SeparatorList<StockpileItem> separatorList;
 	private final DefaultEventSelectionModel<StockpileItem> selectionModel;
+	private final SelectionTotals<StockpileItem> selectionTotals;
 	private final StockpileFilterControl filterControl;
 
 	//Data
@@ -312,6 +314,7 @@ public class StockpileTab extends JMainTabSecondary implements TagUpdate {
 		selectionModel = EventModels.createSelectionModel(separatorList);
 		selectionModel.setSelectionMode(ListSelection.MULTIPLE_INTERVAL_SELECTION_DEFENSIVE);
 		jTable.setSelectionModel(selectionModel);
+		selectionTotals = new SelectionTotals<>(separatorList, selectionModel, StockpileItem.class, JMenuInfo.STOCKPILE_ITEM_VALUES);
 		//Listeners
 		installTable(jTable);
 		//Scroll
@@ -1084,7 +1087,7 @@ public class StockpileTab extends JMainTabSecondary implements TagUpdate {
 
 		@Override
 		public void addInfoMenu(JComponent jComponent) {
-			JMenuInfo.stockpileItem(jComponent, selectionModel.getSelected());
+			JMenuInfo.stockpileItem(jComponent, selectionTotals);
 		}
 
 		@Override
@@ -364,6 +364,7 @@ public class JTrackerEditDialog extends JDialogCentered {
 			} finally {
 				TrackerData.writeUnlock();
 			}
+			TrackerData.edited();
 			TrackerData.save("Edited");
 			update = true;
 			setVisible(false);
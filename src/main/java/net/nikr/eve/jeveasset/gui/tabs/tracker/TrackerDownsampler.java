@@ -0,0 +1,84 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.tracker;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling.
+ * Keeps the visual shape of a line chart (peaks and dips) with fewer points.
+ */
+public class TrackerDownsampler {
+
+	private TrackerDownsampler() { }
+
+	/**
+	 * Select the points to keep.
+	 * @param x x values (sorted)
+	 * @param y y values
+	 * @param threshold max number of points to keep (at least 3)
+	 * @return indexes of the points to keep (sorted), all indexes if there is no more points than threshold
+	 */
+	public static int[] downsample(long[] x, double[] y, int threshold) {
+		int length = x.length;
+		if (threshold >= length || threshold < 3) {
+			int[] all = new int[length];
+			for (int i = 0; i < length; i++) {
+				all[i] = i;
+			}
+			return all;
+		}
+		int[] selected = new int[threshold];
+		int count = 0;
+		//First and last points are always kept
+		double bucketSize = (double) (length - 2) / (threshold - 2);
+		int a = 0;
+		selected[count++] = a;
+		for (int i = 0; i < threshold - 2; i++) {
+			//Average of the next bucket
+			int nextStart = (int) Math.floor((i + 1) * bucketSize) + 1;
+			int nextEnd = Math.min((int) Math.floor((i + 2) * bucketSize) + 1, length);
+			double avgX = 0;
+			double avgY = 0;
+			for (int j = nextStart; j < nextEnd; j++) {
+				avgX += x[j];
+				avgY += y[j];
+			}
+			int nextLength = nextEnd - nextStart;
+			avgX /= nextLength;
+			avgY /= nextLength;
+			//Point in this bucket with the largest triangle
+			int start = (int) Math.floor(i * bucketSize) + 1;
+			int end = (int) Math.floor((i + 1) * bucketSize) + 1;
+			double max = -1;
+			int next = start;
+			for (int j = start; j < end; j++) {
+				double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+				if (area > max) {
+					max = area;
+					next = j;
+				}
+			}
+			selected[count++] = next;
+			a = next;
+		}
+		selected[count] = length - 1;
+		return selected;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.tracker;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import net.nikr.eve.jeveasset.gui.shared.components.CheckBoxNode;
+
+/**
+ * Contribution of each filter node (asset location/flag or wallet division) to each point in time.
+ * <p>
+ * Built once per data set. When the filter selection changes, only the changed nodes are added to or subtracted from the totals.
+ */
+public class TrackerFilterMatrix {
+
+	private final double[] totals;
+	private final Map<String, double[]> columns = new HashMap<>(); //Node ID :: value by time index
+	private final Set<String> included = new HashSet<>();
+
+	/**
+	 * @param size number of points in time
+	 */
+	public TrackerFilterMatrix(int size) {
+		totals = new double[size];
+	}
+
+	/**
+	 * Add value that is not filtered (data without filter values).
+	 * @param index time index
+	 * @param value value
+	 */
+	public void add(int index, double value) {
+		totals[index] += value;
+	}
+
+	/**
+	 * Add filtered value.
+	 * Not included in the totals until update() is called.
+	 * @param index time index
+	 * @param id filter node ID
+	 * @param value value
+	 */
+	public void add(int index, String id, double value) {
+		double[] column = columns.get(id);
+		if (column == null) {
+			column = new double[totals.length];
+			columns.put(id, column);
+		}
+		column[index] += value;
+	}
+
+	/**
+	 * Update the totals to match the selected filter nodes.
+	 * @param nodes filter nodes
+	 * @return true if the totals changed
+	 */
+	public boolean update(Map<String, CheckBoxNode> nodes) {
+		boolean changed = false;
+		for (Map.Entry<String, double[]> entry : columns.entrySet()) {
+			CheckBoxNode node = nodes.get(entry.getKey());
+			boolean selected = node != null && node.isSelected();
+			if (selected == included.contains(entry.getKey())) {
+				continue; //Not changed
+			}
+			double[] column = entry.getValue();
+			if (selected) {
+				for (int i = 0; i < totals.length; i++) {
+					totals[i] += column[i];
+				}
+				included.add(entry.getKey());
+			} else {
+				for (int i = 0; i < totals.length; i++) {
+					totals[i] -= column[i];
+				}
+				included.remove(entry.getKey());
+			}
+			changed = true;
+		}
+		return changed;
+	}
+
+	/**
+	 * @param index time index
+	 * @return total of the not filtered values and the selected filter nodes
+	 */
+	public double getTotal(int index) {
+		return totals[index];
+	}
+}
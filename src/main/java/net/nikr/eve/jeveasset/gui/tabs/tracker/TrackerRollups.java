@@ -0,0 +1,149 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.tracker;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import net.nikr.eve.jeveasset.gui.tabs.values.Value;
+
+/**
+ * Daily, weekly and monthly rollups of the tracker data.
+ * <p>
+ * Tracker values are snapshots (not changes), so the rollup of a period is the last value of each owner in the period.
+ * The rollups are updated as values are added and rebuilt on first use after values have been removed/replaced.
+ * Values are not copied: values edited in place are also updated in the rollups.
+ */
+public class TrackerRollups {
+
+	public static enum Resolution {
+		DAY {
+			@Override
+			LocalDate getStart(LocalDate date) {
+				return date;
+			}
+		},
+		WEEK {
+			@Override
+			LocalDate getStart(LocalDate date) {
+				return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+			}
+		},
+		MONTH {
+			@Override
+			LocalDate getStart(LocalDate date) {
+				return date.withDayOfMonth(1);
+			}
+		};
+
+		abstract LocalDate getStart(LocalDate date);
+
+		/**
+		 * @param date date
+		 * @return start of the period containing date (local time)
+		 */
+		public Date getPeriod(Date date) {
+			ZoneId zone = ZoneId.systemDefault();
+			LocalDate start = getStart(Instant.ofEpochMilli(date.getTime()).atZone(zone).toLocalDate());
+			return Date.from(start.atStartOfDay(zone).toInstant());
+		}
+	}
+
+	private final Map<Resolution, Map<String, NavigableMap<Date, Value>>> rollups = new EnumMap<>(Resolution.class);
+	private boolean valid = false;
+
+	/**
+	 * Update the rollups with a new value.
+	 * @param owner owner of the value
+	 * @param value new value
+	 */
+	public synchronized void add(String owner, Value value) {
+		if (!valid) {
+			return; //Added on next rebuild
+		}
+		addValue(owner, value);
+	}
+
+	/**
+	 * Values removed or replaced: rebuild on next use.
+	 */
+	public synchronized void clear() {
+		rollups.clear();
+		valid = false;
+	}
+
+	/**
+	 * Get the rollup of one owner.
+	 * @param trackerData all tracker data (used to rebuild the rollups, if needed)
+	 * @param owner owner
+	 * @param resolution rollup resolution
+	 * @return period start :: last value in the period
+	 */
+	public synchronized NavigableMap<Date, Value> get(Map<String, List<Value>> trackerData, String owner, Resolution resolution) {
+		if (!valid) {
+			for (Map.Entry<String, List<Value>> entry : trackerData.entrySet()) {
+				for (Value value : entry.getValue()) {
+					addValue(entry.getKey(), value);
+				}
+			}
+			valid = true;
+		}
+		Map<String, NavigableMap<Date, Value>> owners = rollups.get(resolution);
+		if (owners == null) {
+			return Collections.emptyNavigableMap();
+		}
+		NavigableMap<Date, Value> values = owners.get(owner);
+		if (values == null) {
+			return Collections.emptyNavigableMap();
+		}
+		return Collections.unmodifiableNavigableMap(values);
+	}
+
+	private void addValue(String owner, Value value) {
+		for (Resolution resolution : Resolution.values()) {
+			Map<String, NavigableMap<Date, Value>> owners = rollups.get(resolution);
+			if (owners == null) {
+				owners = new HashMap<>();
+				rollups.put(resolution, owners);
+			}
+			NavigableMap<Date, Value> values = owners.get(owner);
+			if (values == null) {
+				values = new TreeMap<>();
+				owners.put(owner, values);
+			}
+			Date period = resolution.getPeriod(value.getDate());
+			Value last = values.get(period);
+			if (last == null || !value.getDate().before(last.getDate())) {
+				values.put(period, value);
+			}
+		}
+	}
+}
@@ -34,6 +34,8 @@ import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
 import java.io.File;
@@ -78,6 +80,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.ListModel;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.event.PopupMenuEvent;
@@ -104,9 +107,11 @@ import net.nikr.eve.jeveasset.gui.shared.components.JMainTabSecondary;
 import net.nikr.eve.jeveasset.gui.shared.components.JMultiSelectionList;
 import net.nikr.eve.jeveasset.gui.shared.components.JSelectionDialog;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
+import net.nikr.eve.jeveasset.gui.tabs.tracker.TrackerRollups.Resolution;
 import net.nikr.eve.jeveasset.gui.tabs.values.AssetValue;
 import net.nikr.eve.jeveasset.gui.tabs.values.DataSetCreator;
 import net.nikr.eve.jeveasset.gui.tabs.values.Value;
+import net.nikr.eve.jeveasset.gui.tabs.values.ValueTableTab;
 import net.nikr.eve.jeveasset.i18n.General;
 import net.nikr.eve.jeveasset.i18n.TabsTracker;
 import net.nikr.eve.jeveasset.io.local.SettingsReader;
@@ -137,6 +142,7 @@ public class TrackerTab extends JMainTabSecondary {
 
 	private enum TrackerAction {
 		QUICK_DATE,
+		RESIZE_TIMER,
 		UPDATE_DATA,
 		UPDATE_SHOWN,
 		IMPORT_FILE,
@@ -154,6 +160,8 @@ public class TrackerTab extends JMainTabSecondary {
 	}
 
 	private final int PANEL_WIDTH_MINIMUM = 160;
+	private final int CHART_POINTS_DEFAULT = 1000; //Used before the chart is shown
+	private final int CHART_POINTS_MINIMUM = 100;
 
 	private final NumberFormat iskFormat = new DecimalFormat("#,##0.00 isk");
 	private final DateFormat dateFormat = new SimpleDateFormat(Formater.COLUMN_DATE);
@@ -197,6 +205,7 @@ public class TrackerTab extends JMainTabSecondary {
 	private final JMenu jEditNote;
 	private final JCustomFileChooser jFileChooser;
 	private final JLockWindow jLockWindow;
+	private final Timer resizeTimer;
 
 	private final JLabel jTotalStatus;
 	private final JLabel jWalletBalanceStatus;
@@ -225,11 +234,17 @@ public class TrackerTab extends JMainTabSecondary {
 	private TimePeriodValues contractValue;
 	private TimePeriodValues skillPointsValue;
 	private Map<SimpleTimePeriod, Value> cache;
+	private int[] cacheIndexes; //Cache points :: time index in the filter matrices
+	private TrackerFilterMatrix assetMatrix;
+	private TrackerFilterMatrix walletMatrix;
 	private final Map<String, CheckBoxNode> accountNodes = new TreeMap<>();
 	private final Map<String, CheckBoxNode> assetNodes = new TreeMap<>();
 	private Integer assetColumn = null;
 	private Integer walletColumn = null;
 	private boolean updateLock = false;
+	private int rawPoints = 0;
+	private int maxPoints = 0;
+	private boolean downsampled = false;
 
 	public static final String NAME = "tracker"; //Not to be changed!
 
@@ -576,6 +591,15 @@ public class TrackerTab extends JMainTabSecondary {
 		jChartPanel.setMaximumDrawWidth(Integer.MAX_VALUE);
 		jChartPanel.setMinimumDrawWidth(10);
 		jChartPanel.setMinimumDrawHeight(10);
+		resizeTimer = new Timer(200, listener);
+		resizeTimer.setActionCommand(TrackerAction.RESIZE_TIMER.name());
+		resizeTimer.setRepeats(false);
+		jChartPanel.addComponentListener(new ComponentAdapter() {
+			@Override
+			public void componentResized(ComponentEvent e) {
+				resizeTimer.restart();
+			}
+		});
 
 		int gapWidth = 5;
 		int labelWidth = Math.max(jFromLabel.getPreferredSize().width, jToLabel.getPreferredSize().width);
@@ -708,7 +732,7 @@ public class TrackerTab extends JMainTabSecondary {
 						node.setSelected(true);
 					}
 					updateSettings();
-					createData();
+					updateFilters();
 					updateButtonIcons();
 				} else {
 					showLocationFilter();
@@ -726,7 +750,7 @@ public class TrackerTab extends JMainTabSecondary {
 				updateButtonIcons();
 			}
 			//Isk
-			if (program.getMainWindow().isOpen(program.getValueTableTab())) {
+			if (program.isTabCreated(ValueTableTab.NAME) && program.getMainWindow().isOpen(program.getValueTableTab())) {
 				program.getValueTableTab().updateData();
 			}
 		}
@@ -926,24 +950,38 @@ public class TrackerTab extends JMainTabSecondary {
 		Date from = getFromDate();
 		Date to = getToDate();
 		cache = new TreeMap<>();
-		Map<String, CheckBoxNode> accountNodesMap = new HashMap<>(accountNodes);
-		Map<String, CheckBoxNode> assetNodesMap = new HashMap<>(assetNodes);
+		cacheIndexes = new int[0];
+		assetMatrix = null;
+		walletMatrix = null;
 		Map<Date, Boolean> assetColumns = new TreeMap<>();
 		Map<Date, Boolean> walletColumns = new TreeMap<>();
+		maxPoints = getMaxPoints();
+		downsampled = false;
+		rawPoints = 0;
 		if (owners != null) { //No data set...
 			try {
 				TrackerData.readLock();
-				Map<Date, Map<String, Value>> trackerDataByDate = getTrackerDataByDate(owners);
+				Map<Date, Map<String, Value>> trackerDataByDate = getTrackerDataByDate(owners, from, to, null);
+				rawPoints = trackerDataByDate.size();
+				//More points than pixels: use the rollups (zoomed in: raw points)
+				for (Resolution resolution : Resolution.values()) {
+					if (trackerDataByDate.size() <= maxPoints) {
+						break;
+					}
+					trackerDataByDate = getTrackerDataByDate(owners, from, to, resolution);
+					downsampled = true;
+				}
+				assetMatrix = new TrackerFilterMatrix(trackerDataByDate.size());
+				walletMatrix = new TrackerFilterMatrix(trackerDataByDate.size());
+				cacheIndexes = new int[trackerDataByDate.size()];
+				int index = -1;
 				Map<String, Value> lastMap = new HashMap<>();
 				for (Map.Entry<Date, Map<String, Value>> dateEntry : trackerDataByDate.entrySet()) {
+					index++;
+					cacheIndexes[index] = index;
 					final Date date = dateEntry.getKey();
-					final Value value;
-					if ((from == null || date.after(from)) && (to == null || date.before(to))) {
-						value = new Value(date);
-						cache.put(new SimpleTimePeriod(date, date), value);
-					} else {
-						continue;
-					}
+					final Value value = new Value(date);
+					cache.put(new SimpleTimePeriod(date, date), value);
 					for (Map.Entry<String, Value> ownerEntry : dateEntry.getValue().entrySet()) {
 						Value data = ownerEntry.getValue();
 						if (data == null) {
@@ -958,7 +996,7 @@ public class TrackerTab extends JMainTabSecondary {
 							lastMap.put(ownerEntry.getKey(), data);
 						}
 						if (data.getAssetsFilter().isEmpty()) {
-							value.addAssets(data.getAssetsTotal());
+							assetMatrix.add(index, data.getAssetsTotal());
 							//Default
 							Boolean assetBoolean = assetColumns.get(date);
 							if (assetBoolean == null) {
@@ -967,9 +1005,7 @@ public class TrackerTab extends JMainTabSecondary {
 						} else {
 							assetColumns.put(date, true);
 							for (Map.Entry<AssetValue, Double> entry : data.getAssetsFilter().entrySet()) {
-								if (assetNodesMap.get(entry.getKey().getID()).isSelected()) {
-									value.addAssets(entry.getValue());
-								}
+								assetMatrix.add(index, entry.getKey().getID(), entry.getValue());
 							}
 						}
 						value.addEscrows(data.getEscrows());
@@ -987,7 +1023,7 @@ public class TrackerTab extends JMainTabSecondary {
 						}
 						value.addSellOrders(data.getSellOrders());
 						if (data.getBalanceFilter().isEmpty()) {
-							value.addBalance(data.getBalanceTotal());
+							walletMatrix.add(index, data.getBalanceTotal());
 							//Default
 							Boolean walletBoolean = walletColumns.get(date);
 							if (walletBoolean == null) {
@@ -996,9 +1032,7 @@ public class TrackerTab extends JMainTabSecondary {
 						} else {
 							walletColumns.put(date, true);
 							for (Map.Entry<String, Double> entry : data.getBalanceFilter().entrySet()) {
-								if (accountNodesMap.get(entry.getKey()).isSelected()) {
-									value.addBalance(entry.getValue());
-								}
+								walletMatrix.add(index, entry.getKey(), entry.getValue());
 							}
 						}
 					}
@@ -1006,6 +1040,18 @@ public class TrackerTab extends JMainTabSecondary {
 			} finally {
 				TrackerData.readUnlock();
 			}
+			//Selected filters
+			assetMatrix.update(assetNodes);
+			walletMatrix.update(accountNodes);
+			int index = 0;
+			for (Value value : cache.values()) {
+				value.addAssets(assetMatrix.getTotal(index));
+				value.addBalance(walletMatrix.getTotal(index));
+				index++;
+			}
+			if (cache.size() > maxPoints) {
+				downsample(assetColumns, walletColumns);
+			}
 			for (Map.Entry<SimpleTimePeriod, Value> entry : cache.entrySet()) {
 				walletBalance.add(entry.getKey(), entry.getValue().getBalanceTotal());
 				assets.add(entry.getKey(), entry.getValue().getAssetsTotal());
@@ -1040,15 +1086,30 @@ public class TrackerTab extends JMainTabSecondary {
 		updateShown();
 	}
 
-	private Map<Date, Map<String, Value>> getTrackerDataByDate(final List<String> owners) {
+	private Map<Date, Map<String, Value>> getTrackerDataByDate(final List<String> owners, final Date from, final Date to, final Resolution resolution) {
 		Map<Date, Map<String, Value>> trackerDataByDate = new TreeMap<>();
 		Map<String, Value> empty = new HashMap<>();
 		for (String owner : owners) {
 			empty.put(owner, null);
 		}
 		for (String owner : owners) {
-			for (Value data : TrackerData.get().get(owner)) {
-				Date key = data.getDate();
+			Collection<Value> values;
+			if (resolution == null) {
+				values = TrackerData.get().get(owner);
+			} else {
+				values = TrackerData.getRollup(owner, resolution).values();
+			}
+			for (Value data : values) {
+				Date date = data.getDate();
+				if ((from != null && !date.after(from)) || (to != null && !date.before(to))) {
+					continue;
+				}
+				Date key;
+				if (resolution == null) {
+					key = date;
+				} else {
+					key = resolution.getPeriod(date);
+				}
 				Map<String, Value> map = trackerDataByDate.get(key);
 				if (map == null) {
 					map = new HashMap<>(empty);
@@ -1057,7 +1118,85 @@ public class TrackerTab extends JMainTabSecondary {
 				map.put(owner, data);
 			}
 		}
-		return trackerDataByDate;
+		if (resolution == null) {
+			return trackerDataByDate;
+		}
+		//Show the periods at the date of the last value in the period
+		Map<Date, Map<String, Value>> trackerDataByLastDate = new TreeMap<>();
+		for (Map<String, Value> map : trackerDataByDate.values()) {
+			Date last = null;
+			for (Value data : map.values()) {
+				if (data != null && (last == null || data.getDate().after(last))) {
+					last = data.getDate();
+				}
+			}
+			trackerDataByLastDate.put(last, map);
+		}
+		return trackerDataByLastDate;
+	}
+
+	/**
+	 * Reduce the points in the cache to the chart width.
+	 * The shape of the total is kept, all series uses the same points.
+	 */
+	private void downsample(Map<Date, Boolean> assetColumns, Map<Date, Boolean> walletColumns) {
+		List<Map.Entry<SimpleTimePeriod, Value>> entries = new ArrayList<>(cache.entrySet());
+		long[] x = new long[entries.size()];
+		double[] y = new double[entries.size()];
+		for (int i = 0; i < entries.size(); i++) {
+			Map.Entry<SimpleTimePeriod, Value> entry = entries.get(i);
+			x[i] = entry.getKey().getStart().getTime();
+			y[i] = entry.getValue().getTotal();
+		}
+		Map<SimpleTimePeriod, Value> points = new TreeMap<>();
+		Set<Date> dates = new HashSet<>();
+		cacheIndexes = TrackerDownsampler.downsample(x, y, maxPoints);
+		for (int index : cacheIndexes) {
+			Map.Entry<SimpleTimePeriod, Value> entry = entries.get(index);
+			points.put(entry.getKey(), entry.getValue());
+			dates.add(entry.getKey().getStart());
+		}
+		cache = points;
+		assetColumns.keySet().retainAll(dates);
+		walletColumns.keySet().retainAll(dates);
+		downsampled = true;
+	}
+
+	/**
+	 * Update assets and wallet balance after the filter selection changed.
+	 * Only the contributions of the changed filter nodes are added/subtracted.
+	 */
+	private void updateFilters() {
+		if (assetMatrix == null || walletMatrix == null) {
+			createData();
+			return;
+		}
+		boolean assetsChanged = assetMatrix.update(assetNodes);
+		boolean walletChanged = walletMatrix.update(accountNodes);
+		if (!assetsChanged && !walletChanged) {
+			return;
+		}
+		walletBalance = new TimePeriodValues(TabsTracker.get().walletBalance());
+		assets = new TimePeriodValues(TabsTracker.get().assets());
+		int i = 0;
+		for (Map.Entry<SimpleTimePeriod, Value> entry : cache.entrySet()) {
+			int index = cacheIndexes[i];
+			Value value = entry.getValue();
+			value.setAssetsTotal(assetMatrix.getTotal(index));
+			value.setBalanceTotal(walletMatrix.getTotal(index));
+			walletBalance.add(entry.getKey(), value.getBalanceTotal());
+			assets.add(entry.getKey(), value.getAssetsTotal());
+			i++;
+		}
+		updateShown();
+	}
+
+	private int getMaxPoints() {
+		int width = jChartPanel.getWidth();
+		if (width <= 0) {
+			return CHART_POINTS_DEFAULT;
+		}
+		return Math.max(width, CHART_POINTS_MINIMUM);
 	}
 
 	private void updateButtonIcons() {
@@ -1492,7 +1631,7 @@ public class TrackerTab extends JMainTabSecondary {
 		boolean save = assetFilterDialog.showLocations(assetNodes);
 		if (save) { //Need refilter
 			updateSettings();
-			createData();
+			updateFilters();
 			updateButtonIcons();
 		}
 	}
@@ -1504,7 +1643,13 @@ public class TrackerTab extends JMainTabSecondary {
 		@Override
 		public void actionPerformed(ActionEvent e) {
 			TrackerSettings trackerSettings = Settings.get().getTrackerSettings();
-			if (TrackerAction.QUICK_DATE.name().equals(e.getActionCommand())) {
+			if (TrackerAction.RESIZE_TIMER.name().equals(e.getActionCommand())) {
+				int points = getMaxPoints();
+				//Only update if the number of points shown depends on the chart width
+				if (points != maxPoints && (downsampled || rawPoints > points)) {
+					createData();
+				}
+			} else if (TrackerAction.QUICK_DATE.name().equals(e.getActionCommand())) {
 				QuickDate quickDate = (QuickDate) jQuickDate.getSelectedItem();
 				if (quickDate == QuickDate.RESET) {
 					jTo.setDate(null);
@@ -1678,7 +1823,7 @@ public class TrackerTab extends JMainTabSecondary {
 				boolean save = filterDialog.showWallet(accountNodes);
 				if (save) { //Need refilter
 					updateSettings();
-					createData();
+					updateFilters();
 					updateButtonIcons();
 				}
 			} else if (TrackerAction.FILTER_ASSETS.name().equals(e.getActionCommand())) {
@@ -28,6 +28,7 @@ import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.api.my.MyTransaction;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
 
 
@@ -45,20 +46,20 @@ public class JTransactionTable extends JAutoColumnTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		MyTransaction transaction = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 
-		if (columnName.equals(TransactionTableFormat.NAME.getColumnName())) {
+		if (columnType == TransactionTableFormat.NAME) {
 			if (transaction.isSell()) {
 				ColorSettings.configCell(component, ColorEntry.TRANSACTIONS_SOLD, isSelected);
 			} else {
 				ColorSettings.configCell(component, ColorEntry.TRANSACTIONS_BOUGHT, isSelected);
 			}
 		}
-		if (columnName.equals(TransactionTableFormat.VALUE.getColumnName()) && transaction.isBuy()) {
+		if (columnType == TransactionTableFormat.VALUE && transaction.isBuy()) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_VALUE_NEGATIVE, isSelected);
 		}
 		//User set location
-		if (transaction.getLocation().isUserLocation() && columnName.equals(TransactionTableFormat.LOCATION.getColumnName())) {
+		if (transaction.getLocation().isUserLocation() && columnType == TransactionTableFormat.LOCATION) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_USER_LOCATION, isSelected);
 			return component;
 		}
@@ -23,14 +23,13 @@ package net.nikr.eve.jeveasset.gui.tabs.transaction;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.FilterList;
 import ca.odell.glazedlists.ListSelection;
-import ca.odell.glazedlists.SortedList;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.swing.DefaultEventSelectionModel;
 import ca.odell.glazedlists.swing.DefaultEventTableModel;
-import ca.odell.glazedlists.swing.TableComparatorChooser;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,12 +50,14 @@ import net.nikr.eve.jeveasset.gui.shared.filter.Filter.CompareType;
 import net.nikr.eve.jeveasset.gui.shared.filter.Filter.LogicType;
 import net.nikr.eve.jeveasset.gui.shared.filter.FilterControl;
 import net.nikr.eve.jeveasset.gui.shared.menu.JMenuInfo;
+import net.nikr.eve.jeveasset.gui.shared.menu.SelectionTotals;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuData;
 import net.nikr.eve.jeveasset.gui.shared.menu.MenuManager.TableMenu;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor;
 import net.nikr.eve.jeveasset.gui.shared.table.EventModels;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
+import net.nikr.eve.jeveasset.gui.shared.table.KeySortedList;
 import net.nikr.eve.jeveasset.gui.shared.table.PaddingTableCellRenderer;
 import net.nikr.eve.jeveasset.i18n.TabsTransaction;
 
@@ -78,8 +79,10 @@ public class TransactionTab extends JMainTabPrimary {
 	private final EnumTableFormatAdaptor<TransactionTableFormat, MyTransaction> tableFormat;
 	private final DefaultEventTableModel<MyTransaction> tableModel;
 	private final FilterList<MyTransaction> filterList;
+	private final KeySortedList<MyTransaction> sortedList;
 	private final EventList<MyTransaction> eventList;
 	private final DefaultEventSelectionModel<MyTransaction> selectionModel;
+	private final SelectionTotals<MyTransaction> selectionTotals;
 
 	public static final String NAME = "transaction"; //Not to be changed!
 
@@ -91,27 +94,28 @@ public class TransactionTab extends JMainTabPrimary {
 		tableFormat = new EnumTableFormatAdaptor<>(TransactionTableFormat.class);
 		//Backend
 		eventList = program.getProfileData().getTransactionsEventList();
-		//Sorting (per column)
+		//Filter (before sorting: only the shown rows are sorted)
 		eventList.getReadWriteLock().readLock().lock();
-		SortedList<MyTransaction> sortedList = new SortedList<>(eventList);
+		filterList = new FilterList<>(eventList);
 		eventList.getReadWriteLock().readLock().unlock();
-		//Filter
+		filterList.addListEventListener(listener);
+		//Sorting (per column)
 		eventList.getReadWriteLock().readLock().lock();
-		filterList = new FilterList<>(sortedList);
+		sortedList = new KeySortedList<>(filterList, tableFormat);
 		eventList.getReadWriteLock().readLock().unlock();
-		filterList.addListEventListener(listener);
 		//Table Model
-		tableModel = EventModels.createTableModel(filterList, tableFormat);
+		tableModel = EventModels.createTableModel(sortedList, tableFormat);
 		//Table
 		jTable = new JTransactionTable(program, tableModel);
 		jTable.setCellSelectionEnabled(true);
 		PaddingTableCellRenderer.install(jTable, 1);
 		//Sorting
-		TableComparatorChooser.install(jTable, sortedList, TableComparatorChooser.MULTIPLE_COLUMN_MOUSE, tableFormat);
+		sortedList.install(jTable);
 		//Selection Model
-		selectionModel = EventModels.createSelectionModel(filterList);
+		selectionModel = EventModels.createSelectionModel(sortedList);
 		selectionModel.setSelectionMode(ListSelection.MULTIPLE_INTERVAL_SELECTION_DEFENSIVE);
 		jTable.setSelectionModel(selectionModel);
+		selectionTotals = new SelectionTotals<>(sortedList, selectionModel, MyTransaction.class, JMenuInfo.TRANSACTION_VALUES);
 		//Listeners
 		installTable(jTable);
 		//Scroll Panels
@@ -125,7 +129,7 @@ public class TransactionTab extends JMainTabPrimary {
 		filter = new ArrayList<>();
 		filter.add(new Filter(LogicType.AND, TransactionTableFormat.TYPE, CompareType.EQUALS, TabsTransaction.get().sell()));
 		defaultFilters.put(TabsTransaction.get().sell(), filter);
-		filterControl = new TransactionsFilterControl(sortedList, defaultFilters);
+		filterControl = new TransactionsFilterControl(defaultFilters);
 		//Menu
 		installTableTool(new TransactionTableMenu(), tableFormat, tableModel, jTable, filterControl, MyTransaction.class);
 
@@ -227,7 +231,7 @@ public class TransactionTab extends JMainTabPrimary {
 
 		@Override
 		public void addInfoMenu(JComponent jComponent) {
-			JMenuInfo.transctions(jComponent, selectionModel.getSelected());
+			JMenuInfo.transctions(jComponent, selectionTotals);
 		}
 
 		@Override
@@ -280,17 +284,22 @@ public class TransactionTab extends JMainTabPrimary {
 
 	private class TransactionsFilterControl extends FilterControl<MyTransaction> {
 
-		public TransactionsFilterControl(EventList<MyTransaction> exportEventList, Map<String, List<Filter>> defaultFilters) {
+		public TransactionsFilterControl(Map<String, List<Filter>> defaultFilters) {
 			super(program.getMainWindow().getFrame(),
 					NAME,
 					eventList,
-					exportEventList,
+					eventList,
 					filterList,
 					Settings.get().getTableFilters(NAME),
 					defaultFilters
 					);
 		}
 
+		@Override
+		public Comparator<? super MyTransaction> getExportComparator() {
+			return sortedList.getComparator();
+		}
+
 		@Override
 		protected Object getColumnValue(final MyTransaction transaction, final String column) {
 			return tableFormat.getColumnValue(transaction, column);
@@ -29,8 +29,9 @@ import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
 import net.nikr.eve.jeveasset.data.settings.Settings;
 import net.nikr.eve.jeveasset.gui.shared.ColorUtil;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
-import net.nikr.eve.jeveasset.gui.tabs.assets.AssetTableFormat;
+import net.nikr.eve.jeveasset.gui.tabs.assets.JAssetTable;
 
 
 public class JTreeTable extends JAutoColumnTable {
@@ -42,12 +43,16 @@ public class JTreeTable extends JAutoColumnTable {
 		this.tableModel = tableModel;
 	}
 
+	@Override
+	protected int createRowStyle(final Object row) {
+		return JAssetTable.createAssetStyle((TreeAsset) row);
+	}
+
 	@Override
 	public Component prepareRenderer(final TableCellRenderer renderer, final int row, final int column) {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		TreeAsset treeAsset = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
 		//Tree
 		if (!isSelected && treeAsset.isParent()) {
 			if (treeAsset.getDepth() == 0) {
@@ -80,38 +85,38 @@ public class JTreeTable extends JAutoColumnTable {
 				return component;
 			}
 		}
+		int style = getRowStyle(treeAsset);
+		EnumTableColumn<?> columnType = getColumnType(column);
 		//User set price
-		if (treeAsset.isUserPrice() && columnName.equals(AssetTableFormat.PRICE.getColumnName())) {
+		if ((style & JAssetTable.USER_PRICE) != 0 && columnType == TreeTableFormat.PRICE) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_PRICE, isSelected);
 			return component;
 		}
 		//User set name
-		if (treeAsset.isUserName() && columnName.equals(AssetTableFormat.NAME.getColumnName())) {
+		if ((style & JAssetTable.USER_NAME) != 0 && columnType == TreeTableFormat.NAME) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_ASSET_NAME, isSelected);
 			return component;
 		}
 		//User set location
-		if (treeAsset.getLocation().isUserLocation() && columnName.equals(AssetTableFormat.LOCATION.getColumnName())) {
+		if ((style & JAssetTable.USER_LOCATION) != 0 && columnType == TreeTableFormat.LOCATION) {
 			ColorSettings.configCell(component, ColorEntry.CUSTOM_USER_LOCATION, isSelected);
 			return component;
 		}
 		//Blueprint Original
-		if (treeAsset.isBPO()
-				&& treeAsset.getItem().isBlueprint()
-				&& (columnName.equals(AssetTableFormat.PRICE.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_SELL_MIN.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_BUY_MAX.getColumnName())
-				|| columnName.equals(AssetTableFormat.NAME.getColumnName()))) {
+		if ((style & JAssetTable.BPO) != 0
+				&& (columnType == TreeTableFormat.PRICE
+				|| columnType == TreeTableFormat.PRICE_SELL_MIN
+				|| columnType == TreeTableFormat.PRICE_BUY_MAX
+				|| columnType == TreeTableFormat.NAME)) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_BPO, isSelected);
 			return component;
 		}
 		//Blueprint Copy
-		if (treeAsset.isBPC()
-				&& treeAsset.getItem().isBlueprint()
-				&& (columnName.equals(AssetTableFormat.PRICE.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_SELL_MIN.getColumnName())
-				|| columnName.equals(AssetTableFormat.PRICE_BUY_MAX.getColumnName())
-				|| columnName.equals(AssetTableFormat.NAME.getColumnName()))) {
+		if ((style & JAssetTable.BPC) != 0
+				&& (columnType == TreeTableFormat.PRICE
+				|| columnType == TreeTableFormat.PRICE_SELL_MIN
+				|| columnType == TreeTableFormat.PRICE_BUY_MAX
+				|| columnType == TreeTableFormat.NAME)) {
 			ColorSettings.configCell(component, ColorEntry.GLOBAL_BPC, isSelected);
 			return component;
 		}
@@ -119,28 +124,28 @@ public class JTreeTable extends JAutoColumnTable {
 		//Reprocessing Colors
 		if (Settings.get().isReprocessColors() && !isSelected) {
 			//Zero price (White)
-			if (treeAsset.getPriceReprocessed() == 0 || treeAsset.getDynamicPrice() == 0) {
+			if ((style & JAssetTable.REPROCESSED_ZERO) != 0) {
 				return component;
 			}
 			//Equal price (Yellow)
 			boolean rowSelection = (this.isRowSelected(row) && Settings.get().isHighlightSelectedRows());
-			if (treeAsset.getPriceReprocessed() == treeAsset.getDynamicPrice()) {
+			if ((style & JAssetTable.REPROCESSED_EQUAL) != 0) {
 				ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESSING_EQUAL, rowSelection, true);
 				return component;
 			}
 			//Reprocessed highest (Red)
-			if (treeAsset.getPriceReprocessed() > treeAsset.getDynamicPrice()) {
+			if ((style & JAssetTable.REPROCESSED_HIGHER) != 0) {
 				ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESSING_REPROCES, rowSelection, true);
 				return component;
 			}
 			//Price highest (Green)
-			if (treeAsset.getPriceReprocessed() < treeAsset.getDynamicPrice()) {
+			if ((style & JAssetTable.REPROCESSED_LOWER) != 0) {
 				ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESSING_SELL, rowSelection, true);
 				return component;
 			}
 		}
 		//Reproccessed is greater then price
-		if (treeAsset.getPriceReprocessed() > treeAsset.getDynamicPrice() && columnName.equals(AssetTableFormat.PRICE_REPROCESSED.getColumnName())) {
+		if ((style & JAssetTable.REPROCESSED_HIGHER) != 0 && columnType == TreeTableFormat.PRICE_REPROCESSED) {
 			ColorSettings.configCell(component, ColorEntry.ASSETS_REPROCESS, isSelected);
 			return component;
 		}
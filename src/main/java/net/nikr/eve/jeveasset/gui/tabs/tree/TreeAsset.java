@@ -21,12 +21,15 @@
 package net.nikr.eve.jeveasset.gui.tabs.tree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.Icon;
 import net.nikr.eve.jeveasset.data.api.my.MyAsset;
 import net.nikr.eve.jeveasset.data.sde.MyLocation;
@@ -46,10 +49,12 @@ public class TreeAsset extends MyAsset {
 	}
 
 	public static final String SPACE = "    ";
-	private final static Object NULL_PLACEHOLDER = new Object();
 	private static final Security EMPTY_SECURITY = Security.create("");
 	private static final Map<TreeTableFormat, AssetTableFormat> columns = new EnumMap<>(TreeTableFormat.class);
-	private final List<TreeAsset> tree;
+	private static final TreeTableFormat[] FORMATS = TreeTableFormat.values();
+	private static final TreeAsset[] ROOT = new TreeAsset[0];
+	private static final AtomicLong SWEEPS = new AtomicLong();
+	private final TreeAsset[] tree; //Shared by all children of the same parent
 	private final String compare;
 	private final String ownerName;
 	private final boolean parent;
@@ -57,18 +62,19 @@ public class TreeAsset extends MyAsset {
 	private final int depthOffset;
 	private final Icon icon;
 
-	private final Set<TreeAsset> items = new HashSet<>();
-	private final Map<TreeTableFormat, Object> totals = new HashMap<>();
-	private final Map<TreeTableFormat, Object> averages = new HashMap<>();
-	private final Map<TreeTableFormat, Total> calcTotals = new HashMap<>();
-	private final Map<TreeTableFormat, Average> calcAverages = new HashMap<>();
+	private TreeAsset[] childTree = null;
+	//Parent values: indexed by TreeTableFormat ordinal (only created for parents with items)
+	private int[] calcValues = null; //Number of items with a value
+	private double[] calcTotals = null;
+	private double[] calcAverageTotals = null;
+	private long[] calcAverageCounts = null;
 	private String treeName;
 	private HierarchyColumn hierarchyColumn;
 
 	public TreeAsset(final MyAsset asset, final TreeType treeType, final List<TreeAsset> tree, final String compare, final boolean parent) {
 		super(asset);
 		this.treeName = createSpace(tree.size()) + asset.getName();
-		this.tree = new ArrayList<>(tree); //Copy
+		this.tree = createTree(tree);
 		this.compare = compare + asset.getName() + " #" + asset.getItemID();
 		this.ownerName = asset.getOwnerName();
 		this.parent = parent;
@@ -121,7 +127,7 @@ public class TreeAsset extends MyAsset {
 	public TreeAsset(final MyLocation location, final String treeName, final String compare, final Icon icon, List<TreeAsset> tree, final int depthOffset) {
 		super(location);
 		this.treeName = createSpace(tree.size()) + treeName;
-		this.tree = new ArrayList<>(tree); //Copy
+		this.tree = createTree(tree);
 		this.compare = compare;
 		this.ownerName = "";
 		this.icon = icon;
@@ -131,6 +137,32 @@ public class TreeAsset extends MyAsset {
 		this.hierarchyColumn = new HierarchyColumn(this.treeName, this.parent);
 	}
 
+	/**
+	 * Children of the same parent share the same tree array.
+	 * @param tree parents (top to bottom)
+	 * @return shared tree array
+	 */
+	private static TreeAsset[] createTree(List<TreeAsset> tree) {
+		if (tree.isEmpty()) {
+			return ROOT;
+		}
+		TreeAsset parent = tree.get(tree.size() - 1);
+		TreeAsset[] parentTree = parent.getChildTree();
+		if (parentTree.length == tree.size() && Arrays.asList(parentTree).equals(tree)) {
+			return parentTree;
+		} else { //Should never happen
+			return tree.toArray(new TreeAsset[tree.size()]);
+		}
+	}
+
+	private synchronized TreeAsset[] getChildTree() {
+		if (childTree == null) {
+			childTree = Arrays.copyOf(tree, tree.length + 1);
+			childTree[tree.length] = this;
+		}
+		return childTree;
+	}
+
 	private String createSpace(int size) {
 		String space = "";
 		for (int i = 0; i < size; i++) {
@@ -144,7 +176,7 @@ public class TreeAsset extends MyAsset {
 	}
 
 	public int getDepth() {
-		return tree.size() + depthOffset;
+		return tree.length + depthOffset;
 	}
 
 	public HierarchyColumn getHierarchyColumn() {
@@ -156,7 +188,30 @@ public class TreeAsset extends MyAsset {
 	}
 
 	public List<TreeAsset> getTree() {
-		return tree;
+		return Collections.unmodifiableList(Arrays.asList(tree));
+	}
+
+	/**
+	 * @return the direct parent or null, if this is a root node
+	 */
+	public TreeAsset getParentTreeAsset() {
+		if (tree.length == 0) {
+			return null;
+		}
+		return tree[tree.length - 1];
+	}
+
+	/**
+	 * @param parents parent nodes
+	 * @return true, if one of the parents is a parent of this node
+	 */
+	public boolean isChildOf(Set<TreeAsset> parents) {
+		for (TreeAsset treeAsset : tree) {
+			if (parents.contains(treeAsset)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public String getTreeName() {
@@ -174,7 +229,7 @@ public class TreeAsset extends MyAsset {
 	@Override
 	public void setName(String name, boolean userNameSet, boolean eveNameSet) {
 		super.setName(name, userNameSet, eveNameSet);
-		this.treeName = createSpace(tree.size()) + name;
+		this.treeName = createSpace(tree.length) + name;
 		this.hierarchyColumn = new HierarchyColumn(this.treeName, this.parent);
 	}
 
@@ -243,116 +298,40 @@ public class TreeAsset extends MyAsset {
 	public Object getTotal(TreeTableFormat column) {
 		if (!isParent()) {
 			return getValue(column, this);
-		} else {
-			Object object = totals.get(column);
-			if (object == null) { //Create data
-				if (Percent.class.isAssignableFrom(column.getType())) {
-					Total total = calcTotals.get(column);
-					if (total == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Double t = total.getTotal();
-					if (t == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Percent percent = Percent.create(t);
-					totals.put(column, percent);
-					return percent;
-				} else if (Runs.class.isAssignableFrom(column.getType())) {
-					Total total = calcTotals.get(column);
-					if (total == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Double t = total.getTotal();
-					if (t == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Runs runs = new Runs(t.intValue());
-					totals.put(column, runs);
-					return runs;
-				} else if (Number.class.isAssignableFrom(column.getType())) {
-					Total total = calcTotals.get(column);
-					if (total == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Double t = total.getTotal();
-					if (t == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					totals.put(column, t);
-					return t;
-				} else {
-					return null;
-				}
-			} else if (object == NULL_PLACEHOLDER) {
-				return null;
-			} else {
-				return object;
-			}
 		}
+		int index = column.ordinal();
+		if (calcValues == null || calcValues[index] <= 0) {
+			return null;
+		}
+		return toColumnValue(column, calcTotals[index]);
 	}
 
 	public Object getAverage(TreeTableFormat column) {
 		if (!isParent()) {
 			return getValue(column, this);
+		}
+		int index = column.ordinal();
+		if (calcValues == null || calcValues[index] <= 0) {
+			return null;
+		}
+		double total = calcAverageTotals[index];
+		long count = calcAverageCounts[index];
+		if (total > 0 && count > 0) {
+			return toColumnValue(column, total / count);
 		} else {
-			Object object = averages.get(column);
-			if (object == null) { //Create data
-				if (Percent.class.isAssignableFrom(column.getType())) {
-					Average average = calcAverages.get(column);
-					if (average == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Double a = average.getAverage();
-					if (a == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Percent percent = Percent.create(a);
-					totals.put(column, percent);
-					return percent;
-				} else if (Runs.class.isAssignableFrom(column.getType())) {
-					Average average = calcAverages.get(column);
-					if (average == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Double a = average.getAverage();
-					if (a == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Runs runs = new Runs(a.intValue());
-					totals.put(column, runs);
-					return runs;
-				} else if (Number.class.isAssignableFrom(column.getType())) {
-					Average average = calcAverages.get(column);
-					if (average == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					Double a = average.getAverage();
-					if (a == null) {
-						totals.put(column, NULL_PLACEHOLDER);
-						return null;
-					}
-					totals.put(column, a);
-					return a;
-				} else {
-					return null; //Should never happen
-				}
-			} else if (object == NULL_PLACEHOLDER) {
-				return null;
-			} else {
-				return object;
-			}
+			return toColumnValue(column, 0.0);
+		}
+	}
+
+	private Object toColumnValue(TreeTableFormat column, double value) {
+		if (Percent.class.isAssignableFrom(column.getType())) {
+			return Percent.create(value);
+		} else if (Runs.class.isAssignableFrom(column.getType())) {
+			return new Runs((int) value);
+		} else if (Number.class.isAssignableFrom(column.getType())) {
+			return value;
+		} else {
+			return null;
 		}
 	}
 
@@ -369,102 +348,182 @@ public class TreeAsset extends MyAsset {
 		}
 	}
 
-	private void add(TreeTableFormat column, Percent percent, Number count) {
-		Average average  = calcAverages.get(column);
-		if (average == null) {
-			average = new Average();
-			calcAverages.put(column, average);
-		}
-		Total total  = calcTotals.get(column);
-		if (total == null) {
-			total = new Total();
-			calcTotals.put(column, total);
-		}
-		Double d = percent.getDouble() / 100.0;
-		average.add(d, count);
-		total.add(d);
-	}
-
-	private void add(TreeTableFormat column, Runs runs, Number count) {
-		Average average  = calcAverages.get(column);
-		if (average == null) {
-			average = new Average();
-			calcAverages.put(column, average);
-		}
-		Total total  = calcTotals.get(column);
-		if (total == null) {
-			total = new Total();
-			calcTotals.put(column, total);
-		}
-		Long l = runs.getLong();
-		average.add(l, count);
-		total.add(l);
-	}
-
-	private void add(TreeTableFormat column, Number value, Number count) {
-		Average average  = calcAverages.get(column);
-		if (average == null) {
-			average = new Average();
-			calcAverages.put(column, average);
-		}
-		Total total  = calcTotals.get(column);
-		if (total == null) {
-			total = new Total();
-			calcTotals.put(column, total);
+	private void createValues() {
+		if (calcValues == null) {
+			calcValues = new int[FORMATS.length];
+			calcTotals = new double[FORMATS.length];
+			calcAverageTotals = new double[FORMATS.length];
+			calcAverageCounts = new long[FORMATS.length];
 		}
-		average.add(value, count);
-		total.add(value);
 	}
 
-	public Set<TreeAsset> getItems() {
-		return items;
-	}
-
-	public void resetValues() {
-		items.clear();
-		totals.clear();
-		averages.clear();
-		calcAverages.clear();
-		calcTotals.clear();
-	}
-
-	public void updateParents() {
-		Object objCount = getValue(TreeTableFormat.COUNT, this);
+	/**
+	 * Get the values of an item.
+	 * @param treeAsset item
+	 * @return values indexed by TreeTableFormat ordinal (NaN if null) or null if the item has no count
+	 */
+	private static double[] getItemValues(TreeAsset treeAsset) {
+		Object objCount = treeAsset.getValue(TreeTableFormat.COUNT, treeAsset);
 		//Ignore null
 		if (objCount == null || !(objCount instanceof Number)) {
-			return;
+			return null;
 		}
-		Number count = (Number) objCount;
-		for (TreeTableFormat column : TreeTableFormat.values()) {
+		double[] values = new double[FORMATS.length + 1];
+		values[FORMATS.length] = ((Number) objCount).longValue(); //Count
+		for (TreeTableFormat column : FORMATS) {
+			int index = column.ordinal();
+			values[index] = Double.NaN;
 			if (!Percent.class.isAssignableFrom(column.getType())
 				&& !Runs.class.isAssignableFrom(column.getType())	
 				&& !Number.class.isAssignableFrom(column.getType())
 				) {
 				continue;
 			}
-			Object objValue = getValue(column, this);
+			Object objValue = treeAsset.getValue(column, treeAsset);
 			//Ignore null
 			if (objValue == null) {
 				continue;
 			}
 			if (objValue instanceof Percent) {
-				for (TreeAsset treeAsset : tree) {
-					treeAsset.add(column, (Percent) objValue, count);
-				}
+				values[index] = ((Percent) objValue).getDouble() / 100.0;
 			} else if (objValue instanceof Runs) {
-				for (TreeAsset treeAsset : tree) {
-					treeAsset.add(column, (Runs) objValue, count);
-				}
+				values[index] = ((Runs) objValue).getLong();
 			} else if (Number.class.isAssignableFrom(objValue.getClass())) {
-				for (TreeAsset treeAsset : tree) {
-					treeAsset.add(column, (Number) objValue, count);
-				}
+				values[index] = ((Number) objValue).doubleValue();
 			}
-			
+		}
+		return values;
+	}
+
+	/**
+	 * Add (or subtract) the values of an item.
+	 * @param values item values (see getItemValues())
+	 * @param sign 1 to add, -1 to subtract
+	 */
+	private void addValues(double[] values, int sign) {
+		createValues();
+		long count = (long) values[FORMATS.length];
+		for (int index = 0; index < FORMATS.length; index++) {
+			double value = values[index];
+			if (Double.isNaN(value)) {
+				continue;
+			}
+			calcValues[index] += sign;
+			if (calcValues[index] <= 0) { //No values left: avoid rounding errors
+				calcValues[index] = 0;
+				calcTotals[index] = 0;
+				calcAverageTotals[index] = 0;
+				calcAverageCounts[index] = 0;
+			} else {
+				calcTotals[index] += sign * value;
+				calcAverageTotals[index] += sign * value * count;
+				calcAverageCounts[index] += sign * count;
+			}
+		}
+	}
+
+	/**
+	 * Add the values of a child parent.
+	 * @param treeAsset child parent
+	 */
+	private void addParent(TreeAsset treeAsset) {
+		if (treeAsset.calcValues == null) {
+			return;
+		}
+		createValues();
+		for (int index = 0; index < FORMATS.length; index++) {
+			if (treeAsset.calcValues[index] <= 0) {
+				continue;
+			}
+			calcValues[index] += treeAsset.calcValues[index];
+			calcTotals[index] += treeAsset.calcTotals[index];
+			calcAverageTotals[index] += treeAsset.calcAverageTotals[index];
+			calcAverageCounts[index] += treeAsset.calcAverageCounts[index];
+		}
+	}
+
+	public void resetValues() {
+		calcValues = null;
+		calcTotals = null;
+		calcAverageTotals = null;
+		calcAverageCounts = null;
+	}
+
+	/**
+	 * Update the parent totals of the items.
+	 * Each item is added to its direct parent, then the parents are added to their parents (deepest first).
+	 * The parents must be reset first (see resetValues()).
+	 * @param treeAssets items
+	 */
+	public static void updateParents(Collection<TreeAsset> treeAssets) {
+		SWEEPS.incrementAndGet();
+		List<Set<TreeAsset>> depths = new ArrayList<>();
+		for (TreeAsset treeAsset : treeAssets) {
+			if (!treeAsset.isItem()) {
+				continue;
+			}
+			TreeAsset parent = treeAsset.getParentTreeAsset();
+			if (parent == null) {
+				continue;
+			}
+			double[] values = getItemValues(treeAsset);
+			if (values != null) {
+				parent.addValues(values, 1);
+				addDepth(depths, parent);
+			}
+		}
+		for (int depth = depths.size() - 1; depth > 0; depth--) {
+			for (TreeAsset treeAsset : depths.get(depth)) {
+				TreeAsset parent = treeAsset.getParentTreeAsset();
+				parent.addParent(treeAsset);
+				addDepth(depths, parent);
+			}
+		}
+	}
+
+	/**
+	 * Update the parent totals with the items added to and removed from the filtered items.
+	 * The parent totals must be up to date for the items before the change.
+	 * @param added items added
+	 * @param removed items removed
+	 */
+	public static void updateParents(Collection<TreeAsset> added, Collection<TreeAsset> removed) {
+		for (TreeAsset treeAsset : removed) {
+			treeAsset.updateParents(-1);
+		}
+		for (TreeAsset treeAsset : added) {
+			treeAsset.updateParents(1);
+		}
+	}
+
+	/**
+	 * Number of full updates (see updateParents(Collection)).
+	 * Used to detect if the parent totals has been changed by someone else.
+	 * @return number of full updates
+	 */
+	public static long getSweeps() {
+		return SWEEPS.get();
+	}
+
+	private void updateParents(int sign) {
+		if (!isItem() || tree.length == 0) {
+			return;
+		}
+		double[] values = getItemValues(this);
+		if (values == null) {
+			return;
 		}
 		for (TreeAsset treeAsset : tree) {
-			treeAsset.items.add(this);
+			treeAsset.addValues(values, sign);
+		}
+	}
+
+	private static void addDepth(List<Set<TreeAsset>> depths, TreeAsset treeAsset) {
+		int depth = treeAsset.tree.length;
+		while (depths.size() <= depth) {
+			depths.add(Collections.newSetFromMap(new IdentityHashMap<TreeAsset, Boolean>()));
 		}
+		depths.get(depth).add(treeAsset);
 	}
 
 	@Override
@@ -495,49 +554,4 @@ public class TreeAsset extends MyAsset {
 		final TreeAsset other = (TreeAsset) obj;
 		return !((this.compare == null) ? (other.compare != null) : !this.compare.equals(other.compare));
 	}
-
-	private static class Total {
-		private Double total = null;
-
-		public void add(Number value) {
-			if (value != null) {
-				if (total == null) {
-					total = 0.0;
-				}
-				this.total = this.total + value.doubleValue();
-			}
-		}
-
-		public Double getTotal() {
-			return total;
-		}
-	}
-
-	private static class Average {
-		private Double total = null;
-		private Long count = null;
-
-		public void add(Number value, Number count) {
-			if (value != null && count != null) {
-				if (total == null) {
-					total = 0.0;
-				}
-				if (this.count == null) {
-					this.count = 0L;
-				}
-				this.count = this.count + count.longValue();
-				this.total = this.total + (value.doubleValue() * count.longValue());
-			}
-		}
-
-		public Double getAverage() {
-			if (total == null || count == null) {
-				return null;
-			} else if (total > 0 && count > 0) {
-				return total / count;
-			} else {
-				return 0.0;
-			}
-		}
-	}
 }
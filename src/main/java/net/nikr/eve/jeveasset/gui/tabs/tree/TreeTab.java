@@ -26,6 +26,8 @@ import ca.odell.glazedlists.FilterList;
 import ca.odell.glazedlists.ListSelection;
 import ca.odell.glazedlists.SortedList;
 import ca.odell.glazedlists.TreeList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.swing.DefaultEventSelectionModel;
 import ca.odell.glazedlists.swing.DefaultEventTableModel;
 import ca.odell.glazedlists.swing.TableComparatorChooser;
@@ -85,6 +87,7 @@ import net.nikr.eve.jeveasset.gui.shared.table.EnumTableFormatAdaptor;
 import net.nikr.eve.jeveasset.gui.shared.table.EventListManager;
 import net.nikr.eve.jeveasset.gui.shared.table.EventModels;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.HierarchyColumn;
+import net.nikr.eve.jeveasset.gui.tabs.overview.OverviewTab;
 import net.nikr.eve.jeveasset.gui.tabs.tree.TreeAsset.TreeType;
 import net.nikr.eve.jeveasset.gui.tabs.tree.TreeTab.AssetTreeExpansionModel.ExpandedState;
 import net.nikr.eve.jeveasset.i18n.General;
@@ -129,6 +132,12 @@ public class TreeTab extends JMainTabSecondary implements TagUpdate {
 	private final Set<TreeAsset> locations = new TreeSet<>(new AssetTreeComparator());
 	private final Set<TreeAsset> categoriesExport = new TreeSet<>(new AssetTreeComparator());
 	private final Set<TreeAsset> categories = new TreeSet<>(new AssetTreeComparator());
+	//Totals (filter changes since last update)
+	private final List<TreeAsset> totalsAdded = new ArrayList<>();
+	private final List<TreeAsset> totalsRemoved = new ArrayList<>();
+	private boolean totalsFull = true;
+	private boolean totalsCategories = false;
+	private long totalsSweeps = -1;
 
 	public static final String NAME = "treeassets"; //Not to be changed!
 
@@ -201,6 +210,7 @@ public class TreeTab extends JMainTabSecondary implements TagUpdate {
 		eventList.getReadWriteLock().readLock().lock();
 		filterList = new FilterList<>(eventList);
 		eventList.getReadWriteLock().readLock().unlock();
+		filterList.addListEventListener(new TotalsListener());
 		//Sorting
 		eventList.getReadWriteLock().readLock().lock();
 		sortedList = new SortedList<>(filterList);
@@ -464,6 +474,7 @@ public class TreeTab extends JMainTabSecondary implements TagUpdate {
 	public void updateTableFull() {
 		beforeUpdateData();
 		updateTable(true);
+		totalsFull = true;
 		updateTotals();
 		updateStatusbar();
 		afterUpdateData();
@@ -509,8 +520,20 @@ public class TreeTab extends JMainTabSecondary implements TagUpdate {
 	}
 
 	private void updateTotals() {
+		boolean categories = jCategories.isSelected();
+		if (!totalsFull && totalsCategories == categories && totalsSweeps == TreeAsset.getSweeps()) {
+			//Update
+			TreeAsset.updateParents(totalsAdded, totalsRemoved);
+			totalsAdded.clear();
+			totalsRemoved.clear();
+			return;
+		}
+		totalsAdded.clear();
+		totalsRemoved.clear();
+		totalsFull = false;
+		totalsCategories = categories;
 		//Reset
-		if (jCategories.isSelected()) {
+		if (categories) {
 			for (TreeAsset treeAsset : categoriesExport) {
 				treeAsset.resetValues();
 			}
@@ -522,14 +545,11 @@ public class TreeTab extends JMainTabSecondary implements TagUpdate {
 		//Calculate
 		try {
 			filterList.getReadWriteLock().readLock().lock();
-			for (TreeAsset treeAsset : filterList) {
-				if (treeAsset.isItem()) {
-					treeAsset.updateParents();
-				}
-			}
+			TreeAsset.updateParents(filterList);
 		} finally {
 			filterList.getReadWriteLock().readLock().unlock();
 		}
+		totalsSweeps = TreeAsset.getSweeps();
 	}
 
 	private void updateStatusbar() {
@@ -575,13 +595,56 @@ public class TreeTab extends JMainTabSecondary implements TagUpdate {
 
 		@Override
 		public void addInfoMenu(JComponent jComponent) {
-			JMenuInfo.treeAsset(jComponent, selectionModel.getSelected());
+			List<TreeAsset> treeAssets;
+			try {
+				filterList.getReadWriteLock().readLock().lock();
+				treeAssets = new ArrayList<>(filterList);
+			} finally {
+				filterList.getReadWriteLock().readLock().unlock();
+			}
+			JMenuInfo.treeAsset(jComponent, selectionModel.getSelected(), treeAssets);
 		}
 
 		@Override
 		public void addToolMenu(JComponent jComponent) { }
 	}
 
+	/**
+	 * Collect the items added to and removed from the filtered list.
+	 * Falls back to a full update, if the change is too big or unknown.
+	 */
+	private class TotalsListener implements ListEventListener<TreeAsset> {
+		@Override @SuppressWarnings("deprecation")
+		public void listChanged(ListEvent<TreeAsset> listChanges) {
+			if (totalsFull) {
+				return;
+			}
+			while (listChanges.next()) {
+				switch (listChanges.getType()) {
+					case ListEvent.INSERT:
+						totalsAdded.add(listChanges.getSourceList().get(listChanges.getIndex()));
+						break;
+					case ListEvent.DELETE:
+						Object oldValue = listChanges.getOldValue();
+						if (oldValue instanceof TreeAsset) {
+							totalsRemoved.add((TreeAsset) oldValue);
+						} else { //Unknown
+							totalsFull = true;
+						}
+						break;
+					case ListEvent.UPDATE: //Values may have changed
+						totalsFull = true;
+						break;
+				}
+			}
+			if (totalsFull || totalsAdded.size() + totalsRemoved.size() > filterList.size()) {
+				totalsFull = true;
+				totalsAdded.clear();
+				totalsRemoved.clear();
+			}
+		}
+	}
+
 	private class ListenerClass implements ActionListener, MouseListener {
 		private final int WIDTH = UIManager.getIcon("Tree.expandedIcon").getIconWidth();
 		
@@ -861,7 +924,7 @@ public class TreeTab extends JMainTabSecondary implements TagUpdate {
 
 		@Override
 		protected void updateFilters() {
-			if (program != null && program.getOverviewTab() != null) {
+			if (program != null && program.isTabCreated(OverviewTab.NAME)) {
 				program.getOverviewTab().updateFilters();
 			}
 		}
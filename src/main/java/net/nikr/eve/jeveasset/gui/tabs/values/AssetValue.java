@@ -58,6 +58,7 @@ public class AssetValue implements Comparable<AssetValue> {
 		} finally {
 			TrackerData.writeUnlock();
 		}
+		TrackerData.edited();
 		TrackerData.save("Asset values updated", true);
 	}
 
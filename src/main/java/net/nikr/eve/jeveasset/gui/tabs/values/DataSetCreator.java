@@ -59,6 +59,7 @@ public class DataSetCreator {
 	}
 
 	public static void purgeInvalidTrackerAssetValues() {
+		boolean edited = false;
 		try {
 			Calendar calendar = Calendar.getInstance();
 			calendar.set(2019, 1, 1);
@@ -75,6 +76,7 @@ public class DataSetCreator {
 								)) {
 							value.getAssetsFilter().remove(assetValue);
 							Settings.get().getTrackerSettings().getFilters().remove(assetValue.getID());
+							edited = true;
 						}
 					}
 				}
@@ -82,6 +84,9 @@ public class DataSetCreator {
 		} finally {
 			TrackerData.writeUnlock();
 		}
+		if (edited) { //Values edited in place: rewrite on next save
+			TrackerData.edited();
+		}
 	}
 
 	private static DataSetCreator getCreator() {
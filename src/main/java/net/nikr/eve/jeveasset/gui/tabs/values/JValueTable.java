@@ -28,6 +28,7 @@ import javax.swing.table.TableCellRenderer;
 import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.settings.ColorEntry;
 import net.nikr.eve.jeveasset.data.settings.ColorSettings;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.JAutoColumnTable;
 import net.nikr.eve.jeveasset.i18n.TabsValues;
 
@@ -46,7 +47,7 @@ public class JValueTable  extends JAutoColumnTable {
 		Component component = super.prepareRenderer(renderer, row, column);
 		boolean isSelected = isCellSelected(row, column);
 		Value value = tableModel.getElementAt(row);
-		String columnName = (String) this.getTableHeader().getColumnModel().getColumn(column).getHeaderValue();
+		EnumTableColumn<?> columnType = getColumnType(column);
 		Object object = getValueAt(row, column);
 		boolean string;
 		if (object instanceof String) {
@@ -61,22 +62,22 @@ public class JValueTable  extends JAutoColumnTable {
 			return component;
 		}
 		//Best Asset: none
-		if (string && TabsValues.get().none().equals(value.getBestAssetName()) && columnName.equals(ValueTableFormat.BEST_ASSET_NAME.getColumnName())) {
+		if (string && TabsValues.get().none().equals(value.getBestAssetName()) && columnType == ValueTableFormat.BEST_ASSET_NAME) {
 			Font font = component.getFont();
 			component.setFont(new Font(font.getName(), Font.ITALIC, font.getSize()));
 		}
 		//Best Module: none
-		if (string && TabsValues.get().none().equals(value.getBestModuleName()) && columnName.equals(ValueTableFormat.BEST_MODULE_NAME.getColumnName())) {
+		if (string && TabsValues.get().none().equals(value.getBestModuleName()) && columnType == ValueTableFormat.BEST_MODULE_NAME) {
 			Font font = component.getFont();
 			component.setFont(new Font(font.getName(), Font.ITALIC, font.getSize()));
 		}
 		//Best Ship (Fitted): none
-		if (string && TabsValues.get().none().equals(value.getBestShipFittedName()) && columnName.equals(ValueTableFormat.BEST_SHIP_FITTED_NAME.getColumnName())) {
+		if (string && TabsValues.get().none().equals(value.getBestShipFittedName()) && columnType == ValueTableFormat.BEST_SHIP_FITTED_NAME) {
 			Font font = component.getFont();
 			component.setFont(new Font(font.getName(), Font.ITALIC, font.getSize()));
 		}
 		//Best Ship: none
-		if (string && TabsValues.get().none().equals(value.getBestShipName()) && columnName.equals(ValueTableFormat.BEST_SHIP_NAME.getColumnName())) {
+		if (string && TabsValues.get().none().equals(value.getBestShipName()) && columnType == ValueTableFormat.BEST_SHIP_NAME) {
 			Font font = component.getFont();
 			component.setFont(new Font(font.getName(), Font.ITALIC, font.getSize()));
 		}
@@ -70,6 +70,9 @@ public abstract class DialoguesExport extends Bundle {
 	public abstract String selectOne();
 	public abstract String semicolon();
 	public abstract String sql();
+	public abstract String sqlite();
+	public abstract String sqliteAppend();
+	public abstract String sqliteIndexes();
 	public abstract String tableName();
 	public abstract String viewCurrent();
 	public abstract String viewSaved();
@@ -52,6 +52,7 @@ public abstract class GuiShared extends Bundle {
 	public abstract String copy();
 	public abstract String copyEveMultiBuy();
 	public abstract String copyPlus();
+	public abstract String copying();
 	public abstract String custom();
 	public abstract String cut();
 	public abstract String delete();
@@ -73,6 +74,8 @@ public abstract class GuiShared extends Bundle {
 	public abstract String evepraisal();
 	public abstract String foreground();
 	public abstract String formulaColumns();
+	public abstract String formulaExact();
+	public abstract String formulaExactToolTip();
 	public abstract String formulaFunctions();
 	public abstract String formulaMenu();
 	public abstract String formulaName();
@@ -61,11 +61,17 @@ public abstract class TabsRouting extends Bundle {
 	public abstract String filteredAssets();
 	public abstract String filters();
 	public abstract String filtersTab();
+	public abstract String heldKarpBasic();
+	public abstract String heldKarpName();
+	public abstract String heldKarpTechnical();
 	public abstract String importOptionsAll(int count);
 	public abstract String importOptionsOverwriteHelp();
 	public abstract String importOptionsRenameHelp();
 	public abstract String importOptionsSkipHelp();
 	public abstract String importOptionsTitle();
+	public abstract String localSearchBasic();
+	public abstract String localSearchName();
+	public abstract String localSearchTechnical();
 	public abstract String manageFiltersTitle();
 	public abstract String noSystems();
 	public abstract String noSystemsTitle();
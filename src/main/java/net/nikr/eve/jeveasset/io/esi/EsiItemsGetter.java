@@ -20,9 +20,21 @@
  */
 package net.nikr.eve.jeveasset.io.esi;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import net.nikr.eve.jeveasset.data.sde.Item;
 import net.nikr.eve.jeveasset.data.settings.Settings;
+import net.nikr.eve.jeveasset.io.shared.ThreadWoker;
 import static net.nikr.eve.jeveasset.io.esi.AbstractEsiGetter.DATASOURCE;
 import static net.nikr.eve.jeveasset.io.esi.AbstractEsiGetter.getMarketApiOpen;
 import net.troja.eve.esi.ApiException;
@@ -40,16 +52,55 @@ public class EsiItemsGetter extends AbstractEsiGetter {
 	public final static String ESI_ITEM_VERSION = "1.0.0";
 	public final static String ESI_ITEM_EMPTY = "EMPTY";
 
-	private final int typeID;
-	private Item item = null;
+	private final Set<Integer> typeIDs;
+	private final Map<Integer, Item> items = Collections.synchronizedMap(new HashMap<>());
 
 	public EsiItemsGetter(int typeID) {
+		this(Collections.singleton(typeID));
+	}
+
+	public EsiItemsGetter(Collection<Integer> typeIDs) {
 		super(null, null, true, Settings.getNow(), TaskType.ITEM_TYPES);
-		this.typeID = typeID;
+		this.typeIDs = new HashSet<>(typeIDs);
 	}
 
 	@Override
 	protected void update() throws ApiException {
+		if (typeIDs.size() == 1) {
+			int typeID = typeIDs.iterator().next();
+			items.put(typeID, updateItem(typeID));
+			return;
+		}
+		//Resolve all types concurrently (one failed type should not fail the rest)
+		List<Callable<Item>> updaters = new ArrayList<>();
+		for (Integer typeID : typeIDs) {
+			updaters.add(new Callable<Item>() {
+				@Override
+				public Item call() throws Exception {
+					try {
+						Item item = updateItem(typeID);
+						items.put(typeID, item);
+						return item;
+					} catch (ApiException ex) {
+						addError(ex.getCode(), "Error Code: " + ex.getCode() + "\r\n" + ex.getResponseBody(), ex);
+						return null;
+					}
+				}
+			});
+		}
+		try {
+			List<Future<Item>> futures = startSubThreads(updaters);
+			for (Future<Item> future : futures) {
+				future.get(); //Get errors (if any)
+			}
+		} catch (InterruptedException ex) {
+			throw new RuntimeException(ex);
+		} catch (ExecutionException ex) {
+			ThreadWoker.throwExecutionException(ApiException.class, ex);
+		}
+	}
+
+	private Item updateItem(final int typeID) throws ApiException {
 		//Types
 		TypeResponse typeResponse = update(DEFAULT_RETRIES, new EsiHandler<TypeResponse>() {
 			@Override
@@ -154,8 +205,7 @@ public class EsiItemsGetter extends AbstractEsiGetter {
 		int portion = typeResponse.getPortionSize();
 		int productTypeID = 0; //Product
 		int productQuantity = 1; //Product Quantity
-		item = new Item(typeID, name, group, category, price, volume, packagedVolume, capacity, meta, tech, marketGroup, portion, productTypeID, productQuantity, ESI_ITEM_VERSION);
-		
+		return new Item(typeID, name, group, category, price, volume, packagedVolume, capacity, meta, tech, marketGroup, portion, productTypeID, productQuantity, ESI_ITEM_VERSION);
 	}
 
 	private float getNotNull(Float f) {
@@ -167,7 +217,19 @@ public class EsiItemsGetter extends AbstractEsiGetter {
 	}
 
 	public Item getItem() {
-		return item;
+		if (typeIDs.size() == 1) {
+			return items.get(typeIDs.iterator().next());
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Resolved items. Types that failed to resolve are not included.
+	 * @return TypeID : Item
+	 */
+	public Map<Integer, Item> getItems() {
+		return items;
 	}
 
 
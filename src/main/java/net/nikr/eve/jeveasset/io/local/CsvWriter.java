@@ -21,42 +21,128 @@
 
 package net.nikr.eve.jeveasset.io.local;
 
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
-import java.util.Map;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.supercsv.io.CsvMapWriter;
-import org.supercsv.io.ICsvMapWriter;
-import org.supercsv.prefs.CsvPreference;
 
 
 public final class CsvWriter {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CsvWriter.class);
+	private static final int BUFFER_SIZE = 64 * 1024;
 
-	private CsvWriter() { }
+	private final StringBuilder line = new StringBuilder(BUFFER_SIZE * 2);
+	private final char[] chars = new char[BUFFER_SIZE * 2];
+	private final StringBuilder cell = new StringBuilder();
+	private final char fieldDelimiter;
+	private final String lineDelimiter;
 
-	public static boolean save(final String filename, final List<Map<String, String>> data, final String[] header, final String[] headerKeys, final CsvPreference csvPreference) {
-		CsvWriter writer = new CsvWriter();
-		return writer.write(filename, data, header, headerKeys, csvPreference);
+	private CsvWriter(final char fieldDelimiter, final String lineDelimiter) {
+		this.fieldDelimiter = fieldDelimiter;
+		this.lineDelimiter = lineDelimiter;
 	}
 
-	private boolean write(final String filename, final List<Map<String, String>> data, final String[] header, final String[] headerKeys, final CsvPreference csvPreference) {
-		ICsvMapWriter writer;
-		try {
-			writer = new CsvMapWriter(new FileWriter(filename), csvPreference);
-			writer.writeHeader(header);
-			for (Map<String, String> map : data) {
-				writer.write(map, headerKeys);
+	public static <E> boolean save(final String filename, final ExportRows<E> rows, final char fieldDelimiter, final String lineDelimiter) {
+		CsvWriter writer = new CsvWriter(fieldDelimiter, lineDelimiter);
+		return writer.write(filename, rows);
+	}
+
+	private <E> boolean write(final String filename, final ExportRows<E> rows) {
+		List<EnumTableColumn<E>> columns = rows.getColumns();
+		boolean cancelled = false;
+		try (Writer writer = new FileWriter(filename)) {
+			//Header
+			boolean first = true;
+			for (EnumTableColumn<E> column : columns) {
+				cell.setLength(0);
+				cell.append(column.getColumnName());
+				appendCell(first);
+				first = false;
+			}
+			writeLine(writer);
+			//Rows
+			int count = 0;
+			for (E item : rows.getItems()) {
+				if (rows.isCancelled()) {
+					cancelled = true;
+					break;
+				}
+				first = true;
+				for (EnumTableColumn<E> column : columns) {
+					cell.setLength(0);
+					rows.appendText(cell, item, column);
+					appendCell(first);
+					first = false;
+				}
+				writeLine(writer);
+				count++;
+				rows.setProgress(count);
 			}
-			writer.close();
+			flush(writer);
 		} catch (IOException ex) {
 			LOG.warn("CSV file not saved");
 			return false;
 		}
+		if (cancelled) {
+			new File(filename).delete();
+			LOG.info("CSV file cancelled");
+			return false;
+		}
 		LOG.info("CSV file saved");
 		return true;
 	}
+
+	/**
+	 * Append the cell to the line (quoted if needed).
+	 * @param first true if this is the first cell of the line
+	 */
+	private void appendCell(final boolean first) {
+		if (!first) {
+			line.append(fieldDelimiter);
+		}
+		boolean quote = false;
+		for (int i = 0; i < cell.length(); i++) {
+			char c = cell.charAt(i);
+			if (c == fieldDelimiter || c == '"' || c == '\r' || c == '\n') {
+				quote = true;
+				break;
+			}
+		}
+		if (!quote) {
+			line.append(cell);
+			return;
+		}
+		line.append('"');
+		for (int i = 0; i < cell.length(); i++) {
+			char c = cell.charAt(i);
+			if (c == '"') {
+				line.append('"'); //Escape quote
+			}
+			line.append(c);
+		}
+		line.append('"');
+	}
+
+	/**
+	 * End the line and flush the buffer to the writer, when it's full.
+	 */
+	private void writeLine(final Writer writer) throws IOException {
+		line.append(lineDelimiter);
+		if (line.length() >= BUFFER_SIZE) {
+			flush(writer);
+		}
+	}
+
+	private void flush(final Writer writer) throws IOException {
+		int length = line.length();
+		char[] buffer = length <= chars.length ? chars : new char[length]; //A single very long line
+		line.getChars(0, length, buffer, 0);
+		writer.write(buffer, 0, length);
+		line.setLength(0);
+	}
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.io.local;
+
+import java.util.List;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
+
+/**
+ * Rows to export.
+ * <p>
+ * The writers pull the rows one at the time and format the cells while writing,
+ * so nothing is created for all rows up front.
+ * @param <E> row type
+ */
+public interface ExportRows<E> {
+
+	/**
+	 * @return rows to export (a snapshot, safe to read outside the EDT)
+	 */
+	public List<E> getItems();
+
+	/**
+	 * @return columns to export (in order)
+	 */
+	public List<EnumTableColumn<E>> getColumns();
+
+	/**
+	 * @param item row
+	 * @param column column
+	 * @return value (not formatted)
+	 */
+	public Object getValue(E item, EnumTableColumn<E> column);
+
+	/**
+	 * Append the formatted value.
+	 * @param builder buffer to append to
+	 * @param item row
+	 * @param column column
+	 */
+	public void appendText(StringBuilder builder, E item, EnumTableColumn<E> column);
+
+	/**
+	 * @param rows number of rows written
+	 */
+	public void setProgress(int rows);
+
+	/**
+	 * @return true to stop writing (the partial file is deleted)
+	 */
+	public boolean isCancelled();
+}
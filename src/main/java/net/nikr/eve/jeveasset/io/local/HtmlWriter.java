@@ -22,10 +22,10 @@
 package net.nikr.eve.jeveasset.io.local;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.data.api.my.MyAsset;
@@ -45,34 +45,39 @@ import org.slf4j.LoggerFactory;
 public final class HtmlWriter {
 
 	private static final Logger LOG = LoggerFactory.getLogger(HtmlWriter.class);
+	private static final int BUFFER_SIZE = 64 * 1024;
 
 	private HtmlWriter() { }
 
-	public static boolean save(final String filename, final List<Map<EnumTableColumn<?>, String>> data, final List<EnumTableColumn<?>> header, final List<Object> items, final boolean htmlStyled, final int htmlRepeatHeader, final boolean treetable) {
+	public static <E> boolean save(final String filename, final ExportRows<E> rows, final boolean igb, final boolean htmlStyled, final int htmlRepeatHeader, final boolean treetable) {
 		HtmlWriter writer = new HtmlWriter();
-		return writer.write(filename, data, header, items, htmlStyled, htmlRepeatHeader, treetable);
+		return writer.write(filename, rows, igb, htmlStyled, htmlRepeatHeader, treetable);
 	}
 
-	private boolean write(final String filename, final List<Map<EnumTableColumn<?>, String>> data, final List<EnumTableColumn<?>> header, final List<Object> items, final boolean htmlStyled, final int htmlRepeatHeader, final boolean treetable) {
-		try {
-			BufferedWriter writer = new BufferedWriter(new FileWriter(filename));
+	private <E> boolean write(final String filename, final ExportRows<E> rows, final boolean igb, final boolean htmlStyled, final int htmlRepeatHeader, final boolean treetable) {
+		boolean completed;
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename), BUFFER_SIZE)) {
 			if (htmlStyled) {
 				writeHeader(writer);
 			} else {
 				writeComment(writer);
 			}
 			writer.write("<table>\r\n");
-			writeTableHeader(writer, header, items != null);
-			writeTableRows(writer, data, header, items, htmlStyled, htmlRepeatHeader, treetable);
+			writeTableHeader(writer, rows.getColumns(), igb);
+			completed = writeTableRows(writer, rows, igb, htmlStyled, htmlRepeatHeader, treetable);
 			writer.write("</table>\r\n");
 			if (htmlStyled) {
 				writeFooter(writer);
 			}
-			writer.close();
 		} catch (IOException ex) {
 			LOG.warn("Html file not saved");
 			return false;
 		}
+		if (!completed) {
+			new File(filename).delete();
+			LOG.info("Html file cancelled");
+			return false;
+		}
 		LOG.info("Html file saved");
 		return true;
 	}
@@ -149,9 +154,9 @@ public final class HtmlWriter {
 		writer.write("<!-- " + Program.PROGRAM_HOMEPAGE + " -->\r\n");
 	}
 
-	private void writeTableHeader(final BufferedWriter writer, List<EnumTableColumn<?>> header, boolean igb) throws IOException {
+	private <E> void writeTableHeader(final BufferedWriter writer, List<EnumTableColumn<E>> header, boolean igb) throws IOException {
 		writer.write("<tr>\r\n");
-		for (EnumTableColumn<?> column : header) {
+		for (EnumTableColumn<E> column : header) {
 			writer.write("\t<th>");
 			writer.write(column.getColumnName());
 			writer.write("</th>\r\n");
@@ -164,28 +169,43 @@ public final class HtmlWriter {
 		writer.write("</tr>\r\n");
 	}
 
-	private void writeTableRows(final BufferedWriter writer, final List<Map<EnumTableColumn<?>, String>> data, final List<EnumTableColumn<?>> header, final List<Object> items, final boolean htmlStyled, final int htmlRepeatHeader, final boolean treetable) throws IOException {
+	/**
+	 * Write the rows.
+	 * @return false if cancelled
+	 */
+	private <E> boolean writeTableRows(final BufferedWriter writer, final ExportRows<E> rows, final boolean igb, final boolean htmlStyled, final int htmlRepeatHeader, final boolean treetable) throws IOException {
+		final List<EnumTableColumn<E>> header = rows.getColumns();
+		final String[] cells = new String[header.size()]; //Reused for all rows
+		final StringBuilder builder = new StringBuilder();
 		boolean even = false;
 		boolean wait = true;
 		int count = 0;
 		int index = 0;
-		for (Map<EnumTableColumn<?>, String> map : data) {
+		for (E row : rows.getItems()) {
+			if (rows.isCancelled()) {
+				return false;
+			}
+			for (int i = 0; i < cells.length; i++) {
+				builder.setLength(0);
+				rows.appendText(builder, row, header.get(i));
+				cells[i] = builder.toString();
+			}
 			boolean level0 = false;
 			boolean level1 = false;
 			boolean level2 = false;
 			boolean level3 = false;
 			if (treetable && htmlStyled) {
-				for (EnumTableColumn<?> column : header) {
-					if (HierarchyColumn.class.isAssignableFrom(column.getType())) {
-						if (map.get(column).contains(TreeAsset.SPACE + TreeAsset.SPACE + TreeAsset.SPACE + "+") && treetable) { //Level 2
+				for (int i = 0; i < cells.length; i++) {
+					if (HierarchyColumn.class.isAssignableFrom(header.get(i).getType())) {
+						if (cells[i].contains(TreeAsset.SPACE + TreeAsset.SPACE + TreeAsset.SPACE + "+") && treetable) { //Level 2
 							level3 = true;
-						} else if (map.get(column).startsWith(TreeAsset.SPACE + TreeAsset.SPACE + "+") && treetable) { //Level 2
+						} else if (cells[i].startsWith(TreeAsset.SPACE + TreeAsset.SPACE + "+") && treetable) { //Level 2
 							level2 = true;
 							break;
-						} else if (map.get(column).startsWith(TreeAsset.SPACE + "+") && treetable) { //Level 1
+						} else if (cells[i].startsWith(TreeAsset.SPACE + "+") && treetable) { //Level 1
 							level1 = true;
 							break;
-						} else if (map.get(column).startsWith("+") && treetable) { //Level 0
+						} else if (cells[i].startsWith("+") && treetable) { //Level 0
 							level0 = true;
 							break;
 						}
@@ -194,12 +214,12 @@ public final class HtmlWriter {
 			}
 			if (level0 || level1 || level2 || level3) { //Parent
 				if (!wait) {
-					writeTableHeader(writer, header, items != null);
+					writeTableHeader(writer, header, igb);
 					wait = true;
 					count = 0;
 				}
 			} else if (htmlRepeatHeader != 0 && htmlRepeatHeader == count && !wait) { //Repeat
-				writeTableHeader(writer, header, items != null);
+				writeTableHeader(writer, header, igb);
 				count = 0;
 			} else { //item row
 				wait = false;
@@ -217,19 +237,20 @@ public final class HtmlWriter {
 			} else {
 				writer.write("\t<tr>");
 			}
-			for (EnumTableColumn<?> column : header) {
+			for (int i = 0; i < cells.length; i++) {
+				EnumTableColumn<E> column = header.get(i);
 				if ((Number.class.isAssignableFrom(column.getType())
 				 || NumberValue.class.isAssignableFrom(column.getType()))) {
 					writer.write("\t<td class=\"number\">");
 				} else {
 					writer.write("\t<td>");
 				}
-				writer.write(map.get(column).replace(" ", "&nbsp;").replace("+", "").replace("_", " ")); //.replace("-", "&#8209;")
+				writeCell(writer, cells[i]);
 				writer.write("</td>\r\n");
 			}
-			if (items != null) {
+			if (igb) {
 				writer.write("\t<td>\r\n");
-				Object object = items.get(index);
+				Object object = row;
 				if (object instanceof LocationType) {
 					LocationType locationType = (LocationType) object;
 					MyLocation location = locationType.getLocation();
@@ -299,6 +320,29 @@ public final class HtmlWriter {
 				count++;
 			}
 			index++;
+			rows.setProgress(index);
+		}
+		return true;
+	}
+
+	/**
+	 * Same as: text.replace(" ", "&nbsp;").replace("+", "").replace("_", " ")
+	 */
+	private void writeCell(final BufferedWriter writer, final String text) throws IOException {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case ' ':
+					writer.write("&nbsp;");
+					break;
+				case '+':
+					break;
+				case '_':
+					writer.write(' ');
+					break;
+				default:
+					writer.write(c);
+			}
 		}
 	}
 }
@@ -41,9 +41,18 @@ public final class ItemsReader extends AbstractXmlReader<Boolean> {
 	}
 
 	public static void load(Map<Integer, Item> items) {
+		loadUpdates(items);
+		loadStatic(items);
+	}
+
+	public static void loadUpdates(Map<Integer, Item> items) {
 		ItemsReader reader = new ItemsReader(items);
 		reader.read("Items Updates", FileUtil.getPathItemsUpdates(), AbstractXmlReader.XmlType.DYNAMIC_BACKUP);
-		reader.read("Items", FileUtil.getPathItems(), AbstractXmlReader.XmlType.STATIC);
+	}
+
+	public static boolean loadStatic(Map<Integer, Item> items) {
+		ItemsReader reader = new ItemsReader(items);
+		return reader.read("Items", FileUtil.getPathItems(), AbstractXmlReader.XmlType.STATIC);
 	}
 
 	@Override
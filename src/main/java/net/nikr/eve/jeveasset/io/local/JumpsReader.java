@@ -38,9 +38,9 @@ public final class JumpsReader extends AbstractXmlReader<Boolean> {
 		this.jumps = jumps;
 	}
 
-	public static void load(List<Jump> jumps) {
+	public static boolean load(List<Jump> jumps) {
 		JumpsReader reader = new JumpsReader(jumps);
-		reader.read("Jumps", FileUtil.getPathJumps(), AbstractXmlReader.XmlType.STATIC);
+		return reader.read("Jumps", FileUtil.getPathJumps(), AbstractXmlReader.XmlType.STATIC);
 	}
 
 	@Override
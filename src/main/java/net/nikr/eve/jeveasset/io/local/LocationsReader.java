@@ -37,9 +37,9 @@ public final class LocationsReader extends AbstractXmlReader<Boolean> {
 		this.locations = locations;
 	}
 
-	public static void load(Map<Long, MyLocation> locations) {
+	public static boolean load(Map<Long, MyLocation> locations) {
 		LocationsReader reader = new LocationsReader(locations);
-		reader.read("Locations loaded", FileUtil.getPathLocations(), AbstractXmlReader.XmlType.STATIC);
+		return reader.read("Locations loaded", FileUtil.getPathLocations(), AbstractXmlReader.XmlType.STATIC);
 	}
 
 	@Override
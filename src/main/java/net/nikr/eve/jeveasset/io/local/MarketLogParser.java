@@ -0,0 +1,284 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.io.local;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import net.nikr.eve.jeveasset.gui.tabs.orders.MarketLog;
+
+/**
+ * Parser for the fixed column layout of the market log files.
+ * <p>
+ * Reads the bytes directly from the buffer (heap, direct or mapped) and only creates the MarketLog objects.
+ * Columns: price,volRemaining,typeID,range,orderID,volEntered,minVolume,bid,issueDate,duration,stationID,regionID,solarSystemID,jumps,
+ */
+public class MarketLogParser {
+
+	private static final int COLUMNS = 14;
+	private static final int MAX_EXACT_DIGITS = 15; //Below 2^53
+	private static final double[] POW10 = new double[23]; //10^22 is the largest exact power of ten
+	static {
+		POW10[0] = 1;
+		for (int i = 1; i < POW10.length; i++) {
+			POW10[i] = POW10[i - 1] * 10;
+		}
+	}
+
+	private final ByteBuffer buffer;
+	private final int limit;
+	private final int[] starts = new int[COLUMNS];
+	private final int[] ends = new int[COLUMNS];
+	private int position;
+
+	private MarketLogParser(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.position = buffer.position();
+		this.limit = buffer.limit();
+	}
+
+	/**
+	 * Parse the market log rows between the position and the limit of the buffer.
+	 * The first line (header) is skipped. The buffer position is not changed.
+	 * @param buffer market log file content
+	 * @return market logs
+	 * @throws IllegalArgumentException if a row is incomplete or has a invalid value
+	 */
+	public static List<MarketLog> parse(ByteBuffer buffer) {
+		MarketLogParser parser = new MarketLogParser(buffer);
+		return parser.parse();
+	}
+
+	private List<MarketLog> parse() {
+		List<MarketLog> marketLogs = new ArrayList<>();
+		skipLine(); //Header
+		while (position < limit) {
+			int lineEnd = findLineEnd();
+			int end = lineEnd;
+			if (end > position && buffer.get(end - 1) == '\r') {
+				end--;
+			}
+			if (end > position) { //Skip empty lines
+				marketLogs.add(parseLine(position, end));
+			}
+			position = lineEnd + 1;
+		}
+		return marketLogs;
+	}
+
+	private MarketLog parseLine(int start, int end) {
+		int column = 0;
+		int columnStart = start;
+		for (int i = start; i < end && column < COLUMNS; i++) {
+			if (buffer.get(i) == ',') {
+				starts[column] = columnStart;
+				ends[column] = i;
+				column++;
+				columnStart = i + 1;
+			}
+		}
+		if (column < COLUMNS) {
+			if (column == COLUMNS - 1) { //No trailing comma
+				starts[column] = columnStart;
+				ends[column] = end;
+			} else {
+				throw new IllegalArgumentException("Incomplete row: " + column + " of " + COLUMNS + " columns");
+			}
+		}
+		return new MarketLog(
+				parseDouble(0), //price
+				parseDouble(1), //volRemaining
+				(int) parseLong(2), //typeID
+				(int) parseLong(3), //range
+				parseLong(4), //orderID
+				(int) parseLong(5), //volEntered
+				(int) parseLong(6), //minVolume
+				parseBoolean(7), //bid
+				parseDate(8), //issueDate
+				(int) parseLong(9), //duration
+				parseLong(10), //stationID
+				parseLong(11), //regionID
+				parseLong(12), //solarSystemID
+				(int) parseLong(13), //jumps
+				null); //empty
+	}
+
+	private long parseLong(int column) {
+		return parseLong(starts[column], ends[column]);
+	}
+
+	private long parseLong(int start, int end) {
+		boolean negative = false;
+		int i = start;
+		if (i < end && buffer.get(i) == '-') {
+			negative = true;
+			i++;
+		}
+		if (i >= end) {
+			throw invalid(start, end);
+		}
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = buffer.get(i) - '0';
+			if (digit < 0 || digit > 9) {
+				throw invalid(start, end);
+			}
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	private double parseDouble(int column) {
+		int start = starts[column];
+		int end = ends[column];
+		boolean negative = false;
+		int i = start;
+		if (i < end && buffer.get(i) == '-') {
+			negative = true;
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int decimals = -1;
+		boolean hasDigits = false;
+		for (; i < end; i++) {
+			byte b = buffer.get(i);
+			if (b == '.' && decimals < 0) {
+				decimals = 0;
+				continue;
+			}
+			int digit = b - '0';
+			if (digit < 0 || digit > 9 || digits >= MAX_EXACT_DIGITS) {
+				return parseDoubleSlow(start, end); //Exponent or too many digits
+			}
+			if (digits > 0 || digit > 0) { //Leading zeros are not significant
+				digits++;
+			}
+			mantissa = mantissa * 10 + digit;
+			hasDigits = true;
+			if (decimals >= 0) {
+				decimals++;
+			}
+		}
+		if (!hasDigits) {
+			throw invalid(start, end);
+		}
+		if (decimals >= POW10.length) {
+			return parseDoubleSlow(start, end);
+		}
+		//Both exact: the division is correctly rounded (same result as Double.parseDouble)
+		double value = decimals > 0 ? mantissa / POW10[decimals] : mantissa;
+		return negative ? -value : value;
+	}
+
+	private double parseDoubleSlow(int start, int end) {
+		try {
+			return Double.parseDouble(getString(start, end));
+		} catch (NumberFormatException ex) {
+			throw invalid(start, end);
+		}
+	}
+
+	private boolean parseBoolean(int column) {
+		int start = starts[column];
+		int end = ends[column];
+		if (start >= end) {
+			throw invalid(start, end);
+		}
+		switch (buffer.get(start)) {
+			case 'T': case 't': case 'Y': case 'y': case '1':
+				return true;
+			case 'F': case 'f': case 'N': case 'n': case '0':
+				return false;
+			default:
+				throw invalid(start, end);
+		}
+	}
+
+	/**
+	 * Parse "yyyy-MM-dd HH:mm:ss" (the fraction of seconds is ignored) or "yyyy-MM-dd" as UTC.
+	 * @param column column index
+	 * @return date
+	 */
+	private Date parseDate(int column) {
+		int start = starts[column];
+		int end = ends[column];
+		if (end - start < 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+			throw invalid(start, end);
+		}
+		long year = parseLong(start, start + 4);
+		long month = parseLong(start + 5, start + 7);
+		long day = parseLong(start + 8, start + 10);
+		long seconds = 0;
+		if (end - start >= 19) {
+			if (buffer.get(start + 13) != ':' || buffer.get(start + 16) != ':') {
+				throw invalid(start, end);
+			}
+			long hour = parseLong(start + 11, start + 13);
+			long minute = parseLong(start + 14, start + 16);
+			long second = parseLong(start + 17, start + 19);
+			seconds = hour * 3600 + minute * 60 + second;
+		}
+		if (month < 1 || month > 12 || day < 1 || day > 31) {
+			throw invalid(start, end);
+		}
+		return new Date((daysFromCivil(year, month, day) * 86400 + seconds) * 1000);
+	}
+
+	/**
+	 * Days since 1970-01-01 (proleptic Gregorian calendar).
+	 */
+	private static long daysFromCivil(long year, long month, long day) {
+		long y = month <= 2 ? year - 1 : year;
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	private void skipLine() {
+		position = findLineEnd() + 1;
+	}
+
+	private int findLineEnd() {
+		for (int i = position; i < limit; i++) {
+			if (buffer.get(i) == '\n') {
+				return i;
+			}
+		}
+		return limit;
+	}
+
+	private String getString(int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for (int i = start; i < end; i++) {
+			bytes[i - start] = buffer.get(i);
+		}
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+
+	private IllegalArgumentException invalid(int start, int end) {
+		return new IllegalArgumentException("Invalid value: '" + getString(start, end) + "'");
+	}
+}
@@ -21,11 +21,11 @@
 package net.nikr.eve.jeveasset.io.local;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,19 +41,6 @@ import net.nikr.eve.jeveasset.gui.tabs.orders.OutbidProcesser.OutbidProcesserInp
 import net.nikr.eve.jeveasset.gui.tabs.orders.OutbidProcesser.OutbidProcesserOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.supercsv.cellprocessor.CellProcessorAdaptor;
-import org.supercsv.cellprocessor.Optional;
-import org.supercsv.cellprocessor.ParseBool;
-import org.supercsv.cellprocessor.ParseDouble;
-import org.supercsv.cellprocessor.ParseInt;
-import org.supercsv.cellprocessor.ParseLong;
-import org.supercsv.cellprocessor.ift.CellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
-import org.supercsv.exception.SuperCsvCellProcessorException;
-import org.supercsv.io.CsvBeanReader;
-import org.supercsv.io.ICsvBeanReader;
-import org.supercsv.prefs.CsvPreference;
-import org.supercsv.util.CsvContext;
 
 public class MarketLogReader {
 
@@ -118,24 +105,19 @@ public class MarketLogReader {
 	}
 
 	private List<MarketLog> parse(File file, int retries) {
-		Reader reader = null;
-		ICsvBeanReader beanReader = null;
-		try {
-			beanReader = new CsvBeanReader(new FileReader(file), CsvPreference.STANDARD_PREFERENCE);
-			beanReader.getHeader(true);
-			// the header elements are used to map the values to the bean (names must match)
-			final String[] header = {"price","volRemaining","typeID","range","orderID","volEntered","minVolume","bid","issueDate","duration","stationID","regionID","solarSystemID","jumps", "empty"};
-
-			List<MarketLog> marketLogs = new ArrayList<>();
-			MarketLog marketLog;
-			while ((marketLog = beanReader.read(MarketLog.class, header, getProcessors())) != null) {
-				marketLogs.add(marketLog);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			//Read into memory: a mapped file can not be deleted (on windows) until the buffer is garbage collected
+			ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				//Read all
 			}
+			buffer.flip();
+			List<MarketLog> marketLogs = MarketLogParser.parse(buffer);
 			if (marketLogs.isEmpty()) {
 				throw new IllegalArgumentException("Empty file");
 			}
 			return marketLogs;
-		} catch (SuperCsvCellProcessorException | IOException | IllegalArgumentException ex) {
+		} catch (IOException | IllegalArgumentException ex) {
 			if (retries < RETRIES) {
 				retries++;
 				try {
@@ -149,44 +131,9 @@ public class MarketLogReader {
 				LOG.error(ex.getMessage(), ex);
 				return null;
 			}
-		} finally {
-			if (beanReader != null) {
-				try {
-					beanReader.close();
-				} catch (IOException ex) {
-					//No problem
-				}
-			}
-			if (reader != null) {
-				try {
-					reader.close();
-				} catch (IOException ex) {
-					//No problem
-				}
-			}
 		}
 	}
 
-	private static CellProcessor[] getProcessors() {
-		return new CellProcessor[]{
-			new ParseDouble(), // price
-			new ParseDouble(), // volRemaining
-			new ParseInt(), // typeID
-			new ParseInt(), // range
-			new ParseLong(), // orderID
-			new ParseInt(), // volEntered
-			new ParseInt(), // minVolume
-			new ParseBool(), // bid
-			new ParseDate(), // issueDate
-			new ParseInt(), // duration
-			new ParseLong(), // stationID
-			new ParseLong(), // regionID
-			new ParseLong(), // solarSystemID
-			new ParseInt(), // jumps
-			new Optional()
-		};
-	}
-
 	public static File getMarketlogsDirectory() {
 		//https://wiki.eveuniversity.org/EVE_logs
 		File documents = FileSystemView.getFileSystemView().getDefaultDirectory();
@@ -210,52 +157,4 @@ public class MarketLogReader {
 		builder.append("Marketlogs");
 		return new File(builder.toString());
 	}
-
-	@SuppressWarnings("unchecked")
-	public static class ParseDate extends CellProcessorAdaptor implements StringCellProcessor {
-
-		public static final DateFormatThreadSafe DATETIME = new DateFormatThreadSafe("yyyy-MM-dd hh:mm:ss", true);
-		public static final DateFormatThreadSafe DATE = new DateFormatThreadSafe("yyyy-MM-dd", true);
-
-		public ParseDate() {
-			super();
-		}
-
-		public ParseDate(CellProcessor next) {
-			// this constructor allows other processors to be chained after ParseDay
-			super(next);
-		}
-
-		@Override
-		public Object execute(Object value, CsvContext context) {
-			if (value == null) {
-				throw new SuperCsvCellProcessorException(
-						"this processor does not accept null input - if the column is optional then chain an Optional() processor before this one",
-						context, this);
-			}
-
-			Date result;
-			if (value instanceof Date) {
-				result = (Date) value;
-			} else if (value instanceof String) {
-				try {
-					result = DATETIME.parse((String)value);
-				} catch (ParseException ex) {
-					try {
-						result = DATE.parse((String)value);
-					} catch (ParseException ex2) {
-						throw new SuperCsvCellProcessorException(
-								String.format("'%s' could not be parsed as an Date", value), context, this, ex2);
-
-					}
-				}
-			} else {
-				final String actualClassName = value.getClass().getName();
-				throw new SuperCsvCellProcessorException(String.format(
-						"the input value should be of type Date or String but is of type %s", actualClassName), context,
-						this);
-			}
-			return next.execute(result, context);
-		}
-	}
 }
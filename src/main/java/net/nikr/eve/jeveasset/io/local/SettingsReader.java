@@ -1409,7 +1409,8 @@ public final class SettingsReader extends AbstractXmlReader<Boolean> {
 				String name = getString(formulaNode, "name");
 				String expression = getString(formulaNode, "expression");
 				Integer index = getIntOptional(formulaNode, "index");
-				tableFormulas.add(new Formula(name, expression, index));
+				Boolean exact = getBooleanOptional(formulaNode, "exact");
+				tableFormulas.add(new Formula(name, expression, index, exact != null && exact));
 			}
 		}
 	}
@@ -1965,6 +1966,19 @@ public final class SettingsReader extends AbstractXmlReader<Boolean> {
 			exportSetting.setExtendedInserts(extendedInserts);
 		}
 
+		//SQLite
+		Element sqliteElement = getNodeOptional(exportNode, "sqlite");
+		if (sqliteElement != null) {
+			String tableName = getString(sqliteElement, "tablename");
+			exportSetting.setSqliteTableName(tableName);
+
+			boolean append = getBoolean(sqliteElement, "append");
+			exportSetting.setSqliteAppend(append);
+
+			boolean indexes = getBoolean(sqliteElement, "indexes");
+			exportSetting.setSqliteIndexes(indexes);
+		}
+
 		//html
 		Element htmlElement = getNodeOptional(exportNode, "html");
 		if (htmlElement != null) {
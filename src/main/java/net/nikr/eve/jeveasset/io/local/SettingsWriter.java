@@ -21,7 +21,6 @@
 
 package net.nikr.eve.jeveasset.io.local;
 
-import java.io.File;
 import java.net.Proxy;
 import java.util.Date;
 import java.util.List;
@@ -61,7 +60,6 @@ import net.nikr.eve.jeveasset.gui.tabs.stockpile.Stockpile.StockpileItem;
 import net.nikr.eve.jeveasset.gui.tabs.tracker.TrackerDate;
 import net.nikr.eve.jeveasset.gui.tabs.tracker.TrackerNote;
 import net.nikr.eve.jeveasset.gui.tabs.tracker.TrackerSkillPointFilter;
-import net.nikr.eve.jeveasset.io.shared.FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -75,7 +73,7 @@ public class SettingsWriter extends AbstractXmlWriter {
 	private SettingsWriter() { }
 
 	public static boolean save(final Settings settings, final String filename) {
-		if (!new File(FileUtil.getPathTrackerData()).exists()) { //Make sure the tracker data is saved
+		if (!TrackerStore.get().exists()) { //Make sure the tracker data is saved
 			TrackerData.save("Saving Settings", true);
 		}
 		SettingsWriter writer = new SettingsWriter();
@@ -504,6 +502,9 @@ public class SettingsWriter extends AbstractXmlWriter {
 				setAttribute(formulaNode, "name", formula.getColumnName());
 				setAttribute(formulaNode, "expression", formula.getOriginalExpression());
 				setAttributeOptional(formulaNode, "index", formula.getIndex());
+				if (formula.isExact()) {
+					setAttribute(formulaNode, "exact", true);
+				}
 				formulasNode.appendChild(formulaNode);
 			}
 		}
@@ -784,6 +785,13 @@ public class SettingsWriter extends AbstractXmlWriter {
 			setAttribute(sqlNode, "extendedinserts", exportSetting.getValue().isExtendedInserts());
 			exportNode.appendChild(sqlNode);
 
+			//SQLite
+			Element sqliteNode = xmldoc.createElementNS(null, "sqlite");
+			setAttribute(sqliteNode, "tablename", exportSetting.getValue().getSqliteTableName());
+			setAttribute(sqliteNode, "append", exportSetting.getValue().isSqliteAppend());
+			setAttribute(sqliteNode, "indexes", exportSetting.getValue().isSqliteIndexes());
+			exportNode.appendChild(sqliteNode);
+
 			//Html
 			Element htmlNode = xmldoc.createElementNS(null, "html");
 			setAttribute(htmlNode, "styled", exportSetting.getValue().isHtmlStyled());
@@ -22,6 +22,7 @@
 package net.nikr.eve.jeveasset.io.local;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.text.DateFormat;
@@ -29,9 +30,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import net.nikr.eve.jeveasset.Program;
 import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
 import net.nikr.eve.jeveasset.gui.shared.table.containers.HierarchyColumn;
@@ -42,31 +41,39 @@ import org.slf4j.LoggerFactory;
 public final class SqlWriter {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SqlWriter.class);
+	private static final int BUFFER_SIZE = 64 * 1024;
 
 	private final DecimalFormat DOUBLE_FORMAT  = new DecimalFormat("0.##", new DecimalFormatSymbols(Locale.ENGLISH));
 	private final DecimalFormat FLOAT_FORMAT  = new DecimalFormat("0.####", new DecimalFormatSymbols(Locale.ENGLISH));
 	private final DecimalFormat LONG_FORMAT  = new DecimalFormat("0", new DecimalFormatSymbols(Locale.ENGLISH));
 	private final int MAX_LENGTH = 944000; //a little less than 1MB
-	private final DateFormat SQL_DATETIME_FORMATTER = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
+	private final DateFormat SQL_DATETIME_FORMATTER = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+	private final StringBuilder builder = new StringBuilder();
+	private char[] chars = new char[1024];
 
 	private SqlWriter() { }
 
-	public static boolean save(final String filename, final List<Map<EnumTableColumn<?>, Object>> rows, final List<EnumTableColumn<?>> header, final String tableName, final boolean dropTable, final boolean createTable, final boolean extendedInserts) {
+	public static <E> boolean save(final String filename, final ExportRows<E> rows, final String tableName, final boolean dropTable, final boolean createTable, final boolean extendedInserts) {
 		SqlWriter writer = new SqlWriter();
-		return writer.write(filename, rows, header, tableName, dropTable, createTable, extendedInserts);
+		return writer.write(filename, rows, tableName, dropTable, createTable, extendedInserts);
 	}
 
-	private boolean write(final String filename, final List<Map<EnumTableColumn<?>, Object>> rows, final List<EnumTableColumn<?>> header, final String tableName, final boolean dropTable, final boolean createTable, final boolean extendedInserts) {
-		try {
-			BufferedWriter writer = new BufferedWriter(new FileWriter(filename));
+	private <E> boolean write(final String filename, final ExportRows<E> rows, final String tableName, final boolean dropTable, final boolean createTable, final boolean extendedInserts) {
+		boolean completed;
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename), BUFFER_SIZE)) {
 			writeComment(writer);
-			writeTable(writer, rows, header, tableName, dropTable, createTable);
-			writeRows(writer, rows, header, tableName, extendedInserts);
-			writer.close();
+			writeTable(writer, rows, tableName, dropTable, createTable);
+			completed = writeRows(writer, rows, tableName, extendedInserts);
 		} catch (IOException ex) {
 			LOG.warn("SQL file not saved");
 			return false;
 		}
+		if (!completed) {
+			new File(filename).delete();
+			LOG.info("SQL file cancelled");
+			return false;
+		}
 		LOG.info("SQL file saved");
 		return true;
 	}
@@ -94,110 +101,161 @@ public final class SqlWriter {
 			return "text";
 		}
 	}
-	private void writeTable(final BufferedWriter writer, final List<Map<EnumTableColumn<?>, Object>> rows, final List<EnumTableColumn<?>> header, final String tableName, final boolean dropTable, final boolean createTable) throws IOException {
+	private <E> void writeTable(final BufferedWriter writer, final ExportRows<E> rows, final String tableName, final boolean dropTable, final boolean createTable) throws IOException {
 		if (dropTable) {
 			writer.write("DROP TABLE IF EXISTS `" + tableName + "`;\r\n");
 		}
-		if (createTable && !rows.isEmpty()) {
+		if (createTable && !rows.getItems().isEmpty()) {
+			E first = rows.getItems().get(0);
 			writer.write("CREATE TABLE IF NOT EXISTS `" + tableName + "` (\r\n");
-			boolean first = true;
-			for (EnumTableColumn<?> column : header) {
-				if (first) {
-					first = false;
+			boolean firstColumn = true;
+			for (EnumTableColumn<E> column : rows.getColumns()) {
+				if (firstColumn) {
+					firstColumn = false;
 				} else {
 					writer.write(",\r\n");
 				}
-				writer.write("`" + column.name() + "` " + getType(rows.get(0).get(column)));
+				writer.write("`" + column.name() + "` " + getType(rows.getValue(first, column)));
 			}
 			writer.write("\r\n");
 			writer.write(") ENGINE=MyISAM  DEFAULT CHARSET=utf8 ;\r\n");
 		}
 	}
 
-	private void writeRows(final BufferedWriter writer, final List<Map<EnumTableColumn<?>, Object>> rows, final List<EnumTableColumn<?>> header, final String tableName, final boolean extendedInserts) throws IOException {
-		if (!rows.isEmpty()) {
-			//Create INSERT statement
-			String insert = "INSERT INTO `" + tableName + "` (";
-			boolean firstInsert = true;
-			for (EnumTableColumn<?> column : header) {
-				if (firstInsert) {
-					firstInsert = false;
+	/**
+	 * Write the INSERT statements.
+	 * @return false if cancelled
+	 */
+	private <E> boolean writeRows(final BufferedWriter writer, final ExportRows<E> rows, final String tableName, final boolean extendedInserts) throws IOException {
+		if (rows.getItems().isEmpty()) {
+			return true;
+		}
+		//Create INSERT statement
+		StringBuilder insertBuilder = new StringBuilder();
+		insertBuilder.append("INSERT INTO `").append(tableName).append("` (");
+		boolean firstInsert = true;
+		for (EnumTableColumn<E> column : rows.getColumns()) {
+			if (firstInsert) {
+				firstInsert = false;
+			} else {
+				insertBuilder.append(", ");
+			}
+			insertBuilder.append('`').append(column.name()).append('`');
+		}
+		insertBuilder.append(") VALUES\r\n");
+		final String insert = insertBuilder.toString();
+		final int insertLength = utf8Length(insert);
+		if (extendedInserts) {
+			writer.write(insert);
+		}
+		boolean firstRow = true;
+		boolean firstCell;
+		int count = 0;
+		//Add values
+		int length = insertLength;
+		for (E item : rows.getItems()) {
+			if (rows.isCancelled()) {
+				return false;
+			}
+			builder.setLength(0);
+			if (extendedInserts && length > MAX_LENGTH) {
+				length = insertLength;
+				firstRow = true;
+				writer.write(";\r\n");
+				writer.write(insert);
+			}
+			//End Line
+			if (firstRow) {
+				firstRow = false;
+			} else if (extendedInserts) {
+				builder.append(",\r\n");
+			}
+			//Values
+			builder.append("	(");
+			firstCell = true;
+			for (EnumTableColumn<E> column : rows.getColumns()) {
+				if (firstCell) {
+					firstCell = false;
 				} else {
-					insert = insert + ", ";
+					builder.append(", ");
 				}
-				insert = insert + "`" + column.name() + "`";
+				format(builder, rows.getValue(item, column));
 			}
-			insert = insert + ") VALUES\r\n";
-			if (extendedInserts) {
+			builder.append(')');
+			if (!extendedInserts) {
+				builder.append(";\r\n");
 				writer.write(insert);
 			}
-			boolean firstRow = true;
-			boolean firstCell;
-			//Add values
-			String values;
-			int length = insert.getBytes("UTF-8").length;
-			for (Map<EnumTableColumn<?>, Object> map : rows) {
-				values = "";
-				if (extendedInserts && length > MAX_LENGTH) {
-					length = insert.getBytes("UTF-8").length;
-					firstRow = true;
-					writer.write(";\r\n");
-					writer.write(insert);
-				}
-				//End Line
-				if (firstRow) {
-					firstRow = false;
-				} else if (extendedInserts) {
-					values = values + ",\r\n";
-				}
-				//Values
-				values = values + "	(";
-				firstCell = true;
-				for (EnumTableColumn<?> column : header) {
-					if (firstCell) {
-						firstCell = false;
-					} else {
-						values = values + ", ";
-					}
-					values = values + format(map.get(column));
-				}
-				values = values + ")";
-				if (!extendedInserts) {
-					values = values + ";\r\n";
-					writer.write(insert);
-				}
-				length = length + values.getBytes("UTF-8").length; //Bytes
-				writer.write(values);
+			length = length + utf8Length(builder); //Bytes
+			write(writer, builder);
+			count++;
+			rows.setProgress(count);
+		}
+		writer.write(";\r\n");
+		return true;
+	}
+
+	private void write(final BufferedWriter writer, final StringBuilder text) throws IOException {
+		int size = text.length();
+		if (size > chars.length) {
+			chars = new char[Math.max(size, chars.length * 2)];
+		}
+		text.getChars(0, size, chars, 0);
+		writer.write(chars, 0, size);
+	}
+
+	/**
+	 * Number of bytes in UTF-8 (without encoding the text).
+	 * @param text text
+	 * @return length in bytes
+	 */
+	static int utf8Length(final CharSequence text) {
+		int length = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
 			}
-			writer.write(";\r\n");
 		}
+		return length;
 	}
 
-	private String format(final Object object) {
+	private void format(final StringBuilder builder, final Object object) {
 		if (object == null) {
-			return "''";
+			builder.append("''");
 		} else if (object instanceof HierarchyColumn) {
 			HierarchyColumn column = (HierarchyColumn) object;
-			return "'" + column.getExport().replace("'", "\\'") + "'";
+			builder.append('\'').append(column.getExport().replace("'", "\\'")).append('\'');
 		} else if (object instanceof Double) {
 			//Double
-			return DOUBLE_FORMAT.format(object);
+			builder.append(DOUBLE_FORMAT.format(object));
 		} else if (object instanceof Float) {
 			//Float
-			return FLOAT_FORMAT.format(object);
+			builder.append(FLOAT_FORMAT.format(object));
 		} else if (object instanceof Number) {
 			//Number (Short/Integer/Long)
-			return LONG_FORMAT.format(object);
+			builder.append(LONG_FORMAT.format(object));
 		} else if (object instanceof Date) {
 			//Date
-			return "'" + SQL_DATETIME_FORMATTER.format(object) + "'";
+			builder.append('\'').append(SQL_DATETIME_FORMATTER.format(object)).append('\'');
 		} else { //String etc.
 			String string = String.valueOf(object);
-			if (string == null) {
-				return "''";
-			} else {
-				return "'" + String.valueOf(object).replace("'", "''") + "'";
+			builder.append('\'');
+			for (int i = 0; i < string.length(); i++) {
+				char c = string.charAt(i);
+				if (c == '\'') {
+					builder.append('\''); //Escape quote
+				}
+				builder.append(c);
 			}
+			builder.append('\'');
 		}
 	}
 }
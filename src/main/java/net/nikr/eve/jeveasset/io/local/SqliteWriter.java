@@ -0,0 +1,251 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.io.local;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
+import net.nikr.eve.jeveasset.gui.shared.table.containers.HierarchyColumn;
+import net.nikr.eve.jeveasset.gui.shared.table.containers.LongInt;
+import net.nikr.eve.jeveasset.gui.shared.table.containers.NumberValue;
+import net.nikr.eve.jeveasset.gui.shared.table.containers.Runs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Export to a SQLite database file.
+ * <p>
+ * Columns are typed from EnumTableColumn.getType(). Dates are stored as milliseconds since epoch (like AssetAddedData).
+ * Everything is written in one transaction, so a cancelled or failed export leaves the database untouched.
+ */
+public final class SqliteWriter {
+
+	public static final String SNAPSHOT_COLUMN = "snapshot";
+
+	private static final Logger LOG = LoggerFactory.getLogger(SqliteWriter.class);
+	private static final List<String> INDEX_COLUMNS = Arrays.asList("TYPE_ID", "LOCATION_ID", "OWNER");
+	private static final int BATCH_SIZE = 1000;
+
+	private enum SqliteType {
+		INTEGER, REAL, TEXT
+	}
+
+	private SqliteWriter() { }
+
+	/**
+	 * Save rows to SQLite database.
+	 * @param <E> row type
+	 * @param filename database file
+	 * @param rows rows to save
+	 * @param tableName table name
+	 * @param append true to add the rows (with a snapshot time) to the existing table, false to replace the table
+	 * @param indexes true to create indexes on the type ID, location ID and owner columns
+	 * @return true if saved
+	 */
+	public static <E> boolean save(final String filename, final ExportRows<E> rows, final String tableName, final boolean append, final boolean indexes) {
+		boolean completed;
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + filename)) {
+			connection.setAutoCommit(false);
+			try {
+				completed = write(connection, rows, tableName, append, indexes);
+				if (completed) {
+					connection.commit();
+				} else {
+					connection.rollback();
+				}
+			} catch (SQLException ex) {
+				connection.rollback();
+				throw ex;
+			}
+		} catch (SQLException ex) {
+			LOG.warn("SQLite database not saved: " + ex.getMessage());
+			return false;
+		}
+		if (!completed) {
+			LOG.info("SQLite database cancelled");
+			return false;
+		}
+		LOG.info("SQLite database saved");
+		return true;
+	}
+
+	private static <E> boolean write(final Connection connection, final ExportRows<E> rows, final String tableName, final boolean append, final boolean indexes) throws SQLException {
+		final List<EnumTableColumn<E>> columns = rows.getColumns();
+		final SqliteType[] types = new SqliteType[columns.size()];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = getType(columns.get(i).getType());
+		}
+		final String table = quote(tableName);
+		//Table
+		try (Statement statement = connection.createStatement()) {
+			if (!append) {
+				statement.execute("DROP TABLE IF EXISTS " + table);
+			}
+			StringBuilder create = new StringBuilder();
+			create.append("CREATE TABLE IF NOT EXISTS ").append(table).append(" (");
+			for (int i = 0; i < types.length; i++) {
+				if (i > 0) {
+					create.append(", ");
+				}
+				create.append(quote(columns.get(i).name())).append(' ').append(types[i].name());
+			}
+			if (append) {
+				create.append(", ").append(quote(SNAPSHOT_COLUMN)).append(' ').append(SqliteType.INTEGER.name());
+			}
+			create.append(')');
+			statement.execute(create.toString());
+			if (append) { //Existing table may be from an older export with other columns
+				Set<String> existing = getColumnNames(connection, tableName);
+				for (int i = 0; i < types.length; i++) {
+					if (!existing.contains(columns.get(i).name().toLowerCase())) {
+						statement.execute("ALTER TABLE " + table + " ADD COLUMN " + quote(columns.get(i).name()) + " " + types[i].name());
+					}
+				}
+				if (!existing.contains(SNAPSHOT_COLUMN)) {
+					statement.execute("ALTER TABLE " + table + " ADD COLUMN " + quote(SNAPSHOT_COLUMN) + " " + SqliteType.INTEGER.name());
+				}
+			}
+		}
+		//Rows
+		StringBuilder insert = new StringBuilder();
+		insert.append("INSERT INTO ").append(table).append(" (");
+		StringBuilder values = new StringBuilder();
+		for (int i = 0; i < types.length; i++) {
+			if (i > 0) {
+				insert.append(", ");
+				values.append(", ");
+			}
+			insert.append(quote(columns.get(i).name()));
+			values.append('?');
+		}
+		if (append) {
+			insert.append(", ").append(quote(SNAPSHOT_COLUMN));
+			values.append(", ?");
+		}
+		insert.append(") VALUES (").append(values).append(')');
+		final long snapshot = System.currentTimeMillis();
+		try (PreparedStatement statement = connection.prepareStatement(insert.toString())) {
+			int count = 0;
+			for (E item : rows.getItems()) {
+				if (rows.isCancelled()) {
+					return false;
+				}
+				for (int i = 0; i < types.length; i++) {
+					set(statement, i + 1, types[i], rows.getValue(item, columns.get(i)));
+				}
+				if (append) {
+					statement.setLong(types.length + 1, snapshot);
+				}
+				statement.addBatch();
+				count++;
+				if (count % BATCH_SIZE == 0) {
+					statement.executeBatch(); // Execute every 1000 items.
+				}
+				rows.setProgress(count);
+			}
+			statement.executeBatch();
+		}
+		//Indexes
+		if (indexes) {
+			try (Statement statement = connection.createStatement()) {
+				List<String> indexColumns = new ArrayList<>();
+				for (EnumTableColumn<E> column : columns) {
+					if (INDEX_COLUMNS.contains(column.name())) {
+						indexColumns.add(column.name());
+					}
+				}
+				if (append) {
+					indexColumns.add(SNAPSHOT_COLUMN);
+				}
+				for (String column : indexColumns) {
+					statement.execute("CREATE INDEX IF NOT EXISTS " + quote(tableName + "_" + column) + " ON " + table + " (" + quote(column) + ")");
+				}
+			}
+		}
+		return true;
+	}
+
+	private static Set<String> getColumnNames(final Connection connection, final String tableName) throws SQLException {
+		Set<String> names = new HashSet<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery("PRAGMA table_info(" + quote(tableName) + ")")) {
+			while (rs.next()) {
+				names.add(rs.getString("name").toLowerCase()); //Column names are case insensitive
+			}
+		}
+		return names;
+	}
+
+	private static SqliteType getType(final Class<?> type) {
+		if (Integer.class.isAssignableFrom(type)
+				|| Long.class.isAssignableFrom(type)
+				|| Short.class.isAssignableFrom(type)
+				|| Byte.class.isAssignableFrom(type)
+				|| Boolean.class.isAssignableFrom(type)
+				|| LongInt.class.isAssignableFrom(type)
+				|| Runs.class.isAssignableFrom(type)
+				|| Date.class.isAssignableFrom(type)) {
+			return SqliteType.INTEGER;
+		} else if (Number.class.isAssignableFrom(type)
+				|| NumberValue.class.isAssignableFrom(type)) {
+			return SqliteType.REAL;
+		} else {
+			return SqliteType.TEXT;
+		}
+	}
+
+	private static void set(final PreparedStatement statement, final int index, final SqliteType type, final Object object) throws SQLException {
+		Object value = object;
+		if (value instanceof NumberValue) {
+			value = ((NumberValue) value).getNumber();
+		}
+		if (value == null) {
+			statement.setNull(index, Types.NULL);
+		} else if (value instanceof Number && type == SqliteType.INTEGER) {
+			statement.setLong(index, ((Number) value).longValue());
+		} else if (value instanceof Number && type == SqliteType.REAL) {
+			statement.setDouble(index, ((Number) value).doubleValue());
+		} else if (value instanceof Date && type == SqliteType.INTEGER) {
+			statement.setLong(index, ((Date) value).getTime());
+		} else if (value instanceof Boolean && type == SqliteType.INTEGER) {
+			statement.setInt(index, ((Boolean) value) ? 1 : 0);
+		} else if (value instanceof HierarchyColumn) {
+			statement.setString(index, ((HierarchyColumn) value).getExport());
+		} else {
+			statement.setString(index, value.toString());
+		}
+	}
+
+	private static String quote(final String identifier) {
+		return "\"" + identifier.replace("\"", "\"\"") + "\"";
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+package net.nikr.eve.jeveasset.io.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.nikr.eve.jeveasset.data.sde.IndustryMaterial;
+import net.nikr.eve.jeveasset.data.sde.Item;
+import net.nikr.eve.jeveasset.data.sde.ItemFlag;
+import net.nikr.eve.jeveasset.data.sde.Jump;
+import net.nikr.eve.jeveasset.data.sde.MyLocation;
+import net.nikr.eve.jeveasset.data.sde.ReprocessedMaterial;
+import net.nikr.eve.jeveasset.io.shared.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the binary static data written by {@link StaticDataWriter}.
+ * The file is read into memory and the fixed-width records are read from the buffer.
+ */
+public final class StaticDataReader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StaticDataReader.class);
+
+	private StaticDataReader() { }
+
+	/**
+	 * Load static data from the binary file.
+	 * @return true if loaded, false if the file is missing, outdated or corrupted (load the XML files instead)
+	 */
+	public static boolean load(Map<Integer, Item> items, Map<Long, MyLocation> locations, List<Jump> jumps, Map<Integer, ItemFlag> flags) {
+		File file = new File(FileUtil.getPathStaticDataCache());
+		if (!file.exists()) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			//Read into memory: a mapped file can not be replaced (on windows) until the buffer is garbage collected
+			ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				//Read all
+			}
+			buffer.flip();
+			if (buffer.getInt() != StaticDataWriter.MAGIC || buffer.getInt() != StaticDataWriter.FORMAT) {
+				LOG.info("Static data cache: unknown format");
+				return false;
+			}
+			if (!StaticDataWriter.getSourceVersion().equals(readString(buffer))) {
+				LOG.info("Static data cache: outdated");
+				return false;
+			}
+			//Read into temporary collections, so nothing is half loaded on failure
+			Map<Integer, Item> itemsLoaded = new HashMap<>();
+			Map<Long, MyLocation> locationsLoaded = new HashMap<>();
+			Map<Integer, ItemFlag> flagsLoaded = new HashMap<>();
+			String[] strings = readStrings(buffer);
+			ReprocessedMaterial[] reprocessed = readReprocessedMaterials(buffer);
+			IndustryMaterial[] industry = readIndustryMaterials(buffer);
+			readItems(buffer, strings, reprocessed, industry, itemsLoaded);
+			readLocations(buffer, strings, locationsLoaded);
+			Jump[] jumpsLoaded = readJumps(buffer, locationsLoaded);
+			readFlags(buffer, strings, flagsLoaded);
+			//Done
+			items.putAll(itemsLoaded);
+			linkBlueprints(itemsLoaded, items);
+			locations.putAll(locationsLoaded);
+			for (Jump jump : jumpsLoaded) {
+				jumps.add(jump);
+			}
+			flags.putAll(flagsLoaded);
+			LOG.info("Static data cache loaded");
+			return true;
+		} catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+			LOG.warn("Static data cache not loaded: " + ex.getMessage(), ex);
+			return false;
+		}
+	}
+
+	private static String[] readStrings(ByteBuffer buffer) {
+		String[] strings = new String[buffer.getInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = readString(buffer).intern();
+		}
+		return strings;
+	}
+
+	private static ReprocessedMaterial[] readReprocessedMaterials(ByteBuffer buffer) {
+		ReprocessedMaterial[] materials = new ReprocessedMaterial[buffer.getInt()];
+		for (int i = 0; i < materials.length; i++) {
+			int typeID = buffer.getInt();
+			int quantity = buffer.getInt();
+			int portionSize = buffer.getInt();
+			materials[i] = new ReprocessedMaterial(typeID, quantity, portionSize);
+		}
+		return materials;
+	}
+
+	private static IndustryMaterial[] readIndustryMaterials(ByteBuffer buffer) {
+		IndustryMaterial[] materials = new IndustryMaterial[buffer.getInt()];
+		for (int i = 0; i < materials.length; i++) {
+			int typeID = buffer.getInt();
+			int quantity = buffer.getInt();
+			materials[i] = new IndustryMaterial(typeID, quantity);
+		}
+		return materials;
+	}
+
+	private static void readItems(ByteBuffer buffer, String[] strings, ReprocessedMaterial[] reprocessed, IndustryMaterial[] industry, Map<Integer, Item> items) {
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			int start = buffer.position();
+			int typeID = buffer.getInt();
+			String name = string(strings, buffer.getInt());
+			String group = string(strings, buffer.getInt());
+			String category = string(strings, buffer.getInt());
+			long price = buffer.getLong();
+			float volume = buffer.getFloat();
+			float packagedVolume = buffer.getFloat();
+			float capacity = buffer.getFloat();
+			int meta = buffer.getInt();
+			String tech = string(strings, buffer.getInt());
+			boolean marketGroup = buffer.get() != 0;
+			int portion = buffer.getInt();
+			int product = buffer.getInt();
+			int productQuantity = buffer.getInt();
+			Item item = new Item(typeID, name, group, category, price, volume, packagedVolume, capacity, meta, tech, marketGroup, portion, product, productQuantity, null);
+			int offset = buffer.getInt();
+			int size = buffer.getInt();
+			for (int j = offset; j < offset + size; j++) {
+				item.addReprocessedMaterial(reprocessed[j]);
+			}
+			offset = buffer.getInt();
+			size = buffer.getInt();
+			for (int j = offset; j < offset + size; j++) {
+				item.addManufacturingMaterial(industry[j]);
+			}
+			offset = buffer.getInt();
+			size = buffer.getInt();
+			for (int j = offset; j < offset + size; j++) {
+				item.addReactionMaterial(industry[j]);
+			}
+			if (buffer.position() - start != StaticDataWriter.ITEM_RECORD) {
+				throw new IllegalArgumentException("Invalid item record size");
+			}
+			items.put(typeID, item);
+		}
+	}
+
+	private static void linkBlueprints(Map<Integer, Item> loaded, Map<Integer, Item> items) {
+		for (Item blueprint : loaded.values()) {
+			if (blueprint.isBlueprint()) {
+				Item item = items.get(blueprint.getProductTypeID());
+				if (item != null) {
+					item.setBlueprintID(blueprint.getTypeID());
+				}
+			}
+		}
+	}
+
+	private static void readLocations(ByteBuffer buffer, String[] strings, Map<Long, MyLocation> locations) {
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			long stationID = buffer.getLong();
+			String station = string(strings, buffer.getInt());
+			long systemID = buffer.getLong();
+			String system = string(strings, buffer.getInt());
+			long constellationID = buffer.getLong();
+			String constellation = string(strings, buffer.getInt());
+			long regionID = buffer.getLong();
+			String region = string(strings, buffer.getInt());
+			String security = string(strings, buffer.getInt());
+			MyLocation location = MyLocation.create(stationID, station, systemID, system, constellationID, constellation, regionID, region, security, false, false);
+			locations.put(location.getLocationID(), location);
+		}
+	}
+
+	private static Jump[] readJumps(ByteBuffer buffer, Map<Long, MyLocation> locations) {
+		Jump[] jumps = new Jump[buffer.getInt()];
+		for (int i = 0; i < jumps.length; i++) {
+			long from = buffer.getLong();
+			long to = buffer.getLong();
+			jumps[i] = new Jump(locations.get(from), locations.get(to));
+		}
+		return jumps;
+	}
+
+	private static void readFlags(ByteBuffer buffer, String[] strings, Map<Integer, ItemFlag> flags) {
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			int flagID = buffer.getInt();
+			String flagName = string(strings, buffer.getInt());
+			String flagText = string(strings, buffer.getInt());
+			flags.put(flagID, new ItemFlag(flagID, flagName, flagText));
+		}
+	}
+
+	private static String string(String[] strings, int index) {
+		if (index < 0) {
+			return null;
+		}
+		return strings[index];
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
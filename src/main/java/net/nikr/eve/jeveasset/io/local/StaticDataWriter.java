@@ -0,0 +1,270 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+package net.nikr.eve.jeveasset.io.local;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.nikr.eve.jeveasset.data.sde.IndustryMaterial;
+import net.nikr.eve.jeveasset.data.sde.Item;
+import net.nikr.eve.jeveasset.data.sde.ItemFlag;
+import net.nikr.eve.jeveasset.data.sde.Jump;
+import net.nikr.eve.jeveasset.data.sde.MyLocation;
+import net.nikr.eve.jeveasset.data.sde.ReprocessedMaterial;
+import net.nikr.eve.jeveasset.io.shared.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the static data XML files into one binary file.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header:      int magic, int format, string source version
+ * strings:     int count, count x (int length, UTF-8 bytes)
+ * reprocessed: int count, count x (int typeID, int quantity, int portionSize)
+ * industry:    int count, count x (int typeID, int quantity)
+ * items:       int count, count x ITEM_RECORD (sorted by typeID)
+ * locations:   int count, count x LOCATION_RECORD (sorted by locationID)
+ * jumps:       int count, count x (long from, long to)
+ * flags:       int count, count x (int flagID, int name, int text) (sorted by flagID)
+ * </pre>
+ * All strings are stored once in the string pool and referenced by index (-1 = null).
+ * Materials are referenced from the item record by offset and count.
+ * The XML files stay the source of truth: the binary file is rebuilt when the source version changes.
+ */
+public final class StaticDataWriter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StaticDataWriter.class);
+
+	static final int MAGIC = 0x4A455644; //JEVD
+	static final int FORMAT = 1;
+	/**
+	 * typeID, name, group, category, price, volume, packagedVolume, capacity, meta, tech, marketGroup, portion, product, productQuantity, 3 x (offset, count)
+	 */
+	static final int ITEM_RECORD = 4 + 4 + 4 + 4 + 8 + 4 + 4 + 4 + 4 + 4 + 1 + 4 + 4 + 4 + (3 * 8);
+	/**
+	 * stationID, station, systemID, system, constellationID, constellation, regionID, region, security
+	 */
+	static final int LOCATION_RECORD = 8 + 4 + 8 + 4 + 8 + 4 + 8 + 4 + 4;
+
+	private final Map<String, Integer> pool = new HashMap<>();
+	private final List<String> strings = new ArrayList<>();
+
+	private StaticDataWriter() { }
+
+	public static boolean save(Map<Integer, Item> items, Collection<MyLocation> locations, List<Jump> jumps, Map<Integer, ItemFlag> flags) {
+		StaticDataWriter writer = new StaticDataWriter();
+		return writer.write(FileUtil.getPathStaticDataCache(), items.values(), locations, jumps, flags.values());
+	}
+
+	/**
+	 * Identify the XML files the binary file was compiled from.
+	 * @return version string that changes when any of the source files changes
+	 */
+	static String getSourceVersion() {
+		StringBuilder builder = new StringBuilder();
+		for (String filename : new String[] {FileUtil.getPathDataVersion(), FileUtil.getPathItems(), FileUtil.getPathLocations(), FileUtil.getPathJumps(), FileUtil.getPathFlags()}) {
+			File file = new File(filename);
+			builder.append(file.getName());
+			builder.append(':');
+			builder.append(file.length());
+			builder.append(':');
+			builder.append(file.lastModified());
+			builder.append(';');
+		}
+		return builder.toString();
+	}
+
+	private boolean write(String filename, Collection<Item> itemValues, Collection<MyLocation> locationValues, List<Jump> jumps, Collection<ItemFlag> flagValues) {
+		List<Item> items = new ArrayList<>();
+		for (Item item : itemValues) {
+			if (item.getVersion() == null) { //Only static data (ESI items is saved in items updates)
+				items.add(item);
+			}
+		}
+		items.sort(Comparator.comparingInt(Item::getTypeID));
+		List<MyLocation> locations = new ArrayList<>(locationValues);
+		locations.sort(Comparator.comparingLong(MyLocation::getLocationID));
+		List<ItemFlag> flags = new ArrayList<>(flagValues);
+		flags.sort(Comparator.comparingInt(ItemFlag::getFlagID));
+		//String pool
+		for (Item item : items) {
+			index(item.getTypeName());
+			index(item.getGroup());
+			index(item.getCategory());
+			index(item.getTech());
+		}
+		for (MyLocation location : locations) {
+			index(location.getStation());
+			index(location.getSystem());
+			index(location.getConstellation());
+			index(location.getRegion());
+			index(location.getSecurity());
+		}
+		for (ItemFlag flag : flags) {
+			index(flag.getFlagName());
+			index(flag.getFlagText());
+		}
+		File file = new File(filename);
+		File tempFile = new File(filename + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			//Header
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT);
+			writeString(out, getSourceVersion());
+			//Strings
+			out.writeInt(strings.size());
+			for (String string : strings) {
+				writeString(out, string);
+			}
+			//Reprocessed materials
+			int count = 0;
+			for (Item item : items) {
+				count = count + item.getReprocessedMaterial().size();
+			}
+			out.writeInt(count);
+			for (Item item : items) {
+				for (ReprocessedMaterial material : item.getReprocessedMaterial()) {
+					out.writeInt(material.getTypeID());
+					out.writeInt(material.getQuantity());
+					out.writeInt(material.getPortionSize());
+				}
+			}
+			//Industry materials
+			count = 0;
+			for (Item item : items) {
+				count = count + item.getManufacturingMaterials().size() + item.getReactionMaterials().size();
+			}
+			out.writeInt(count);
+			for (Item item : items) {
+				writeIndustryMaterials(out, item.getManufacturingMaterials());
+				writeIndustryMaterials(out, item.getReactionMaterials());
+			}
+			//Items
+			out.writeInt(items.size());
+			int reprocessedOffset = 0;
+			int industryOffset = 0;
+			for (Item item : items) {
+				out.writeInt(item.getTypeID());
+				out.writeInt(index(item.getTypeName()));
+				out.writeInt(index(item.getGroup()));
+				out.writeInt(index(item.getCategory()));
+				out.writeLong(item.getPriceBase());
+				out.writeFloat(item.getVolume());
+				out.writeFloat(item.getPackagedVolume());
+				out.writeFloat(item.getCapacity());
+				out.writeInt(item.getMeta());
+				out.writeInt(index(item.getTech()));
+				out.writeBoolean(item.isMarketGroup());
+				out.writeInt(item.getPortion());
+				out.writeInt(item.getProductTypeID());
+				out.writeInt(item.getProductQuantity());
+				out.writeInt(reprocessedOffset);
+				out.writeInt(item.getReprocessedMaterial().size());
+				reprocessedOffset = reprocessedOffset + item.getReprocessedMaterial().size();
+				out.writeInt(industryOffset);
+				out.writeInt(item.getManufacturingMaterials().size());
+				industryOffset = industryOffset + item.getManufacturingMaterials().size();
+				out.writeInt(industryOffset);
+				out.writeInt(item.getReactionMaterials().size());
+				industryOffset = industryOffset + item.getReactionMaterials().size();
+			}
+			//Locations
+			out.writeInt(locations.size());
+			for (MyLocation location : locations) {
+				out.writeLong(location.getStationID());
+				out.writeInt(index(location.getStation()));
+				out.writeLong(location.getSystemID());
+				out.writeInt(index(location.getSystem()));
+				out.writeLong(location.getConstellationID());
+				out.writeInt(index(location.getConstellation()));
+				out.writeLong(location.getRegionID());
+				out.writeInt(index(location.getRegion()));
+				out.writeInt(index(location.getSecurity()));
+			}
+			//Jumps
+			out.writeInt(jumps.size());
+			for (Jump jump : jumps) {
+				out.writeLong(jump.getFrom().getLocationID());
+				out.writeLong(jump.getTo().getLocationID());
+			}
+			//Flags
+			out.writeInt(flags.size());
+			for (ItemFlag flag : flags) {
+				out.writeInt(flag.getFlagID());
+				out.writeInt(index(flag.getFlagName()));
+				out.writeInt(index(flag.getFlagText()));
+			}
+		} catch (IOException ex) {
+			LOG.error("Static data cache not saved " + ex.getMessage(), ex);
+			tempFile.delete();
+			return false;
+		}
+		try {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ex) {
+			LOG.error("Static data cache not saved " + ex.getMessage(), ex);
+			tempFile.delete();
+			return false;
+		}
+		LOG.info("Static data cache saved");
+		return true;
+	}
+
+	private void writeIndustryMaterials(DataOutputStream out, List<IndustryMaterial> materials) throws IOException {
+		for (IndustryMaterial material : materials) {
+			out.writeInt(material.getTypeID());
+			out.writeInt(material.getQuantity());
+		}
+	}
+
+	private int index(String string) {
+		if (string == null) {
+			return -1;
+		}
+		Integer index = pool.get(string);
+		if (index == null) {
+			index = strings.size();
+			strings.add(string);
+			pool.put(string, index);
+		}
+		return index;
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
@@ -0,0 +1,544 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+package net.nikr.eve.jeveasset.io.local;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import net.nikr.eve.jeveasset.gui.tabs.values.AssetValue;
+import net.nikr.eve.jeveasset.gui.tabs.values.Value;
+import net.nikr.eve.jeveasset.io.shared.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only tracker data store.
+ * <p>
+ * The data is saved in numbered segment files. New data points are appended to the last segment,
+ * history is never rewritten when adding data. When there is too many segments, or data has been
+ * edited/deleted, all data is compacted into a new base segment and the older segments are deleted.
+ * <p>
+ * Segment layout (big-endian):
+ * <pre>
+ * header: int magic, int format, byte base (1 = ignore all older segments)
+ * entries: int length, byte type, payload
+ *   owner:   int id, string name
+ *   asset:   int id, string location, string flag, long locationID (0 = null)
+ *   balance: int id, string division
+ *   value:   int owner, long date, 8 x double, long skillpoints,
+ *            int count, count x (int asset, double value),
+ *            int count, count x (int balance, double value)
+ * </pre>
+ * Owner names, AssetValues and wallet divisions are dictionary encoded: each key is written once, before the first value using it.
+ * A value entry is a fixed-width block of doubles followed by the asset and wallet division breakdowns.
+ * Entries are length prefixed, so a partly written entry (program killed while saving) is detected and ignored.
+ * <p>
+ * A damaged segment (unreadable or corrupt entry) is never deleted: all data before the damage is loaded,
+ * and the next rewrite moves the old segments aside (into a "damaged-" directory) instead of deleting them.
+ */
+public class TrackerStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TrackerStore.class);
+
+	static final int MAGIC = 0x4A455654; //JEVT
+	static final int FORMAT = 1;
+
+	private static final byte ENTRY_OWNER = 1;
+	private static final byte ENTRY_ASSET = 2;
+	private static final byte ENTRY_BALANCE = 3;
+	private static final byte ENTRY_VALUE = 4;
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".dat";
+	private static final String DAMAGED_PREFIX = "damaged-";
+	private static final long SEGMENT_SIZE = 4 * 1024 * 1024; //4MB
+	private static final int MAX_SEGMENTS = 8;
+
+	private static TrackerStore store;
+
+	private final File directory;
+	//Dictionaries (in sync with the files on disk, when open is true)
+	private final Map<String, Integer> owners = new HashMap<>();
+	private final Map<AssetValue, Integer> assets = new IdentityHashMap<>(); //AssetValue is mutable (location name updates)
+	private final Map<String, Integer> balances = new HashMap<>();
+	private boolean open = false;
+	private int segments = 0;
+	private int lastSegment = -1;
+	private boolean torn = false;
+	private boolean damaged = false; //Old segments must be kept on rewrite
+
+	public static synchronized TrackerStore get() {
+		if (store == null) {
+			store = new TrackerStore(new File(FileUtil.getPathTrackerStore()));
+		}
+		return store;
+	}
+
+	protected TrackerStore(File directory) {
+		this.directory = directory;
+	}
+
+	public synchronized boolean exists() {
+		return !listSegments().isEmpty();
+	}
+
+	/**
+	 * @return true if the last load found damaged segments (only the data before the damage was loaded)
+	 */
+	public synchronized boolean isDamaged() {
+		return damaged;
+	}
+
+	/**
+	 * Load all tracker data.
+	 * If a segment is damaged, the data before the damage is returned and {@link #isDamaged()} is true.
+	 * @return tracker data or null, if there is no store
+	 */
+	public synchronized Map<String, List<Value>> load() {
+		open = false;
+		damaged = false;
+		TreeMap<Integer, File> files = listSegments();
+		if (files.isEmpty()) {
+			return null;
+		}
+		clear();
+		Map<Integer, String> ownerIDs = new HashMap<>();
+		Map<Integer, AssetValue> assetIDs = new HashMap<>();
+		Map<Integer, String> balanceIDs = new HashMap<>();
+		Map<String, List<Value>> trackerData = new HashMap<>();
+		//Start from the last base segment
+		Integer start = files.firstKey();
+		for (Map.Entry<Integer, File> entry : files.descendingMap().entrySet()) {
+			if (isBase(entry.getValue())) {
+				start = entry.getKey();
+				break;
+			}
+		}
+		for (Map.Entry<Integer, File> entry : files.tailMap(start, true).entrySet()) {
+			try {
+				torn = !readSegment(entry.getValue(), ownerIDs, assetIDs, balanceIDs, trackerData);
+			} catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+				//Later segments may depend on the lost entries: keep the data before the damage only
+				LOG.error("Tracker data: " + entry.getValue().getName() + " is damaged, only the data before it is loaded: " + ex.getMessage(), ex);
+				clear();
+				damaged = true;
+				return trackerData;
+			}
+			segments++;
+			lastSegment = entry.getKey();
+		}
+		for (Map.Entry<Integer, String> entry : ownerIDs.entrySet()) {
+			owners.put(entry.getValue(), entry.getKey());
+		}
+		for (Map.Entry<Integer, AssetValue> entry : assetIDs.entrySet()) {
+			assets.put(entry.getValue(), entry.getKey());
+		}
+		for (Map.Entry<Integer, String> entry : balanceIDs.entrySet()) {
+			balances.put(entry.getValue(), entry.getKey());
+		}
+		open = true;
+		LOG.info("Tracker data loaded (" + segments + " segments)");
+		return trackerData;
+	}
+
+	/**
+	 * Append new data points. History is not rewritten.
+	 * @param trackerData new data points
+	 * @return true if saved, false if the store must be rewritten instead
+	 */
+	public synchronized boolean append(Map<String, List<Value>> trackerData) {
+		if (!open) {
+			return false;
+		}
+		try {
+			File file;
+			boolean newSegment = torn || lastSegment < 0 || segmentFile(lastSegment).length() >= SEGMENT_SIZE;
+			if (newSegment) {
+				file = segmentFile(lastSegment + 1);
+			} else {
+				file = segmentFile(lastSegment);
+			}
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, !newSegment)))) {
+				if (newSegment) {
+					writeHeader(out, false);
+				}
+				writeEntries(out, trackerData);
+			}
+			if (newSegment) {
+				lastSegment++;
+				segments++;
+				torn = false;
+			}
+			return true;
+		} catch (IOException ex) {
+			LOG.error("Tracker data not appended: " + ex.getMessage(), ex);
+			open = false; //Dictionaries may be out of sync with the files: rewrite
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if there is enough segments to compact them into one
+	 */
+	public synchronized boolean isCompactionNeeded() {
+		return segments > MAX_SEGMENTS;
+	}
+
+	/**
+	 * Write all data to a new base segment and delete the old segments.
+	 * Used for compaction and after data has been edited or deleted.
+	 * @param trackerData all tracker data
+	 * @return true if saved
+	 */
+	public synchronized boolean rewrite(Map<String, List<Value>> trackerData) {
+		if (!directory.exists() && !directory.mkdirs()) {
+			LOG.error("Tracker data not saved: Failed to create " + directory.getAbsolutePath());
+			return false;
+		}
+		TreeMap<Integer, File> old = listSegments();
+		int next = old.isEmpty() ? 0 : old.lastKey() + 1;
+		clear();
+		File file = segmentFile(next);
+		File tempFile = new File(file.getAbsolutePath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			writeHeader(out, true);
+			writeEntries(out, trackerData);
+		} catch (IOException ex) {
+			LOG.error("Tracker data not saved: " + ex.getMessage(), ex);
+			tempFile.delete();
+			clear();
+			return false;
+		}
+		try {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ex) {
+			LOG.error("Tracker data not saved: " + ex.getMessage(), ex);
+			tempFile.delete();
+			clear();
+			return false;
+		}
+		//The new base segment is safe: delete the old segments
+		if (damaged) { //Never delete data that could not be read
+			damaged = !moveAside(old.values());
+		} else {
+			for (File oldFile : old.values()) {
+				if (!oldFile.delete()) {
+					LOG.warn("Failed to delete old tracker segment: " + oldFile.getName());
+				}
+			}
+		}
+		lastSegment = next;
+		segments = 1;
+		open = true;
+		LOG.info("Tracker data saved");
+		return true;
+	}
+
+	private void clear() {
+		owners.clear();
+		assets.clear();
+		balances.clear();
+		segments = 0;
+		lastSegment = -1;
+		torn = false;
+		open = false;
+	}
+
+	private boolean moveAside(Collection<File> files) {
+		File damagedDirectory = new File(directory, DAMAGED_PREFIX + System.currentTimeMillis());
+		if (!damagedDirectory.exists() && !damagedDirectory.mkdirs()) {
+			LOG.error("Failed to create " + damagedDirectory.getAbsolutePath());
+			return false;
+		}
+		boolean moved = true;
+		for (File file : files) {
+			try {
+				Files.move(file.toPath(), new File(damagedDirectory, file.getName()).toPath());
+			} catch (IOException ex) {
+				LOG.error("Failed to move damaged tracker segment: " + file.getName(), ex);
+				moved = false;
+			}
+		}
+		LOG.warn("Damaged tracker segments moved to: " + damagedDirectory.getAbsolutePath());
+		return moved;
+	}
+
+	private TreeMap<Integer, File> listSegments() {
+		TreeMap<Integer, File> files = new TreeMap<>();
+		File[] list = directory.listFiles();
+		if (list == null) {
+			return files;
+		}
+		for (File file : list) {
+			String name = file.getName();
+			if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+				try {
+					files.put(Integer.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+				} catch (NumberFormatException ex) {
+					//Not a segment
+				}
+			}
+		}
+		return files;
+	}
+
+	private File segmentFile(int number) {
+		return new File(directory, SEGMENT_PREFIX + String.format("%08d", number) + SEGMENT_SUFFIX);
+	}
+
+	private boolean isBase(File file) {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(9);
+			channel.read(buffer, 0);
+			buffer.flip();
+			return buffer.remaining() == 9 && buffer.getInt() == MAGIC && buffer.getInt() == FORMAT && buffer.get() == 1;
+		} catch (IOException ex) {
+			return false;
+		}
+	}
+
+	private void writeHeader(DataOutputStream out, boolean base) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT);
+		out.writeBoolean(base);
+	}
+
+	private void writeEntries(DataOutputStream out, Map<String, List<Value>> trackerData) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream entry = new DataOutputStream(bytes);
+		for (Map.Entry<String, List<Value>> ownerEntry : trackerData.entrySet()) {
+			for (Value value : ownerEntry.getValue()) {
+				//Dictionary
+				Integer ownerID = owners.get(ownerEntry.getKey());
+				if (ownerID == null) {
+					ownerID = owners.size();
+					owners.put(ownerEntry.getKey(), ownerID);
+					entry.writeByte(ENTRY_OWNER);
+					entry.writeInt(ownerID);
+					writeString(entry, ownerEntry.getKey());
+					writeEntry(out, bytes);
+				}
+				for (AssetValue assetValue : value.getAssetsFilter().keySet()) {
+					if (!assets.containsKey(assetValue)) {
+						int assetID = assets.size();
+						assets.put(assetValue, assetID);
+						entry.writeByte(ENTRY_ASSET);
+						entry.writeInt(assetID);
+						writeString(entry, assetValue.getLocation());
+						writeString(entry, assetValue.getFlag());
+						entry.writeLong(assetValue.getLocationID() != null ? assetValue.getLocationID() : 0);
+						writeEntry(out, bytes);
+					}
+				}
+				for (String division : value.getBalanceFilter().keySet()) {
+					if (!balances.containsKey(division)) {
+						int balanceID = balances.size();
+						balances.put(division, balanceID);
+						entry.writeByte(ENTRY_BALANCE);
+						entry.writeInt(balanceID);
+						writeString(entry, division);
+						writeEntry(out, bytes);
+					}
+				}
+				//Value
+				entry.writeByte(ENTRY_VALUE);
+				entry.writeInt(ownerID);
+				entry.writeLong(value.getDate().getTime());
+				entry.writeDouble(value.getAssetsTotal());
+				entry.writeDouble(value.getEscrows());
+				entry.writeDouble(value.getEscrowsToCover());
+				entry.writeDouble(value.getSellOrders());
+				entry.writeDouble(value.getBalanceTotal());
+				entry.writeDouble(value.getManufacturing());
+				entry.writeDouble(value.getContractCollateral());
+				entry.writeDouble(value.getContractValue());
+				entry.writeLong(value.getSkillPoints());
+				entry.writeInt(value.getAssetsFilter().size());
+				for (Map.Entry<AssetValue, Double> assetEntry : value.getAssetsFilter().entrySet()) {
+					entry.writeInt(assets.get(assetEntry.getKey()));
+					entry.writeDouble(assetEntry.getValue());
+				}
+				entry.writeInt(value.getBalanceFilter().size());
+				for (Map.Entry<String, Double> balanceEntry : value.getBalanceFilter().entrySet()) {
+					entry.writeInt(balances.get(balanceEntry.getKey()));
+					entry.writeDouble(balanceEntry.getValue());
+				}
+				writeEntry(out, bytes);
+			}
+		}
+	}
+
+	private void writeEntry(DataOutputStream out, ByteArrayOutputStream bytes) throws IOException {
+		out.writeInt(bytes.size());
+		bytes.writeTo(out);
+		bytes.reset();
+	}
+
+	/**
+	 * Read one segment.
+	 * @return false if the segment ends with a partly written entry
+	 */
+	private boolean readSegment(File file, Map<Integer, String> ownerIDs, Map<Integer, AssetValue> assetIDs, Map<Integer, String> balanceIDs, Map<String, List<Value>> trackerData) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() < 9) { //Header not written
+				LOG.warn("Tracker data: ignoring empty segment " + file.getName());
+				return false;
+			}
+			//Read into memory: a mapped file can not be deleted (on windows) until the buffer is garbage collected
+			ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				//Read all
+			}
+			buffer.flip();
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+				throw new IllegalArgumentException("Unknown format: " + file.getName());
+			}
+			buffer.get(); //Base
+			while (buffer.hasRemaining()) {
+				if (buffer.remaining() < 4) {
+					LOG.warn("Tracker data: ignoring partly written entry in " + file.getName());
+					return false;
+				}
+				int length = buffer.getInt();
+				if (length <= 0 || length > buffer.remaining()) {
+					LOG.warn("Tracker data: ignoring partly written entry in " + file.getName());
+					return false;
+				}
+				int end = buffer.position() + length;
+				int limit = buffer.limit();
+				buffer.limit(end); //Corrupt entries must not read into the next entry
+				byte type = buffer.get();
+				if (type == ENTRY_OWNER) {
+					int id = buffer.getInt();
+					ownerIDs.put(id, readString(buffer));
+				} else if (type == ENTRY_ASSET) {
+					int id = buffer.getInt();
+					String location = readString(buffer);
+					String flag = readString(buffer);
+					long locationID = buffer.getLong();
+					assetIDs.put(id, AssetValue.create(location, flag, locationID != 0 ? locationID : null));
+				} else if (type == ENTRY_BALANCE) {
+					int id = buffer.getInt();
+					balanceIDs.put(id, readString(buffer));
+				} else if (type == ENTRY_VALUE) {
+					String owner = ownerIDs.get(buffer.getInt());
+					if (owner == null) {
+						throw new IllegalArgumentException("Unknown owner");
+					}
+					Value value = readValue(buffer, assetIDs, balanceIDs);
+					List<Value> values = trackerData.get(owner);
+					if (values == null) {
+						values = new ArrayList<>();
+						trackerData.put(owner, values);
+					}
+					values.add(value);
+				} //Unknown entries are skipped
+				buffer.limit(limit);
+				buffer.position(end);
+			}
+			return true;
+		}
+	}
+
+	private Value readValue(ByteBuffer buffer, Map<Integer, AssetValue> assetIDs, Map<Integer, String> balanceIDs) {
+		Value value = new Value(new Date(buffer.getLong()));
+		double assetsTotal = buffer.getDouble();
+		double escrows = buffer.getDouble();
+		double escrowsToCover = buffer.getDouble();
+		double sellOrders = buffer.getDouble();
+		double balanceTotal = buffer.getDouble();
+		double manufacturing = buffer.getDouble();
+		double contractCollateral = buffer.getDouble();
+		double contractValue = buffer.getDouble();
+		long skillPoints = buffer.getLong();
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			AssetValue assetValue = assetIDs.get(buffer.getInt());
+			double assets = buffer.getDouble();
+			if (assetValue == null) {
+				throw new IllegalArgumentException("Unknown asset value");
+			}
+			value.addAssets(assetValue, assets);
+		}
+		if (count == 0) {
+			value.setAssetsTotal(assetsTotal);
+		}
+		count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			String division = balanceIDs.get(buffer.getInt());
+			double balance = buffer.getDouble();
+			if (division == null) {
+				throw new IllegalArgumentException("Unknown wallet division");
+			}
+			value.addBalance(division, balance);
+		}
+		if (count == 0) {
+			value.setBalanceTotal(balanceTotal);
+		}
+		value.setEscrows(escrows);
+		value.setEscrowsToCover(escrowsToCover);
+		value.setSellOrders(sellOrders);
+		value.setManufacturing(manufacturing);
+		value.setContractCollateral(contractCollateral);
+		value.setContractValue(contractValue);
+		value.setSkillPoints(skillPoints);
+		return value;
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
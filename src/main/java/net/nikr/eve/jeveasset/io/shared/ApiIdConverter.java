@@ -21,7 +21,12 @@
 package net.nikr.eve.jeveasset.io.shared;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import net.nikr.eve.jeveasset.data.api.accounts.OwnerType;
 import net.nikr.eve.jeveasset.data.api.my.MyAsset;
 import net.nikr.eve.jeveasset.data.sde.Item;
@@ -257,25 +262,57 @@ public final class ApiIdConverter {
 			return new Item(0);
 		}
 		Item item = StaticData.get().getItems().get(typeID);
-		if (item == null || 
-				(item.getVersion() != null && !item.getVersion().equals(EsiItemsGetter.ESI_ITEM_VERSION))) { //New ESI item version
-			if (item != null && item.getVersion().startsWith(EsiItemsGetter.ESI_ITEM_EMPTY)) {
-				String lastUpdated = item.getVersion().replace(EsiItemsGetter.ESI_ITEM_EMPTY, "");
-				String today = Formater.dateOnly(Settings.getNow());
-				if (lastUpdated.equals(today)) {
-					return item;
-				}
+		if (isItemUpdateNeeded(item)) {
+			updateItems(Collections.singleton(typeID));
+			item = StaticData.get().getItems().get(typeID);
+		}
+		return item;
+	}
+
+	/**
+	 * Resolve all unknown or outdated items in one batch.
+	 * Types are fetched concurrently from ESI and the items updates file is only saved once.
+	 * Call before converting many raw objects, so getItemUpdate() does not have to update them one by one.
+	 * @param typeIDs TypeIDs to resolve (null values are ignored)
+	 */
+	public static synchronized void updateItems(final Collection<Integer> typeIDs) {
+		Set<Integer> update = new HashSet<>();
+		for (Integer typeID : typeIDs) {
+			if (typeID != null && isItemUpdateNeeded(StaticData.get().getItems().get(typeID))) {
+				update.add(typeID);
 			}
-			EsiItemsGetter esiItemsGetter = new EsiItemsGetter(typeID);
-			esiItemsGetter.run();
-			item = esiItemsGetter.getItem();
+		}
+		if (update.isEmpty()) {
+			return;
+		}
+		EsiItemsGetter esiItemsGetter = new EsiItemsGetter(update);
+		esiItemsGetter.run();
+		Map<Integer, Item> items = esiItemsGetter.getItems();
+		for (Integer typeID : update) {
+			Item item = items.get(typeID);
 			if (item == null) { //Empty Item
 				item = new Item(typeID, EsiItemsGetter.ESI_ITEM_EMPTY + Formater.dateOnly(Settings.getNow()));
 			}
 			StaticData.get().getItems().put(typeID, item);
-			ItemsWriter.save();
 		}
-		return item;
+		ItemsWriter.save();
+	}
+
+	private static boolean isItemUpdateNeeded(final Item item) {
+		if (item == null) {
+			return true;
+		}
+		if (item.getVersion() == null || item.getVersion().equals(EsiItemsGetter.ESI_ITEM_VERSION)) { //Static data or current ESI item version
+			return false;
+		}
+		if (item.getVersion().startsWith(EsiItemsGetter.ESI_ITEM_EMPTY)) {
+			String lastUpdated = item.getVersion().replace(EsiItemsGetter.ESI_ITEM_EMPTY, "");
+			String today = Formater.dateOnly(Settings.getNow());
+			if (lastUpdated.equals(today)) {
+				return false;
+			}
+		}
+		return true; //New ESI item version
 	}
 
 	public static String getOwnerName(final Integer ownerID) {
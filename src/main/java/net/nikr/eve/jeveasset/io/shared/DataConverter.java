@@ -51,6 +51,15 @@ import net.nikr.eve.jeveasset.data.sde.Item;
 public abstract class DataConverter {
 
 	public static List<MyAsset> assetIndustryJob(final Collection<MyIndustryJob> industryJobs, boolean includeManufacturing) {
+		if (includeManufacturing) {
+			Set<Integer> typeIDs = new HashSet<>();
+			for (MyIndustryJob industryJob : industryJobs) {
+				if (!industryJob.isDelivered() && industryJob.isManufacturing()) {
+					typeIDs.add(industryJob.getProductTypeID());
+				}
+			}
+			ApiIdConverter.updateItems(typeIDs);
+		}
 		List<MyAsset> assets = new ArrayList<MyAsset>();
 		for (MyIndustryJob industryJob : industryJobs) {
 			if (!industryJob.isDelivered()) {
@@ -127,10 +136,13 @@ public abstract class DataConverter {
 		Map<Long, RawAsset> lookup = new HashMap<Long, RawAsset>();
 		Map<Long, List<RawAsset>> childMap = new HashMap<Long, List<RawAsset>>();
 		List<RawAsset> root = new ArrayList<RawAsset>();
+		Set<Integer> typeIDs = new HashSet<>();
 		for (RawAsset rawAsset : rawAssets) { //Lookup by ItemID
 			lookup.put(rawAsset.getItemID(), rawAsset);
 			childMap.put(rawAsset.getItemID(), new ArrayList<RawAsset>());
+			typeIDs.add(rawAsset.getTypeID());
 		}
+		ApiIdConverter.updateItems(typeIDs);
 		for (RawAsset rawAsset : rawAssets) { //Create child map
 			RawAsset parent = lookup.get(rawAsset.getLocationID());
 			if (parent != null) { //Is Child Asset
@@ -208,6 +220,11 @@ public abstract class DataConverter {
 	public static Map<MyContract, List<MyContractItem>> convertRawContractItems(MyContract contract, List<RawContractItem> rawContractItems, OwnerType owner) {
 		Map<MyContract, List<MyContractItem>> contracts = new HashMap<MyContract, List<MyContractItem>>(owner.getContracts()); //Copy list
 		List<MyContractItem> contractItems = new ArrayList<MyContractItem>();
+		Set<Integer> typeIDs = new HashSet<>();
+		for (RawContractItem rawContract : rawContractItems) {
+			typeIDs.add(rawContract.getTypeID());
+		}
+		ApiIdConverter.updateItems(typeIDs);
 		for (RawContractItem rawContract : rawContractItems) {
 			contractItems.add(toMyContractItem(rawContract, contract));
 		}
@@ -227,6 +244,11 @@ public abstract class DataConverter {
 
 	public static List<MyIndustryJob> convertRawIndustryJobs(List<RawIndustryJob> rawIndustryJobs, OwnerType owner) {
 		List<MyIndustryJob> industryJobs = new ArrayList<MyIndustryJob>();
+		Set<Integer> typeIDs = new HashSet<>();
+		for (RawIndustryJob rawIndustryJob : rawIndustryJobs) {
+			typeIDs.add(rawIndustryJob.getBlueprintTypeID());
+		}
+		ApiIdConverter.updateItems(typeIDs);
 		for (RawIndustryJob rawIndustryJob : rawIndustryJobs) {
 			industryJobs.add(toMyIndustryJob(rawIndustryJob, owner));
 		}
@@ -259,6 +281,11 @@ public abstract class DataConverter {
 		for (MyMarketOrder marketOrder : owner.getMarketOrders()) {
 			changed.put(marketOrder.getOrderID(), marketOrder.getChanges());
 		}
+		Set<Integer> typeIDs = new HashSet<>();
+		for (RawMarketOrder rawMarketOrder : rawMarketOrders) {
+			typeIDs.add(rawMarketOrder.getTypeID());
+		}
+		ApiIdConverter.updateItems(typeIDs);
 		for (RawMarketOrder rawMarketOrder : rawMarketOrders) {
 			MyMarketOrder marketOrder = toMyMarketOrder(rawMarketOrder, owner);
 			marketOrders.add(marketOrder);
@@ -280,6 +307,11 @@ public abstract class DataConverter {
 
 	public static Set<MyTransaction> convertRawTransactions(List<RawTransaction> rawTransactions, OwnerType owner, boolean saveHistory) {
 		Set<MyTransaction> myTransactions = new HashSet<MyTransaction>();
+		Set<Integer> typeIDs = new HashSet<>();
+		for (RawTransaction rawTransaction : rawTransactions) {
+			typeIDs.add(rawTransaction.getTypeID());
+		}
+		ApiIdConverter.updateItems(typeIDs);
 		for (RawTransaction rawTransaction : rawTransactions) {
 			myTransactions.add(toMyTransaction(rawTransaction, owner));
 		}
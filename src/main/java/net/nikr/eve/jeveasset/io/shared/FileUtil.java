@@ -43,6 +43,7 @@ public class FileUtil {
 	private static final String PATH_ASSET_ADDED = "data" + File.separator + "added.json";
 	private static final String PATH_ASSET_ADDED_DATABASE = "data" + File.separator + "addedsql.db";
 	private static final String PATH_TRACKER_DATA = "data" + File.separator + "tracker.json";
+	private static final String PATH_TRACKER_STORE = "data" + File.separator + "tracker";
 	private static final String PATH_CONTRACT_PRICES = "data" + File.separator + "contract_prices.json";
 	private static final String PATH_SETTINGS = "data" + File.separator + "settings.xml";
 	private static final String PATH_ITEMS = "data" + File.separator + "items.xml";
@@ -50,6 +51,7 @@ public class FileUtil {
 	private static final String PATH_JUMPS = "data" + File.separator + "jumps.xml";
 	private static final String PATH_LOCATIONS = "data" + File.separator + "locations.xml";
 	private static final String PATH_FLAGS = "data" + File.separator + "flags.xml";
+	private static final String PATH_STATIC_DATA_CACHE = "data" + File.separator + "staticdata.bin";
 	private static final String PATH_PRICE_DATA = "data" + File.separator + "pricedata.dat";
 	private static final String PATH_ASSETS = "data" + File.separator + "assets.xml";
 	private static final String PATH_CONQUERABLE_STATIONS = "data" + File.separator + "conquerable_stations.xml";
@@ -156,6 +158,7 @@ public class FileUtil {
 			Program.setPortable(false);
 			Path settingsFrom = Paths.get(FileUtil.getPathSettings());
 			Path trackerFrom = Paths.get(FileUtil.getPathTrackerData());
+			Path trackerStoreFrom = Paths.get(FileUtil.getPathTrackerStore());
 			Path assetAddedFrom = Paths.get(FileUtil.getPathAssetAdded());
 			Path assetAddedDatabaseFrom = Paths.get(FileUtil.getPathAssetAddedDatabase());
 			Path citadelFrom = Paths.get(FileUtil.getPathCitadel());
@@ -166,6 +169,7 @@ public class FileUtil {
 			Program.setPortable(true);
 			Path settingsTo = Paths.get(FileUtil.getPathSettings());
 			Path trackerTo = Paths.get(FileUtil.getPathTrackerData());
+			Path trackerStoreTo = Paths.get(FileUtil.getPathTrackerStore());
 			Path assetAddedTo = Paths.get(FileUtil.getPathAssetAdded());
 			Path assetAddedDatabaseTo = Paths.get(FileUtil.getPathAssetAddedDatabase());
 			Path citadelTo = Paths.get(FileUtil.getPathCitadel());
@@ -191,6 +195,27 @@ public class FileUtil {
 					LOG.info("	FAILED");
 				}
 			}
+			if (Files.exists(trackerStoreFrom) && !Files.exists(trackerStoreTo)) {
+				try {
+					LOG.info("Importing tracker store");
+					Files.walkFileTree(trackerStoreFrom, new SimpleFileVisitor<Path>() {
+						@Override
+						public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+							Files.createDirectories(trackerStoreTo.resolve(trackerStoreFrom.relativize(dir)));
+							return FileVisitResult.CONTINUE;
+						}
+
+						@Override
+						public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+							Files.copy(file, trackerStoreTo.resolve(trackerStoreFrom.relativize(file)));
+							return FileVisitResult.CONTINUE;
+						}
+					});
+					LOG.info("	OK");
+				} catch (IOException ex) {
+					LOG.info("	FAILED");
+				}
+			}
 			if (Files.exists(assetAddedFrom) && !Files.exists(assetAddedTo)) {
 				LOG.info("Importing asset added");
 				try {
@@ -284,6 +309,10 @@ public class FileUtil {
 		return FileUtil.getLocalFile(FileUtil.PATH_TRACKER_DATA, !Program.isPortable());
 	}
 
+	public static String getPathTrackerStore() {
+		return FileUtil.getLocalFile(FileUtil.PATH_TRACKER_STORE, !Program.isPortable());
+	}
+
 	public static String getPathContractPrices() {
 		return FileUtil.getLocalFile(FileUtil.PATH_CONTRACT_PRICES, !Program.isPortable());
 	}
@@ -312,6 +341,10 @@ public class FileUtil {
 		return FileUtil.getLocalFile(FileUtil.PATH_FLAGS, false);
 	}
 
+	public static String getPathStaticDataCache() {
+		return FileUtil.getLocalFile(FileUtil.PATH_STATIC_DATA_CACHE, !Program.isPortable());
+	}
+
 	public static String getPathPriceData() {
 		return FileUtil.getLocalFile(FileUtil.PATH_PRICE_DATA, !Program.isPortable());
 	}
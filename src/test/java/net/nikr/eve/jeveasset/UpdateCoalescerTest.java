@@ -0,0 +1,99 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import net.nikr.eve.jeveasset.UpdateCoalescer.Update;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class UpdateCoalescerTest extends TestUtil {
+
+	@Test
+	public void testMerge() throws InterruptedException {
+		final List<Update> updates = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final UpdateCoalescer coalescer = new UpdateCoalescer(new UpdateCoalescer.UpdateProcessor() {
+			@Override
+			public void process(Update update) {
+				updates.add(update);
+				started.countDown();
+				try {
+					release.await(); //Block the first update, while the next requests are made
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		List<Thread> threads = new ArrayList<>();
+		threads.add(start(coalescer, Collections.singleton(1L), null, null)); //Names
+		started.await();
+		threads.add(start(coalescer, Collections.singleton(2L), null, null)); //Names
+		threads.add(start(coalescer, null, Collections.singleton(3L), null)); //Locations
+		threads.add(start(coalescer, null, null, Collections.singleton(4))); //Prices
+		Thread.sleep(500);
+		release.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(2, updates.size());
+		Update first = updates.get(0);
+		assertEquals(Collections.singleton(1L), first.getItemIDs());
+		Update merged = updates.get(1);
+		assertFalse(merged.isFull());
+		assertEquals(Collections.singleton(2L), merged.getItemIDs());
+		assertEquals(Collections.singleton(3L), merged.getLocationIDs());
+		assertEquals(Collections.singleton(4), merged.getTypeIDs());
+	}
+
+	@Test
+	public void testFull() {
+		final List<Update> updates = new ArrayList<>();
+		UpdateCoalescer coalescer = new UpdateCoalescer(new UpdateCoalescer.UpdateProcessor() {
+			@Override
+			public void process(Update update) {
+				updates.add(update);
+			}
+		});
+		coalescer.update(null, null, null, null);
+		assertEquals(1, updates.size());
+		assertTrue(updates.get(0).isFull());
+	}
+
+	private Thread start(final UpdateCoalescer coalescer, final Set<Long> itemIDs, final Set<Long> locationIDs, final Set<Integer> typeIDs) {
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				coalescer.update(itemIDs, locationIDs, typeIDs, null);
+			}
+		});
+		thread.start();
+		return thread;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.menu;
+
+import java.util.Arrays;
+import net.nikr.eve.jeveasset.TestUtil;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+
+public class CompiledFormulaTest extends TestUtil {
+
+	@Test
+	public void testOperators() {
+		assertEquals(7, eval("1+2*3"), 0);
+		assertEquals(9, eval("(1+2)*3"), 0);
+		assertEquals(4, eval("-2^2"), 0); //Unary minus first (as EvalEx)
+		assertEquals(512, eval("2^3^2"), 0); //Right associative
+		assertEquals(1, eval("10%3"), 0);
+		assertEquals(5, eval("2 - -3"), 0);
+		assertEquals(1, eval("1<2 && 2<=2"), 0);
+		assertEquals(0, eval("1>2 || 2<>2"), 0);
+		assertEquals(1, eval("2 = 2"), 0);
+		assertEquals(1000, eval("1e3"), 0);
+	}
+
+	@Test
+	public void testFunctions() {
+		assertEquals(2, eval("IF(1 > 2, 1, 2)"), 0);
+		assertEquals(5, eval("max(1, 5, 3)"), 0);
+		assertEquals(1, eval("Min(1, 5, 3)"), 0);
+		assertEquals(2.35, eval("round(2.345, 2)"), 0);
+		assertEquals(1, eval("not(0)"), 0);
+		assertEquals(6, eval("sqrt(16) + log10(100)"), 0);
+		assertEquals(2, eval("abs(-2)"), 0);
+		assertEquals(-2, eval("floor(-1.5)"), 0);
+		assertEquals(Math.PI, eval("PI"), 0);
+	}
+
+	@Test
+	public void testVariables() {
+		CompiledFormula formula = CompiledFormula.compile("PRICE * COUNT + price");
+		assertEquals(Arrays.asList("PRICE", "COUNT"), formula.getVariables());
+		assertEquals(15, formula.eval(new double[] {5, 2}), 0);
+		assertNull(formula.eval(new double[] {5, Double.NaN}));
+		assertNull(CompiledFormula.compile("PRICE / 0").eval(new double[] {1}));
+	}
+
+	@Test
+	public void testUnsupported() {
+		assertNull(CompiledFormula.compile("sin(1)"));
+		assertNull(CompiledFormula.compile("0x10"));
+		assertNull(CompiledFormula.compile("NULL"));
+		assertNull(CompiledFormula.compile("1 +"));
+		assertNull(CompiledFormula.compile("(1"));
+		assertNull(CompiledFormula.compile("round(1)"));
+	}
+
+	private double eval(String expression) {
+		return CompiledFormula.compile(expression).eval(new double[0]);
+	}
+}
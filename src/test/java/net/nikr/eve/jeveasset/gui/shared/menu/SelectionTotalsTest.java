@@ -0,0 +1,82 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.menu;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import javax.swing.DefaultListSelectionModel;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.gui.shared.menu.SelectionTotals.RowValues;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public class SelectionTotalsTest extends TestUtil {
+
+	private static final RowValues<Double> VALUES = new RowValues<Double>() {
+		@Override
+		public int getSize() {
+			return 2;
+		}
+
+		@Override
+		public void setValues(Double row, double[] values) {
+			values[0] = row;
+			values[1] = 1;
+		}
+	};
+
+	@Test
+	public void testTotals() {
+		EventList<Object> eventList = new BasicEventList<>();
+		for (int i = 0; i < 100; i++) {
+			eventList.add((double) i);
+		}
+		eventList.add("Separator"); //Ignored
+		DefaultListSelectionModel selectionModel = new DefaultListSelectionModel();
+		SelectionTotals<Double> selectionTotals = new SelectionTotals<>(eventList, selectionModel, Double.class, VALUES);
+		assertTotals(selectionTotals, 0, 0);
+		//Select all
+		selectionModel.setSelectionInterval(0, eventList.size() - 1);
+		assertTotals(selectionTotals, 4950, 100);
+		//Remove one
+		selectionModel.removeSelectionInterval(10, 10);
+		assertTotals(selectionTotals, 4940, 99);
+		//Add it back
+		selectionModel.addSelectionInterval(10, 10);
+		assertTotals(selectionTotals, 4950, 100);
+		//Select one
+		selectionModel.setSelectionInterval(5, 5);
+		assertTotals(selectionTotals, 5, 1);
+		//List changed
+		eventList.set(5, 50.0);
+		assertTotals(selectionTotals, 50, 1);
+		//Nothing selected
+		selectionModel.clearSelection();
+		assertTotals(selectionTotals, 0, 0);
+	}
+
+	private void assertTotals(SelectionTotals<Double> selectionTotals, double value, long count) {
+		double[] totals = selectionTotals.getTotals();
+		assertEquals(value, totals[0], 0);
+		assertEquals(count, totals[1], 0);
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.table;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.matchers.Matcher;
+import ca.odell.glazedlists.swing.TableComparatorChooser;
+import java.util.Comparator;
+import java.util.Random;
+import javax.swing.JTable;
+import net.nikr.eve.jeveasset.TestUtil;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class KeySortedListTest extends TestUtil {
+
+	@Test
+	public void testSort() {
+		EnumTableFormatAdaptor<TestColumn, Row> tableFormat = new EnumTableFormatAdaptor<>(TestColumn.class);
+		EventList<Row> eventList = new BasicEventList<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			eventList.add(new Row(random));
+		}
+		KeySortedList<Row> sortedList = new KeySortedList<>(eventList, tableFormat);
+		TableComparatorChooser<Row> chooser = sortedList.install(new JTable(EventModels.createTableModel(sortedList, tableFormat)));
+		//Primitive keys (double) and object keys (string)
+		chooser.appendComparator(TestColumn.TEXT.ordinal(), 0, false);
+		chooser.appendComparator(TestColumn.NUMBER.ordinal(), 0, true);
+		assertSorted(sortedList, eventList.size());
+		//Primitive keys (long)
+		chooser.clearComparator();
+		chooser.appendComparator(TestColumn.COUNT.ordinal(), 0, false);
+		assertSorted(sortedList, eventList.size());
+		//Changes after the sort
+		for (int i = 0; i < 100; i++) {
+			eventList.add(new Row(random));
+			eventList.set(i, new Row(random));
+			eventList.remove(eventList.size() / 2);
+		}
+		assertSorted(sortedList, eventList.size());
+	}
+
+	@Test
+	public void testTime() {
+		EnumTableFormatAdaptor<TestColumn, Row> tableFormat = new EnumTableFormatAdaptor<>(TestColumn.class);
+		EventList<Row> eventList = new BasicEventList<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 400000; i++) {
+			eventList.add(new Row(random));
+		}
+		//Sort then filter
+		SortedList<Row> sortedList = new SortedList<>(eventList);
+		FilterList<Row> filterList = new FilterList<>(sortedList, new CountMatcher());
+		TableComparatorChooser<Row> chooser = TableComparatorChooser.install(new JTable(EventModels.createTableModel(filterList, tableFormat)), sortedList, TableComparatorChooser.MULTIPLE_COLUMN_MOUSE, tableFormat);
+		long start = System.currentTimeMillis();
+		chooser.appendComparator(TestColumn.TEXT.ordinal(), 0, false);
+		chooser.appendComparator(TestColumn.NUMBER.ordinal(), 0, false);
+		System.out.println("Sort then filter: " + (System.currentTimeMillis() - start) + "ms");
+		//Filter then sort
+		FilterList<Row> filteredFirst = new FilterList<>(eventList, new CountMatcher());
+		KeySortedList<Row> keySortedList = new KeySortedList<>(filteredFirst, tableFormat);
+		chooser = keySortedList.install(new JTable(EventModels.createTableModel(keySortedList, tableFormat)));
+		start = System.currentTimeMillis();
+		chooser.appendComparator(TestColumn.TEXT.ordinal(), 0, false);
+		chooser.appendComparator(TestColumn.NUMBER.ordinal(), 0, false);
+		System.out.println("Filter then sort: " + (System.currentTimeMillis() - start) + "ms");
+		assertEquals(filterList.size(), keySortedList.size());
+		//Filter then sort (all rows)
+		keySortedList = new KeySortedList<>(eventList, tableFormat);
+		chooser = keySortedList.install(new JTable(EventModels.createTableModel(keySortedList, tableFormat)));
+		start = System.currentTimeMillis();
+		chooser.appendComparator(TestColumn.TEXT.ordinal(), 0, false);
+		chooser.appendComparator(TestColumn.NUMBER.ordinal(), 0, false);
+		System.out.println("Precomputed keys (all rows): " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	private void assertSorted(KeySortedList<Row> sortedList, int size) {
+		assertEquals(size, sortedList.size());
+		Comparator<? super Row> comparator = sortedList.getComparator();
+		for (int i = 1; i < sortedList.size(); i++) {
+			assertTrue(comparator.compare(sortedList.get(i - 1), sortedList.get(i)) <= 0);
+		}
+	}
+
+	private static class CountMatcher implements Matcher<Row> {
+		@Override
+		public boolean matches(Row item) {
+			return item.count < 10;
+		}
+	}
+
+	private static class Row {
+		private final String text;
+		private final double number;
+		private final long count;
+
+		public Row(Random random) {
+			text = "Text " + random.nextInt(100);
+			number = random.nextDouble();
+			count = random.nextInt(1000);
+		}
+	}
+
+	private static enum TestColumn implements EnumTableColumn<Row> {
+		TEXT(String.class, GlazedLists.comparableComparator()) {
+			@Override
+			public Object getColumnValue(final Row from) {
+				return from.text;
+			}
+		},
+		NUMBER(Double.class, GlazedLists.comparableComparator()) {
+			@Override
+			public Object getColumnValue(final Row from) {
+				return from.number;
+			}
+		},
+		COUNT(Long.class, GlazedLists.comparableComparator()) {
+			@Override
+			public Object getColumnValue(final Row from) {
+				return from.count;
+			}
+		};
+
+		private final Class<?> type;
+		private final Comparator<?> comparator;
+
+		private TestColumn(final Class<?> type, final Comparator<?> comparator) {
+			this.type = type;
+			this.comparator = comparator;
+		}
+
+		@Override
+		public Class<?> getType() {
+			return type;
+		}
+
+		@Override
+		public Comparator<?> getComparator() {
+			return comparator;
+		}
+
+		@Override
+		public String getColumnName() {
+			return name();
+		}
+
+		@Override
+		public boolean isColumnEditable(final Object baseObject) {
+			return false;
+		}
+
+		@Override
+		public boolean isShowDefault() {
+			return true;
+		}
+
+		@Override
+		public boolean setColumnValue(final Object baseObject, final Object editedValue) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.shared.table;
+
+import java.util.Arrays;
+import net.nikr.eve.jeveasset.TestUtil;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+
+public class RowCacheTest extends TestUtil {
+
+	@Test
+	public void testRows() {
+		RowCache<String, Integer> cache = new RowCache<>("Test", 10, true);
+		String row = new String("row");
+		String equal = new String("row");
+		cache.put(row, 1);
+		assertEquals(1, (int) cache.get(row));
+		assertNull(cache.get(equal)); //Identity, not equals
+		cache.put(equal, 2);
+		assertEquals(1, (int) cache.get(row));
+		assertEquals(2, (int) cache.get(equal));
+		assertEquals(2, cache.getSize());
+		cache.removeAll(Arrays.asList(row));
+		assertNull(cache.get(row));
+		assertEquals(1, cache.getSize());
+		assertEquals(3, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		cache.clear();
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void testValues() {
+		RowCache<Object, Integer> cache = new RowCache<>("Test", 10, false);
+		cache.put(new String("value"), 1);
+		assertEquals(1, (int) cache.get(new String("value"))); //Equals
+		cache.put(1.0, 2);
+		assertEquals(2, (int) cache.get(1.0));
+	}
+
+	@Test
+	public void testEviction() {
+		RowCache<Integer, Integer> cache = new RowCache<>("Test", 3, false);
+		for (int i = 0; i < 3; i++) {
+			cache.put(i, i);
+		}
+		cache.get(0); //Recently used
+		cache.put(3, 3);
+		assertEquals(3, cache.getSize());
+		assertEquals(1, cache.getEvictions());
+		assertEquals(0, (int) cache.get(0));
+		assertNull(cache.get(1)); //Least recently used
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.orders;
+
+import java.util.HashMap;
+import java.util.Map;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.gui.tabs.orders.OutbidProcesser.OutbidProcesserOutput;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class OutbidProcesserOutputTest extends TestUtil {
+
+	@Test
+	public void testMerge() {
+		Outbid old1 = new Outbid(1.0, 1);
+		Outbid old2 = new Outbid(2.0, 2);
+		Outbid old3 = new Outbid(3.0, 3);
+		Map<Long, Outbid> current = new HashMap<>();
+		current.put(1L, old1); //Order 1: no data
+		current.put(2L, old2); //Order 2: no longer outbid
+		current.put(3L, old3); //Order 3: outbid by first output, not outbid in second output
+		//First
+		OutbidProcesserOutput first = new OutbidProcesserOutput(true);
+		Outbid new3 = new Outbid(30.0, 30);
+		Outbid new4 = new Outbid(40.0, 40);
+		first.getOrderIDs().add(3L);
+		first.getOrderIDs().add(4L);
+		first.getOutbids().put(3L, new3);
+		first.getOutbids().put(4L, new4);
+		//Second (newer)
+		OutbidProcesserOutput second = new OutbidProcesserOutput(true);
+		second.getOrderIDs().add(2L);
+		second.getOrderIDs().add(3L);
+		//Merge
+		OutbidProcesserOutput merged = new OutbidProcesserOutput(true);
+		merged.add(first);
+		merged.add(second);
+		Map<Long, Outbid> outbids = merged.getOutbids(current);
+		assertEquals(2, outbids.size());
+		assertSame(old1, outbids.get(1L));
+		assertFalse(outbids.containsKey(2L));
+		assertFalse(outbids.containsKey(3L));
+		assertSame(new4, outbids.get(4L));
+		assertEquals(3, current.size()); //Not modified
+		//Replace
+		OutbidProcesserOutput replace = new OutbidProcesserOutput();
+		replace.getOutbids().put(4L, new4);
+		outbids = replace.getOutbids(current);
+		assertEquals(1, outbids.size());
+		assertTrue(outbids.containsKey(4L));
+	}
+}
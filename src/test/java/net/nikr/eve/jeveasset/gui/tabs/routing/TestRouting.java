@@ -30,6 +30,7 @@ import net.nikr.eve.jeveasset.gui.tabs.routing.mocks.RoutingMockProgram;
 import net.nikr.eve.jeveasset.tests.mocks.FakeProgress;
 import org.junit.AfterClass;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import uk.me.candle.eve.routing.BruteForce;
@@ -114,6 +115,40 @@ public class TestRouting extends TestUtil {
 		testRoute(getErentaList(), new SimpleUnisexMutatorHibrid2Opt<>(), 40);
 	}
 
+	@Test
+	public void testErentaHeldKarp() {
+		testMatrixRoute(getErentaList(), new HeldKarp(), 40);
+	}
+
+	@Test
+	public void testErentaMultiStartLocalSearch() {
+		testMatrixRoute(getErentaList(), new MultiStartLocalSearch(), 40);
+	}
+
+	private void testMatrixRoute(final List<String> waypointNames, final MatrixRoutingAlgorithm ra, final int exptectedDistance) {
+		FakeRoutingTab frd = new FakeRoutingTab(new RoutingMockProgram());
+		frd.buildTestGraph();
+		List<SolarSystem> initial = frd.getNodesFromNames(waypointNames);
+		List<SolarSystem> route = ra.execute(new FakeProgress(), frd.getRoutingGraph(), new ArrayList<>(initial));
+
+		assertEquals("Not all waypoints", initial.size(), route.size());
+		assertTrue("Not all waypoints", route.containsAll(initial));
+		SolarSystem last = null;
+		int totalDistance = 0;
+		for (SolarSystem current : route) {
+			if (last != null) {
+				totalDistance = totalDistance + frd.getGraph().distanceBetween(last, current);
+			}
+			last = current;
+		}
+		if (last != null) {
+			totalDistance = totalDistance + frd.getGraph().distanceBetween(last, route.get(0));
+		}
+		assertEquals("Not the same stating system", route.get(0), initial.get(0));
+		assertEquals("totalDistance != exptectedDistance", exptectedDistance, totalDistance);
+		assertEquals("totalDistance != LastDistance", totalDistance, ra.getLastDistance());
+	}
+
 	private void testRoute(final List<String> waypointNames, final RoutingAlgorithm<SolarSystem> ra, final int exptectedDistance) {
 		FakeRoutingTab frd = new FakeRoutingTab(new RoutingMockProgram());
 		frd.buildTestGraph();
@@ -203,6 +238,16 @@ public class TestRouting extends TestUtil {
 		testRoute(getArtisineList(), new SimpleUnisexMutatorHibrid2Opt<>(), 61);
 	}
 
+	@Test
+	public void testArtisineHeldKarp() {
+		testMatrixRoute(getArtisineList(), new HeldKarp(), 61);
+	}
+
+	@Test
+	public void testArtisineMultiStartLocalSearch() {
+		testMatrixRoute(getArtisineList(), new MultiStartLocalSearch(), 61);
+	}
+
 	private List<String> getArtisineList() {
 		/*
 	 * Artisine
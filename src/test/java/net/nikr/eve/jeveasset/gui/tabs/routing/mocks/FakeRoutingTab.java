@@ -24,6 +24,7 @@ package net.nikr.eve.jeveasset.gui.tabs.routing.mocks;
 import java.util.ArrayList;
 import java.util.List;
 import net.nikr.eve.jeveasset.Program;
+import net.nikr.eve.jeveasset.gui.tabs.routing.RoutingGraph;
 import net.nikr.eve.jeveasset.gui.tabs.routing.RoutingTab;
 import net.nikr.eve.jeveasset.gui.tabs.routing.SolarSystem;
 import uk.me.candle.eve.graph.Graph;
@@ -66,4 +67,8 @@ public class FakeRoutingTab extends RoutingTab {
 	public Graph<SolarSystem> getGraph() {
 		return filteredGraph;
 	}
+
+	public RoutingGraph getRoutingGraph() {
+		return routingGraph;
+	}
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.tracker;
+
+import java.util.HashMap;
+import java.util.Map;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.gui.shared.components.CheckBoxNode;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class TrackerFilterMatrixTest extends TestUtil {
+
+	@Test
+	public void testUpdate() {
+		Map<String, CheckBoxNode> nodes = new HashMap<>();
+		nodes.put("a", new CheckBoxNode(null, "a", "a", true));
+		nodes.put("b", new CheckBoxNode(null, "b", "b", false));
+		TrackerFilterMatrix matrix = new TrackerFilterMatrix(3);
+		matrix.add(0, 100); //Not filtered
+		matrix.add(0, "a", 1);
+		matrix.add(1, "a", 2);
+		matrix.add(1, "b", 10);
+		matrix.add(2, "b", 20);
+		matrix.add(2, "c", 1000); //No node
+		assertTrue(matrix.update(nodes));
+		assertEquals(101, matrix.getTotal(0), 0);
+		assertEquals(2, matrix.getTotal(1), 0);
+		assertEquals(0, matrix.getTotal(2), 0);
+		assertFalse(matrix.update(nodes)); //Nothing changed
+		//Toggle
+		nodes.get("a").setSelected(false);
+		nodes.get("b").setSelected(true);
+		assertTrue(matrix.update(nodes));
+		assertEquals(100, matrix.getTotal(0), 0);
+		assertEquals(10, matrix.getTotal(1), 0);
+		assertEquals(20, matrix.getTotal(2), 0);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.gui.tabs.tracker;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.gui.tabs.tracker.TrackerRollups.Resolution;
+import net.nikr.eve.jeveasset.gui.tabs.values.Value;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class TrackerRollupsTest extends TestUtil {
+
+	private static final String OWNER = "owner";
+
+	@Test
+	public void testRollups() {
+		Map<String, List<Value>> trackerData = new HashMap<>();
+		List<Value> values = new ArrayList<>();
+		trackerData.put(OWNER, values);
+		//Two values a day, for 60 days
+		LocalDate start = LocalDate.of(2021, 3, 1); //Monday
+		for (int day = 0; day < 60; day++) {
+			values.add(create(start.plusDays(day), 6));
+			values.add(create(start.plusDays(day), 18));
+		}
+		TrackerRollups rollups = new TrackerRollups();
+		NavigableMap<Date, Value> days = rollups.get(trackerData, OWNER, Resolution.DAY);
+		assertEquals(60, days.size());
+		assertSame(values.get(1), days.firstEntry().getValue()); //Last value of the day
+		NavigableMap<Date, Value> weeks = rollups.get(trackerData, OWNER, Resolution.WEEK);
+		assertEquals(9, weeks.size());
+		assertSame(values.get(13), weeks.firstEntry().getValue()); //Sunday evening
+		NavigableMap<Date, Value> months = rollups.get(trackerData, OWNER, Resolution.MONTH);
+		assertEquals(2, months.size());
+		assertSame(values.get(61), months.firstEntry().getValue()); //31st of March
+		//Add
+		Value added = create(start.plusDays(59), 20);
+		values.add(added);
+		rollups.add(OWNER, added);
+		assertSame(added, rollups.get(trackerData, OWNER, Resolution.MONTH).lastEntry().getValue());
+		//Remove
+		values.remove(added);
+		rollups.clear();
+		assertSame(values.get(values.size() - 1), rollups.get(trackerData, OWNER, Resolution.MONTH).lastEntry().getValue());
+	}
+
+	@Test
+	public void testDownsample() {
+		int length = 1000;
+		long[] x = new long[length];
+		double[] y = new double[length];
+		for (int i = 0; i < length; i++) {
+			x[i] = i * 1000L;
+			y[i] = i;
+		}
+		y[500] = 100000; //Spike
+		int[] selected = TrackerDownsampler.downsample(x, y, 100);
+		assertEquals(100, selected.length);
+		assertEquals(0, selected[0]);
+		assertEquals(length - 1, selected[selected.length - 1]);
+		boolean spike = false;
+		for (int i = 0; i < selected.length; i++) {
+			if (i > 0) {
+				assertTrue(selected[i] > selected[i - 1]);
+			}
+			if (selected[i] == 500) {
+				spike = true;
+			}
+		}
+		assertTrue(spike);
+		//Less points than threshold
+		assertEquals(length, TrackerDownsampler.downsample(x, y, length + 1).length);
+	}
+
+	private Value create(LocalDate date, int hour) {
+		return new Value(Date.from(date.atTime(hour, 0).atZone(ZoneId.systemDefault()).toInstant()));
+	}
+}
@@ -20,9 +20,19 @@
  */
 package net.nikr.eve.jeveasset.gui.tabs.tree;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.data.api.accounts.EsiOwner;
+import net.nikr.eve.jeveasset.data.api.my.MyAsset;
 import net.nikr.eve.jeveasset.data.sde.Item;
+import net.nikr.eve.jeveasset.data.sde.MyLocation;
 import net.nikr.eve.jeveasset.data.sde.StaticData;
+import net.nikr.eve.jeveasset.io.shared.ConverterTestOptions;
+import net.nikr.eve.jeveasset.io.shared.ConverterTestOptionsGetter;
+import net.nikr.eve.jeveasset.io.shared.ConverterTestUtil;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -102,5 +112,46 @@ public class TreeAssetTest extends TestUtil {
 		//Ship
 		assertTrue("no category: Ship", categoryShip);
 	}
-	
+
+	@Test
+	public void testUpdateParents() {
+		ConverterTestOptions options = ConverterTestOptionsGetter.getConverterOptions().get(0);
+		EsiOwner owner = ConverterTestUtil.getEsiOwner(options);
+		MyAsset asset = ConverterTestUtil.getMyAsset(owner, false, true, options);
+		MyLocation location = MyLocation.create(60003760);
+		TreeAsset root = new TreeAsset(location, "Root", "Root", null, Collections.<TreeAsset>emptyList());
+		TreeAsset child = new TreeAsset(location, "Child", "RootChild", null, Collections.singletonList(root));
+		TreeAsset otherChild = new TreeAsset(location, "Other", "RootOther", null, Collections.singletonList(root));
+		List<TreeAsset> childTree = Arrays.asList(root, child);
+		TreeAsset item1 = new TreeAsset(asset, TreeAsset.TreeType.LOCATION, childTree, "1", false);
+		TreeAsset item2 = new TreeAsset(asset, TreeAsset.TreeType.LOCATION, childTree, "2", false);
+		TreeAsset item3 = new TreeAsset(asset, TreeAsset.TreeType.LOCATION, Collections.singletonList(root), "3", false);
+		//Shared tree
+		assertSame(child.getParentTreeAsset(), otherChild.getParentTreeAsset());
+		assertEquals(childTree, item1.getTree());
+		assertEquals(2, item2.getDepth());
+		assertTrue(item1.isChildOf(Collections.singleton(root)));
+		assertFalse(item3.isChildOf(Collections.singleton(child)));
+		//Totals
+		List<TreeAsset> treeAssets = new ArrayList<>(Arrays.asList(root, child, otherChild, item1, item2, item3));
+		TreeAsset.updateParents(treeAssets);
+		long count = asset.getCount();
+		assertEquals(count * 3, ((Number) root.getTotal(TreeTableFormat.COUNT)).longValue());
+		assertEquals(count * 2, ((Number) child.getTotal(TreeTableFormat.COUNT)).longValue());
+		assertEquals((double) count, ((Number) root.getAverage(TreeTableFormat.COUNT)).doubleValue(), 0.0001);
+		assertNull(otherChild.getTotal(TreeTableFormat.COUNT));
+		//Reset
+		for (TreeAsset treeAsset : treeAssets) {
+			treeAsset.resetValues();
+		}
+		treeAssets.remove(item3);
+		TreeAsset.updateParents(treeAssets);
+		assertEquals(count * 2, ((Number) root.getTotal(TreeTableFormat.COUNT)).longValue());
+		//Incremental
+		TreeAsset.updateParents(Collections.singletonList(item3), Collections.singletonList(item1));
+		assertEquals(count * 2, ((Number) root.getTotal(TreeTableFormat.COUNT)).longValue());
+		assertEquals(count, ((Number) child.getTotal(TreeTableFormat.COUNT)).longValue());
+		TreeAsset.updateParents(Collections.<TreeAsset>emptyList(), Collections.singletonList(item2));
+		assertNull(child.getTotal(TreeTableFormat.COUNT));
+	}
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.io.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.gui.shared.table.EnumTableColumn;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class ExportWritersTest extends TestUtil {
+
+	@Test
+	public void testCsv() throws IOException {
+		File file = File.createTempFile("export", ".csv");
+		try {
+			List<Object[]> items = new ArrayList<>();
+			items.add(new String[] {"plain", "with,comma", "with \"quote\"", "with\nline"});
+			TestRows rows = new TestRows(items, 4);
+			assertTrue(CsvWriter.save(file.getAbsolutePath(), rows, ',', "\r\n"));
+			String csv = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			assertEquals("C0,C1,C2,C3\r\nplain,\"with,comma\",\"with \"\"quote\"\"\",\"with\nline\"\r\n", csv);
+			assertEquals(1, rows.progress);
+			//Cancel
+			rows.cancelled = true;
+			assertFalse(CsvWriter.save(file.getAbsolutePath(), rows, ',', "\r\n"));
+			assertFalse(file.exists());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSql() throws IOException {
+		File file = File.createTempFile("export", ".sql");
+		try {
+			List<Object[]> items = new ArrayList<>();
+			items.add(new String[] {"a'b", "c"});
+			items.add(new String[] {"d", "e"});
+			TestRows rows = new TestRows(items, 2);
+			assertTrue(SqlWriter.save(file.getAbsolutePath(), rows, "test", false, false, true));
+			String sql = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			assertTrue(sql.endsWith("INSERT INTO `test` (`C0`, `C1`) VALUES\r\n	('a''b', 'c'),\r\n	('d', 'e');\r\n"));
+			assertEquals(2, rows.progress);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSqlite() throws IOException, SQLException {
+		File file = File.createTempFile("export", ".db");
+		try {
+			List<EnumTableColumn<Object[]>> columns = new ArrayList<>();
+			columns.add(new TestColumn(0, "TYPE_ID", Integer.class));
+			columns.add(new TestColumn(1, "NAME", String.class));
+			columns.add(new TestColumn(2, "PRICE", Double.class));
+			columns.add(new TestColumn(3, "DATE", Date.class));
+			List<Object[]> items = new ArrayList<>();
+			items.add(new Object[] {34, "Tritanium", 5.5, new Date(1000)});
+			items.add(new Object[] {35, null, null, null});
+			TestRows rows = new TestRows(items, columns);
+			String url = "jdbc:sqlite:" + file.getAbsolutePath();
+			//Replace
+			assertTrue(SqliteWriter.save(file.getAbsolutePath(), rows, "test", false, true));
+			assertTrue(SqliteWriter.save(file.getAbsolutePath(), rows, "test", false, true));
+			try (Connection connection = DriverManager.getConnection(url);
+					Statement statement = connection.createStatement()) {
+				try (ResultSet rs = statement.executeQuery("SELECT typeof(TYPE_ID), typeof(NAME), typeof(PRICE), typeof(DATE), DATE FROM test WHERE TYPE_ID = 34")) {
+					assertTrue(rs.next());
+					assertEquals("integer", rs.getString(1));
+					assertEquals("text", rs.getString(2));
+					assertEquals("real", rs.getString(3));
+					assertEquals("integer", rs.getString(4));
+					assertEquals(1000, rs.getLong(5));
+				}
+				try (ResultSet rs = statement.executeQuery("SELECT NAME FROM test WHERE TYPE_ID = 35")) {
+					assertTrue(rs.next());
+					assertNull(rs.getString(1));
+				}
+				assertEquals(2, count(statement, "SELECT COUNT(*) FROM test"));
+				assertEquals(1, count(statement, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'test_TYPE_ID'"));
+			}
+			//Append
+			assertTrue(SqliteWriter.save(file.getAbsolutePath(), rows, "test", true, true));
+			assertTrue(SqliteWriter.save(file.getAbsolutePath(), rows, "test", true, true));
+			try (Connection connection = DriverManager.getConnection(url);
+					Statement statement = connection.createStatement()) {
+				assertEquals(6, count(statement, "SELECT COUNT(*) FROM test"));
+				assertEquals(4, count(statement, "SELECT COUNT(*) FROM test WHERE " + SqliteWriter.SNAPSHOT_COLUMN + " IS NOT NULL"));
+			}
+			//Cancel (rollback)
+			rows.cancelled = true;
+			assertFalse(SqliteWriter.save(file.getAbsolutePath(), rows, "test", false, true));
+			try (Connection connection = DriverManager.getConnection(url);
+					Statement statement = connection.createStatement()) {
+				assertEquals(6, count(statement, "SELECT COUNT(*) FROM test"));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	private int count(Statement statement, String sql) throws SQLException {
+		try (ResultSet rs = statement.executeQuery(sql)) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+	@Test
+	public void testUtf8Length() {
+		for (String text : Arrays.asList("", "abc", "æøå", "€", "😀", "aæ€😀")) {
+			assertEquals(text, text.getBytes(StandardCharsets.UTF_8).length, SqlWriter.utf8Length(text));
+		}
+	}
+
+	@Test
+	public void testTime() throws IOException {
+		final int size = 100000;
+		final int columns = 60;
+		List<Object[]> items = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Object[] item = new String[columns];
+			for (int j = 0; j < columns; j++) {
+				item[j] = "Value " + i + "." + j;
+			}
+			items.add(item);
+		}
+		TestRows rows = new TestRows(items, columns);
+		File file = File.createTempFile("export", ".tmp");
+		try {
+			long start = System.currentTimeMillis();
+			CsvWriter.save(file.getAbsolutePath(), rows, ',', "\r\n");
+			System.out.println("CSV: " + size + " rows in " + (System.currentTimeMillis() - start) + "ms");
+			start = System.currentTimeMillis();
+			HtmlWriter.save(file.getAbsolutePath(), rows, false, true, 0, false);
+			System.out.println("HTML: " + size + " rows in " + (System.currentTimeMillis() - start) + "ms");
+			start = System.currentTimeMillis();
+			SqlWriter.save(file.getAbsolutePath(), rows, "test", true, true, true);
+			System.out.println("SQL: " + size + " rows in " + (System.currentTimeMillis() - start) + "ms");
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static class TestRows implements ExportRows<Object[]> {
+
+		private final List<Object[]> items;
+		private final List<EnumTableColumn<Object[]>> columns = new ArrayList<>();
+		private int progress = 0;
+		private boolean cancelled = false;
+
+		public TestRows(List<Object[]> items, int size) {
+			this.items = items;
+			for (int i = 0; i < size; i++) {
+				columns.add(new TestColumn(i, "C" + i, String.class));
+			}
+		}
+
+		public TestRows(List<Object[]> items, List<EnumTableColumn<Object[]>> columns) {
+			this.items = items;
+			this.columns.addAll(columns);
+		}
+
+		@Override
+		public List<Object[]> getItems() {
+			return items;
+		}
+
+		@Override
+		public List<EnumTableColumn<Object[]>> getColumns() {
+			return columns;
+		}
+
+		@Override
+		public Object getValue(Object[] item, EnumTableColumn<Object[]> column) {
+			return column.getColumnValue(item);
+		}
+
+		@Override
+		public void appendText(StringBuilder builder, Object[] item, EnumTableColumn<Object[]> column) {
+			builder.append(column.getColumnValue(item));
+		}
+
+		@Override
+		public void setProgress(int rows) {
+			progress = rows;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+	}
+
+	private static class TestColumn implements EnumTableColumn<Object[]> {
+
+		private final int index;
+		private final String name;
+		private final Class<?> type;
+
+		public TestColumn(int index, String name, Class<?> type) {
+			this.index = index;
+			this.name = name;
+			this.type = type;
+		}
+
+		@Override
+		public Class<?> getType() {
+			return type;
+		}
+
+		@Override
+		public Comparator<?> getComparator() {
+			return null;
+		}
+
+		@Override
+		public String getColumnName() {
+			return name();
+		}
+
+		@Override
+		public Object getColumnValue(Object[] from) {
+			return from[index];
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public boolean isColumnEditable(Object baseObject) {
+			return false;
+		}
+
+		@Override
+		public boolean isShowDefault() {
+			return true;
+		}
+
+		@Override
+		public boolean setColumnValue(Object baseObject, Object editedValue) {
+			return false;
+		}
+	}
+}
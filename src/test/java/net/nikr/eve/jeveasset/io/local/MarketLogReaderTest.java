@@ -0,0 +1,248 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.io.local;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.gui.tabs.orders.MarketLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.ParseBool;
+import org.supercsv.cellprocessor.ParseDouble;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.ParseLong;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.io.CsvBeanReader;
+import org.supercsv.io.ICsvBeanReader;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
+
+
+public class MarketLogReaderTest extends TestUtil {
+
+	private static final String HEADER = "price,volRemaining,typeID,range,orderID,volEntered,minVolume,bid,issueDate,duration,stationID,regionID,solarSystemID,jumps,";
+
+	@Test
+	public void testParse() {
+		String log = HEADER + "\r\n"
+				+ "5.55,3000.0,34,32767,5555555555,4000,1,True,2021-03-01 12:30:15.000,90,60003760,10000002,30000142,0,\r\n"
+				+ "0.01,1.0,35,-1,6,1,1,False,2020-02-29,30,60003760,10000002,30000142,2,\r\n"
+				+ "\r\n"
+				+ "1.5E3,2.0,36,1,7,2,1,True,2021-12-31 23:59:59.000,90,60003760,10000002,30000142,5\r\n"; //No trailing comma
+		List<MarketLog> marketLogs = MarketLogParser.parse(ByteBuffer.wrap(log.getBytes(StandardCharsets.US_ASCII)));
+		assertEquals(3, marketLogs.size());
+		MarketLog marketLog = marketLogs.get(0);
+		assertEquals(5.55, marketLog.getPrice(), 0);
+		assertEquals(3000.0, marketLog.getVolRemaining(), 0);
+		assertEquals((Integer) 34, marketLog.getTypeID());
+		assertEquals((Integer) 32767, marketLog.getRange());
+		assertEquals((Long) 5555555555L, marketLog.getOrderID());
+		assertEquals((Integer) 4000, marketLog.getVolEntered());
+		assertEquals((Integer) 1, marketLog.getMinVolume());
+		assertTrue(marketLog.getBid());
+		assertEquals(date("2021-03-01 12:30:15"), marketLog.getIssueDate());
+		assertEquals((Integer) 90, marketLog.getDuration());
+		assertEquals((Long) 60003760L, marketLog.getStationID());
+		assertEquals((Long) 10000002L, marketLog.getRegionID());
+		assertEquals((Long) 30000142L, marketLog.getSolarSystemID());
+		assertEquals((Integer) 0, marketLog.getJumps());
+		marketLog = marketLogs.get(1);
+		assertEquals(0.01, marketLog.getPrice(), 0);
+		assertEquals((Integer) (-1), marketLog.getRange());
+		assertFalse(marketLog.getBid());
+		assertEquals(date("2020-02-29 00:00:00"), marketLog.getIssueDate());
+		marketLog = marketLogs.get(2);
+		assertEquals(1500, marketLog.getPrice(), 0);
+		assertEquals(date("2021-12-31 23:59:59"), marketLog.getIssueDate());
+		assertEquals((Integer) 5, marketLog.getJumps());
+		//Incomplete
+		try {
+			MarketLogParser.parse(ByteBuffer.wrap((HEADER + "\n5.55,3000.0,34,32767").getBytes(StandardCharsets.US_ASCII)));
+			fail("Incomplete row parsed");
+		} catch (IllegalArgumentException ex) {
+			//Expected
+		}
+	}
+
+	@Test
+	public void testSuperCsv() throws IOException {
+		File file = createLog(1000);
+		try {
+			List<MarketLog> expected = readSuperCsv(file);
+			List<MarketLog> actual = readParser(file);
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertMarketLog(expected.get(i), actual.get(i));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testTime() throws IOException {
+		File file = createLog(100000);
+		try {
+			for (int i = 0; i < 3; i++) { //Warm up and measure
+				long start = System.nanoTime();
+				int superCsv = readSuperCsv(file).size();
+				long superCsvTime = System.nanoTime() - start;
+				start = System.nanoTime();
+				int parser = readParser(file).size();
+				long parserTime = System.nanoTime() - start;
+				assertEquals(superCsv, parser);
+				System.out.println("Market log (" + file.length() / 1024 + "KB) SuperCSV: " + superCsvTime / 1000000 + "ms Parser: " + parserTime / 1000000 + "ms");
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	private void assertMarketLog(MarketLog expected, MarketLog actual) {
+		assertEquals(expected.getPrice(), actual.getPrice());
+		assertEquals(expected.getVolRemaining(), actual.getVolRemaining());
+		assertEquals(expected.getTypeID(), actual.getTypeID());
+		assertEquals(expected.getRange(), actual.getRange());
+		assertEquals(expected.getOrderID(), actual.getOrderID());
+		assertEquals(expected.getVolEntered(), actual.getVolEntered());
+		assertEquals(expected.getMinVolume(), actual.getMinVolume());
+		assertEquals(expected.getBid(), actual.getBid());
+		assertEquals(expected.getIssueDate(), actual.getIssueDate());
+		assertEquals(expected.getDuration(), actual.getDuration());
+		assertEquals(expected.getStationID(), actual.getStationID());
+		assertEquals(expected.getRegionID(), actual.getRegionID());
+		assertEquals(expected.getSolarSystemID(), actual.getSolarSystemID());
+		assertEquals(expected.getJumps(), actual.getJumps());
+	}
+
+	private File createLog(int rows) throws IOException {
+		File file = File.createTempFile("marketlog", ".txt");
+		Random random = new Random(42);
+		SimpleDateFormat format = createFormat("yyyy-MM-dd HH:mm:ss.SSS");
+		try (PrintWriter writer = new PrintWriter(file, "US-ASCII")) {
+			writer.print(HEADER + "\r\n");
+			for (int i = 0; i < rows; i++) {
+				writer.print(random.nextInt(100000000) / 100.0); //price
+				writer.print(',');
+				writer.print(random.nextInt(1000000) + ".0"); //volRemaining
+				writer.print(",34,"); //typeID
+				writer.print(random.nextBoolean() ? 32767 : random.nextInt(41) - 1); //range
+				writer.print(',');
+				writer.print(5000000000L + i); //orderID
+				writer.print(',');
+				writer.print(random.nextInt(1000000)); //volEntered
+				writer.print(",1,"); //minVolume
+				writer.print(random.nextBoolean() ? "True" : "False"); //bid
+				writer.print(',');
+				writer.print(format.format(new Date(1600000000000L + random.nextInt(100000000) * 1000L))); //issueDate
+				writer.print(",90,60003760,10000002,30000142,"); //duration, stationID, regionID, solarSystemID
+				writer.print(random.nextInt(10)); //jumps
+				writer.print(",\r\n");
+			}
+		}
+		return file;
+	}
+
+	private List<MarketLog> readParser(File file) throws IOException {
+		return MarketLogParser.parse(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+	}
+
+	/**
+	 * The replaced SuperCSV bean reader (with the issue date hour parsed as 0-23).
+	 */
+	private List<MarketLog> readSuperCsv(File file) throws IOException {
+		try (ICsvBeanReader beanReader = new CsvBeanReader(new FileReader(file), CsvPreference.STANDARD_PREFERENCE)) {
+			beanReader.getHeader(true);
+			final String[] header = {"price","volRemaining","typeID","range","orderID","volEntered","minVolume","bid","issueDate","duration","stationID","regionID","solarSystemID","jumps", "empty"};
+			final CellProcessor[] processors = new CellProcessor[]{
+				new ParseDouble(), // price
+				new ParseDouble(), // volRemaining
+				new ParseInt(), // typeID
+				new ParseInt(), // range
+				new ParseLong(), // orderID
+				new ParseInt(), // volEntered
+				new ParseInt(), // minVolume
+				new ParseBool(), // bid
+				new ParseDate(), // issueDate
+				new ParseInt(), // duration
+				new ParseLong(), // stationID
+				new ParseLong(), // regionID
+				new ParseLong(), // solarSystemID
+				new ParseInt(), // jumps
+				new Optional()
+			};
+			List<MarketLog> marketLogs = new ArrayList<>();
+			MarketLog marketLog;
+			while ((marketLog = beanReader.read(MarketLog.class, header, processors)) != null) {
+				marketLogs.add(marketLog);
+			}
+			return marketLogs;
+		}
+	}
+
+	private static Date date(String date) {
+		try {
+			return createFormat("yyyy-MM-dd HH:mm:ss").parse(date);
+		} catch (ParseException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static SimpleDateFormat createFormat(String pattern) {
+		SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.ENGLISH);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+		return format;
+	}
+
+	private static class ParseDate extends CellProcessorAdaptor {
+
+		private final SimpleDateFormat format = createFormat("yyyy-MM-dd HH:mm:ss");
+
+		@Override
+		public Object execute(Object value, CsvContext context) {
+			try {
+				return next.execute(format.parse((String) value), context);
+			} catch (ParseException ex) {
+				throw new SuperCsvCellProcessorException("Invalid date", context, this, ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.io.local;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.data.sde.Item;
+import net.nikr.eve.jeveasset.data.sde.ItemFlag;
+import net.nikr.eve.jeveasset.data.sde.Jump;
+import net.nikr.eve.jeveasset.data.sde.MyLocation;
+import net.nikr.eve.jeveasset.data.sde.StaticData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class StaticDataReadWriteTest extends TestUtil {
+
+	@Test
+	public void testReadWrite() {
+		StaticData staticData = StaticData.get();
+		assertTrue(StaticDataWriter.save(staticData.getItems(), staticData.getLocations(), staticData.getJumps(), staticData.getItemFlags()));
+
+		Map<Integer, Item> items = new HashMap<>();
+		Map<Long, MyLocation> locations = new HashMap<>();
+		List<Jump> jumps = new ArrayList<>();
+		Map<Integer, ItemFlag> flags = new HashMap<>();
+		assertTrue(StaticDataReader.load(items, locations, jumps, flags));
+
+		int staticItems = 0;
+		for (Item expected : staticData.getItems().values()) {
+			if (expected.getVersion() != null) {
+				continue; //ESI items are not included
+			}
+			staticItems++;
+			Item item = items.get(expected.getTypeID());
+			assertNotNull(item);
+			assertEquals(expected.getTypeName(), item.getTypeName());
+			assertEquals(expected.getGroup(), item.getGroup());
+			assertEquals(expected.getCategory(), item.getCategory());
+			assertEquals(expected.getPriceBase(), item.getPriceBase());
+			assertEquals(expected.getVolume(), item.getVolume(), 0);
+			assertEquals(expected.getPackagedVolume(), item.getPackagedVolume(), 0);
+			assertEquals(expected.getTech(), item.getTech());
+			assertEquals(expected.isMarketGroup(), item.isMarketGroup());
+			assertEquals(expected.getProductTypeID(), item.getProductTypeID());
+			assertEquals(expected.getReprocessedMaterial().size(), item.getReprocessedMaterial().size());
+			assertEquals(expected.getManufacturingMaterials().size(), item.getManufacturingMaterials().size());
+			assertEquals(expected.getReactionMaterials().size(), item.getReactionMaterials().size());
+		}
+		assertEquals(staticItems, items.size());
+		for (MyLocation expected : staticData.getLocations()) {
+			MyLocation location = locations.get(expected.getLocationID());
+			assertNotNull(location);
+			assertEquals(expected.getLocation(), location.getLocation());
+			assertEquals(expected.getSystemID(), location.getSystemID());
+			assertEquals(expected.getRegionID(), location.getRegionID());
+			assertEquals(expected.getSecurity(), location.getSecurity());
+		}
+		assertEquals(staticData.getJumps().size(), jumps.size());
+		assertEquals(staticData.getItemFlags().size(), flags.size());
+	}
+}
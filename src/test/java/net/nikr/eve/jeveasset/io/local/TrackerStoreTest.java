@@ -0,0 +1,236 @@
+/*
+ * Copyright 2009-2021 Contributors (see credits.txt)
+ *
+ * This file is part of jEveAssets.
+ *
+ * jEveAssets is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * jEveAssets is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with jEveAssets; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+package net.nikr.eve.jeveasset.io.local;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.nikr.eve.jeveasset.TestUtil;
+import net.nikr.eve.jeveasset.gui.tabs.values.AssetValue;
+import net.nikr.eve.jeveasset.gui.tabs.values.Value;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class TrackerStoreTest extends TestUtil {
+
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("tracker").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		delete(directory);
+	}
+
+	@Test
+	public void testEmpty() {
+		TrackerStore store = new TrackerStore(directory);
+		assertThat(store.exists(), equalTo(false));
+		assertThat(store.load(), nullValue());
+		assertThat(store.append(create("owner", 1, 0)), equalTo(false)); //Not loaded
+	}
+
+	@Test
+	public void testRewriteAppend() {
+		Map<String, List<Value>> expected = create("owner", 3, 0);
+		TrackerStore store = new TrackerStore(directory);
+		assertThat(store.rewrite(expected), equalTo(true));
+		assertThat(store.exists(), equalTo(true));
+		//Append to the same store
+		Map<String, List<Value>> added = create("owner", 2, 3);
+		added.putAll(create("other", 1, 5));
+		assertThat(store.append(added), equalTo(true));
+		addAll(expected, added);
+		test(expected, new TrackerStore(directory).load());
+		//Append after load
+		store = new TrackerStore(directory);
+		store.load();
+		added = create("other", 1, 6);
+		assertThat(store.append(added), equalTo(true));
+		addAll(expected, added);
+		test(expected, new TrackerStore(directory).load());
+	}
+
+	@Test
+	public void testCompaction() throws IOException {
+		Map<String, List<Value>> expected = create("owner", 1, 0);
+		TrackerStore store = new TrackerStore(directory);
+		store.rewrite(expected);
+		int i = 1;
+		while (!store.isCompactionNeeded()) {
+			//A torn segment forces the next append into a new segment
+			try (FileOutputStream out = new FileOutputStream(new File(directory, String.format("segment-%08d.dat", directory.listFiles().length)))) {
+				out.write(0);
+			}
+			store.load();
+			Map<String, List<Value>> added = create("owner", 1, i++);
+			assertThat(store.append(added), equalTo(true));
+			addAll(expected, added);
+		}
+		assertThat(store.rewrite(expected), equalTo(true));
+		assertThat(directory.listFiles().length, equalTo(1));
+		assertThat(store.isCompactionNeeded(), equalTo(false));
+		test(expected, new TrackerStore(directory).load());
+	}
+
+	@Test
+	public void testTorn() throws IOException {
+		Map<String, List<Value>> expected = create("owner", 2, 0);
+		TrackerStore store = new TrackerStore(directory);
+		store.rewrite(expected);
+		File file = directory.listFiles()[0];
+		try (FileOutputStream out = new FileOutputStream(file, true)) {
+			out.write(new byte[] {0, 0, 1, 0, 4}); //Length without the entry
+		}
+		store = new TrackerStore(directory);
+		test(expected, store.load());
+		//Append goes into a new segment
+		Map<String, List<Value>> added = create("owner", 1, 2);
+		assertThat(store.append(added), equalTo(true));
+		assertThat(directory.listFiles().length, equalTo(2));
+		addAll(expected, added);
+		test(expected, new TrackerStore(directory).load());
+	}
+
+	@Test
+	public void testDamaged() throws IOException {
+		Map<String, List<Value>> expected = create("owner", 2, 0);
+		TrackerStore store = new TrackerStore(directory);
+		store.rewrite(expected);
+		File file = directory.listFiles()[0];
+		try (FileOutputStream out = new FileOutputStream(file, true)) {
+			out.write(new byte[] {0, 0, 0, 5, 4, 0, 0, 0, 99}); //Complete value entry of an unknown owner
+		}
+		//The data before the damage is loaded
+		store = new TrackerStore(directory);
+		Map<String, List<Value>> loaded = store.load();
+		assertThat(loaded, notNullValue());
+		assertThat(store.isDamaged(), equalTo(true));
+		test(expected, loaded);
+		assertThat(store.append(create("owner", 1, 2)), equalTo(false)); //Must be rewritten
+		//Save: the damaged segment is moved aside, not deleted
+		assertThat(store.rewrite(loaded), equalTo(true));
+		assertThat(store.isDamaged(), equalTo(false));
+		assertThat(file.exists(), equalTo(false));
+		File damaged = null;
+		for (File child : directory.listFiles()) {
+			if (child.isDirectory()) {
+				damaged = child;
+			}
+		}
+		assertThat(damaged, notNullValue());
+		assertThat(new File(damaged, file.getName()).exists(), equalTo(true));
+		//The saved data is loaded without damage
+		store = new TrackerStore(directory);
+		test(expected, store.load());
+		assertThat(store.isDamaged(), equalTo(false));
+	}
+
+	private void delete(File file) {
+		File[] files = file.listFiles();
+		if (files != null) {
+			for (File child : files) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private Map<String, List<Value>> create(String owner, int count, int offset) {
+		Map<String, List<Value>> trackerData = new HashMap<>();
+		List<Value> values = new ArrayList<>();
+		for (int i = offset; i < offset + count; i++) {
+			Value value = new Value(new Date(1552492124589L + i * 3600000L));
+			value.setContractCollateral(3 + i);
+			value.setContractValue(4 + i);
+			value.setEscrows(5 + i);
+			value.setEscrowsToCover(6 + i);
+			value.setManufacturing(7 + i);
+			value.setSellOrders(8 + i);
+			if (i % 2 == 0) {
+				value.addAssets(AssetValue.create("location", "flag", 1000L), 9.0 + i);
+				value.addAssets(AssetValue.create("location", null, null), 1.0 + i);
+				value.addBalance("1000", 10 + i);
+			} else {
+				value.setAssetsTotal(9 + i);
+				value.setBalanceTotal(10 + i);
+			}
+			value.setSkillPoints(11 + i);
+			values.add(value);
+		}
+		trackerData.put(owner, values);
+		return trackerData;
+	}
+
+	private void addAll(Map<String, List<Value>> trackerData, Map<String, List<Value>> added) {
+		for (Map.Entry<String, List<Value>> entry : added.entrySet()) {
+			List<Value> values = trackerData.get(entry.getKey());
+			if (values == null) {
+				values = new ArrayList<>();
+				trackerData.put(entry.getKey(), values);
+			}
+			values.addAll(entry.getValue());
+		}
+	}
+
+	private void test(Map<String, List<Value>> out, Map<String, List<Value>> in) {
+		assertThat(in.keySet(), equalTo(out.keySet()));
+		for (String key : in.keySet()) {
+			List<Value> outValues = new ArrayList<>(out.get(key));
+			List<Value> inValues = new ArrayList<>(in.get(key));
+			Collections.sort(outValues);
+			Collections.sort(inValues);
+			assertThat(inValues.size(), equalTo(outValues.size()));
+			for (int i = 0; i < inValues.size(); i++) {
+				Value outValue = outValues.get(i);
+				Value inValue = inValues.get(i);
+				assertThat(inValue.getDate(), equalTo(outValue.getDate()));
+				assertThat(inValue.getAssetsFilter(), equalTo(outValue.getAssetsFilter()));
+				assertThat(inValue.getAssetsTotal(), equalTo(outValue.getAssetsTotal()));
+				assertThat(inValue.getBalanceFilter(), equalTo(outValue.getBalanceFilter()));
+				assertThat(inValue.getBalanceTotal(), equalTo(outValue.getBalanceTotal()));
+				assertThat(inValue.getContractCollateral(), equalTo(outValue.getContractCollateral()));
+				assertThat(inValue.getContractValue(), equalTo(outValue.getContractValue()));
+				assertThat(inValue.getEscrows(), equalTo(outValue.getEscrows()));
+				assertThat(inValue.getEscrowsToCover(), equalTo(outValue.getEscrowsToCover()));
+				assertThat(inValue.getManufacturing(), equalTo(outValue.getManufacturing()));
+				assertThat(inValue.getSellOrders(), equalTo(outValue.getSellOrders()));
+				assertThat(inValue.getSkillPoints(), equalTo(outValue.getSkillPoints()));
+			}
+		}
+	}
+}
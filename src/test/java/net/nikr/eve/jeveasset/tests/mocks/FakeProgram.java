@@ -305,4 +305,14 @@ public abstract class FakeProgram extends Program {
 	public void addMainTab(String toolName, JMainTab jMainTab) {
 		throw new UnsupportedOperationException("Not implemented");
 	}
+
+	@Override
+	public List<String> getToolTitles() {
+		throw new UnsupportedOperationException("Not implemented");
+	}
+
+	@Override
+	public boolean isTabCreated(String toolName) {
+		throw new UnsupportedOperationException("Not implemented");
+	}
 }